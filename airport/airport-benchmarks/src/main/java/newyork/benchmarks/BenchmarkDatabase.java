@@ -0,0 +1,208 @@
+package newyork.benchmarks;
+
+import static java.lang.String.format;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import org.apache.log4j.Logger;
+import org.hibernate.dialect.H2Dialect;
+import org.joda.time.DateTime;
+
+import newyork.assets.Asset;
+import newyork.assets.IAsset;
+import newyork.assets.imports.AssetImportResult;
+import newyork.assets.imports.AssetImportRow;
+import newyork.config.ApplicationDomain;
+import newyork.dbsetup.DbIndexDdlGenerator;
+import newyork.organisational.BusinessUnit;
+import newyork.organisational.Organisation;
+import newyork.organisational.Role;
+import newyork.personnel.Person;
+import newyork.projects.Project;
+import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.AssetOwnership;
+import newyork.tablescodes.assets.AssetType;
+import newyork.tablescodes.assets.AssetTypeOwnership;
+import newyork.test_config.DaoDomainDrivenTestCaseConfiguration;
+import newyork.test_config.H2DomainDrivenTestCaseRunner.H2TestContext;
+import newyork.test_config.UniversalConstantsForTesting;
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.devdb_support.DomainDrivenDataPopulation;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.persistence.HibernateUtil;
+import ua.com.fielden.platform.security.user.IUser;
+import ua.com.fielden.platform.security.user.IUserProvider;
+import ua.com.fielden.platform.security.user.User;
+import ua.com.fielden.platform.test.IDomainDrivenTestCaseConfiguration;
+import ua.com.fielden.platform.utils.DbUtils;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * An H2 database for benchmarks, which is created and populated with the specified number of assets upon first use and reused by subsequent runs.
+ * <p>
+ * The database is configured in the same way as for unit tests (see {@link H2TestContext} and {@link DaoDomainDrivenTestCaseConfiguration}),
+ * which makes the measurements comparable with the behaviour observed in tests.
+ * Database files are located under {@code target/benchmarks}; deleting them forces re-population, which also happens if an existing database does not contain all of the expected data,
+ * e.g. because a previous population was interrupted.
+ *
+ * @author Developers
+ *
+ */
+public class BenchmarkDatabase extends DomainDrivenDataPopulation {
+    private static final Logger LOGGER = Logger.getLogger(BenchmarkDatabase.class);
+
+    public static final DateTime NOW = new DateTime(2020, 1, 1, 8, 0);
+    public static final int ASSET_TYPES = 20;
+    /** Every n-th asset gets its own ownership. */
+    public static final int ASSETS_PER_OWNERSHIP = 100;
+
+    private final ApplicationDomain applicationDomainProvider = new ApplicationDomain();
+    private final IDomainDrivenTestCaseConfiguration config;
+    private final int assets;
+
+    private BenchmarkDatabase(final IDomainDrivenTestCaseConfiguration config, final Properties props, final int assets) {
+        super(config, props);
+        this.config = config;
+        this.assets = assets;
+    }
+
+    /**
+     * Opens the benchmark database with {@code assets} assets, creating and populating it if it does not exist yet or is not completely populated.
+     *
+     * @param assets
+     * @return
+     */
+    public static BenchmarkDatabase open(final int assets) {
+        final String dbUri = format("./target/benchmarks/DB_%s", assets);
+        final boolean exists = new File(dbUri + ".mv.db").exists();
+
+        final Properties props = new H2TestContext(null).mkDbProps(dbUri);
+        final DaoDomainDrivenTestCaseConfiguration config = new DaoDomainDrivenTestCaseConfiguration(props);
+        final BenchmarkDatabase db = new BenchmarkDatabase(config, props, assets);
+        ((UniversalConstantsForTesting) config.getInstance(IUniversalConstants.class)).setNow(NOW);
+
+        if (!exists || !db.isPopulated()) {
+            LOGGER.info(format("Creating benchmark database [%s]...", dbUri));
+            final H2Dialect dialect = new H2Dialect();
+            final List<String> ddl = new ArrayList<>(DbUtils.prependDropDdlForH2(config.getDomainMetadata().generateDatabaseDdl(dialect)));
+            // secondary indexes declared with @DbIndex, as in the application database
+            ddl.addAll(DbIndexDdlGenerator.generateIndexDdl(db.applicationDomainProvider.entityTypes(), dialect));
+            DbUtils.execSql(ddl, config.getInstance(HibernateUtil.class).getSessionFactory().getCurrentSession());
+            db.populateDomain();
+        }
+        db.loginAsSu();
+        return db;
+    }
+
+    /**
+     * Checks that the database contains all assets and asset ownerships, the latter being populated last.
+     * A database that is missing the schema or some data, e.g. because its population was interrupted, is reported as not populated.
+     * Assets are only checked for the lower bound, as benchmarks such as {@link CompanionBenchmarks#saveAsset()} add assets to the database.
+     */
+    private boolean isPopulated() {
+        try {
+            loginAsSu();
+            final int ownerships = (assets + ASSETS_PER_OWNERSHIP - 1) / ASSETS_PER_OWNERSHIP;
+            return companion(Asset.class).count(select(Asset.class).model()) >= assets
+                    && companion(AssetOwnership.class).count(select(AssetOwnership.class).model()) == ownerships;
+        } catch (final Exception ex) {
+            LOGGER.warn(format("Benchmark database with %s assets is incomplete and will be re-populated.", assets), ex);
+            return false;
+        }
+    }
+
+    /**
+     * Associates the current thread with the super user, which is required for any companion object call.
+     * Needs to be invoked by every thread that runs benchmarks.
+     */
+    public void loginAsSu() {
+        final IUser coUser = companion(User.class);
+        config.getInstance(IUserProvider.class).setUsername(User.system_users.SU.name(), coUser);
+    }
+
+    public <T> T instance(final Class<T> type) {
+        return config.getInstance(type);
+    }
+
+    /**
+     * Returns an uninstrumented companion, which is what read-only code paths use.
+     */
+    public <C extends IEntityDao<E>, E extends AbstractEntity<?>> C companion(final Class<E> type) {
+        return config.getInstance(ICompanionObjectFinder.class).find(type, true);
+    }
+
+    /**
+     * Returns an instrumented companion, which is required for saving.
+     */
+    public <C extends IEntityDao<E>, E extends AbstractEntity<?>> C companion$(final Class<E> type) {
+        return config.getInstance(ICompanionObjectFinder.class).find(type, false);
+    }
+
+    public int assets() {
+        return assets;
+    }
+
+    @Override
+    protected void populateDomain() {
+        setupUser(User.system_users.SU, "newyork");
+        final User su = co(User.class).findByKey(User.system_users.SU.name());
+        save(new_(Person.class, User.system_users.SU.name()).setActive(true).setUser(su).setDesc("Person who is a user").setEmail("SU@newyork"));
+        loginAsSu();
+
+        final Role role = save(new_(Role.class).setName("R1").setDesc("First role"));
+        final BusinessUnit bu = save(new_(BusinessUnit.class).setName("BU1").setDesc("First business unit"));
+        final Organisation org = save(new_(Organisation.class).setName("ORG1").setDesc("First organisation"));
+        save(new_(Project.class).setName("Project 1").setStartDate(date("2010-01-01 00:00:00")).setDesc("Project 1 description"));
+
+        final AssetClass assetClass = save(new_(AssetClass.class).setName("AC1").setDesc("asset class 1").setActive(true));
+        final List<AssetType> assetTypes = new ArrayList<>();
+        for (int index = 1; index <= ASSET_TYPES; index++) {
+            final AssetType assetType = save(new_(AssetType.class).setName("AT" + index).setDesc("asset type " + index).setAssetClass(assetClass).setActive(true));
+            assetTypes.add(assetType);
+            // a yearly change of ownership for each asset type
+            for (int year = 2010; year <= 2020; year++) {
+                final AssetTypeOwnership ownership = new_(AssetTypeOwnership.class)
+                        .setAssetType(assetType)
+                        .setStartDate(date(year + "-01-01 00:00:00"))
+                        .setBu(bu);
+                save(ownership);
+            }
+        }
+
+        LOGGER.info(format("Importing %s assets...", assets));
+        final IAsset coAsset = co$(Asset.class);
+        final Stream<AssetImportRow> rows = IntStream.rangeClosed(1, assets)
+                .mapToObj(index -> new AssetImportRow(index, "benchmark asset " + index, "AT" + (index % ASSET_TYPES + 1), BigDecimal.valueOf(index % 1000 + 100), date("2015-06-01 00:00:00"), "Project 1"));
+        final AssetImportResult result = coAsset.importAssets(rows);
+        if (!result.isSuccessful()) {
+            throw new IllegalStateException(format("Could not import benchmark assets: %s", result.getFailures()));
+        }
+
+        LOGGER.info("Creating asset ownerships...");
+        for (int number = 1; number <= assets; number += ASSETS_PER_OWNERSHIP) {
+            final Asset asset = coAsset.findByKey(String.valueOf(number));
+            final AssetOwnership ownership = co(AssetOwnership.class).new_()
+                    .setAsset(asset)
+                    .setAssetType(asset.getAssetType())
+                    .setStartDate(date("2018-01-01 00:00:00"))
+                    .setOrg(number % 2 == 0 ? org : null)
+                    .setRole(number % 2 == 0 ? null : role);
+            save(ownership);
+        }
+        LOGGER.info("Completed benchmark database population.");
+    }
+
+    @Override
+    protected List<Class<? extends AbstractEntity<?>>> domainEntityTypes() {
+        return applicationDomainProvider.entityTypes();
+    }
+
+}
@@ -0,0 +1,134 @@
+package newyork.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newyork.assets.Asset;
+import newyork.assets.AssetFinDet;
+import newyork.assets.IAsset;
+import newyork.assets.IAssetFinDet;
+import newyork.tablescodes.assets.AssetOwnership;
+import newyork.tablescodes.assets.AssetType;
+import newyork.tablescodes.assets.AssetTypeOwnership;
+import newyork.tablescodes.assets.IAssetType;
+import newyork.tablescodes.assets.IAssetTypeOwnership;
+import ua.com.fielden.platform.entity.query.QueryExecutionModel;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+import ua.com.fielden.platform.entity.query.model.OrderingModel;
+
+/**
+ * Benchmarks for the most frequently used companion object operations, measured against databases of different sizes.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar CompanionBenchmarks}; use {@code -p assets=1000} to limit the database sizes.
+ * The first run for each size takes a while as it creates and populates the database (see {@link BenchmarkDatabase}).
+ *
+ * @author Developers
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djava.system.class.loader=ua.com.fielden.platform.classloader.TgSystemClassLoader"})
+public class CompanionBenchmarks {
+
+    public static final int PAGE_CAPACITY = 50;
+    private static final int SAMPLE_SIZE = 10_000;
+
+    @Param({"1000", "100000", "1000000"})
+    public int assets;
+
+    private BenchmarkDatabase db;
+    private IAsset coAsset;
+    private IAsset coAsset$;
+    private IAssetFinDet coFinDet;
+    private IAssetTypeOwnership coAssetTypeOwnership;
+    private Long[] assetIds;
+    private AssetType[] assetTypes;
+    private QueryExecutionModel<Asset, EntityResultQueryModel<Asset>> centreQuery;
+    private AssetType assetType;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        db = BenchmarkDatabase.open(assets);
+        coAsset = db.companion(Asset.class);
+        coAsset$ = db.companion$(Asset.class);
+        coFinDet = db.companion(AssetFinDet.class);
+        coAssetTypeOwnership = db.companion(AssetTypeOwnership.class);
+
+        final List<Asset> sample = coAsset.getFirstEntities(from(select(Asset.class).model()).with(fetchKeyAndDescOnly(Asset.class)).model(), SAMPLE_SIZE);
+        assetIds = sample.stream().map(Asset::getId).toArray(Long[]::new);
+        final IAssetType coAssetType = db.companion(AssetType.class);
+        assetTypes = coAssetType.getAllEntities(from(select(AssetType.class).model()).with(fetchKeyAndDescOnly(AssetType.class)).model()).toArray(new AssetType[0]);
+        assetType = assetTypes[0];
+
+        final OrderingModel ordering = orderBy().prop("key").desc().model();
+        centreQuery = from(select(Asset.class).model()).with(IAsset.FETCH_PROVIDER.fetchModel()).with(ordering).model();
+    }
+
+    private Long randomAssetId() {
+        return assetIds[ThreadLocalRandom.current().nextInt(assetIds.length)];
+    }
+
+    @Benchmark
+    public Asset saveAsset() {
+        return coAsset$.save(coAsset$.new_().setAssetType(assetType).setDesc("benchmark asset"));
+    }
+
+    @Benchmark
+    public Asset findAssetByKeyAndFetch() {
+        final String number = String.valueOf(1 + ThreadLocalRandom.current().nextInt(assets));
+        return coAsset.findByKeyAndFetch(IAsset.FETCH_PROVIDER.fetchModel(), number);
+    }
+
+    @Benchmark
+    public AssetFinDet fetchAssetFinDet() {
+        return coFinDet.findById(randomAssetId(), IAssetFinDet.FETCH_PROVIDER.fetchModel());
+    }
+
+    /**
+     * The first page of the asset centre with its default fetch model and ordering.
+     */
+    @Benchmark
+    public List<Asset> centreFirstPage() {
+        return coAsset.getFirstEntities(centreQuery, PAGE_CAPACITY);
+    }
+
+    @Benchmark
+    public AssetOwnership resolveCurrOwnership() {
+        return coAsset.findById(randomAssetId(), IAsset.FETCH_PROVIDER.fetchModel()).getCurrOwnership();
+    }
+
+    @Benchmark
+    public Optional<AssetTypeOwnership> resolveAssetTypeOwnerAt() {
+        final ThreadLocalRandom random = ThreadLocalRandom.current();
+        final AssetType type = assetTypes[random.nextInt(assetTypes.length)];
+        // covers dates before the first ownership as well
+        final long from = BenchmarkDatabase.NOW.minusYears(11).getMillis();
+        final long instant = from + random.nextLong(BenchmarkDatabase.NOW.getMillis() - from);
+        return coAssetTypeOwnership.ownerAt(type, new Date(instant));
+    }
+
+}
@@ -0,0 +1,62 @@
+package newyork.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newyork.personnel.IPerson;
+import newyork.personnel.Person;
+
+/**
+ * Benchmarks for {@link IPerson#makeUser}, which is dominated by user creation and password hashing.
+ * A fresh person is saved before every invocation, outside of the measured time.
+ *
+ * @author Developers
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djava.system.class.loader=ua.com.fielden.platform.classloader.TgSystemClassLoader"})
+public class PersonBenchmarks {
+
+    @Param({"1000"})
+    public int assets;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+    private IPerson coPerson$;
+    private Person person;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        final BenchmarkDatabase db = BenchmarkDatabase.open(assets);
+        coPerson$ = db.companion$(Person.class);
+    }
+
+    @Setup(Level.Invocation)
+    public void newPerson() {
+        final String key = "BENCH" + System.currentTimeMillis() + "_" + sequence.incrementAndGet();
+        person = coPerson$.save(coPerson$.new_().setDesc("Benchmark person " + key).setEmail(key + "@newyork").setKey(key));
+    }
+
+    @Benchmark
+    public Person makeUser() {
+        return coPerson$.makeUser(person);
+    }
+
+}
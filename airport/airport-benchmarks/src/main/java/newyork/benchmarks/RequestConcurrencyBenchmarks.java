@@ -0,0 +1,102 @@
+package newyork.benchmarks;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import newyork.assets.Asset;
+import newyork.assets.IAsset;
+import newyork.common.concurrency.ConcurrencyLimit;
+import ua.com.fielden.platform.entity.query.QueryExecutionModel;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+
+/**
+ * A load test that compares request handling with and without a {@link ConcurrencyLimit} in front of the database, as configured with {@code web.concurrency.limit}.
+ * <p>
+ * Every benchmark thread plays the role of a request thread of the web server, running a typical request -- an asset lookup followed by the first page of the asset centre.
+ * Both throughput and sampled latencies are reported, where the latter include percentiles such as p0.99.
+ * Latencies of the limited mode include the time spent waiting for admission, which is what users experience.
+ * <p>
+ * Run with {@code java -jar target/benchmarks.jar RequestConcurrencyBenchmarks}; use {@code -t} to change the number of request threads and {@code -p limit=...} to try other limits.
+ * Requests rejected due to the queue timeout are counted as completed, which is why the queue timeout is set generously.
+ *
+ * @author Developers
+ *
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 2, time = 10)
+@Measurement(iterations = 5, time = 10)
+@Threads(64)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx2g", "-Djava.system.class.loader=ua.com.fielden.platform.classloader.TgSystemClassLoader"})
+public class RequestConcurrencyBenchmarks {
+
+    private static final int PAGE_CAPACITY = 50;
+    private static final long QUEUE_TIMEOUT_MILLIS = 60_000;
+
+    @Param({"100000"})
+    public int assets;
+
+    /** The concurrency limit, where 0 stands for the unlimited mode with one request thread per request. */
+    @Param({"0", "8"})
+    public int limit;
+
+    private BenchmarkDatabase db;
+    private ConcurrencyLimit concurrencyLimit;
+    private QueryExecutionModel<Asset, EntityResultQueryModel<Asset>> centreQuery;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        db = BenchmarkDatabase.open(assets);
+        concurrencyLimit = new ConcurrencyLimit(limit, QUEUE_TIMEOUT_MILLIS);
+        centreQuery = from(select(Asset.class).model()).with(IAsset.FETCH_PROVIDER.fetchModel()).with(orderBy().prop("key").desc().model()).model();
+    }
+
+    /**
+     * Companions are not shared between request threads, as is the case in the web server.
+     */
+    @State(Scope.Thread)
+    public static class RequestThread {
+        private IAsset coAsset;
+
+        @Setup(Level.Trial)
+        public void setUp(final RequestConcurrencyBenchmarks benchmark) {
+            benchmark.db.loginAsSu();
+            coAsset = benchmark.db.companion(Asset.class);
+        }
+    }
+
+    @Benchmark
+    public List<Asset> request(final RequestThread thread) {
+        if (!concurrencyLimit.tryAcquire()) {
+            return null;
+        }
+        try {
+            final String number = String.valueOf(1 + ThreadLocalRandom.current().nextInt(assets));
+            thread.coAsset.findByKeyAndFetch(IAsset.FETCH_PROVIDER.fetchModel(), number);
+            return thread.coAsset.getFirstEntities(centreQuery, PAGE_CAPACITY);
+        } finally {
+            concurrencyLimit.release();
+        }
+    }
+
+}
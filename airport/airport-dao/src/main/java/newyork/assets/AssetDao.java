@@ -1,18 +1,47 @@
 package newyork.assets;
 
+import static java.lang.String.format;
+import static java.util.Collections.singletonList;
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static newyork.assets.validators.AssetFinDetAcquireDateWithinProjectPeriodValidator.ERR_OUTSIDE_PROJECT_PERIOD;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetch;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import com.google.inject.Inject;
 
+import newyork.assets.imports.AssetImportResult;
+import newyork.assets.imports.AssetImportRow;
+import newyork.common.export.ExportFormat;
+import newyork.common.export.StreamingExporter;
+import newyork.common.paging.KeysetPaging;
+import newyork.common.metrics.FetchModelProfiler;
+import newyork.projects.Project;
+import newyork.tablescodes.assets.AssetType;
 import ua.com.fielden.platform.dao.CommonEntityDao;
 import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.entity.query.IFilter;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
 import ua.com.fielden.platform.error.Result;
 import ua.com.fielden.platform.keygen.IKeyNumber;
 import ua.com.fielden.platform.keygen.KeyNumber;
+import ua.com.fielden.platform.types.Money;
 /**
  * DAO implementation for companion object {@link IAsset}.
  *
@@ -22,12 +51,21 @@ import ua.com.fielden.platform.keygen.KeyNumber;
 @EntityType(Asset.class)
 public class AssetDao extends CommonEntityDao<Asset> implements IAsset {
     public static final String ERR_FAILED_SAVE = "Deliberate save exception.";
+    public static final String ERR_INVALID_BATCH_SIZE = "Batch size should be positive, but was %s.";
+    public static final String ERR_IMPORT_DESC_REQUIRED = "Description is required.";
+    public static final String ERR_IMPORT_UNKNOWN_ASSET_TYPE = "Asset type [%s] does not exist or is not active.";
+    public static final String ERR_IMPORT_UNKNOWN_PROJECT = "Project [%s] does not exist.";
+    public static final String ERR_IMPORT_NEGATIVE_INIT_COST = "Initial cost cannot be negative.";
+
+    private static final String ASSET_NUMBER_KEY = "ASSET_NUMBER";
 
     private boolean throwExceptionForTestingPurposes = false;
+    private final FetchModelProfiler fetchModelProfiler;
     
     @Inject
-    public AssetDao(final IFilter filter) {
+    public AssetDao(final IFilter filter, final FetchModelProfiler fetchModelProfiler) {
         super(filter);
+        this.fetchModelProfiler = fetchModelProfiler;
     }
     
     @Override
@@ -37,7 +75,7 @@ public class AssetDao extends CommonEntityDao<Asset> implements IAsset {
     	try {
             if (!wasPersisted) {
                 final IKeyNumber coKeyNumber = co(KeyNumber.class);
-                final Integer nextNumber = coKeyNumber.nextNumber("ASSET_NUMBER");
+                final Integer nextNumber = coKeyNumber.nextNumber(ASSET_NUMBER_KEY);
                 asset.setNumber(nextNumber.toString());
             }
 
@@ -45,12 +83,7 @@ public class AssetDao extends CommonEntityDao<Asset> implements IAsset {
                 throw Result.failure(ERR_FAILED_SAVE);
             }
 
-            final Asset savedAsset = super.save(asset);
-            if(!wasPersisted){
-                final AssetFinDet finDet = co(AssetFinDet.class).new_().setKey(savedAsset);
-                co$(AssetFinDet.class).save(finDet);
-            }
-            return savedAsset;
+            return saveWithFinDet(asset, finDet -> {});
         } catch (final Exception ex) {
             if (!wasPersisted) {
                 asset.setNumber(DEFAULT_ASSET_NUMBER);
@@ -59,6 +92,139 @@ public class AssetDao extends CommonEntityDao<Asset> implements IAsset {
         }
     }
 
+    /**
+     * Saves the asset and, if it is new, creates its financial details initialised by {@code finDetInitialiser}.
+     */
+    private Asset saveWithFinDet(final Asset asset, final Consumer<AssetFinDet> finDetInitialiser) {
+        final boolean wasPersisted = asset.isPersisted();
+        final Asset savedAsset = super.save(asset);
+        if (!wasPersisted) {
+            final AssetFinDet finDet = co(AssetFinDet.class).new_().setKey(savedAsset);
+            finDetInitialiser.accept(finDet);
+            co$(AssetFinDet.class).save(finDet);
+        }
+        return savedAsset;
+    }
+
+    /**
+     * Rows are consumed lazily, so that only one batch is held in memory at a time.
+     * Each batch is saved by {@link #importBatch(List, Map, Map)} in its own transaction, which is why this method should not be invoked within a transaction.
+     * If a batch fails then its rows are retried one by one to isolate the failing ones.
+     * The asset numbers reserved for a failed batch are rolled back together with it, so the retried rows get the same numbers again and there are no gaps.
+     */
+    @Override
+    public AssetImportResult importAssets(final Stream<AssetImportRow> rows, final int batchSize) {
+        if (batchSize < 1) {
+            throw Result.failuref(ERR_INVALID_BATCH_SIZE, batchSize);
+        }
+
+        final EntityResultQueryModel<AssetType> activeAssetTypes = select(AssetType.class).where().prop("active").eq().val(true).model();
+        final Map<String, AssetType> assetTypes = co(AssetType.class).getAllEntities(from(activeAssetTypes).with(fetchKeyAndDescOnly(AssetType.class)).model())
+                .stream().collect(toMap(assetType -> assetType.getName().toUpperCase(), identity()));
+        final Map<String, Project> projects = co(Project.class).getAllEntities(from(select(Project.class).model()).with(fetch(Project.class).with("name", "startDate", "finishDate")).model())
+                .stream().collect(toMap(project -> project.getName().toUpperCase(), identity()));
+
+        final AssetImportResult result = new AssetImportResult();
+        final List<AssetImportRow> batch = new ArrayList<>(batchSize);
+        final Iterator<AssetImportRow> iterator = rows.iterator();
+        while (iterator.hasNext()) {
+            batch.add(iterator.next());
+            if (batch.size() == batchSize || !iterator.hasNext()) {
+                importRows(batch, assetTypes, projects, result);
+                batch.clear();
+            }
+        }
+        return result;
+    }
+
+    private void importRows(final List<AssetImportRow> batch, final Map<String, AssetType> assetTypes, final Map<String, Project> projects, final AssetImportResult result) {
+        // validation of rows does not touch the database and is safe to parallelise
+        final List<Optional<String>> errors = batch.parallelStream().map(row -> validate(row, assetTypes, projects)).collect(toList());
+        final List<AssetImportRow> validRows = new ArrayList<>(batch.size());
+        for (int index = 0; index < batch.size(); index++) {
+            final AssetImportRow row = batch.get(index);
+            if (errors.get(index).isPresent()) {
+                result.recordFailure(row, errors.get(index).get());
+            } else {
+                validRows.add(row);
+            }
+        }
+        if (validRows.isEmpty()) {
+            return;
+        }
+
+        try {
+            importBatch(validRows, assetTypes, projects);
+            validRows.forEach(row -> result.recordImported());
+        } catch (final Exception ex) {
+            if (validRows.size() == 1) {
+                result.recordFailure(validRows.get(0), ex.getMessage());
+                return;
+            }
+            for (final AssetImportRow row : validRows) {
+                try {
+                    importBatch(singletonList(row), assetTypes, projects);
+                    result.recordImported();
+                } catch (final Exception rowEx) {
+                    result.recordFailure(row, rowEx.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Saves assets for the rows in a single transaction, reserving asset numbers for all of them with a single {@link KeyNumber} update.
+     * <p>
+     * Apart from the shared transaction and number reservation, this is a loop over rows: each asset still goes through a complete save with its refetch, followed by the save of its financial details.
+     * The statements are therefore not batched at the JDBC level and the gain over saving assets one by one is limited to fewer commits and {@link KeyNumber} updates.
+     */
+    @SessionRequired
+    public void importBatch(final List<AssetImportRow> rows, final Map<String, AssetType> assetTypes, final Map<String, Project> projects) {
+        final IKeyNumber coKeyNumber = co(KeyNumber.class);
+        final Iterator<Integer> numbers = coKeyNumber.nextNumbers(ASSET_NUMBER_KEY, rows.size()).iterator();
+        for (final AssetImportRow row : rows) {
+            final Asset asset = new_()
+                    .setDesc(row.getDesc())
+                    .setAssetType(assetTypes.get(row.getAssetType().toUpperCase()))
+                    .setActive(true);
+            asset.setNumber(numbers.next().toString());
+            saveWithFinDet(asset, finDet -> {
+                if (row.getProject() != null) {
+                    finDet.setProject(projects.get(row.getProject().toUpperCase()));
+                }
+                if (row.getAcquireDate() != null) {
+                    finDet.setAcquireDate(row.getAcquireDate());
+                }
+                if (row.getInitCost() != null) {
+                    finDet.setInitCost(new Money(row.getInitCost()));
+                }
+            });
+        }
+    }
+
+    private static Optional<String> validate(final AssetImportRow row, final Map<String, AssetType> assetTypes, final Map<String, Project> projects) {
+        if (row.getDesc() == null || row.getDesc().trim().isEmpty()) {
+            return Optional.of(ERR_IMPORT_DESC_REQUIRED);
+        }
+        if (row.getAssetType() == null || !assetTypes.containsKey(row.getAssetType().toUpperCase())) {
+            return Optional.of(format(ERR_IMPORT_UNKNOWN_ASSET_TYPE, row.getAssetType()));
+        }
+        if (row.getInitCost() != null && row.getInitCost().signum() < 0) {
+            return Optional.of(ERR_IMPORT_NEGATIVE_INIT_COST);
+        }
+        if (row.getProject() != null) {
+            final Project project = projects.get(row.getProject().toUpperCase());
+            if (project == null) {
+                return Optional.of(format(ERR_IMPORT_UNKNOWN_PROJECT, row.getProject()));
+            }
+            final Date acquireDate = row.getAcquireDate();
+            if (acquireDate != null && (acquireDate.before(project.getStartDate()) || project.getFinishDate() != null && acquireDate.after(project.getFinishDate()))) {
+                return Optional.of(ERR_OUTSIDE_PROJECT_PERIOD);
+            }
+        }
+        return Optional.empty();
+    }
+
     @SessionRequired
 	public void saveWithError(final Asset asset) {
     	throwExceptionForTestingPurposes = true;
@@ -89,9 +255,20 @@ public class AssetDao extends CommonEntityDao<Asset> implements IAsset {
         return defaultBatchDelete(entities);
     }
 
+    /**
+     * Reads assets with {@link KeysetPaging} in the order of their registration, each page in a separate session, so that no session is held for the whole export.
+     */
     @Override
-    protected IFetchProvider<Asset> createFetchProvider() {
-        return FETCH_PROVIDER;
+    public int export(final ExportFormat format, final EntityResultQueryModel<Asset> query, final OutputStream out) {
+        try (final Stream<Asset> assets = KeysetPaging.stream(this, query, EXPORT_FETCH_PROVIDER.fetchModel(), "id", true, StreamingExporter.FETCH_SIZE)) {
+            return StreamingExporter.export(Asset.class, EXPORT_PROPS, assets, format, out);
         }
+    }
+
+    @Override
+    protected IFetchProvider<Asset> createFetchProvider() {
+        // the fetch provider may be requested while the super constructor is still running, before the profiler is assigned
+        return fetchModelProfiler == null ? FETCH_PROVIDER : fetchModelProfiler.effective(Asset.class, FETCH_PROVIDER);
+    }
 
 }
@@ -1,10 +1,17 @@
 package newyork.assets;
 
+import java.io.OutputStream;
+import java.util.stream.Stream;
+
 import com.google.inject.Inject;
 
+import newyork.common.export.ExportFormat;
+import newyork.common.export.StreamingExporter;
+import newyork.common.paging.KeysetPaging;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.dao.CommonEntityDao;
 import ua.com.fielden.platform.entity.query.IFilter;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 /**
  * DAO implementation for companion object {@link IAssetFinDet}.
@@ -20,6 +27,16 @@ public class AssetFinDetDao extends CommonEntityDao<AssetFinDet> implements IAss
         super(filter);
     }
 
+    /**
+     * Reads assetFinDets with {@link KeysetPaging} in the order of their registration, each page in a separate session, so that no session is held for the whole export.
+     */
+    @Override
+    public int export(final ExportFormat format, final EntityResultQueryModel<AssetFinDet> query, final OutputStream out) {
+        try (final Stream<AssetFinDet> finDets = KeysetPaging.stream(this, query, EXPORT_FETCH_PROVIDER.fetchModel(), "id", true, StreamingExporter.FETCH_SIZE)) {
+            return StreamingExporter.export(AssetFinDet.class, EXPORT_PROPS, finDets, format, out);
+        }
+    }
+
     @Override
     protected IFetchProvider<AssetFinDet> createFetchProvider() {
         return FETCH_PROVIDER;
@@ -0,0 +1,250 @@
+package newyork.assets.depreciation;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+import static newyork.assets.depreciation.DepreciationSchedule.fromMinorUnits;
+import static newyork.assets.depreciation.DepreciationSchedule.monthsBetween;
+import static newyork.assets.depreciation.DepreciationSchedule.plusMonths;
+import static newyork.assets.depreciation.DepreciationSchedule.toMinorUnits;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.apache.log4j.Logger;
+
+import com.google.inject.Inject;
+
+import newyork.assets.Asset;
+import newyork.assets.AssetFinDet;
+import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.IEntityAggregatesOperations;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.annotation.EntityType;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.entity.query.EntityAggregates;
+import ua.com.fielden.platform.entity.query.IFilter;
+import ua.com.fielden.platform.entity.query.model.AggregatedResultQueryModel;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+import ua.com.fielden.platform.entity.query.model.PrimitiveResultQueryModel;
+import ua.com.fielden.platform.types.Money;
+
+/**
+ * DAO implementation for companion object {@link IAssetDepreciation}.
+ * <p>
+ * Financial details and the latest ledger records of a range are read with two aggregate queries, which yield plain values instead of instantiating assets or their financial details.
+ * Depreciation is then computed with {@link DepreciationSchedule} in minor units, and only the new ledger records are instantiated upon writing them in batches of {@link #BATCH_SIZE}.
+ * <p>
+ * Before continuing from the latest ledger record, it is checked against the schedule for the current cost, acquisition date, depreciation method and useful life,
+ * which is a computation in memory that requires no extra queries. If any of these changed since the ledger was written, the ledger of the asset is deleted and rebuilt
+ * from the month after acquisition, in the same transaction as its first new records.
+ *
+ * @author Developers
+ *
+ */
+@EntityType(AssetDepreciation.class)
+public class AssetDepreciationDao extends CommonEntityDao<AssetDepreciation> implements IAssetDepreciation {
+
+    private static final Logger LOGGER = Logger.getLogger(AssetDepreciationDao.class);
+    public static final int BATCH_SIZE = 500;
+
+    private final IEntityAggregatesOperations coAggregates;
+    private final DepreciationEngine engine;
+
+    @Inject
+    public AssetDepreciationDao(final IFilter filter, final IEntityAggregatesOperations coAggregates, final DepreciationEngine engine) {
+        super(filter);
+        this.coAggregates = coAggregates;
+        this.engine = engine;
+    }
+
+    @Override
+    public int depreciate(final int throughPeriod) {
+        final AggregatedResultQueryModel query = select(AssetFinDet.class).where()
+                .prop("initCost").isNotNull().and()
+                .prop("acquireDate").isNotNull()
+                .yield().prop("id").as("finDetId")
+                .modelAsAggregate();
+        final long[] finDetIds = coAggregates.getAllEntities(from(query).model()).stream()
+                .mapToLong(row -> row.<Number>get("finDetId").longValue()).toArray();
+        Arrays.sort(finDetIds);
+
+        final long started = System.currentTimeMillis();
+        final int written = engine.run(finDetIds, throughPeriod, getUser().getKey());
+        LOGGER.info(String.format("Depreciated %s financial detail(s) through period %s, writing %s ledger record(s) in %s ms.",
+                                  finDetIds.length, throughPeriod, written, System.currentTimeMillis() - started));
+        return written;
+    }
+
+    @Override
+    public int depreciateRange(final long fromId, final long toId, final int throughPeriod) {
+        final Map<Long, long[]> latestRecords = latestRecords(fromId, toId);
+
+        final AggregatedResultQueryModel query = select(AssetFinDet.class).where()
+                .prop("id").ge().val(fromId).and()
+                .prop("id").le().val(toId).and()
+                .prop("initCost").isNotNull().and()
+                .prop("acquireDate").isNotNull().and()
+                .prop("key.assetType.depreciationMethod").isNotNull().and()
+                .prop("key.assetType.usefulLifeMonths").isNotNull()
+                .yield().prop("key.id").as("assetId")
+                .yield().prop("initCost.amount").as("initCost")
+                .yield().prop("acquireDate").as("acquireDate")
+                .yield().prop("key.assetType.depreciationMethod").as("method")
+                .yield().prop("key.assetType.usefulLifeMonths").as("usefulLife")
+                .modelAsAggregate();
+
+        int written = 0;
+        final List<LedgerRecord> batch = new ArrayList<>(BATCH_SIZE);
+        final List<Long> staleAssetIds = new ArrayList<>();
+        for (final EntityAggregates finDet : coAggregates.getAllEntities(from(query).model())) {
+            final Optional<DepreciationMethod> method = DepreciationMethod.fromCode(finDet.get("method"));
+            if (!method.isPresent()) {
+                continue;
+            }
+            final long assetId = finDet.<Number>get("assetId").longValue();
+            final long initCost = toMinorUnits(finDet.<BigDecimal>get("initCost"));
+            final int usefulLife = finDet.<Number>get("usefulLife").intValue();
+            final int acquisitionPeriod = DepreciationSchedule.period(finDet.<Date>get("acquireDate"));
+            final long[] latestRecord = latestRecords.get(assetId);
+
+            // a ledger that does not match the current inputs is rebuilt from scratch, as if the asset has never been depreciated
+            final boolean stale = latestRecord != null && !isConsistent(latestRecord, method.get(), initCost, usefulLife, acquisitionPeriod);
+            if (stale) {
+                staleAssetIds.add(assetId);
+            }
+            final long[] latest = stale ? null : latestRecord;
+
+            long bookValue = latest == null ? initCost : latest[1];
+            for (int period = plusMonths(latest == null ? acquisitionPeriod : (int) latest[0], 1); period <= throughPeriod; period = plusMonths(period, 1)) {
+                final int month = monthsBetween(acquisitionPeriod, period);
+                if (month > usefulLife) {
+                    break;
+                }
+                final long depreciation = DepreciationSchedule.depreciation(method.get(), bookValue, usefulLife, month);
+                bookValue -= depreciation;
+                batch.add(new LedgerRecord(assetId, period, depreciation, bookValue));
+                if (batch.size() == BATCH_SIZE) {
+                    written += writeBatch(batch, staleAssetIds);
+                    batch.clear();
+                    staleAssetIds.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty() || !staleAssetIds.isEmpty()) {
+            written += writeBatch(batch, staleAssetIds);
+        }
+        return written;
+    }
+
+    /**
+     * Determines whether the latest ledger record of an asset is what the schedule produces for the current inputs, i.e. the cost and acquisition date of the asset,
+     * and the depreciation method and useful life of its type. Any change to these after the ledger was written makes it inconsistent, except for changes that do not
+     * affect depreciation up to the latest record, such as moving the acquisition date within the same month.
+     *
+     * @param latestRecord -- the period and the book value in minor units of the latest ledger record
+     */
+    private static boolean isConsistent(final long[] latestRecord, final DepreciationMethod method, final long initCost, final int usefulLife, final int acquisitionPeriod) {
+        final int months = monthsBetween(acquisitionPeriod, (int) latestRecord[0]);
+        if (months < 1 || months > usefulLife) {
+            return false;
+        }
+        long bookValue = initCost;
+        for (int month = 1; month <= months; month++) {
+            bookValue -= DepreciationSchedule.depreciation(method, bookValue, usefulLife, month);
+        }
+        return bookValue == latestRecord[1];
+    }
+
+    /**
+     * Deletes the ledger records of assets with stale ledgers and saves new ledger records in a single transaction.
+     */
+    @SessionRequired
+    public int writeBatch(final List<LedgerRecord> records, final List<Long> staleAssetIds) {
+        if (!staleAssetIds.isEmpty()) {
+            final AggregatedResultQueryModel staleRecords = select(AssetDepreciation.class).where()
+                    .prop("asset").in().values(staleAssetIds.toArray())
+                    .yield().prop("id").as("id")
+                    .modelAsAggregate();
+            defaultBatchDelete(coAggregates.getAllEntities(from(staleRecords).model()).stream()
+                    .map(record -> record.<Number>get("id").longValue()).collect(toList()));
+        }
+        if (records.isEmpty()) {
+            return 0;
+        }
+        final Set<Long> assetIds = records.stream().map(record -> record.assetId).collect(toSet());
+        final EntityResultQueryModel<Asset> query = select(Asset.class).where().prop("id").in().values(assetIds.toArray()).model();
+        final Map<Long, Asset> assets = co(Asset.class).getAllEntities(from(query).with(fetchKeyAndDescOnly(Asset.class)).model()).stream()
+                .collect(toMap(AbstractEntity::getId, identity()));
+        for (final LedgerRecord record : records) {
+            save(new_()
+                    .setAsset(assets.get(record.assetId))
+                    .setPeriod(record.period)
+                    .setDepreciation(new Money(fromMinorUnits(record.depreciation)))
+                    .setBookValue(new Money(fromMinorUnits(record.bookValue))));
+        }
+        return records.size();
+    }
+
+    /**
+     * The period and the book value in minor units of the latest ledger record for every asset with the financial details in the specified range, by asset ID.
+     */
+    private Map<Long, long[]> latestRecords(final long fromId, final long toId) {
+        final PrimitiveResultQueryModel assetsInRange = select(AssetFinDet.class).where()
+                .prop("id").ge().val(fromId).and()
+                .prop("id").le().val(toId)
+                .yield().prop("key").modelAsPrimitive();
+        final EntityResultQueryModel<AssetDepreciation> laterRecord = select(AssetDepreciation.class).where()
+                .prop("asset").eq().extProp("asset").and()
+                .prop("period").gt().extProp("period").model();
+        final AggregatedResultQueryModel query = select(AssetDepreciation.class).where()
+                .prop("asset").in().model(assetsInRange).and()
+                .notExists(laterRecord)
+                .yield().prop("asset.id").as("assetId")
+                .yield().prop("period").as("period")
+                .yield().prop("bookValue.amount").as("bookValue")
+                .modelAsAggregate();
+
+        final Map<Long, long[]> latestRecords = new HashMap<>();
+        for (final EntityAggregates record : coAggregates.getAllEntities(from(query).model())) {
+            latestRecords.put(record.<Number>get("assetId").longValue(),
+                              new long[] {record.<Number>get("period").longValue(), toMinorUnits(record.<BigDecimal>get("bookValue"))});
+        }
+        return latestRecords;
+    }
+
+    @Override
+    protected IFetchProvider<AssetDepreciation> createFetchProvider() {
+        return FETCH_PROVIDER;
+    }
+
+    /**
+     * A ledger record to be written, with amounts in minor units.
+     */
+    public static final class LedgerRecord {
+        private final long assetId;
+        private final int period;
+        private final long depreciation;
+        private final long bookValue;
+
+        private LedgerRecord(final long assetId, final int period, final long depreciation, final long bookValue) {
+            this.assetId = assetId;
+            this.period = period;
+            this.depreciation = depreciation;
+            this.bookValue = bookValue;
+        }
+    }
+
+}
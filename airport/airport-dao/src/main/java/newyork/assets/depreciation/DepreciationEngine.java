@@ -0,0 +1,104 @@
+package newyork.assets.depreciation;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.error.Result;
+import ua.com.fielden.platform.security.user.IUser;
+import ua.com.fielden.platform.security.user.IUserProvider;
+import ua.com.fielden.platform.security.user.User;
+
+/**
+ * Runs depreciation of the asset register in parallel with fork/join, splitting the sorted IDs of financial details into ranges of at most {@link #RANGE_SIZE} records.
+ * Every range is depreciated by {@link IAssetDepreciation#depreciateRange(long, long, int)} on a worker thread, on behalf of the user who started the run.
+ * <p>
+ * Parallelism is bounded, because each worker holds a database connection while depreciating its range.
+ * Only one run at a time is permitted, as concurrent runs would compete for the same ledger records.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class DepreciationEngine {
+
+    public static final String ERR_ALREADY_RUNNING = "Depreciation is already running.";
+    public static final int RANGE_SIZE = 1_000;
+    public static final int PARALLELISM = Math.max(1, Math.min(8, Runtime.getRuntime().availableProcessors()));
+
+    private final ICompanionObjectFinder coFinder;
+    private final IUserProvider userProvider;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final ForkJoinPool pool = new ForkJoinPool(PARALLELISM, forkJoinPool -> {
+        final ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+        thread.setName("depreciation-" + thread.getPoolIndex());
+        return thread;
+    }, null, false);
+
+    @Inject
+    public DepreciationEngine(final ICompanionObjectFinder coFinder, final IUserProvider userProvider) {
+        this.coFinder = coFinder;
+        this.userProvider = userProvider;
+    }
+
+    /**
+     * Depreciates the financial details with the specified IDs up to and including {@code throughPeriod}.
+     *
+     * @param finDetIds -- IDs of financial details in ascending order
+     * @param throughPeriod -- the last month to depreciate in format yyyyMM
+     * @param username -- the user to run on behalf of
+     * @return the number of written ledger records
+     */
+    public int run(final long[] finDetIds, final int throughPeriod, final String username) {
+        if (!running.compareAndSet(false, true)) {
+            throw Result.failure(ERR_ALREADY_RUNNING);
+        }
+        try {
+            return finDetIds.length == 0 ? 0 : pool.invoke(new RangeTask(finDetIds, 0, finDetIds.length, throughPeriod, username));
+        } finally {
+            running.set(false);
+        }
+    }
+
+    /**
+     * Depreciates financial details with IDs at indexes from {@code from} inclusive to {@code to} exclusive.
+     */
+    private final class RangeTask extends RecursiveTask<Integer> {
+        private static final long serialVersionUID = 1L;
+
+        private final long[] ids;
+        private final int from;
+        private final int to;
+        private final int throughPeriod;
+        private final String username;
+
+        private RangeTask(final long[] ids, final int from, final int to, final int throughPeriod, final String username) {
+            this.ids = ids;
+            this.from = from;
+            this.to = to;
+            this.throughPeriod = throughPeriod;
+            this.username = username;
+        }
+
+        @Override
+        protected Integer compute() {
+            if (to - from <= RANGE_SIZE) {
+                final IUser coUser = coFinder.find(User.class, true);
+                userProvider.setUsername(username, coUser);
+                final IAssetDepreciation co = coFinder.find(AssetDepreciation.class);
+                return co.depreciateRange(ids[from], ids[to - 1], throughPeriod);
+            }
+            final int middle = (from + to) >>> 1;
+            final RangeTask left = new RangeTask(ids, from, middle, throughPeriod, username);
+            left.fork();
+            final int written = new RangeTask(ids, middle, to, throughPeriod, username).compute();
+            return written + left.join();
+        }
+    }
+
+}
@@ -0,0 +1,90 @@
+package newyork.assets.depreciation;
+
+import static java.math.RoundingMode.HALF_UP;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import org.joda.time.LocalDate;
+
+/**
+ * Monthly depreciation arithmetic, which operates on amounts in minor currency units (i.e. cents) as {@code long}s and on periods as {@code int}s in format yyyyMM.
+ * <p>
+ * Assets are depreciated from the month after the month of acquisition for their useful life.
+ * Depreciation for a month is computed from the book value at the start of that month (the opening book value), which is what makes it possible to continue depreciation from the latest ledger record.
+ * Rounding is half up to a whole minor unit, and the last month of useful life depreciates the remaining book value, so that depreciation adds up to the cost exactly.
+ *
+ * @author Developers
+ *
+ */
+public final class DepreciationSchedule {
+
+    public static final int MINOR_UNIT_DIGITS = 2;
+
+    private DepreciationSchedule() {}
+
+    /**
+     * Depreciation for the specified month of useful life, where month 1 is the month after the month of acquisition.
+     * Months outside of the useful life, as well as assets that are fully depreciated, have no depreciation.
+     *
+     * @param method
+     * @param openingBookValue -- the book value at the start of the month in minor units
+     * @param usefulLifeMonths
+     * @param month
+     * @return depreciation in minor units, which is never more than {@code openingBookValue}
+     */
+    public static long depreciation(final DepreciationMethod method, final long openingBookValue, final int usefulLifeMonths, final int month) {
+        if (openingBookValue <= 0 || month < 1 || month > usefulLifeMonths) {
+            return 0;
+        }
+        final int remainingMonths = usefulLifeMonths - month + 1;
+        final long straightLine = divideHalfUp(openingBookValue, remainingMonths);
+        if (method == DepreciationMethod.STRAIGHT_LINE) {
+            return straightLine;
+        }
+        final long decliningBalance = divideHalfUp(Math.multiplyExact(openingBookValue, 2), usefulLifeMonths);
+        return Math.min(openingBookValue, Math.max(straightLine, decliningBalance));
+    }
+
+    public static int period(final int year, final int month) {
+        return year * 100 + month;
+    }
+
+    public static int period(final Date date) {
+        final LocalDate localDate = LocalDate.fromDateFields(date);
+        return period(localDate.getYear(), localDate.getMonthOfYear());
+    }
+
+    /**
+     * The number of months from period {@code from} to period {@code to}, which is negative if {@code to} precedes {@code from}.
+     */
+    public static int monthsBetween(final int from, final int to) {
+        return monthIndex(to) - monthIndex(from);
+    }
+
+    public static int plusMonths(final int period, final int months) {
+        final int index = monthIndex(period) + months;
+        return period(Math.floorDiv(index, 12), Math.floorMod(index, 12) + 1);
+    }
+
+    public static long toMinorUnits(final BigDecimal amount) {
+        return amount.movePointRight(MINOR_UNIT_DIGITS).setScale(0, HALF_UP).longValueExact();
+    }
+
+    public static BigDecimal fromMinorUnits(final long amount) {
+        return BigDecimal.valueOf(amount, MINOR_UNIT_DIGITS);
+    }
+
+    private static int monthIndex(final int period) {
+        return (period / 100) * 12 + period % 100 - 1;
+    }
+
+    /**
+     * Division of a non-negative {@code dividend} by a positive {@code divisor}, rounding half up.
+     */
+    private static long divideHalfUp(final long dividend, final long divisor) {
+        final long remainder = dividend % divisor;
+        return dividend / divisor + (remainder * 2 >= divisor ? 1 : 0);
+    }
+
+}
@@ -0,0 +1,78 @@
+package newyork.assets.jobs;
+
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.log4j.Logger;
+import org.joda.time.DateTime;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import newyork.assets.depreciation.AssetDepreciation;
+import newyork.assets.depreciation.DepreciationSchedule;
+import newyork.assets.depreciation.IAssetDepreciation;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.security.user.IUser;
+import ua.com.fielden.platform.security.user.IUserProvider;
+import ua.com.fielden.platform.security.user.User;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A nightly job that depreciates the asset register through the last completed month, writing {@link AssetDepreciation} ledger records.
+ * Depreciation is incremental, so only the first run after a month closes has any work to do, while the other runs merely confirm that the ledger is up to date.
+ * The job runs after the other nightly jobs in order not to compete with them.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class AssetDepreciationJob implements Runnable {
+
+    private static final Logger LOGGER = Logger.getLogger(AssetDepreciationJob.class);
+    private static final int MINUTES_AFTER_MIDNIGHT = 120;
+
+    private final ICompanionObjectFinder coFinder;
+    private final IUserProvider userProvider;
+    private final IUniversalConstants constants;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "asset-depreciation");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Inject
+    public AssetDepreciationJob(final ICompanionObjectFinder coFinder, final IUserProvider userProvider, final IUniversalConstants constants) {
+        this.coFinder = coFinder;
+        this.userProvider = userProvider;
+        this.constants = constants;
+    }
+
+    /**
+     * Schedules this job to run daily in the early hours.
+     */
+    public void schedule() {
+        final DateTime now = constants.now();
+        final long delay = now.plusDays(1).withTimeAtStartOfDay().plusMinutes(MINUTES_AFTER_MIDNIGHT).getMillis() - now.getMillis();
+        scheduler.scheduleAtFixedRate(this, delay, DAYS.toMillis(1), MILLISECONDS);
+    }
+
+    @Override
+    public void run() {
+        try {
+            final IUser coUser = coFinder.find(User.class, true);
+            userProvider.setUsername(User.system_users.SU.name(), coUser);
+            final int lastClosedPeriod = DepreciationSchedule.period(constants.now().minusMonths(1).toDate());
+            final IAssetDepreciation coDepreciation = coFinder.find(AssetDepreciation.class);
+            final int written = coDepreciation.depreciate(lastClosedPeriod);
+            LOGGER.info(String.format("Wrote %s depreciation ledger record(s) through period %s.", written, lastClosedPeriod));
+        } catch (final Exception ex) {
+            // ledger records of completed batches remain in place, and the next run continues from them
+            LOGGER.error("Could not depreciate assets.", ex);
+        }
+    }
+
+}
@@ -0,0 +1,182 @@
+package newyork.common.async;
+
+import static java.util.Collections.unmodifiableList;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.hibernate.Session;
+
+import ua.com.fielden.platform.dao.ISessionEnabled;
+import ua.com.fielden.platform.entity.AbstractEntity;
+
+/**
+ * A handle of a query submitted to {@link AsyncQueryExecutor}, which is polled for its status and results. Queries are cancelled with {@link AsyncQueryExecutor#cancel(String)}.
+ *
+ * @author Developers
+ *
+ * @param <T>
+ */
+public class AsyncQuery<T extends AbstractEntity<?>> {
+
+    public enum Status {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+        public boolean isFinished() {
+            return this == COMPLETED || this == FAILED || this == CANCELLED;
+        }
+    }
+
+    public final String id;
+    public final String username;
+    public final Class<T> entityType;
+    public final List<String> props;
+    public final long submittedMillis;
+
+    private final AtomicReference<Status> status = new AtomicReference<>(Status.QUEUED);
+    private final CountDownLatch finished = new CountDownLatch(1);
+    private volatile Future<?> future;
+    private volatile ISessionEnabled runningCo;
+    private volatile boolean executing;
+    private volatile List<T> result;
+    private volatile boolean truncated;
+    private volatile String error;
+    private volatile long finishedMillis;
+
+    AsyncQuery(final String id, final String username, final Class<T> entityType, final List<String> props, final long submittedMillis) {
+        this.id = id;
+        this.username = username;
+        this.entityType = entityType;
+        this.props = unmodifiableList(props);
+        this.submittedMillis = submittedMillis;
+    }
+
+    public Status getStatus() {
+        return status.get();
+    }
+
+    /**
+     * Entities retrieved by a completed query, or {@code null} if the query has not completed.
+     */
+    public List<T> getResult() {
+        return result;
+    }
+
+    /**
+     * Whether the query matched more entities than were retrieved, in which case {@link #getResult()} contains only the first of them.
+     */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public long getFinishedMillis() {
+        return finishedMillis;
+    }
+
+    /**
+     * Waits for this query to finish, returning {@code true} if it did within the specified time.
+     */
+    public boolean await(final long timeout, final TimeUnit unit) throws InterruptedException {
+        return finished.await(timeout, unit);
+    }
+
+    /**
+     * Cancels this query, unless it has finished already.
+     * A queued query never starts, while the JDBC statement of a running query needs to be cancelled with {@link #cancelStatement()} for as long as the query {@link #isExecuting()},
+     * which is what {@link AsyncQueryExecutor#cancel(String)} does.
+     *
+     * @return {@code true} if the query got cancelled
+     */
+    boolean cancel() {
+        final Status previous = status.getAndUpdate(current -> current.isFinished() ? current : Status.CANCELLED);
+        if (previous.isFinished()) {
+            return false;
+        }
+        if (future != null && previous == Status.QUEUED) {
+            future.cancel(false);
+        }
+        finish(System.currentTimeMillis());
+        return true;
+    }
+
+    boolean start(final ISessionEnabled co) {
+        runningCo = co;
+        executing = true;
+        if (status.compareAndSet(Status.QUEUED, Status.RUNNING)) {
+            return true;
+        }
+        stopped();
+        return false;
+    }
+
+    /**
+     * Indicates that the worker thread is done with this query, whichever way it finished.
+     */
+    void stopped() {
+        executing = false;
+        runningCo = null;
+    }
+
+    /**
+     * Whether the worker thread is still executing this query, which may be the case for a while after cancellation.
+     */
+    boolean isExecuting() {
+        return executing;
+    }
+
+    /**
+     * Completes this query with {@code entities}, which are expected to be retrieved with a limit of {@code maxRows + 1}.
+     * If there are more than {@code maxRows} of them, only the first {@code maxRows} are kept, and the result is marked as truncated.
+     */
+    void complete(final List<T> entities, final int maxRows, final long millis) {
+        if (status.compareAndSet(Status.RUNNING, Status.COMPLETED)) {
+            truncated = entities.size() > maxRows;
+            result = unmodifiableList(truncated ? new ArrayList<>(entities.subList(0, maxRows)) : entities);
+            finish(millis);
+        }
+    }
+
+    void fail(final String message, final long millis) {
+        if (status.compareAndSet(Status.RUNNING, Status.FAILED)) {
+            error = message;
+            finish(millis);
+        }
+    }
+
+    void setFuture(final Future<?> future) {
+        this.future = future;
+    }
+
+    private void finish(final long millis) {
+        finishedMillis = millis;
+        finished.countDown();
+    }
+
+    /**
+     * Cancels the JDBC statement of this query, which makes the database abandon it.
+     * Nothing happens if the worker thread has not opened a session yet or has closed it already, therefore this needs to be repeated while the query {@link #isExecuting()}.
+     */
+    void cancelStatement() {
+        final ISessionEnabled co = runningCo;
+        if (co == null) {
+            return;
+        }
+        try {
+            final Session session = co.getSession();
+            if (session != null) {
+                session.cancelQuery();
+            }
+        } catch (final RuntimeException ex) {
+            // there is no session at the moment
+        }
+    }
+
+}
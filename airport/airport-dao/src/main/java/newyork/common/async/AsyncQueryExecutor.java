@@ -0,0 +1,162 @@
+package newyork.common.async;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.Logger;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.dao.ISessionEnabled;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.entity.query.QueryExecutionModel;
+import ua.com.fielden.platform.error.Result;
+import ua.com.fielden.platform.security.user.IUser;
+import ua.com.fielden.platform.security.user.IUserProvider;
+import ua.com.fielden.platform.security.user.User;
+
+/**
+ * Executes long-running queries, such as centre runs over wide date ranges, on a small bounded pool instead of request threads.
+ * <p>
+ * A submitted query is represented by an {@link AsyncQuery} handle, which is polled for its status and results, and which cancels the JDBC statement if the user is no longer interested in the results.
+ * Queries are visible only to the users who submitted them, while other users get the same response as for queries that do not exist.
+ * The JDBC statement of a cancelled query is cancelled repeatedly every {@link #CANCEL_RETRY_MILLIS} until the worker thread is done with the query,
+ * because the worker may not have opened its session or started the statement at the time of cancellation.
+ * When both the pool and its queue are busy, new queries are rejected rather than queued indefinitely.
+ * Finished queries are forgotten some time after they finish, whether their results were picked up or not.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class AsyncQueryExecutor {
+
+    public static final String ERR_TOO_MANY_QUERIES = "There are too many queries in progress. Please try again later.";
+    public static final String ERR_UNKNOWN_QUERY = "Query [%s] does not exist or has expired.";
+
+    public static final int POOL_SIZE = 4;
+    public static final int QUEUE_CAPACITY = 16;
+    public static final int MAX_ROWS = 10_000;
+    public static final long RETENTION_MINUTES = 10;
+    public static final long CANCEL_RETRY_MILLIS = 50;
+
+    private static final Logger LOGGER = Logger.getLogger(AsyncQueryExecutor.class);
+
+    private final ICompanionObjectFinder coFinder;
+    private final IUserProvider userProvider;
+    private final ConcurrentMap<String, AsyncQuery<?>> queries = new ConcurrentHashMap<>();
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService canceller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "async-query-canceller");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Inject
+    public AsyncQueryExecutor(final ICompanionObjectFinder coFinder, final IUserProvider userProvider) {
+        this.coFinder = coFinder;
+        this.userProvider = userProvider;
+        final AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(POOL_SIZE, POOL_SIZE, 1, MINUTES, new ArrayBlockingQueue<>(QUEUE_CAPACITY), runnable -> {
+            final Thread thread = new Thread(runnable, "async-query-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Submits a query on behalf of the current user, retrieving up to {@link #MAX_ROWS} entities. Queries that match more entities complete with a truncated result (see {@link AsyncQuery#isTruncated()}).
+     *
+     * @param entityType
+     * @param qem
+     * @param props -- properties of interest to the client, which are expected to be fetched by {@code qem}
+     * @return a handle of the submitted query
+     */
+    public <T extends AbstractEntity<?>> AsyncQuery<T> submit(final Class<T> entityType, final QueryExecutionModel<T, ?> qem, final List<String> props) {
+        evictExpired();
+        final String username = userProvider.getUser().getKey();
+        final AsyncQuery<T> query = new AsyncQuery<>(UUID.randomUUID().toString(), username, entityType, props, System.currentTimeMillis());
+        queries.put(query.id, query);
+        try {
+            query.setFuture(executor.submit(() -> run(query, qem, username)));
+        } catch (final RejectedExecutionException ex) {
+            queries.remove(query.id);
+            throw Result.failure(ERR_TOO_MANY_QUERIES);
+        }
+        return query;
+    }
+
+    /**
+     * Finds the query with the specified ID, which is submitted by the current user.
+     */
+    public Optional<AsyncQuery<?>> find(final String id) {
+        final String username = userProvider.getUser().getKey();
+        return Optional.ofNullable(queries.get(id)).filter(query -> query.username.equals(username));
+    }
+
+    /**
+     * Cancels the query with the specified ID, which is submitted by the current user.
+     *
+     * @return {@code true} if the query was in progress and got cancelled
+     */
+    public boolean cancel(final String id) {
+        final AsyncQuery<?> query = find(id).orElseThrow(() -> Result.failuref(ERR_UNKNOWN_QUERY, id));
+        if (!query.cancel()) {
+            return false;
+        }
+        cancelStatement(query);
+        return true;
+    }
+
+    /**
+     * Cancels the JDBC statement of a cancelled query, repeating every {@link #CANCEL_RETRY_MILLIS} for as long as the worker thread is executing the query.
+     */
+    void cancelStatement(final AsyncQuery<?> query) {
+        if (query.isExecuting()) {
+            query.cancelStatement();
+            canceller.schedule(() -> cancelStatement(query), CANCEL_RETRY_MILLIS, MILLISECONDS);
+        }
+    }
+
+    private <T extends AbstractEntity<?>> void run(final AsyncQuery<T> query, final QueryExecutionModel<T, ?> qem, final String username) {
+        final IUser coUser = coFinder.find(User.class, true);
+        userProvider.setUsername(username, coUser);
+        final IEntityDao<T> co = coFinder.find(query.entityType, true);
+        if (!query.start((ISessionEnabled) co)) {
+            return; // cancelled while queued
+        }
+        try {
+            // one extra row reveals whether the results are truncated
+            query.complete(co.getFirstEntities(qem, MAX_ROWS + 1), MAX_ROWS, System.currentTimeMillis());
+        } catch (final Exception ex) {
+            // cancellation of the JDBC statement surfaces as an exception, which does not change the status of the cancelled query
+            if (query.getStatus() != AsyncQuery.Status.CANCELLED) {
+                LOGGER.error(String.format("Async query [%s] for [%s] failed.", query.id, query.entityType.getSimpleName()), ex);
+            }
+            query.fail(ex.getMessage(), System.currentTimeMillis());
+        } finally {
+            query.stopped();
+        }
+    }
+
+    private void evictExpired() {
+        final long expiredBefore = System.currentTimeMillis() - MINUTES.toMillis(RETENTION_MINUTES);
+        queries.values().removeIf(query -> query.getStatus().isFinished() && query.getFinishedMillis() < expiredBefore);
+    }
+
+}
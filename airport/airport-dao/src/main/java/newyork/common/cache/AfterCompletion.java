@@ -0,0 +1,60 @@
+package newyork.common.cache;
+
+import javax.transaction.Status;
+import javax.transaction.Synchronization;
+
+import ua.com.fielden.platform.dao.ISessionEnabled;
+
+/**
+ * Callbacks upon completion of the current transaction of a companion, which keep in-memory caches in line with committed data.
+ * <p>
+ * Invalidating a cache only before the transaction commits is not enough: a concurrent reader that misses the cache after the invalidation but before the commit
+ * loads the previous state of the data and caches it until the entry expires. Therefore, caches are invalidated once more after the transaction completes,
+ * which, together with the generation guards of the caches, discards any such stale entries.
+ *
+ * @author Developers
+ *
+ */
+public final class AfterCompletion {
+
+    private AfterCompletion() {}
+
+    /**
+     * Runs {@code invalidation} straight away, so that the current transaction does not read cached data it has changed,
+     * and once more after the current transaction of {@code co} completes, whether it commits or rolls back.
+     * Needs to be invoked within a session.
+     */
+    public static void invalidate(final ISessionEnabled co, final Runnable invalidation) {
+        invalidation.run();
+        co.getSession().getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                invalidation.run();
+            }
+        });
+    }
+
+    /**
+     * Runs {@code action} after the current transaction of {@code co} commits, and not at all if it rolls back.
+     * Needs to be invoked within a session.
+     */
+    public static void afterCommit(final ISessionEnabled co, final Runnable action) {
+        co.getSession().getTransaction().registerSynchronization(new Synchronization() {
+            @Override
+            public void beforeCompletion() {
+            }
+
+            @Override
+            public void afterCompletion(final int status) {
+                if (status == Status.STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+
+}
@@ -0,0 +1,192 @@
+package newyork.common.cache;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A cache for values of calculated properties, which are expensive to compute in SQL for every row of every centre refresh, such as {@code Asset.currOwnership}.
+ * <p>
+ * Values are cached per entity type, ID, version and property, so that modifying an entity makes its cached values unreachable.
+ * Within a type, values are grouped by entity ID, which makes invalidation of a single entity as cheap as a lookup, and which means that {@link #MAXIMUM_SIZE} limits the number of entities per type.
+ * Values that depend on other entities need to be invalidated explicitly by the companions of those entities, either for a single entity or for the whole type.
+ * Cache keys include the current date, because calculated properties tend to depend on <i>now</i>.
+ * Missing values (i.e. {@code null}) are cached as well, which is the common case for properties like the current ownership.
+ * Values for many entities can be cached at once with {@link #warm}, which avoids a round-trip per entity upon a cold cache.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class CalculatedPropertyCache {
+
+    public static final long MAXIMUM_SIZE = 10_000;
+    public static final long EXPIRE_AFTER_MINUTES = 60;
+
+    private final IUniversalConstants constants;
+    private final ConcurrentMap<Class<?>, TypeCache> caches = new ConcurrentHashMap<>();
+
+    @Inject
+    public CalculatedPropertyCache(final IUniversalConstants constants) {
+        this.constants = constants;
+    }
+
+    /**
+     * Returns the cached value of property {@code prop} for {@code entity}, computing it with {@code loader} upon a cache miss.
+     * Entities that are not persisted yet are not cached.
+     */
+    public <V> V get(final AbstractEntity<?> entity, final String prop, final Supplier<V> loader) {
+        if (entity.getId() == null) {
+            return loader.get();
+        }
+        return typeCache(entity.getType()).get(entity.getId(), new ValueKey(today(), entity.getVersion(), prop), loader);
+    }
+
+    /**
+     * Caches values of property {@code prop} for a number of entities at once, which {@code loader} computes with a single round-trip.
+     * Values that are cached already are retained, and nothing gets cached if entities of the type are invalidated while loading.
+     */
+    public <E extends AbstractEntity<?>, V> void warm(final Class<E> type, final String prop, final Supplier<Map<E, V>> loader) {
+        typeCache(type).warm(today(), prop, loader);
+    }
+
+    /**
+     * Invalidates all cached values of the specified entity.
+     */
+    public void invalidate(final Class<? extends AbstractEntity<?>> type, final Long id) {
+        typeCache(type).invalidate(id);
+    }
+
+    /**
+     * Invalidates all cached values of entities of the specified type.
+     */
+    public void invalidate(final Class<? extends AbstractEntity<?>> type) {
+        typeCache(type).invalidateAll();
+    }
+
+    public void invalidateAll() {
+        caches.values().forEach(TypeCache::invalidateAll);
+    }
+
+    /**
+     * Hit and miss counters, as well as eviction counters, per entity type.
+     */
+    public Map<Class<?>, CacheStats> stats() {
+        final Map<Class<?>, CacheStats> stats = new ConcurrentHashMap<>();
+        caches.forEach((type, cache) -> stats.put(type, cache.stats()));
+        return stats;
+    }
+
+    private TypeCache typeCache(final Class<?> type) {
+        return caches.computeIfAbsent(type, t -> new TypeCache());
+    }
+
+    private long today() {
+        return constants.now().withTimeAtStartOfDay().getMillis();
+    }
+
+    private static final class TypeCache {
+        private final Cache<Long, ConcurrentMap<ValueKey, Optional<Object>>> values = CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER_MINUTES, MINUTES)
+                .recordStats()
+                .build();
+        // hits and misses are counted per value, because the cache itself only sees lookups of entities
+        private final LongAdder hits = new LongAdder();
+        private final LongAdder misses = new LongAdder();
+        // incremented upon invalidation to prevent values computed before invalidation from being cached after it
+        private final AtomicLong generation = new AtomicLong();
+
+        @SuppressWarnings("unchecked")
+        <V> V get(final Long id, final ValueKey key, final Supplier<V> loader) {
+            final Map<ValueKey, Optional<Object>> entityValues = values.getIfPresent(id);
+            final Optional<Object> cached = entityValues == null ? null : entityValues.get(key);
+            if (cached != null) {
+                hits.increment();
+                return (V) cached.orElse(null);
+            }
+            misses.increment();
+            final long loadedInGeneration = generation.get();
+            final V loaded = loader.get();
+            if (loadedInGeneration == generation.get()) {
+                entityValues(id).put(key, Optional.ofNullable(loaded));
+            }
+            return loaded;
+        }
+
+        <E extends AbstractEntity<?>, V> void warm(final long day, final String prop, final Supplier<Map<E, V>> loader) {
+            final long loadedInGeneration = generation.get();
+            final Map<E, V> loaded = loader.get();
+            if (loadedInGeneration == generation.get()) {
+                loaded.forEach((entity, value) -> entityValues(entity.getId()).putIfAbsent(new ValueKey(day, entity.getVersion(), prop), Optional.ofNullable(value)));
+            }
+        }
+
+        void invalidate(final Long id) {
+            generation.incrementAndGet();
+            values.invalidate(id);
+        }
+
+        void invalidateAll() {
+            generation.incrementAndGet();
+            values.invalidateAll();
+        }
+
+        CacheStats stats() {
+            return new CacheStats(hits.sum(), misses.sum(), 0, 0, 0, values.stats().evictionCount());
+        }
+
+        private ConcurrentMap<ValueKey, Optional<Object>> entityValues(final Long id) {
+            return values.asMap().computeIfAbsent(id, key -> new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Identifies a cached value of an entity, whose ID is the key of the enclosing map.
+     */
+    private static final class ValueKey {
+        private final long day;
+        private final Long version;
+        private final String prop;
+
+        private ValueKey(final long day, final Long version, final String prop) {
+            this.day = day;
+            this.version = version;
+            this.prop = prop;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, version, prop);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof ValueKey)) {
+                return false;
+            }
+            final ValueKey that = (ValueKey) obj;
+            return day == that.day && Objects.equals(version, that.version) && prop.equals(that.prop);
+        }
+    }
+
+}
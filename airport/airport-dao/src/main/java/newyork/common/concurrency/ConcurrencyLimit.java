@@ -0,0 +1,116 @@
+package newyork.common.concurrency;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Properties;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import ua.com.fielden.platform.error.Result;
+
+/**
+ * Limits the number of concurrently executing units of work, such as web requests, which would otherwise all compete for a much smaller pool of database connections.
+ * <p>
+ * Work in excess of the limit waits in a fair queue for up to the queue timeout and gets rejected after that,
+ * which lets the server shed load early instead of timing out on obtaining a database connection half-way through a request.
+ * A limit of zero disables limiting altogether.
+ *
+ * @author Developers
+ *
+ */
+public class ConcurrencyLimit {
+
+    public static final String ERR_LIMIT_EXCEEDED = "The server is too busy. Please try again later.";
+
+    public static final String LIMIT_PROPERTY = "web.concurrency.limit";
+    public static final String QUEUE_TIMEOUT_PROPERTY = "web.concurrency.queueTimeout";
+    public static final long DEFAULT_QUEUE_TIMEOUT_MILLIS = 5000;
+
+    public final int limit;
+    public final long queueTimeoutMillis;
+
+    private final Semaphore permits;
+    private final AtomicLong rejected = new AtomicLong();
+
+    public ConcurrencyLimit(final int limit, final long queueTimeoutMillis) {
+        if (limit < 0 || queueTimeoutMillis < 0) {
+            throw new IllegalArgumentException(String.format("Concurrency limit [%s] and queue timeout [%s] should not be negative.", limit, queueTimeoutMillis));
+        }
+        this.limit = limit;
+        this.queueTimeoutMillis = queueTimeoutMillis;
+        this.permits = limit > 0 ? new Semaphore(limit, true) : null;
+    }
+
+    public static ConcurrencyLimit unlimited() {
+        return new ConcurrencyLimit(0, 0);
+    }
+
+    /**
+     * Creates a limit as configured with properties {@value #LIMIT_PROPERTY} and {@value #QUEUE_TIMEOUT_PROPERTY} (in milliseconds), which is unlimited if the limit is not specified.
+     */
+    public static ConcurrencyLimit fromProperties(final Properties props) {
+        return new ConcurrencyLimit(Integer.parseInt(props.getProperty(LIMIT_PROPERTY, "0").trim()),
+                                    Long.parseLong(props.getProperty(QUEUE_TIMEOUT_PROPERTY, String.valueOf(DEFAULT_QUEUE_TIMEOUT_MILLIS)).trim()));
+    }
+
+    public boolean isEnabled() {
+        return permits != null;
+    }
+
+    /**
+     * Waits for a permit for up to the queue timeout. Every successful acquisition should be followed by {@link #release()}.
+     *
+     * @return {@code true} if a permit was acquired
+     */
+    public boolean tryAcquire() {
+        if (permits == null) {
+            return true;
+        }
+        try {
+            if (permits.tryAcquire(queueTimeoutMillis, MILLISECONDS)) {
+                return true;
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        rejected.incrementAndGet();
+        return false;
+    }
+
+    public void release() {
+        if (permits != null) {
+            permits.release();
+        }
+    }
+
+    /**
+     * Executes {@code work} within the limit, failing with {@link #ERR_LIMIT_EXCEEDED} if no permit becomes available within the queue timeout.
+     */
+    public <T> T execute(final Supplier<T> work) {
+        if (!tryAcquire()) {
+            throw Result.failure(ERR_LIMIT_EXCEEDED);
+        }
+        try {
+            return work.get();
+        } finally {
+            release();
+        }
+    }
+
+    /**
+     * The number of units of work currently holding permits.
+     */
+    public int inFlight() {
+        return permits == null ? 0 : limit - permits.availablePermits();
+    }
+
+    public int queued() {
+        return permits == null ? 0 : permits.getQueueLength();
+    }
+
+    public long rejected() {
+        return rejected.get();
+    }
+
+}
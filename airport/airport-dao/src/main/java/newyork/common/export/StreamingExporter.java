@@ -0,0 +1,172 @@
+package newyork.common.export;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.reflection.Finder;
+import ua.com.fielden.platform.reflection.TitlesDescsGetter;
+import ua.com.fielden.platform.types.Money;
+
+/**
+ * Writes a stream of entities to CSV or XLSX, one row at a time, which keeps memory consumption constant regardless of the number of entities.
+ * For XLSX, only a small window of rows is kept in memory (see {@link SXSSFWorkbook}), while the rest are flushed to a temporary file.
+ * <p>
+ * Companion objects implementing {@link IStreamingExport} are expected to obtain the stream with {@code KeysetPaging.stream}, using {@link #FETCH_SIZE} as the page capacity.
+ *
+ * @author Developers
+ *
+ */
+public final class StreamingExporter {
+
+    /** The number of rows fetched from the database at a time. */
+    public static final int FETCH_SIZE = 1000;
+    /** The number of XLSX rows kept in memory before flushing. */
+    private static final int XLSX_ROW_WINDOW = 100;
+    private static final String DATE_FORMAT = "yyyy-MM-dd";
+
+    private StreamingExporter() {}
+
+    /**
+     * Exports {@code entities}, writing values of properties {@code props} (dot-notation is supported) as columns, titled as per the domain metadata.
+     *
+     * @param type
+     * @param props
+     * @param entities
+     * @param format
+     * @param out
+     * @return the number of exported entities
+     */
+    public static <T extends AbstractEntity<?>> int export(final Class<T> type, final List<String> props, final Stream<T> entities, final ExportFormat format, final OutputStream out) {
+        final String[] titles = props.stream().map(prop -> TitlesDescsGetter.getTitleAndDesc(prop, type).getKey()).toArray(String[]::new);
+        try {
+            switch (format) {
+            case CSV:
+                return exportCsv(props, titles, entities.iterator(), out);
+            case XLSX:
+                return exportXlsx(type, props, titles, entities.iterator(), out);
+            default:
+                throw new IllegalArgumentException(String.format("Unsupported export format [%s].", format));
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private static <T extends AbstractEntity<?>> int exportCsv(final List<String> props, final String[] titles, final Iterator<T> entities, final OutputStream out) throws IOException {
+        final Writer writer = new BufferedWriter(new OutputStreamWriter(out, UTF_8));
+        final SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
+        writeCsvLine(writer, titles);
+        int count = 0;
+        final String[] values = new String[titles.length];
+        while (entities.hasNext()) {
+            final T entity = entities.next();
+            for (int index = 0; index < values.length; index++) {
+                values[index] = toText(valueOf(entity, props.get(index)), dateFormat);
+            }
+            writeCsvLine(writer, values);
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvLine(final Writer writer, final String[] values) throws IOException {
+        for (int index = 0; index < values.length; index++) {
+            if (index > 0) {
+                writer.write(',');
+            }
+            final String value = values[index];
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    private static <T extends AbstractEntity<?>> int exportXlsx(final Class<T> type, final List<String> props, final String[] titles, final Iterator<T> entities, final OutputStream out) throws IOException {
+        final SXSSFWorkbook workbook = new SXSSFWorkbook(XLSX_ROW_WINDOW);
+        try {
+            final Sheet sheet = workbook.createSheet(TitlesDescsGetter.getEntityTitleAndDesc(type).getKey());
+            final CellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat(DATE_FORMAT));
+
+            final Row header = sheet.createRow(0);
+            for (int index = 0; index < titles.length; index++) {
+                header.createCell(index).setCellValue(titles[index]);
+            }
+            int count = 0;
+            while (entities.hasNext()) {
+                final T entity = entities.next();
+                final Row row = sheet.createRow(++count);
+                for (int index = 0; index < titles.length; index++) {
+                    setCellValue(row.createCell(index), valueOf(entity, props.get(index)), dateStyle);
+                }
+            }
+            workbook.write(out);
+            return count;
+        } finally {
+            // removes temporary files that back flushed rows
+            workbook.dispose();
+            workbook.close();
+        }
+    }
+
+    private static void setCellValue(final Cell cell, final Object value, final CellStyle dateStyle) {
+        if (value == null) {
+            return;
+        } else if (value instanceof Money) {
+            cell.setCellValue(((Money) value).getAmount().doubleValue());
+        } else if (value instanceof Number) {
+            cell.setCellValue(((Number) value).doubleValue());
+        } else if (value instanceof Date) {
+            cell.setCellValue((Date) value);
+            cell.setCellStyle(dateStyle);
+        } else if (value instanceof Boolean) {
+            cell.setCellValue((Boolean) value);
+        } else {
+            cell.setCellValue(value.toString());
+        }
+    }
+
+    private static String toText(final Object value, final SimpleDateFormat dateFormat) {
+        if (value == null) {
+            return "";
+        } else if (value instanceof Money) {
+            return ((Money) value).getAmount().toPlainString();
+        } else if (value instanceof BigDecimal) {
+            return ((BigDecimal) value).toPlainString();
+        } else if (value instanceof Date) {
+            return dateFormat.format((Date) value);
+        } else {
+            return value.toString();
+        }
+    }
+
+    private static Object valueOf(final AbstractEntity<?> entity, final String prop) {
+        return Finder.findFieldValueByName(entity, prop);
+    }
+
+}
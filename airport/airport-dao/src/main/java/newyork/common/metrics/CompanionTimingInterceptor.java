@@ -0,0 +1,46 @@
+package newyork.common.metrics;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+
+/**
+ * Times companion methods, such as {@code save}, {@code findById}, {@code batchDelete} or {@code makeUser}, recording their latencies in {@link Metrics}.
+ * Nested calls are recorded separately, therefore the time of a method includes the time of companion methods it calls.
+ *
+ * @author Developers
+ *
+ */
+public class CompanionTimingInterceptor implements MethodInterceptor {
+
+    private Provider<Metrics> metrics;
+
+    @Inject
+    public void setMetrics(final Provider<Metrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        final long start = System.nanoTime();
+        try {
+            return invocation.proceed();
+        } finally {
+            metrics.get().recordCompanionMethod(companionName(invocation.getThis().getClass()), invocation.getMethod().getName(), (System.nanoTime() - start) / 1_000_000d);
+        }
+    }
+
+    /**
+     * Companions are subclassed by Guice in order to be intercepted, and it is the name of the original class that is of interest.
+     */
+    static String companionName(final Class<?> type) {
+        Class<?> companionType = type;
+        while (companionType.getName().contains("$$") && companionType.getSuperclass() != null) {
+            companionType = companionType.getSuperclass();
+        }
+        return companionType.getSimpleName();
+    }
+
+}
@@ -0,0 +1,134 @@
+package newyork.common.metrics;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.reflection.Finder;
+import ua.com.fielden.platform.utils.EntityUtils;
+
+/**
+ * Profiles fetch models by recording property paths of entities that are actually sent to the client by each centre and master (a view),
+ * and recommends minimal fetch providers per entity type, which cover paths of all its views.
+ * <p>
+ * Only paths that resolve to properties of the entity type are recorded, which excludes synthetic properties of centre results (such as columns added by a props assigner).
+ * <p>
+ * Profiling is enabled with property {@value #ENABLED_PROPERTY}. With property {@value #APPLY_PROPERTY} companions that support it,
+ * such as {@code AssetDao}, extend their declared fetch provider with the recommended paths once their entity type has been observed.
+ * The declared fetch provider and the key are always retained, as they cover properties required by validators, definers and {@code save}, which are never sent to the client.
+ * Applying is meant for trying recommendations out before changing the declared fetch providers, which remain the reference.
+ *
+ * @author Developers
+ *
+ */
+public class FetchModelProfiler {
+
+    public static final String ENABLED_PROPERTY = "fetchProfiling.enabled";
+    public static final String APPLY_PROPERTY = "fetchProfiling.apply";
+    private static final String KEY = "key";
+
+    public final boolean enabled;
+    public final boolean applying;
+
+    // entity type -> view -> property paths
+    private final ConcurrentMap<Class<? extends AbstractEntity<?>>, ConcurrentMap<String, Set<String>>> observations = new ConcurrentHashMap<>();
+
+    public FetchModelProfiler(final boolean enabled, final boolean applying) {
+        this.enabled = enabled;
+        this.applying = enabled && applying;
+    }
+
+    public static FetchModelProfiler fromProperties(final Properties props) {
+        return new FetchModelProfiler(Boolean.parseBoolean(props.getProperty(ENABLED_PROPERTY, "false").trim()),
+                                      Boolean.parseBoolean(props.getProperty(APPLY_PROPERTY, "false").trim()));
+    }
+
+    /**
+     * Records property paths of an entity of type {@code entityType} sent to the client by {@code view}, skipping paths that do not resolve on {@code entityType}.
+     */
+    public void record(final String view, final Class<? extends AbstractEntity<?>> entityType, final Set<String> paths) {
+        if (!enabled) {
+            return;
+        }
+        final Set<String> resolved = paths.stream().filter(path -> resolves(entityType, path)).collect(Collectors.toSet());
+        if (!resolved.isEmpty()) {
+            observations.computeIfAbsent(entityType, type -> new ConcurrentHashMap<>())
+                        .computeIfAbsent(view, key -> ConcurrentHashMap.newKeySet())
+                        .addAll(resolved);
+        }
+    }
+
+    private static boolean resolves(final Class<?> entityType, final String path) {
+        try {
+            return Finder.findFieldByName(entityType, path) != null;
+        } catch (final RuntimeException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Property paths of {@code entityType} observed across all views, sorted.
+     */
+    public Set<String> observedPaths(final Class<? extends AbstractEntity<?>> entityType) {
+        final Set<String> paths = new TreeSet<>();
+        observations.getOrDefault(entityType, new ConcurrentHashMap<>()).values().forEach(paths::addAll);
+        return paths;
+    }
+
+    /**
+     * The minimal fetch provider that covers the key and all observed property paths, or an empty optional if {@code entityType} has not been observed.
+     */
+    public <T extends AbstractEntity<?>> Optional<IFetchProvider<T>> recommend(final Class<T> entityType) {
+        final Set<String> paths = observedPaths(entityType);
+        return paths.isEmpty() ? Optional.empty() : Optional.of(EntityUtils.fetch(entityType).with(KEY, paths.toArray(new String[0])));
+    }
+
+    /**
+     * The fetch provider to be used by a companion: the declared one extended with the key and the observed paths when applying recommendations, otherwise the declared one.
+     */
+    public <T extends AbstractEntity<?>> IFetchProvider<T> effective(final Class<T> entityType, final IFetchProvider<T> declared) {
+        if (!applying) {
+            return declared;
+        }
+        final Set<String> paths = observedPaths(entityType);
+        return paths.isEmpty() ? declared : declared.with(KEY, paths.toArray(new String[0]));
+    }
+
+    /**
+     * A plain text report with observations per view and the recommended property paths per entity type, compared with the declared property paths of the entity type.
+     */
+    public String report(final Function<Class<? extends AbstractEntity<?>>, Set<String>> declaredPaths) {
+        final StringBuilder report = new StringBuilder(String.format("Fetch model profile (%s)%n", applying ? "applying recommendations" : enabled ? "recording" : "disabled"));
+        final Map<String, Class<? extends AbstractEntity<?>>> types = new TreeMap<>();
+        observations.keySet().forEach(type -> types.put(type.getSimpleName(), type));
+        types.forEach((name, type) -> {
+            final Set<String> observed = observedPaths(type);
+            final Set<String> declared = new TreeSet<>(declaredPaths.apply(type));
+            final Set<String> unused = new TreeSet<>(declared);
+            unused.removeAll(observed);
+            final Set<String> missing = new TreeSet<>(observed);
+            missing.removeAll(declared);
+
+            report.append(String.format("%n%s%n", name));
+            new TreeMap<>(observations.get(type)).forEach((view, paths) -> report.append(String.format("  %s: %s%n", view, new TreeSet<>(paths))));
+            report.append(String.format("  recommended: %s%n", observed));
+            report.append(String.format("  declared but not used: %s%n", unused));
+            report.append(String.format("  used but not declared: %s%n", missing));
+        });
+        return report.toString();
+    }
+
+    public void clear() {
+        observations.clear();
+    }
+
+}
@@ -0,0 +1,73 @@
+package newyork.common.metrics;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A histogram with fixed bucket boundaries, which is cheap enough to be updated for every request or companion method call.
+ * Buckets are cumulative, as in the Prometheus text format: each bucket counts observations less than or equal to its boundary.
+ *
+ * @author Developers
+ *
+ */
+public class Histogram {
+
+    /** Bucket boundaries for latencies in milliseconds. */
+    public static final double[] LATENCY_BOUNDS_MILLIS = {1, 5, 10, 25, 50, 100, 250, 500, 1000, 2500, 5000, 10000, 30000};
+    /** Bucket boundaries for counts, such as the number of SQL statements per request. */
+    public static final double[] COUNT_BOUNDS = {0, 1, 2, 5, 10, 20, 50, 100, 200, 500, 1000};
+
+    private final double[] bounds;
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+
+    public Histogram(final double[] bounds) {
+        this.bounds = bounds.clone();
+        this.buckets = new LongAdder[bounds.length];
+        for (int index = 0; index < bounds.length; index++) {
+            buckets[index] = new LongAdder();
+        }
+    }
+
+    public void observe(final double value) {
+        for (int index = 0; index < bounds.length; index++) {
+            if (value <= bounds[index]) {
+                buckets[index].increment();
+                break;
+            }
+        }
+        count.increment();
+        sum.add(value);
+    }
+
+    public long count() {
+        return count.sum();
+    }
+
+    public double sum() {
+        return sum.sum();
+    }
+
+    /**
+     * Appends this histogram in the Prometheus text format as metric {@code name} with the specified labels, which are expected to be formatted already, e.g. {@code resource="/login"}.
+     */
+    public void write(final StringBuilder out, final String name, final String labels) {
+        final String labelPrefix = labels.isEmpty() ? "" : labels + ",";
+        long cumulative = 0;
+        for (int index = 0; index < bounds.length; index++) {
+            cumulative += buckets[index].sum();
+            out.append(name).append("_bucket{").append(labelPrefix).append("le=\"").append(format(bounds[index])).append("\"} ").append(cumulative).append('\n');
+        }
+        final String suffix = labels.isEmpty() ? " " : "{" + labels + "} ";
+        out.append(name).append("_bucket{").append(labelPrefix).append("le=\"+Inf\"} ").append(count()).append('\n');
+        out.append(name).append("_sum").append(suffix).append(format(sum())).append('\n');
+        out.append(name).append("_count").append(suffix).append(count()).append('\n');
+    }
+
+    static String format(final double value) {
+        return value == Math.rint(value) ? String.valueOf((long) value) : String.format(Locale.ROOT, "%.3f", value);
+    }
+
+}
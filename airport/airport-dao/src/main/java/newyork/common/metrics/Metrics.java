@@ -0,0 +1,161 @@
+package newyork.common.metrics;
+
+import static newyork.common.metrics.Histogram.COUNT_BOUNDS;
+import static newyork.common.metrics.Histogram.LATENCY_BOUNDS_MILLIS;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.cache.CacheStats;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import newyork.common.cache.CalculatedPropertyCache;
+import newyork.common.concurrency.ConcurrencyLimit;
+import newyork.common.session.IUserSessionStore;
+import newyork.common.session.SessionStore;
+import newyork.tablescodes.assets.ReferenceDataCache;
+
+/**
+ * An in-memory registry of server metrics, which are exposed in the Prometheus text format by {@link #toPrometheusText()}:
+ * <ul>
+ * <li>request latencies and SQL statements per request, by resource;
+ * <li>companion method latencies, by companion and method;
+ * <li>hit and miss counts of the in-memory caches, as well as the size and evictions of the session store;
+ * <li>the state of the request concurrency limit and of the Hikari connection pool.
+ * </ul>
+ * The number of distinct resources is bounded, with any resources beyond the bound recorded as {@link #OTHER_RESOURCE}.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class Metrics {
+
+    private static final Logger LOGGER = Logger.getLogger(Metrics.class);
+
+    public static final int MAX_RESOURCES = 500;
+    public static final String OTHER_RESOURCE = "other";
+    /** Hikari pools register their MBeans under this name when {@code hibernate.hikari.registerMbeans} is {@code true}. */
+    public static final String HIKARI_POOL_MBEANS = "com.zaxxer.hikari:type=Pool (*)";
+    private static final String[] HIKARI_POOL_ATTRIBUTES = {"ActiveConnections", "IdleConnections", "TotalConnections", "ThreadsAwaitingConnection"};
+
+    private final ConcurrentMap<String, Histogram> requestLatencies = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Histogram> requestStatements = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Histogram> companionLatencies = new ConcurrentHashMap<>();
+
+    private final ReferenceDataCache referenceDataCache;
+    private final CalculatedPropertyCache calculatedPropertyCache;
+    private final ConcurrencyLimit concurrencyLimit;
+    private final SessionStore sessionStore;
+
+    @Inject
+    public Metrics(final ReferenceDataCache referenceDataCache, final CalculatedPropertyCache calculatedPropertyCache, final ConcurrencyLimit concurrencyLimit, final IUserSessionStore sessionStore) {
+        this.referenceDataCache = referenceDataCache;
+        this.calculatedPropertyCache = calculatedPropertyCache;
+        this.concurrencyLimit = concurrencyLimit;
+        this.sessionStore = sessionStore.local();
+    }
+
+    public void recordRequest(final String resource, final double millis, final int sqlStatements) {
+        final String boundedResource = requestLatencies.containsKey(resource) || requestLatencies.size() < MAX_RESOURCES ? resource : OTHER_RESOURCE;
+        requestLatencies.computeIfAbsent(boundedResource, key -> new Histogram(LATENCY_BOUNDS_MILLIS)).observe(millis);
+        requestStatements.computeIfAbsent(boundedResource, key -> new Histogram(COUNT_BOUNDS)).observe(sqlStatements);
+    }
+
+    public void recordCompanionMethod(final String companion, final String method, final double millis) {
+        companionLatencies.computeIfAbsent(companion + "\u0000" + method, key -> new Histogram(LATENCY_BOUNDS_MILLIS)).observe(millis);
+    }
+
+    /**
+     * All metrics in the Prometheus text exposition format (version 0.0.4).
+     */
+    public String toPrometheusText() {
+        final StringBuilder out = new StringBuilder();
+
+        header(out, "airport_request_duration_milliseconds", "histogram", "Latency of web requests by resource.");
+        new TreeMap<>(requestLatencies).forEach((resource, histogram) -> histogram.write(out, "airport_request_duration_milliseconds", label("resource", resource)));
+        header(out, "airport_request_sql_statements", "histogram", "The number of SQL statements executed by web requests by resource.");
+        new TreeMap<>(requestStatements).forEach((resource, histogram) -> histogram.write(out, "airport_request_sql_statements", label("resource", resource)));
+        header(out, "airport_sql_statements_total", "counter", "The total number of SQL statements.");
+        out.append("airport_sql_statements_total ").append(SqlStatementCounter.total()).append('\n');
+
+        header(out, "airport_companion_method_duration_milliseconds", "histogram", "Latency of companion object methods.");
+        new TreeMap<>(companionLatencies).forEach((key, histogram) -> {
+            final String[] companionAndMethod = key.split("\u0000");
+            histogram.write(out, "airport_companion_method_duration_milliseconds", label("companion", companionAndMethod[0]) + "," + label("method", companionAndMethod[1]));
+        });
+
+        writeCacheStats(out, "reference_data", referenceDataCache.stats());
+        writeCacheStats(out, "calculated_property", calculatedPropertyCache.stats());
+        writeSessionStoreStats(out, sessionStore);
+
+        header(out, "airport_request_concurrency", "gauge", "Requests admitted by the concurrency limit (in_flight) and waiting to be admitted (queued).");
+        out.append("airport_request_concurrency{").append(label("state", "in_flight")).append("} ").append(concurrencyLimit.inFlight()).append('\n');
+        out.append("airport_request_concurrency{").append(label("state", "queued")).append("} ").append(concurrencyLimit.queued()).append('\n');
+        header(out, "airport_request_rejected_total", "counter", "Requests rejected by the concurrency limit.");
+        out.append("airport_request_rejected_total ").append(concurrencyLimit.rejected()).append('\n');
+
+        writeHikariStats(out);
+        return out.toString();
+    }
+
+    private static void writeCacheStats(final StringBuilder out, final String cache, final Map<Class<?>, CacheStats> stats) {
+        final String name = "airport_" + cache + "_cache_requests_total";
+        header(out, name, "counter", "Requests to the cache by entity type and result.");
+        final Map<String, CacheStats> byType = new TreeMap<>();
+        stats.forEach((type, typeStats) -> byType.put(type.getSimpleName(), typeStats));
+        byType.forEach((type, typeStats) -> {
+            out.append(name).append('{').append(label("type", type)).append(',').append(label("result", "hit")).append("} ").append(typeStats.hitCount()).append('\n');
+            out.append(name).append('{').append(label("type", type)).append(',').append(label("result", "miss")).append("} ").append(typeStats.missCount()).append('\n');
+        });
+    }
+
+    private static void writeSessionStoreStats(final StringBuilder out, final SessionStore sessionStore) {
+        final CacheStats stats = sessionStore.stats();
+        header(out, "airport_session_store_requests_total", "counter", "Session lookups by result.");
+        out.append("airport_session_store_requests_total{").append(label("result", "hit")).append("} ").append(stats.hitCount()).append('\n');
+        out.append("airport_session_store_requests_total{").append(label("result", "miss")).append("} ").append(stats.missCount()).append('\n');
+        header(out, "airport_session_store_evictions_total", "counter", "Sessions evicted from the session store by cause.");
+        out.append("airport_session_store_evictions_total{").append(label("cause", "size")).append("} ").append(sessionStore.sizeEvictions()).append('\n');
+        out.append("airport_session_store_evictions_total{").append(label("cause", "expired")).append("} ").append(sessionStore.expirations()).append('\n');
+        header(out, "airport_session_store_size", "gauge", "Sessions in the session store.");
+        out.append("airport_session_store_size ").append(sessionStore.size()).append('\n');
+    }
+
+    private static void writeHikariStats(final StringBuilder out) {
+        header(out, "airport_hikari_connections", "gauge", "The state of Hikari connection pools.");
+        try {
+            final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+            final Set<ObjectName> pools = server.queryNames(new ObjectName(HIKARI_POOL_MBEANS), null);
+            for (final ObjectName pool : pools) {
+                final String poolName = pool.getKeyProperty("type").replaceAll("^Pool \\((.*)\\)$", "$1");
+                for (final String attribute : HIKARI_POOL_ATTRIBUTES) {
+                    out.append("airport_hikari_connections{").append(label("pool", poolName)).append(',').append(label("state", attribute)).append("} ")
+                       .append(server.getAttribute(pool, attribute)).append('\n');
+                }
+            }
+        } catch (final Exception ex) {
+            LOGGER.warn("Could not read Hikari pool statistics.", ex);
+        }
+    }
+
+    private static void header(final StringBuilder out, final String name, final String type, final String help) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+
+    private static String label(final String name, final String value) {
+        return name + "=\"" + value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n") + '"';
+    }
+
+}
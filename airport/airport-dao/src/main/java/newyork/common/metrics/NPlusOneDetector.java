@@ -0,0 +1,171 @@
+package newyork.common.metrics;
+
+import static java.util.stream.Collectors.toList;
+
+import java.lang.reflect.Field;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import newyork.config.ApplicationDomain;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.annotation.IsProperty;
+import ua.com.fielden.platform.entity.annotation.MapEntityTo;
+
+/**
+ * Detects N+1 query patterns in the SQL statements of a unit of work, such as a web request or a unit test: the same {@code SELECT} statement executed over and over,
+ * usually once per row of a preceding query, because a property was not included into a fetch provider or because entities are looked up one by one.
+ * <p>
+ * Statements are compared by their shape, i.e. the SQL with whitespace collapsed, which is the same for all values of parameters.
+ * For every repeated shape, the detector suggests the property path to be added to the fetch provider of the entity retrieved by the preceding query,
+ * if the repeatedly retrieved entity is reachable from it.
+ *
+ * @author Developers
+ *
+ */
+public class NPlusOneDetector {
+
+    public static final String THRESHOLD_PROPERTY = "nPlusOne.threshold";
+    public static final int DEFAULT_THRESHOLD = 20;
+    public static final int MAX_PATH_DEPTH = 2;
+
+    private static final Pattern MAIN_TABLE = Pattern.compile("(?i)\\bfrom\\s+([A-Za-z0-9_]+)");
+
+    public final int threshold;
+    private final Map<String, Class<? extends AbstractEntity<?>>> typesByTable = new HashMap<>();
+
+    public NPlusOneDetector(final List<Class<? extends AbstractEntity<?>>> entityTypes, final int threshold) {
+        this.threshold = threshold;
+        entityTypes.forEach(type -> typesByTable.put(tableOf(type), type));
+    }
+
+    /**
+     * A detector for the application domain, with the threshold specified with system property {@value #THRESHOLD_PROPERTY}.
+     */
+    public static NPlusOneDetector forApplicationDomain() {
+        return new NPlusOneDetector(new ApplicationDomain().entityTypes(), Integer.getInteger(THRESHOLD_PROPERTY, DEFAULT_THRESHOLD));
+    }
+
+    /**
+     * A repeated {@code SELECT} statement.
+     */
+    public static class Finding {
+        public final String shape;
+        public final int executions;
+        public final Optional<Class<? extends AbstractEntity<?>>> retrievedType;
+        public final Optional<Class<? extends AbstractEntity<?>>> precedingType;
+        public final Optional<String> suggestedPath;
+
+        private Finding(final String shape, final int executions, final Optional<Class<? extends AbstractEntity<?>>> retrievedType, final Optional<Class<? extends AbstractEntity<?>>> precedingType, final Optional<String> suggestedPath) {
+            this.shape = shape;
+            this.executions = executions;
+            this.retrievedType = retrievedType;
+            this.precedingType = precedingType;
+            this.suggestedPath = suggestedPath;
+        }
+
+        @Override
+        public String toString() {
+            final String retrieved = retrievedType.map(Class::getSimpleName).orElse("unknown entity");
+            final String suggestion = suggestedPath.map(path -> String.format("add \"%s\" to the fetch provider of %s", path, precedingType.get().getSimpleName()))
+                    .orElse("retrieve these entities with a single query");
+            return String.format("%s retrieved %s times with the same query: %s.%n  %s", retrieved, executions, suggestion, shape);
+        }
+    }
+
+    /**
+     * Analyses statements of a unit of work, returning findings for {@code SELECT} statements executed at least {@link #threshold} times, most frequent first.
+     */
+    public List<Finding> analyse(final List<String> statements) {
+        return analyse(statements, threshold);
+    }
+
+    /**
+     * The same as {@link #analyse(List)}, but with a specific threshold.
+     */
+    public List<Finding> analyse(final List<String> statements, final int threshold) {
+        final Map<String, Integer> executions = new LinkedHashMap<>();
+        final Map<String, String> preceding = new HashMap<>();
+        String previous = null;
+        for (final String statement : statements) {
+            final String shape = statement.trim().replaceAll("\\s+", " ");
+            if (!shape.toLowerCase(Locale.ROOT).startsWith("select")) {
+                continue;
+            }
+            if (executions.merge(shape, 1, Integer::sum) == 1 && previous != null) {
+                preceding.put(shape, previous);
+            }
+            previous = shape;
+        }
+
+        final List<Finding> findings = new ArrayList<>();
+        executions.forEach((shape, count) -> {
+            if (count >= threshold) {
+                final Optional<Class<? extends AbstractEntity<?>>> retrievedType = typeOf(shape);
+                final Optional<Class<? extends AbstractEntity<?>>> precedingType = Optional.ofNullable(preceding.get(shape)).flatMap(this::typeOf);
+                final Optional<String> path = retrievedType.flatMap(retrieved -> precedingType.flatMap(root -> pathTo(root, retrieved)));
+                findings.add(new Finding(shape, count, retrievedType, path.isPresent() ? precedingType : Optional.empty(), path));
+            }
+        });
+        findings.sort((first, second) -> Integer.compare(second.executions, first.executions));
+        return findings;
+    }
+
+    private Optional<Class<? extends AbstractEntity<?>>> typeOf(final String shape) {
+        final Matcher matcher = MAIN_TABLE.matcher(shape);
+        return matcher.find() ? Optional.ofNullable(typesByTable.get(matcher.group(1).toUpperCase(Locale.ROOT))) : Optional.empty();
+    }
+
+    /**
+     * The shortest path of entity-typed properties from {@code root} to a property of type {@code target}, up to {@link #MAX_PATH_DEPTH} properties long.
+     */
+    static Optional<String> pathTo(final Class<?> root, final Class<?> target) {
+        final Deque<Object[]> queue = new ArrayDeque<>();
+        queue.add(new Object[] {root, ""});
+        while (!queue.isEmpty()) {
+            final Object[] current = queue.removeFirst();
+            final Class<?> type = (Class<?>) current[0];
+            final String path = (String) current[1];
+            for (final Field field : entityProperties(type)) {
+                final String fieldPath = path.isEmpty() ? field.getName() : path + "." + field.getName();
+                if (field.getType() == target) {
+                    return Optional.of(fieldPath);
+                }
+                if (fieldPath.split("\\.").length < MAX_PATH_DEPTH) {
+                    queue.addLast(new Object[] {field.getType(), fieldPath});
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    private static List<Field> entityProperties(final Class<?> type) {
+        final List<Field> fields = new ArrayList<>();
+        for (Class<?> current = type; current != null && current != Object.class; current = current.getSuperclass()) {
+            for (final Field field : current.getDeclaredFields()) {
+                if (field.isAnnotationPresent(IsProperty.class) && AbstractEntity.class.isAssignableFrom(field.getType())) {
+                    fields.add(field);
+                }
+            }
+        }
+        return fields.stream().sorted((first, second) -> first.getName().compareTo(second.getName())).collect(toList());
+    }
+
+    /**
+     * The table of an entity type, which is either specified explicitly with {@link MapEntityTo} or derived from the type name.
+     */
+    private static String tableOf(final Class<?> type) {
+        final MapEntityTo mapEntityTo = type.getAnnotation(MapEntityTo.class);
+        final String table = mapEntityTo != null && !mapEntityTo.value().isEmpty() ? mapEntityTo.value() : type.getSimpleName() + "_";
+        return table.toUpperCase(Locale.ROOT);
+    }
+
+}
@@ -0,0 +1,39 @@
+package newyork.common.metrics;
+
+import java.util.Date;
+
+/**
+ * A single execution of an EQL query that took longer than the threshold of {@link SlowQueryLog}.
+ *
+ * @author Developers
+ *
+ */
+public class SlowQuery {
+
+    /** A short hash of the entity type and the generated SQL, which is the same for all executions of an EQL model regardless of its parameter values. */
+    public final String fingerprint;
+    public final String entityType;
+    /** The companion method that executed the query, such as {@code AssetDao.getFirstEntities}. */
+    public final String method;
+    /** The closest application code that caused the query, such as a validator or a custom companion method. */
+    public final String callSite;
+    public final String model;
+    public final String sql;
+    public final double millis;
+    /** The number of retrieved rows, or {@code -1} if not applicable. */
+    public final int rows;
+    public final Date executedAt;
+
+    public SlowQuery(final String fingerprint, final String entityType, final String method, final String callSite, final String model, final String sql, final double millis, final int rows, final Date executedAt) {
+        this.fingerprint = fingerprint;
+        this.entityType = entityType;
+        this.method = method;
+        this.callSite = callSite;
+        this.model = model;
+        this.sql = sql;
+        this.millis = millis;
+        this.rows = rows;
+        this.executedAt = executedAt;
+    }
+
+}
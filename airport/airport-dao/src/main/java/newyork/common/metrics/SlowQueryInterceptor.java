@@ -0,0 +1,105 @@
+package newyork.common.metrics;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.BaseStream;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+import com.google.inject.Inject;
+import com.google.inject.Provider;
+import com.google.inject.matcher.AbstractMatcher;
+
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.query.QueryExecutionModel;
+import ua.com.fielden.platform.entity.query.model.QueryModel;
+import ua.com.fielden.platform.pagination.IPage;
+
+/**
+ * Times companion methods that execute EQL queries, recording the slow ones in {@link SlowQueryLog} together with the EQL model, the generated SQL and the number of retrieved rows.
+ * Only the outermost query method of a thread is timed, because query methods of companions delegate to one another.
+ *
+ * @author Developers
+ *
+ */
+public class SlowQueryInterceptor implements MethodInterceptor {
+
+    /**
+     * Matches methods with an EQL model parameter, except those returning streams, which are consumed after the method returns.
+     */
+    public static final AbstractMatcher<Method> QUERY_METHODS = new AbstractMatcher<Method>() {
+        @Override
+        public boolean matches(final Method method) {
+            return !BaseStream.class.isAssignableFrom(method.getReturnType()) &&
+                   Arrays.stream(method.getParameterTypes()).anyMatch(type -> QueryExecutionModel.class.isAssignableFrom(type) || QueryModel.class.isAssignableFrom(type));
+        }
+    };
+
+    private static final ThreadLocal<Boolean> IN_QUERY = new ThreadLocal<>();
+
+    private Provider<SlowQueryLog> log;
+
+    @Inject
+    public void setLog(final Provider<SlowQueryLog> log) {
+        this.log = log;
+    }
+
+    @Override
+    public Object invoke(final MethodInvocation invocation) throws Throwable {
+        if (IN_QUERY.get() != null) {
+            return invocation.proceed();
+        }
+        IN_QUERY.set(Boolean.TRUE);
+        final List<String> enclosing = SqlStatementCounter.startCapture();
+        final long start = System.nanoTime();
+        Object result = null;
+        try {
+            result = invocation.proceed();
+            return result;
+        } finally {
+            final double millis = (System.nanoTime() - start) / 1_000_000d;
+            final List<String> sql = SqlStatementCounter.stopCapture(enclosing);
+            IN_QUERY.remove();
+            final SlowQueryLog slowQueryLog = log.get();
+            if (slowQueryLog.isSlow(millis)) {
+                slowQueryLog.record(slowQuery(invocation, sql, millis, result));
+            }
+        }
+    }
+
+    private static SlowQuery slowQuery(final MethodInvocation invocation, final List<String> sql, final double millis, final Object result) {
+        final Object model = Arrays.stream(invocation.getArguments()).filter(arg -> arg instanceof QueryExecutionModel || arg instanceof QueryModel).findFirst().orElse("");
+        final String modelText = SlowQueryLog.truncate(String.valueOf(model));
+        final IEntityDao<?> co = (IEntityDao<?>) invocation.getThis();
+        final String entityType = co.getEntityType().getSimpleName();
+        final String method = CompanionTimingInterceptor.companionName(invocation.getThis().getClass()) + "." + invocation.getMethod().getName();
+        return new SlowQuery(SlowQueryLog.fingerprint(entityType, sql, modelText), entityType, method, callSite(), modelText, String.join(";\n", sql), millis, rowsOf(result), new Date());
+    }
+
+    private static int rowsOf(final Object result) {
+        if (result instanceof List) {
+            return ((List<?>) result).size();
+        } else if (result instanceof IPage) {
+            return ((IPage<?>) result).data().size();
+        } else if (result instanceof Optional) {
+            return ((Optional<?>) result).isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    /**
+     * The closest application stack frame outside of this instrumentation and Guice generated classes.
+     */
+    private static String callSite() {
+        return Arrays.stream(Thread.currentThread().getStackTrace())
+                .filter(frame -> frame.getClassName().startsWith("newyork.") && !frame.getClassName().startsWith("newyork.common.metrics.") && !frame.getClassName().contains("$$"))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(frame.getClassName().lastIndexOf('.') + 1) + "." + frame.getMethodName() + ":" + frame.getLineNumber())
+                .orElse("unknown");
+    }
+
+}
@@ -0,0 +1,119 @@
+package newyork.common.metrics;
+
+import static java.util.Comparator.comparingDouble;
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * A bounded in-memory log of slow EQL queries, which maps generated SQL back to the EQL models and the application code that produced it.
+ * <p>
+ * Queries that take longer than {@link #thresholdMillis} are kept in a ring buffer of {@link #capacity} most recent executions.
+ * Executions of the same EQL model share a fingerprint, which is used to group them into offenders by {@link #topOffenders(int)}.
+ * The threshold and capacity are configured with properties {@value #THRESHOLD_PROPERTY} and {@value #CAPACITY_PROPERTY}.
+ *
+ * @author Developers
+ *
+ */
+public class SlowQueryLog {
+
+    public static final String THRESHOLD_PROPERTY = "slowQuery.thresholdMillis";
+    public static final String CAPACITY_PROPERTY = "slowQuery.capacity";
+    public static final long DEFAULT_THRESHOLD_MILLIS = 500;
+    public static final int DEFAULT_CAPACITY = 200;
+    public static final int MAX_MODEL_LENGTH = 2000;
+
+    public final long thresholdMillis;
+    public final int capacity;
+
+    private final Deque<SlowQuery> executions = new ArrayDeque<>();
+
+    public SlowQueryLog(final long thresholdMillis, final int capacity) {
+        if (thresholdMillis < 0 || capacity <= 0) {
+            throw new IllegalArgumentException(String.format("Slow query threshold [%s] should not be negative and capacity [%s] should be positive.", thresholdMillis, capacity));
+        }
+        this.thresholdMillis = thresholdMillis;
+        this.capacity = capacity;
+    }
+
+    public static SlowQueryLog fromProperties(final Properties props) {
+        return new SlowQueryLog(Long.parseLong(props.getProperty(THRESHOLD_PROPERTY, String.valueOf(DEFAULT_THRESHOLD_MILLIS)).trim()),
+                                Integer.parseInt(props.getProperty(CAPACITY_PROPERTY, String.valueOf(DEFAULT_CAPACITY)).trim()));
+    }
+
+    public boolean isSlow(final double millis) {
+        return millis >= thresholdMillis;
+    }
+
+    /**
+     * Records a slow execution, evicting the oldest one if the log is full.
+     */
+    public void record(final SlowQuery query) {
+        synchronized (executions) {
+            if (executions.size() == capacity) {
+                executions.removeFirst();
+            }
+            executions.addLast(query);
+        }
+    }
+
+    /**
+     * Recorded executions, most recent first.
+     */
+    public List<SlowQuery> recent() {
+        final List<SlowQuery> recent;
+        synchronized (executions) {
+            recent = new ArrayList<>(executions);
+        }
+        Collections.reverse(recent);
+        return recent;
+    }
+
+    /**
+     * The slowest execution for each of up to {@code n} fingerprints, ordered by their time, slowest first.
+     */
+    public List<SlowQuery> topOffenders(final int n) {
+        final Map<String, List<SlowQuery>> byFingerprint = recent().stream().collect(groupingBy(query -> query.fingerprint));
+        return byFingerprint.values().stream()
+                .map(queries -> queries.stream().max(comparingDouble(query -> query.millis)).get())
+                .sorted(comparingDouble((SlowQuery query) -> query.millis).reversed())
+                .limit(n)
+                .collect(toList());
+    }
+
+    /**
+     * The number of recorded executions with the specified fingerprint.
+     */
+    public long executionsOf(final String fingerprint) {
+        return recent().stream().filter(query -> query.fingerprint.equals(fingerprint)).count();
+    }
+
+    public void clear() {
+        synchronized (executions) {
+            executions.clear();
+        }
+    }
+
+    /**
+     * Fingerprints an EQL query by the SQL generated for it, which uses parameters instead of values, falling back to the EQL model if no SQL was executed.
+     */
+    public static String fingerprint(final String entityType, final List<String> sql, final String model) {
+        final String shape = sql.isEmpty() ? model : String.join(";", sql).replaceAll("\\s+", " ");
+        return Hashing.sha256().hashString(entityType + "|" + shape, StandardCharsets.UTF_8).toString().substring(0, 12);
+    }
+
+    static String truncate(final String value) {
+        return value.length() <= MAX_MODEL_LENGTH ? value : value.substring(0, MAX_MODEL_LENGTH) + "...";
+    }
+
+}
@@ -0,0 +1,86 @@
+package newyork.common.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * A Hibernate {@link StatementInspector} that counts SQL statements, both in total and per unit of work of the current thread, such as a web request.
+ * It also captures statements of the current thread on demand, which is how {@link SlowQueryLog} learns the SQL generated for EQL models.
+ * <p>
+ * Hibernate instantiates the inspector itself, which is configured with property {@code hibernate.session_factory.statement_inspector}, hence the static state.
+ *
+ * @author Developers
+ *
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final LongAdder TOTAL = new LongAdder();
+    private static final ThreadLocal<int[]> CURRENT = new ThreadLocal<>();
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(final String sql) {
+        TOTAL.increment();
+        final int[] current = CURRENT.get();
+        if (current != null) {
+            current[0]++;
+        }
+        final List<String> captured = CAPTURED.get();
+        if (captured != null) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Starts counting statements of the current thread.
+     */
+    public static void start() {
+        CURRENT.set(new int[1]);
+    }
+
+    /**
+     * Stops counting statements of the current thread, returning the number of statements since {@link #start()}.
+     */
+    public static int stop() {
+        final int[] current = CURRENT.get();
+        CURRENT.remove();
+        return current == null ? 0 : current[0];
+    }
+
+    /**
+     * Starts capturing statements of the current thread, returning statements captured so far by an enclosing capture, if any, which should be passed to {@link #stopCapture(List)}.
+     */
+    public static List<String> startCapture() {
+        final List<String> enclosing = CAPTURED.get();
+        CAPTURED.set(new ArrayList<>());
+        return enclosing;
+    }
+
+    /**
+     * Stops capturing statements of the current thread, returning the statements captured since the matching {@link #startCapture()}.
+     * Captured statements are passed on to the enclosing capture.
+     */
+    public static List<String> stopCapture(final List<String> enclosing) {
+        final List<String> captured = CAPTURED.get();
+        if (enclosing == null) {
+            CAPTURED.remove();
+        } else {
+            if (captured != null) {
+                enclosing.addAll(captured);
+            }
+            CAPTURED.set(enclosing);
+        }
+        return captured == null ? new ArrayList<>() : captured;
+    }
+
+    public static long total() {
+        return TOTAL.sum();
+    }
+
+}
@@ -0,0 +1,47 @@
+package newyork.common.session;
+
+import java.util.Properties;
+
+import com.google.common.cache.Cache;
+
+import ua.com.fielden.platform.security.session.UserSession;
+
+/**
+ * A contract for stores of user sessions, which are bound as the platform session cache (annotated with {@code @SessionCache}).
+ * Sessions themselves are persisted by the platform, so a store only needs to guarantee that a node does not use a session that was changed or invalidated by any other node.
+ * <p>
+ * There are two implementations, selected with property {@value #STORE_PROPERTY}:
+ * <ul>
+ * <li>{@value #IN_PROCESS} - {@link SessionStore}, for a single application node;
+ * <li>{@value #SHARED} - {@link SharedSessionStore}, for several application nodes behind a load balancer without sticky sessions.
+ * </ul>
+ *
+ * @author Developers
+ *
+ */
+public interface IUserSessionStore extends Cache<String, UserSession> {
+
+    String STORE_PROPERTY = "session.store";
+    String IN_PROCESS = "in-process";
+    String SHARED = "shared";
+
+    /**
+     * The in-memory sessions of this node, which is the whole store for a single node and the near-cache of a shared store.
+     */
+    SessionStore local();
+
+    /**
+     * Creates a session store as configured with the application properties.
+     */
+    static IUserSessionStore fromProperties(final Properties props, final int untrustedDeviceSessionDurationMins) {
+        final SessionStore local = SessionStore.fromProperties(props, untrustedDeviceSessionDurationMins);
+        final String store = props.getProperty(STORE_PROPERTY, IN_PROCESS).trim();
+        if (IN_PROCESS.equals(store)) {
+            return local;
+        } else if (SHARED.equals(store)) {
+            return SharedSessionStore.fromProperties(props, local);
+        }
+        throw new IllegalArgumentException(String.format("Unknown session store [%s], expected [%s] or [%s].", store, IN_PROCESS, SHARED));
+    }
+
+}
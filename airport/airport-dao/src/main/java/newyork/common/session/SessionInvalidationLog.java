@@ -0,0 +1,162 @@
+package newyork.common.session;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Path;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+
+/**
+ * An append-only log of session invalidations in a file shared by application nodes, where every node appends keys of the sessions it changed or invalidated
+ * and applies keys appended by other nodes.
+ * <p>
+ * Records have form {@code <sequence number> <node> <key>}, with key {@value #ALL} standing for all sessions.
+ * The file is locked for every access, both across processes and within a process, which may run several nodes in tests.
+ * Once the file grows beyond its maximum size, it is truncated by the next appending node. A node that detects a gap in sequence numbers,
+ * which is the case after truncation or a corrupted record, cannot know which sessions it missed and therefore applies the invalidation of all sessions.
+ *
+ * @author Developers
+ *
+ */
+public class SessionInvalidationLog implements AutoCloseable {
+
+    public static final String ALL = "*";
+    private static final int TAIL_BYTES = 512;
+    // file locks are held by the process, so nodes within the same process need to be serialised separately
+    private static final ConcurrentMap<Path, Object> PROCESS_LOCKS = new ConcurrentHashMap<>();
+
+    public final String node = UUID.randomUUID().toString();
+    private final Object processLock;
+    private final FileChannel channel;
+    private final long maxBytes;
+
+    private long offset;
+    private long lastSequence;
+
+    public SessionInvalidationLog(final Path file, final long maxBytes) throws IOException {
+        this.processLock = PROCESS_LOCKS.computeIfAbsent(file.toAbsolutePath().normalize(), path -> new Object());
+        this.channel = FileChannel.open(file, CREATE, READ, WRITE);
+        this.maxBytes = maxBytes;
+        synchronized (processLock) {
+            try (final FileLock lock = channel.lock()) {
+                // there is nothing to invalidate for a new node, so earlier records are skipped
+                offset = channel.size();
+                lastSequence = lastSequence(offset);
+            }
+        }
+    }
+
+    /**
+     * Appends an invalidation of the session with {@code key}, or of all sessions if {@code key} is {@value #ALL}.
+     */
+    public void append(final String key) throws IOException {
+        synchronized (processLock) {
+            try (final FileLock lock = channel.lock()) {
+                long size = channel.size();
+                final long sequence = lastSequence(size) + 1;
+                if (size > maxBytes) {
+                    channel.truncate(0);
+                    size = 0;
+                }
+                final ByteBuffer record = ByteBuffer.wrap(String.format("%s %s %s%n", sequence, node, key).getBytes(UTF_8));
+                long position = size;
+                while (record.hasRemaining()) {
+                    position += channel.write(record, position);
+                }
+            }
+        }
+    }
+
+    /**
+     * Applies invalidations appended by other nodes since the last call: {@code invalidate} for the keys of individual sessions and {@code invalidateAll} for all sessions.
+     */
+    public void apply(final Consumer<String> invalidate, final Runnable invalidateAll) throws IOException {
+        synchronized (processLock) {
+            try (final FileLock lock = channel.lock()) {
+                final long size = channel.size();
+                if (size == offset) {
+                    // the file may have been truncated and grown back to the same size
+                    if (lastSequence(size) != lastSequence) {
+                        resynchronise(size, invalidateAll);
+                    }
+                    return;
+                }
+                if (size < offset) {
+                    resynchronise(size, invalidateAll);
+                    return;
+                }
+                for (final String line : read(offset, size).split("\\R")) {
+                    if (line.isEmpty()) {
+                        continue;
+                    }
+                    final String[] record = line.split(" ", 3);
+                    final Long sequence = record.length == 3 ? parseSequence(record[0]) : null;
+                    if (sequence == null || sequence != lastSequence + 1) {
+                        resynchronise(size, invalidateAll);
+                        return;
+                    }
+                    lastSequence = sequence;
+                    if (!node.equals(record[1])) {
+                        if (ALL.equals(record[2])) {
+                            invalidateAll.run();
+                        } else {
+                            invalidate.accept(record[2]);
+                        }
+                    }
+                }
+                offset = size;
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void resynchronise(final long size, final Runnable invalidateAll) throws IOException {
+        invalidateAll.run();
+        offset = size;
+        lastSequence = lastSequence(size);
+    }
+
+    /**
+     * The sequence number of the last record in the first {@code size} bytes of the file, or 0 if there are no readable records.
+     */
+    private long lastSequence(final long size) throws IOException {
+        if (size == 0) {
+            return 0;
+        }
+        final String[] lines = read(Math.max(0, size - TAIL_BYTES), size).trim().split("\\R");
+        final Long sequence = parseSequence(lines[lines.length - 1].split(" ", 2)[0]);
+        return sequence == null ? 0 : sequence;
+    }
+
+    private String read(final long from, final long to) throws IOException {
+        final ByteBuffer buffer = ByteBuffer.allocate((int) (to - from));
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, from + buffer.position()) < 0) {
+                break;
+            }
+        }
+        return new String(buffer.array(), 0, buffer.position(), UTF_8);
+    }
+
+    private static Long parseSequence(final String value) {
+        try {
+            return Long.valueOf(value);
+        } catch (final NumberFormatException ex) {
+            return null;
+        }
+    }
+
+}
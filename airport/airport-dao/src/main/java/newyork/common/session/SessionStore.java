@@ -0,0 +1,439 @@
+package newyork.common.session;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.AbstractCache;
+import com.google.common.cache.CacheLoader.InvalidCacheLoadException;
+import com.google.common.cache.CacheStats;
+
+import ua.com.fielden.platform.security.session.UserSession;
+
+/**
+ * A bounded in-memory store of user sessions, which is consulted by every authenticated request.
+ * It is the {@link IUserSessionStore} of a single application node and the near-cache of every node with a {@link SharedSessionStore}.
+ * <p>
+ * Sessions are spread over a number of stripes by their key, with every stripe guarded by its own lock, so that concurrent requests of different users rarely contend.
+ * Every stripe is bounded and evicts its least recently used sessions, which makes eviction approximately LRU across the whole store.
+ * Sessions of trusted and untrusted devices expire after different periods of time since they were stored, with expired sessions removed upon access and by {@link #cleanUp()}.
+ * Evicted and expired sessions are simply reloaded from the database by the platform.
+ *
+ * @author Developers
+ *
+ */
+public class SessionStore extends AbstractCache<String, UserSession> implements IUserSessionStore {
+
+    public static final String MAX_SIZE_PROPERTY = "session.store.maxSize";
+    public static final String STRIPES_PROPERTY = "session.store.stripes";
+    public static final String TRUSTED_EXPIRY_PROPERTY = "session.store.trustedExpiryMinutes";
+    public static final String UNTRUSTED_EXPIRY_PROPERTY = "session.store.untrustedExpiryMinutes";
+
+    public static final int DEFAULT_MAX_SIZE = 50_000;
+    public static final int DEFAULT_STRIPES = 32;
+
+    public final int maxSize;
+    public final long trustedExpiryMinutes;
+    public final long untrustedExpiryMinutes;
+
+    private final Stripe[] stripes;
+    private final Ticker ticker;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder sizeEvictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public SessionStore(final int maxSize, final int stripes, final long trustedExpiryMinutes, final long untrustedExpiryMinutes, final Ticker ticker) {
+        if (maxSize < 1 || stripes < 1) {
+            throw new IllegalArgumentException(String.format("Session store size [%s] and number of stripes [%s] should be positive.", maxSize, stripes));
+        }
+        this.maxSize = maxSize;
+        this.trustedExpiryMinutes = trustedExpiryMinutes;
+        this.untrustedExpiryMinutes = untrustedExpiryMinutes;
+        this.ticker = ticker;
+        // a power of two number of stripes, which are selected by masking hash codes
+        final int stripeCount = Integer.highestOneBit(Math.min(stripes, maxSize) * 2 - 1);
+        final int stripeCapacity = (maxSize + stripeCount - 1) / stripeCount;
+        this.stripes = new Stripe[stripeCount];
+        for (int index = 0; index < stripeCount; index++) {
+            this.stripes[index] = new Stripe(stripeCapacity);
+        }
+    }
+
+    /**
+     * Creates a session store configured with the application properties, where sessions of both trusted and untrusted devices expire after half of the untrusted device session duration by default,
+     * which is what the platform session cache used to do.
+     * Longer expiry of trusted sessions saves database round-trips, but also delays changes to sessions made by other nodes without a {@link SharedSessionStore}, and should therefore be configured explicitly.
+     */
+    public static SessionStore fromProperties(final Properties props, final int untrustedDeviceSessionDurationMins) {
+        final String defaultExpiryMinutes = String.valueOf(untrustedDeviceSessionDurationMins / 2);
+        return new SessionStore(
+                Integer.parseInt(props.getProperty(MAX_SIZE_PROPERTY, String.valueOf(DEFAULT_MAX_SIZE)).trim()),
+                Integer.parseInt(props.getProperty(STRIPES_PROPERTY, String.valueOf(DEFAULT_STRIPES)).trim()),
+                Long.parseLong(props.getProperty(TRUSTED_EXPIRY_PROPERTY, defaultExpiryMinutes).trim()),
+                Long.parseLong(props.getProperty(UNTRUSTED_EXPIRY_PROPERTY, defaultExpiryMinutes).trim()),
+                Ticker.systemTicker());
+    }
+
+    @Override
+    public UserSession getIfPresent(final Object key) {
+        final UserSession session = stripeFor(key).get(key, ticker.read());
+        (session == null ? misses : hits).increment();
+        return session;
+    }
+
+    @Override
+    public UserSession get(final String key, final Callable<? extends UserSession> loader) throws ExecutionException {
+        final UserSession cached = getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        // loading happens outside of the stripe lock, so that a slow load does not block other sessions of the same stripe
+        final UserSession loaded;
+        try {
+            loaded = loader.call();
+        } catch (final Exception ex) {
+            throw new ExecutionException(ex);
+        }
+        if (loaded == null) {
+            throw new InvalidCacheLoadException(String.format("No session was loaded for key [%s].", key));
+        }
+        put(key, loaded);
+        return loaded;
+    }
+
+    @Override
+    public void put(final String key, final UserSession session) {
+        stripeFor(key).put(key, session, expiresAt(session));
+    }
+
+    @Override
+    public void invalidate(final Object key) {
+        stripeFor(key).remove(key);
+    }
+
+    @Override
+    public void invalidateAll() {
+        for (final Stripe stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    @Override
+    public long size() {
+        long size = 0;
+        for (final Stripe stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * Removes expired sessions from all stripes.
+     */
+    @Override
+    public void cleanUp() {
+        final long now = ticker.read();
+        for (final Stripe stripe : stripes) {
+            stripe.removeExpired(now);
+        }
+    }
+
+    /**
+     * Hits and misses, with evictions due to both size and expiry counted as evictions. Sessions are not loaded by the store, so all load statistics are zero.
+     */
+    @Override
+    public CacheStats stats() {
+        return new CacheStats(hits.sum(), misses.sum(), 0, 0, 0, sizeEvictions.sum() + expirations.sum());
+    }
+
+    @Override
+    public SessionStore local() {
+        return this;
+    }
+
+    public long sizeEvictions() {
+        return sizeEvictions.sum();
+    }
+
+    public long expirations() {
+        return expirations.sum();
+    }
+
+    /**
+     * A live view of this store, where iteration is over a snapshot of every stripe in turn and reads do not count towards hits and misses.
+     */
+    @Override
+    public ConcurrentMap<String, UserSession> asMap() {
+        return new MapView();
+    }
+
+    private long expiresAt(final UserSession session) {
+        return ticker.read() + MINUTES.toNanos(session.isTrusted() ? trustedExpiryMinutes : untrustedExpiryMinutes);
+    }
+
+    private Stripe stripeFor(final Object key) {
+        final int hash = key.hashCode();
+        return stripes[(hash ^ (hash >>> 16)) & (stripes.length - 1)];
+    }
+
+    private static final class StoredSession {
+        private final UserSession session;
+        private final long expiresAt;
+
+        private StoredSession(final UserSession session, final long expiresAt) {
+            this.session = session;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(final long now) {
+            return now - expiresAt >= 0;
+        }
+    }
+
+    private final class Stripe {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final LinkedHashMap<Object, StoredSession> entries;
+
+        private Stripe(final int capacity) {
+            // access order makes the eldest entry the least recently used one
+            this.entries = new LinkedHashMap<Object, StoredSession>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(final Map.Entry<Object, StoredSession> eldest) {
+                    if (size() > capacity) {
+                        sizeEvictions.increment();
+                        return true;
+                    }
+                    return false;
+                }
+            };
+        }
+
+        private UserSession get(final Object key, final long now) {
+            lock.lock();
+            try {
+                final StoredSession entry = entries.get(key);
+                if (entry == null) {
+                    return null;
+                }
+                if (entry.isExpired(now)) {
+                    entries.remove(key);
+                    expirations.increment();
+                    return null;
+                }
+                return entry.session;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private <R> R compute(final Function<LinkedHashMap<Object, StoredSession>, R> action) {
+            lock.lock();
+            try {
+                return action.apply(entries);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        private void put(final String key, final UserSession session, final long expiresAt) {
+            compute(map -> map.put(key, new StoredSession(session, expiresAt)));
+        }
+
+        private void remove(final Object key) {
+            compute(map -> map.remove(key));
+        }
+
+        private void clear() {
+            compute(map -> {
+                map.clear();
+                return null;
+            });
+        }
+
+        private int size() {
+            return compute(Map::size);
+        }
+
+        private void removeExpired(final long now) {
+            compute(map -> {
+                final Iterator<StoredSession> values = map.values().iterator();
+                while (values.hasNext()) {
+                    if (values.next().isExpired(now)) {
+                        values.remove();
+                        expirations.increment();
+                    }
+                }
+                return null;
+            });
+        }
+
+        private List<Map.Entry<String, UserSession>> snapshot(final long now) {
+            return compute(map -> {
+                final List<Map.Entry<String, UserSession>> snapshot = new ArrayList<>(map.size());
+                map.forEach((key, entry) -> {
+                    if (!entry.isExpired(now)) {
+                        snapshot.add(new AbstractMap.SimpleImmutableEntry<>((String) key, entry.session));
+                    }
+                });
+                return snapshot;
+            });
+        }
+    }
+
+    private final class MapView extends AbstractMap<String, UserSession> implements ConcurrentMap<String, UserSession> {
+
+        @Override
+        public UserSession get(final Object key) {
+            return key == null ? null : stripeFor(key).get(key, ticker.read());
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return get(key) != null;
+        }
+
+        @Override
+        public UserSession put(final String key, final UserSession session) {
+            final long expiresAt = expiresAt(session);
+            return sessionOf(stripeFor(key).compute(map -> map.put(key, new StoredSession(session, expiresAt))));
+        }
+
+        @Override
+        public UserSession remove(final Object key) {
+            return key == null ? null : sessionOf(stripeFor(key).compute(map -> map.remove(key)));
+        }
+
+        @Override
+        public UserSession putIfAbsent(final String key, final UserSession session) {
+            final long now = ticker.read();
+            final long expiresAt = expiresAt(session);
+            return stripeFor(key).compute(map -> {
+                final StoredSession current = map.get(key);
+                if (current != null && !current.isExpired(now)) {
+                    return current.session;
+                }
+                map.put(key, new StoredSession(session, expiresAt));
+                return null;
+            });
+        }
+
+        @Override
+        public boolean remove(final Object key, final Object session) {
+            final long now = ticker.read();
+            return key != null && stripeFor(key).compute(map -> {
+                final StoredSession current = map.get(key);
+                if (current != null && !current.isExpired(now) && Objects.equals(current.session, session)) {
+                    map.remove(key);
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        @Override
+        public boolean replace(final String key, final UserSession oldSession, final UserSession newSession) {
+            final long now = ticker.read();
+            final long expiresAt = expiresAt(newSession);
+            return stripeFor(key).compute(map -> {
+                final StoredSession current = map.get(key);
+                if (current != null && !current.isExpired(now) && Objects.equals(current.session, oldSession)) {
+                    map.put(key, new StoredSession(newSession, expiresAt));
+                    return true;
+                }
+                return false;
+            });
+        }
+
+        @Override
+        public UserSession replace(final String key, final UserSession session) {
+            final long now = ticker.read();
+            final long expiresAt = expiresAt(session);
+            return stripeFor(key).compute(map -> {
+                final StoredSession current = map.get(key);
+                if (current != null && !current.isExpired(now)) {
+                    map.put(key, new StoredSession(session, expiresAt));
+                    return current.session;
+                }
+                return null;
+            });
+        }
+
+        @Override
+        public void clear() {
+            invalidateAll();
+        }
+
+        @Override
+        public int size() {
+            return (int) Math.min(Integer.MAX_VALUE, SessionStore.this.size());
+        }
+
+        @Override
+        public Set<Map.Entry<String, UserSession>> entrySet() {
+            return new AbstractSet<Map.Entry<String, UserSession>>() {
+                @Override
+                public Iterator<Map.Entry<String, UserSession>> iterator() {
+                    final long now = ticker.read();
+                    final List<Map.Entry<String, UserSession>> snapshot = new ArrayList<>();
+                    for (final Stripe stripe : stripes) {
+                        snapshot.addAll(stripe.snapshot(now));
+                    }
+                    final Iterator<Map.Entry<String, UserSession>> entries = snapshot.iterator();
+                    return new Iterator<Map.Entry<String, UserSession>>() {
+                        private Map.Entry<String, UserSession> last;
+
+                        @Override
+                        public boolean hasNext() {
+                            return entries.hasNext();
+                        }
+
+                        @Override
+                        public Map.Entry<String, UserSession> next() {
+                            last = entries.next();
+                            return last;
+                        }
+
+                        @Override
+                        public void remove() {
+                            if (last == null) {
+                                throw new IllegalStateException();
+                            }
+                            invalidate(last.getKey());
+                            last = null;
+                        }
+                    };
+                }
+
+                @Override
+                public int size() {
+                    return MapView.this.size();
+                }
+            };
+        }
+
+        private UserSession sessionOf(final StoredSession entry) {
+            return entry == null ? null : entry.session;
+        }
+    }
+
+}
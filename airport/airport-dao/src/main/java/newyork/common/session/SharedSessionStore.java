@@ -0,0 +1,156 @@
+package newyork.common.session;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Properties;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.log4j.Logger;
+
+import com.google.common.cache.AbstractCache;
+import com.google.common.cache.CacheStats;
+
+import ua.com.fielden.platform.security.session.UserSession;
+
+/**
+ * A session store for several application nodes, which keeps sessions in a {@link SessionStore} near-cache on every node and keeps the near-caches coherent
+ * through a {@link SessionInvalidationLog} in a file shared by all nodes (e.g. on the same box or a shared volume).
+ * <p>
+ * Sessions are persisted by the platform, so the only shared state is which sessions have changed: storing or invalidating a session on one node
+ * makes all other nodes drop their copy and reload it from the database on next use. Other nodes apply the log every {@value #DEFAULT_POLL_MILLIS} milliseconds by default,
+ * which bounds the time a session invalidated on one node, e.g. by logging out, can still be used on another.
+ * Modifications through {@link #asMap()} are not shared.
+ *
+ * @author Developers
+ *
+ */
+public class SharedSessionStore extends AbstractCache<String, UserSession> implements IUserSessionStore {
+
+    private static final Logger LOGGER = Logger.getLogger(SharedSessionStore.class);
+
+    public static final String FILE_PROPERTY = "session.store.shared.file";
+    public static final String POLL_MILLIS_PROPERTY = "session.store.shared.pollMillis";
+    public static final String MAX_LOG_BYTES_PROPERTY = "session.store.shared.maxLogBytes";
+
+    public static final long DEFAULT_POLL_MILLIS = 500;
+    public static final long DEFAULT_MAX_LOG_BYTES = 1024 * 1024;
+
+    private final SessionStore near;
+    private final SessionInvalidationLog log;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "shared-session-store");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public SharedSessionStore(final SessionStore near, final SessionInvalidationLog log) {
+        this.near = near;
+        this.log = log;
+    }
+
+    /**
+     * Creates a shared session store with the log file configured with the application properties, which starts applying the log straight away.
+     */
+    public static SharedSessionStore fromProperties(final Properties props, final SessionStore near) {
+        final Path file = Paths.get(props.getProperty(FILE_PROPERTY, Paths.get(System.getProperty("java.io.tmpdir"), "airport-sessions.log").toString()).trim());
+        try {
+            final SharedSessionStore store = new SharedSessionStore(near, new SessionInvalidationLog(file, Long.parseLong(props.getProperty(MAX_LOG_BYTES_PROPERTY, String.valueOf(DEFAULT_MAX_LOG_BYTES)).trim())));
+            store.schedule(Long.parseLong(props.getProperty(POLL_MILLIS_PROPERTY, String.valueOf(DEFAULT_POLL_MILLIS)).trim()));
+            return store;
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(String.format("Could not open the session invalidation log [%s].", file), ex);
+        }
+    }
+
+    /**
+     * Schedules applying invalidations of other nodes every {@code pollMillis} milliseconds.
+     */
+    public void schedule(final long pollMillis) {
+        scheduler.scheduleWithFixedDelay(this::synchronise, pollMillis, pollMillis, MILLISECONDS);
+    }
+
+    /**
+     * Applies invalidations of other nodes to the near-cache. If the log cannot be read, all sessions are dropped from the near-cache as the safe option.
+     */
+    public void synchronise() {
+        try {
+            log.apply(near::invalidate, near::invalidateAll);
+        } catch (final Exception ex) {
+            LOGGER.error("Could not apply the session invalidation log, dropping all cached sessions.", ex);
+            near.invalidateAll();
+        }
+    }
+
+    @Override
+    public UserSession getIfPresent(final Object key) {
+        return near.getIfPresent(key);
+    }
+
+    @Override
+    public UserSession get(final String key, final Callable<? extends UserSession> loader) throws ExecutionException {
+        return near.get(key, loader);
+    }
+
+    @Override
+    public void put(final String key, final UserSession session) {
+        // earlier invalidations by other nodes are applied first, so that they do not remove the session that is being stored
+        synchronise();
+        near.put(key, session);
+        publish(key);
+    }
+
+    @Override
+    public void invalidate(final Object key) {
+        near.invalidate(key);
+        publish(key.toString());
+    }
+
+    @Override
+    public void invalidateAll() {
+        near.invalidateAll();
+        publish(SessionInvalidationLog.ALL);
+    }
+
+    @Override
+    public long size() {
+        return near.size();
+    }
+
+    @Override
+    public void cleanUp() {
+        near.cleanUp();
+    }
+
+    @Override
+    public CacheStats stats() {
+        return near.stats();
+    }
+
+    @Override
+    public ConcurrentMap<String, UserSession> asMap() {
+        return near.asMap();
+    }
+
+    @Override
+    public SessionStore local() {
+        return near;
+    }
+
+    private void publish(final String key) {
+        try {
+            log.append(key);
+        } catch (final IOException ex) {
+            // other nodes keep their copies of the session until it expires in their near-caches
+            LOGGER.error(String.format("Could not publish the invalidation of session [%s] to other nodes.", key), ex);
+        }
+    }
+
+}
@@ -0,0 +1,99 @@
+package newyork.dbsetup;
+
+import static java.lang.String.format;
+import static java.util.stream.Collectors.joining;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.apache.commons.lang.StringUtils;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.SQLServerDialect;
+
+import newyork.common.ddl.DbIndex;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.annotation.MapEntityTo;
+import ua.com.fielden.platform.entity.annotation.MapTo;
+import ua.com.fielden.platform.reflection.AnnotationReflector;
+import ua.com.fielden.platform.reflection.Finder;
+
+/**
+ * Generates DDL for secondary indexes declared with {@link DbIndex} on domain entities.
+ * <p>
+ * Statements are idempotent -- an index is only created if it does not exist yet, which makes it possible to use them both upon schema creation and for migration of existing databases.
+ * Table and column names follow the TG conventions: an explicit value of {@code @MapEntityTo} or {@code @MapTo}, or otherwise the upper-cased name with a trailing underscore.
+ *
+ * @author Developers
+ *
+ */
+public final class DbIndexDdlGenerator {
+
+    private DbIndexDdlGenerator() {}
+
+    public static List<String> generateIndexDdl(final List<Class<? extends AbstractEntity<?>>> entityTypes, final Dialect dialect) {
+        final List<String> ddl = new ArrayList<>();
+        for (final Class<? extends AbstractEntity<?>> entityType : entityTypes) {
+            for (final DbIndex index : entityType.getAnnotationsByType(DbIndex.class)) {
+                ddl.add(generateIndexDdl(entityType, index, dialect));
+            }
+        }
+        return ddl;
+    }
+
+    public static String generateIndexDdl(final Class<? extends AbstractEntity<?>> entityType, final DbIndex index, final Dialect dialect) {
+        if (index.props().length == 0) {
+            throw new IllegalArgumentException(format("Index declared for entity [%s] has no properties.", entityType.getSimpleName()));
+        }
+        final String table = tableName(entityType);
+        final String name = indexName(entityType, index);
+        final String keyColumns = columns(entityType, index.props());
+        final String unique = index.unique() ? "UNIQUE " : "";
+
+        if (dialect instanceof SQLServerDialect) {
+            final String include = index.include().length == 0 ? "" : format(" INCLUDE (%s)", columns(entityType, index.include()));
+            return format("IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = '%s' AND object_id = OBJECT_ID('%s')) CREATE %sINDEX %s ON %s (%s)%s",
+                          name, table, unique, name, table, keyColumns, include);
+        }
+        // included columns are not supported, appending them to the key columns makes the index covering, but changes the semantics of uniqueness
+        if (index.unique() && index.include().length > 0) {
+            throw new IllegalArgumentException(format("Unique index [%s] with included properties is not supported by dialect [%s].", name, dialect));
+        }
+        final String allColumns = index.include().length == 0 ? keyColumns : keyColumns + ", " + columns(entityType, index.include());
+        return format("CREATE %sINDEX IF NOT EXISTS %s ON %s (%s)", unique, name, table, allColumns);
+    }
+
+    private static String indexName(final Class<? extends AbstractEntity<?>> entityType, final DbIndex index) {
+        if (!StringUtils.isEmpty(index.name())) {
+            return index.name();
+        }
+        return "IX_" + entityType.getSimpleName().toUpperCase() + "_" + Stream.of(index.props()).map(String::toUpperCase).collect(joining("_"));
+    }
+
+    private static String tableName(final Class<? extends AbstractEntity<?>> entityType) {
+        final MapEntityTo mapEntityTo = AnnotationReflector.getAnnotation(entityType, MapEntityTo.class);
+        if (mapEntityTo == null) {
+            throw new IllegalArgumentException(format("Indexes can only be declared for persistent entities, but [%s] is not.", entityType.getSimpleName()));
+        }
+        return StringUtils.isEmpty(mapEntityTo.value()) ? entityType.getSimpleName().toUpperCase() + "_" : mapEntityTo.value();
+    }
+
+    private static String columns(final Class<? extends AbstractEntity<?>> entityType, final String[] props) {
+        return Arrays.stream(props).map(prop -> columnName(entityType, prop)).collect(joining(", "));
+    }
+
+    private static String columnName(final Class<? extends AbstractEntity<?>> entityType, final String prop) {
+        if (AbstractEntity.ID.equals(prop)) {
+            return "_ID";
+        }
+        final Field field = Finder.findFieldByName(entityType, prop);
+        final MapTo mapTo = field.getAnnotation(MapTo.class);
+        if (mapTo == null) {
+            throw new IllegalArgumentException(format("Property [%s] of entity [%s] is not persistent and cannot be indexed.", prop, entityType.getSimpleName()));
+        }
+        return StringUtils.isEmpty(mapTo.value()) ? prop.toUpperCase() + "_" : mapTo.value();
+    }
+
+}
@@ -0,0 +1,108 @@
+package newyork.filter;
+
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.cond;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import com.google.inject.Inject;
+
+import newyork.assets.Asset;
+import newyork.assets.AssetFinDet;
+import newyork.assets.depreciation.AssetDepreciation;
+import newyork.organisational.OrganisationVisibility;
+import newyork.tablescodes.assets.AssetCurrOwnership;
+import newyork.tablescodes.assets.AssetManagement;
+import newyork.tablescodes.assets.AssetOperation;
+import newyork.tablescodes.assets.AssetOwnership;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.query.IFilter;
+import ua.com.fielden.platform.entity.query.model.ConditionModel;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+import ua.com.fielden.platform.entity.query.model.PrimitiveResultQueryModel;
+
+/**
+ * {@link IFilter} that restricts assets and their ownerships, financial details, depreciation, managements and operations to the organisations visible to the current user,
+ * as determined by {@link OrganisationVisibility}. Data of all other entity types is not restricted, and neither is any data for users who can see all organisations.
+ * <p>
+ * An asset is visible if its current ownership belongs to a visible organisation, and so are the entities that belong to the asset.
+ * Conditions compare indexed columns with an {@code IN} list of organisation IDs or an {@code IN} sub-query over current ownerships (a semi-join),
+ * rather than evaluating the ownership of every row.
+ * Sub-queries only refer to entity types whose conditions do not refer back to them, so that filtering of the sub-queries themselves terminates.
+ * <p>
+ * Maintenance of data derived from all ownerships of an asset (such as {@link AssetCurrOwnership}) must see the data of every organisation,
+ * even if it is triggered by a scoped user, and therefore runs with {@link #unscoped(Supplier)}.
+ *
+ * @author Developers
+ *
+ */
+public class OrganisationScopedDataFilter implements IFilter {
+
+    // the nesting depth of unscoped actions on the current thread
+    private static final ThreadLocal<int[]> UNSCOPED_DEPTH = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final OrganisationVisibility visibility;
+
+    @Inject
+    public OrganisationScopedDataFilter(final OrganisationVisibility visibility) {
+        this.visibility = visibility;
+    }
+
+    /**
+     * Performs {@code action} without scoping any data it reads on the current thread, which includes nested companion calls.
+     */
+    public static <T> T unscoped(final Supplier<T> action) {
+        final int[] depth = UNSCOPED_DEPTH.get();
+        depth[0]++;
+        try {
+            return action.get();
+        } finally {
+            depth[0]--;
+        }
+    }
+
+    @Override
+    public <ET extends AbstractEntity<?>> ConditionModel enhance(final Class<ET> entityType, final String typeAlias, final String username) {
+        if (!isScoped(entityType) || username == null || UNSCOPED_DEPTH.get()[0] > 0) {
+            return null;
+        }
+        final Optional<long[]> organisations = visibility.visibleOrganisations(username);
+        if (!organisations.isPresent()) {
+            return null;
+        }
+        final Object[] ids = Arrays.stream(organisations.get()).boxed().toArray();
+
+        if (AssetOwnership.class == entityType) {
+            return cond().prop(prop(typeAlias, "org")).in().values(ids).model();
+        } else if (AssetCurrOwnership.class == entityType) {
+            return cond().prop(prop(typeAlias, "ownership")).in().model(visibleOwnerships(ids)).model();
+        } else if (Asset.class == entityType) {
+            return cond().prop(prop(typeAlias, "id")).in().model(visibleAssets(ids)).model();
+        } else if (AssetFinDet.class == entityType) {
+            return cond().prop(prop(typeAlias, "key")).in().model(visibleAssets(ids)).model();
+        } else {
+            return cond().prop(prop(typeAlias, "asset")).in().model(visibleAssets(ids)).model();
+        }
+    }
+
+    private static boolean isScoped(final Class<?> entityType) {
+        return Asset.class == entityType || AssetOwnership.class == entityType || AssetCurrOwnership.class == entityType
+                || AssetFinDet.class == entityType || AssetDepreciation.class == entityType || AssetManagement.class == entityType
+                || AssetOperation.class == entityType;
+    }
+
+    private static EntityResultQueryModel<AssetOwnership> visibleOwnerships(final Object[] organisationIds) {
+        return select(AssetOwnership.class).where().prop("org").in().values(organisationIds).model();
+    }
+
+    private static PrimitiveResultQueryModel visibleAssets(final Object[] organisationIds) {
+        return select(AssetCurrOwnership.class).where().prop("ownership").in().model(visibleOwnerships(organisationIds)).yield().prop("key").modelAsPrimitive();
+    }
+
+    private static String prop(final String typeAlias, final String prop) {
+        return typeAlias == null || typeAlias.isEmpty() ? prop : typeAlias + "." + prop;
+    }
+
+}
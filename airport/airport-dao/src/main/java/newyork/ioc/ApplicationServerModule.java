@@ -5,16 +5,15 @@ import static java.lang.String.format;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
-import java.util.concurrent.TimeUnit;
 
 import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
-import com.google.inject.Inject;
-import com.google.inject.Provider;
 import com.google.inject.Scopes;
 import com.google.inject.TypeLiteral;
+import com.google.inject.matcher.Matchers;
 
 import ua.com.fielden.platform.basic.config.IApplicationDomainProvider;
+import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.AbstractEntity;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.ioc.BasicWebServerModule;
@@ -33,6 +32,15 @@ import ua.com.fielden.platform.serialisation.api.ISerialisationClassProvider;
 import ua.com.fielden.platform.utils.IUniversalConstants;
 import ua.com.fielden.platform.web.annotations.AppUri;
 
+import newyork.common.concurrency.ConcurrencyLimit;
+import newyork.common.metrics.CompanionTimingInterceptor;
+import newyork.common.metrics.FetchModelProfiler;
+import newyork.common.metrics.SlowQueryInterceptor;
+import newyork.common.metrics.SlowQueryLog;
+import newyork.common.session.IUserSessionStore;
+import newyork.tablescodes.assets.AssetResponsibilityResolver;
+import newyork.tablescodes.assets.IAssetResponsibilityResolver;
+
 
 
 /**
@@ -42,6 +50,8 @@ import ua.com.fielden.platform.web.annotations.AppUri;
  *
  */
 public class ApplicationServerModule extends BasicWebServerModule {
+    private static final int UNTRUSTED_DEVICE_SESSION_DURATION_MINS = 5; // five minutes
+
     private final Class<? extends IUniversalConstants> universalConstantsType;
     private final List<Class<? extends AbstractEntity<?>>> domainTypes;
 
@@ -107,30 +117,31 @@ public class ApplicationServerModule extends BasicWebServerModule {
         for (final Class<? extends AbstractEntity<?>> entityType : domainTypes) {
             CompanionObjectAutobinder.bindCo(entityType, binder());
         }
+        bind(IAssetResponsibilityResolver.class).to(AssetResponsibilityResolver.class);
+        bind(ConcurrencyLimit.class).toInstance(ConcurrencyLimit.fromProperties(getProps()));
+        // companion methods are timed for metrics
+        final CompanionTimingInterceptor companionTimingInterceptor = new CompanionTimingInterceptor();
+        requestInjection(companionTimingInterceptor);
+        bindInterceptor(Matchers.subclassesOf(CommonEntityDao.class), Matchers.annotatedWith(SessionRequired.class), companionTimingInterceptor);
+        // slow EQL queries are logged together with their models and generated SQL
+        bind(SlowQueryLog.class).toInstance(SlowQueryLog.fromProperties(getProps()));
+        final SlowQueryInterceptor slowQueryInterceptor = new SlowQueryInterceptor();
+        requestInjection(slowQueryInterceptor);
+        bindInterceptor(Matchers.subclassesOf(CommonEntityDao.class), SlowQueryInterceptor.QUERY_METHODS, slowQueryInterceptor);
+        // property paths sent to the client are profiled in order to recommend minimal fetch models
+        bind(FetchModelProfiler.class).toInstance(FetchModelProfiler.fromProperties(getProps()));
 
         // the following bindings are well suited for Trident Fleet server
         bindConstant().annotatedWith(SessionHashingKey.class).to("This is a hasing key, which is used to hash session data for application users.");
         bindConstant().annotatedWith(TrustedDeviceSessionDuration.class).to(60 * 24 * 3); // three days
-        bindConstant().annotatedWith(UntrustedDeviceSessionDuration.class).to(5); // five minutes
+        bindConstant().annotatedWith(UntrustedDeviceSessionDuration.class).to(UNTRUSTED_DEVICE_SESSION_DURATION_MINS);
+        // sessions are kept in a striped and bounded store, which is used by the platform as its session cache and may be shared by several nodes
+        final IUserSessionStore sessionStore = IUserSessionStore.fromProperties(getProps(), UNTRUSTED_DEVICE_SESSION_DURATION_MINS);
+        bind(IUserSessionStore.class).toInstance(sessionStore);
         bind(new TypeLiteral<Cache<String, UserSession>>() {
-        }).annotatedWith(SessionCache.class).toProvider(SessionCacheBuilder.class).in(Scopes.SINGLETON);
+        }).annotatedWith(SessionCache.class).toInstance(sessionStore);
 
         bindConstant().annotatedWith(AppUri.class).to(format("https://%s:%s%s", getProps().get("web.domain"), getProps().get("port"), getProps().get("web.path")));
     }
 
-    private static class SessionCacheBuilder implements Provider<Cache<String, UserSession>> {
-
-        private final Cache<String, UserSession> cache;
-
-        @Inject
-        public SessionCacheBuilder(final @UntrustedDeviceSessionDuration int untrustedDeviceSessionDurationMins) {
-            cache = CacheBuilder.newBuilder().expireAfterWrite(untrustedDeviceSessionDurationMins / 2, TimeUnit.MINUTES).build();
-        }
-
-        @Override
-        public Cache<String, UserSession> get() {
-            return cache;
-        }
-    }
-
 }
\ No newline at end of file
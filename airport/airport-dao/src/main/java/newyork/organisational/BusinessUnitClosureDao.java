@@ -0,0 +1,70 @@
+package newyork.organisational;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.inject.Inject;
+
+import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
+import ua.com.fielden.platform.entity.annotation.EntityType;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.entity.query.IFilter;
+
+/**
+ * DAO implementation for companion object {@link IBusinessUnitClosure}, which maintains closure records with {@link ClosureTables}.
+ *
+ * @author Developers
+ *
+ */
+@EntityType(BusinessUnitClosure.class)
+public class BusinessUnitClosureDao extends CommonEntityDao<BusinessUnitClosure> implements IBusinessUnitClosure {
+
+    @Inject
+    public BusinessUnitClosureDao(final IFilter filter) {
+        super(filter);
+    }
+
+    @Override
+    @SessionRequired
+    public void assertAcyclic(final BusinessUnit businessUnit) {
+        ClosureTables.assertAcyclic(this, businessUnit);
+    }
+
+    @Override
+    @SessionRequired
+    public void maintain(final BusinessUnit businessUnit) {
+        ClosureTables.maintain(this, co(BusinessUnit.class), businessUnit);
+    }
+
+    @Override
+    @SessionRequired
+    public int rebuild() {
+        return ClosureTables.rebuild(this, co(BusinessUnit.class));
+    }
+
+    @Override
+    @SessionRequired
+    public int rebuildIfEmpty() {
+        return ClosureTables.rebuildIfEmpty(this, co(BusinessUnit.class));
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<BusinessUnitClosure> entities) {
+        return batchDelete(entities.stream().map(BusinessUnitClosure::getId).collect(Collectors.toList()));
+    }
+
+    @Override
+    protected IFetchProvider<BusinessUnitClosure> createFetchProvider() {
+        return FETCH_PROVIDER;
+    }
+
+}
@@ -4,11 +4,14 @@ import com.google.inject.Inject;
 
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 
 /**
  * DAO implementation for companion object {@link IBusinessUnit}.
+ * <p>
+ * Saving maintains the {@link BusinessUnitClosure} records of the business unit hierarchy, rejecting parents that would make a cycle.
  *
  * @author Developers
  *
@@ -21,6 +24,19 @@ public class BusinessUnitDao extends CommonEntityDao<BusinessUnit> implements IB
         super(filter);
     }
 
+    @Override
+    @SessionRequired
+    public BusinessUnit save(final BusinessUnit businessUnit) {
+        final IBusinessUnitClosure coClosure = co$(BusinessUnitClosure.class);
+        coClosure.assertAcyclic(businessUnit);
+        final boolean placementChanged = !businessUnit.isPersisted() || businessUnit.getProperty("parent").isDirty();
+        final BusinessUnit saved = super.save(businessUnit);
+        if (placementChanged) {
+            coClosure.maintain(saved);
+        }
+        return saved;
+    }
+
     @Override
     protected IFetchProvider<BusinessUnit> createFetchProvider() {
         return FETCH_PROVIDER;
@@ -0,0 +1,191 @@
+package newyork.organisational;
+
+import static java.util.function.Function.identity;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+import ua.com.fielden.platform.entity.query.model.PrimitiveResultQueryModel;
+import ua.com.fielden.platform.error.Result;
+import ua.com.fielden.platform.reflection.TitlesDescsGetter;
+
+/**
+ * Maintenance of closure tables for hierarchies of entities with a {@code parent} property, such as {@link OrganisationClosure} for {@link Organisation}.
+ * <p>
+ * A closure table has a record with properties {@code ancestor}, {@code descendant} and {@code depth} for every path in the hierarchy, including a path of depth 0 from every entity to itself.
+ * Records are maintained incrementally: creating an entity adds the paths to it from itself and its ancestors,
+ * while re-parenting an entity replaces the paths from its old ancestors to its subtree with the paths from its new ancestors to its subtree, leaving all other paths intact.
+ * <p>
+ * Incremental maintenance relies on complete records for the parent and the subtree of an entity.
+ * Entities that predate their closure table have no records, which are populated upon start-up with {@link #rebuildIfEmpty},
+ * and maintenance falls back to {@link #rebuild} whenever it encounters such entities, rather than producing a partial tree.
+ *
+ * @author Developers
+ *
+ */
+public final class ClosureTables {
+
+    public static final String ERR_CYCLIC_PARENT = "%s [%s] cannot be placed under [%s], because that would make a cycle.";
+
+    private ClosureTables() {}
+
+    /**
+     * Throws an exception if a persisted {@code entity} got a parent that is the entity itself or an entity under it.
+     *
+     * @param co -- the closure table companion
+     * @param entity
+     */
+    public static <C extends AbstractEntity<?>> void assertAcyclic(final IEntityDao<C> co, final AbstractEntity<?> entity) {
+        final AbstractEntity<?> parent = entity.get("parent");
+        if (parent == null || !entity.isPersisted() || !entity.getProperty("parent").isDirty()) {
+            return;
+        }
+        final EntityResultQueryModel<C> path = select(co.getEntityType()).where().prop("ancestor").eq().val(entity).and().prop("descendant").eq().val(parent).model();
+        if (co.count(path) > 0) {
+            throw Result.failuref(ERR_CYCLIC_PARENT, TitlesDescsGetter.getEntityTitleAndDesc(entity.getType()).getKey(), entity, parent);
+        }
+    }
+
+    /**
+     * Brings the closure records of a saved {@code entity} and its subtree in line with the entity's parent.
+     * Nothing changes if the records are up to date already, and all records are rebuilt if the parent or the subtree of the entity have no records.
+     * Needs to be invoked within a session.
+     *
+     * @param co -- the closure table companion
+     * @param coEntities -- the companion of the hierarchy entities
+     * @param entity
+     */
+    public static <C extends AbstractEntity<?>, T extends AbstractEntity<?>> void maintain(final IEntityDao<C> co, final IEntityDao<T> coEntities, final AbstractEntity<?> entity) {
+        final AbstractEntity<?> parent = entity.get("parent");
+        final List<C> ancestry = paths(co, "descendant", entity);
+
+        final boolean parentWithoutRecords = parent != null && paths(co, "descendant", parent).isEmpty();
+        final boolean subtreeWithoutRecords = ancestry.isEmpty() && coEntities.count(select(coEntities.getEntityType()).where().prop("parent").eq().val(entity).model()) > 0;
+        if (parentWithoutRecords || subtreeWithoutRecords) {
+            rebuild(co, coEntities);
+            return;
+        }
+
+        if (ancestry.isEmpty()) {
+            // a new entity is a leaf, whose only paths are from itself and its ancestors
+            co.save(path(co, entity, entity, 0));
+            if (parent != null) {
+                paths(co, "descendant", parent).forEach(up -> co.save(path(co, up.get("ancestor"), entity, depth(up) + 1)));
+            }
+            return;
+        }
+
+        final Long currParentId = ancestry.stream().filter(p -> depth(p) == 1).findFirst().map(p -> ((AbstractEntity<?>) p.get("ancestor")).getId()).orElse(null);
+        if (Objects.equals(currParentId, parent == null ? null : parent.getId())) {
+            return;
+        }
+
+        // detach the subtree from the old ancestors
+        final PrimitiveResultQueryModel oldAncestors = select(co.getEntityType()).where()
+                .prop("descendant").eq().val(entity).and()
+                .prop("depth").gt().val(0)
+                .yield().prop("ancestor").modelAsPrimitive();
+        final PrimitiveResultQueryModel subtreeMembers = select(co.getEntityType()).where()
+                .prop("ancestor").eq().val(entity)
+                .yield().prop("descendant").modelAsPrimitive();
+        final EntityResultQueryModel<C> detached = select(co.getEntityType()).where()
+                .prop("ancestor").in().model(oldAncestors).and()
+                .prop("descendant").in().model(subtreeMembers).model();
+        final List<Long> detachedIds = co.getAllEntities(from(detached).with(fetchKeyAndDescOnly(co.getEntityType())).model()).stream()
+                .map(AbstractEntity::getId).collect(toList());
+        if (!detachedIds.isEmpty()) {
+            co.batchDelete(detachedIds);
+        }
+
+        // attach the subtree to the new ancestors
+        if (parent != null) {
+            final List<C> subtree = paths(co, "ancestor", entity);
+            for (final C up : paths(co, "descendant", parent)) {
+                for (final C down : subtree) {
+                    co.save(path(co, up.get("ancestor"), down.get("descendant"), depth(up) + depth(down) + 1));
+                }
+            }
+        }
+    }
+
+    /**
+     * Replaces all closure records with the ones computed from the {@code parent} properties of all entities, which is useful for the initial population.
+     * Needs to be invoked within a session.
+     *
+     * @param co -- the closure table companion
+     * @param coEntities -- the companion of the hierarchy entities
+     * @return the number of created closure records
+     */
+    public static <C extends AbstractEntity<?>, T extends AbstractEntity<?>> int rebuild(final IEntityDao<C> co, final IEntityDao<T> coEntities) {
+        final List<T> entities = coEntities.getAllEntities(from(select(coEntities.getEntityType()).model())
+                .with(fetchKeyAndDescOnly(coEntities.getEntityType()).with("parent")).model());
+        final Map<Long, T> byId = entities.stream().collect(toMap(AbstractEntity::getId, identity()));
+
+        final List<Long> existingIds = co.getAllEntities(from(select(co.getEntityType()).model()).with(fetchKeyAndDescOnly(co.getEntityType())).model()).stream()
+                .map(AbstractEntity::getId).collect(toList());
+        if (!existingIds.isEmpty()) {
+            co.batchDelete(existingIds);
+        }
+
+        int created = 0;
+        for (final T entity : entities) {
+            final Set<Long> visited = new HashSet<>();
+            T ancestor = entity;
+            for (int depth = 0; ancestor != null; depth++) {
+                if (!visited.add(ancestor.getId())) {
+                    throw Result.failuref(ERR_CYCLIC_PARENT, TitlesDescsGetter.getEntityTitleAndDesc(entity.getType()).getKey(), entity, entity.get("parent"));
+                }
+                co.save(path(co, ancestor, entity, depth));
+                created++;
+                final AbstractEntity<?> parent = ancestor.get("parent");
+                ancestor = parent == null ? null : byId.get(parent.getId());
+            }
+        }
+        return created;
+    }
+
+    /**
+     * Rebuilds all closure records if there are none while there are hierarchy entities, which is the case for databases that predate the closure table.
+     * Needs to be invoked within a session.
+     *
+     * @param co -- the closure table companion
+     * @param coEntities -- the companion of the hierarchy entities
+     * @return the number of created closure records
+     */
+    public static <C extends AbstractEntity<?>, T extends AbstractEntity<?>> int rebuildIfEmpty(final IEntityDao<C> co, final IEntityDao<T> coEntities) {
+        if (co.count(select(co.getEntityType()).model()) > 0 || coEntities.count(select(coEntities.getEntityType()).model()) == 0) {
+            return 0;
+        }
+        return rebuild(co, coEntities);
+    }
+
+    private static <C extends AbstractEntity<?>> List<C> paths(final IEntityDao<C> co, final String endProp, final AbstractEntity<?> end) {
+        final EntityResultQueryModel<C> query = select(co.getEntityType()).where().prop(endProp).eq().val(end).model();
+        return co.getAllEntities(from(query).with(fetchKeyAndDescOnly(co.getEntityType()).with("depth")).model());
+    }
+
+    private static <C extends AbstractEntity<?>> C path(final IEntityDao<C> co, final AbstractEntity<?> ancestor, final AbstractEntity<?> descendant, final int depth) {
+        final C path = co.new_();
+        path.set("ancestor", ancestor);
+        path.set("descendant", descendant);
+        path.set("depth", depth);
+        return path;
+    }
+
+    private static int depth(final AbstractEntity<?> path) {
+        return Optional.ofNullable(path.<Integer>get("depth")).orElse(0);
+    }
+
+}
@@ -0,0 +1,70 @@
+package newyork.organisational;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.inject.Inject;
+
+import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
+import ua.com.fielden.platform.entity.annotation.EntityType;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.entity.query.IFilter;
+
+/**
+ * DAO implementation for companion object {@link IOrganisationClosure}, which maintains closure records with {@link ClosureTables}.
+ *
+ * @author Developers
+ *
+ */
+@EntityType(OrganisationClosure.class)
+public class OrganisationClosureDao extends CommonEntityDao<OrganisationClosure> implements IOrganisationClosure {
+
+    @Inject
+    public OrganisationClosureDao(final IFilter filter) {
+        super(filter);
+    }
+
+    @Override
+    @SessionRequired
+    public void assertAcyclic(final Organisation organisation) {
+        ClosureTables.assertAcyclic(this, organisation);
+    }
+
+    @Override
+    @SessionRequired
+    public void maintain(final Organisation organisation) {
+        ClosureTables.maintain(this, co(Organisation.class), organisation);
+    }
+
+    @Override
+    @SessionRequired
+    public int rebuild() {
+        return ClosureTables.rebuild(this, co(Organisation.class));
+    }
+
+    @Override
+    @SessionRequired
+    public int rebuildIfEmpty() {
+        return ClosureTables.rebuildIfEmpty(this, co(Organisation.class));
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<OrganisationClosure> entities) {
+        return batchDelete(entities.stream().map(OrganisationClosure::getId).collect(Collectors.toList()));
+    }
+
+    @Override
+    protected IFetchProvider<OrganisationClosure> createFetchProvider() {
+        return FETCH_PROVIDER;
+    }
+
+}
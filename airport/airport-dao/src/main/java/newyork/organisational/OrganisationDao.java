@@ -2,12 +2,18 @@ package newyork.organisational;
 
 import com.google.inject.Inject;
 
+import newyork.common.cache.AfterCompletion;
+
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 /**
  * DAO implementation for companion object {@link IOrganisation}.
+ * <p>
+ * Saving maintains the {@link OrganisationClosure} records of the organisation hierarchy, rejecting parents that would make a cycle,
+ * and invalidates the visibilities cached by {@link OrganisationVisibility}, which include the organisations under the organisation of a user, both straight away and after the transaction completes (see {@link AfterCompletion}).
  *
  * @author Developers
  *
@@ -15,9 +21,26 @@ import ua.com.fielden.platform.entity.annotation.EntityType;
 @EntityType(Organisation.class)
 public class OrganisationDao extends CommonEntityDao<Organisation> implements IOrganisation {
 
+    private final OrganisationVisibility organisationVisibility;
+
     @Inject
-    public OrganisationDao(final IFilter filter) {
+    public OrganisationDao(final IFilter filter, final OrganisationVisibility organisationVisibility) {
         super(filter);
+        this.organisationVisibility = organisationVisibility;
+    }
+
+    @Override
+    @SessionRequired
+    public Organisation save(final Organisation organisation) {
+        final IOrganisationClosure coClosure = co$(OrganisationClosure.class);
+        coClosure.assertAcyclic(organisation);
+        final boolean placementChanged = !organisation.isPersisted() || organisation.getProperty("parent").isDirty();
+        AfterCompletion.invalidate(this, organisationVisibility::invalidateAll);
+        final Organisation saved = super.save(organisation);
+        if (placementChanged) {
+            coClosure.maintain(saved);
+        }
+        return saved;
     }
 
     @Override
@@ -0,0 +1,88 @@
+package newyork.organisational;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import newyork.personnel.Person;
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+
+/**
+ * Determines which organisations are visible to application users, which is used to scope data with {@link newyork.filter.OrganisationScopedDataFilter}.
+ * <p>
+ * Users of persons with an organisation can see the data of that organisation and the organisations under it (as per {@link OrganisationClosure}) only,
+ * while all other users, including users without a person, can see all data.
+ * The visibility of every user is computed once and cached as a sorted array of organisation IDs, which is small enough to be inlined into SQL as an {@code IN} list.
+ * Cached visibilities are invalidated by the companions of {@link Person} and {@link Organisation}, both straight away and after their transactions complete (see {@link newyork.common.cache.AfterCompletion}),
+ * and expire some time after being computed as a safety net.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class OrganisationVisibility {
+
+    public static final long MAXIMUM_SIZE = 10_000;
+    public static final long EXPIRE_AFTER_MINUTES = 30;
+
+    private final ICompanionObjectFinder coFinder;
+    private final Cache<String, Optional<long[]>> visibilities = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(EXPIRE_AFTER_MINUTES, MINUTES)
+            .build();
+    // incremented upon invalidation to prevent visibilities computed before invalidation from being cached after it
+    private final AtomicLong generation = new AtomicLong();
+
+    @Inject
+    public OrganisationVisibility(final ICompanionObjectFinder coFinder) {
+        this.coFinder = coFinder;
+    }
+
+    /**
+     * IDs of organisations visible to the user with {@code username} in ascending order, or an empty optional if all data is visible to the user.
+     */
+    public Optional<long[]> visibleOrganisations(final String username) {
+        final Optional<long[]> cached = visibilities.getIfPresent(username);
+        if (cached != null) {
+            return cached;
+        }
+        final long computedInGeneration = generation.get();
+        final Optional<long[]> computed = compute(username);
+        if (computedInGeneration == generation.get()) {
+            visibilities.put(username, computed);
+        }
+        return computed;
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        visibilities.invalidateAll();
+    }
+
+    private Optional<long[]> compute(final String username) {
+        final IEntityDao<Person> co = coFinder.find(Person.class, true);
+        final Person person = co.getEntity(from(select(Person.class).where().prop("user.key").eq().val(username).model())
+                .with(fetchKeyAndDescOnly(Person.class).with("organisation", fetchKeyAndDescOnly(Organisation.class))).model());
+        if (person == null || person.getOrganisation() == null) {
+            return Optional.empty();
+        }
+        final IEntityDao<OrganisationClosure> coClosure = coFinder.find(OrganisationClosure.class, true);
+        final EntityResultQueryModel<OrganisationClosure> subtree = select(OrganisationClosure.class).where().prop("ancestor").eq().val(person.getOrganisation()).model();
+        final long[] subtreeIds = coClosure.getAllEntities(from(subtree).with(fetchKeyAndDescOnly(OrganisationClosure.class)).model()).stream()
+                .mapToLong(path -> path.getDescendant().getId()).sorted().toArray();
+        // an organisation without closure records (e.g. not rebuilt yet) is visible on its own
+        return Optional.of(subtreeIds.length > 0 ? subtreeIds : new long[] {person.getOrganisation().getId()});
+    }
+
+}
@@ -0,0 +1,70 @@
+package newyork.organisational;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.google.inject.Inject;
+
+import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
+import ua.com.fielden.platform.entity.annotation.EntityType;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.entity.query.IFilter;
+
+/**
+ * DAO implementation for companion object {@link IRoleClosure}, which maintains closure records with {@link ClosureTables}.
+ *
+ * @author Developers
+ *
+ */
+@EntityType(RoleClosure.class)
+public class RoleClosureDao extends CommonEntityDao<RoleClosure> implements IRoleClosure {
+
+    @Inject
+    public RoleClosureDao(final IFilter filter) {
+        super(filter);
+    }
+
+    @Override
+    @SessionRequired
+    public void assertAcyclic(final Role role) {
+        ClosureTables.assertAcyclic(this, role);
+    }
+
+    @Override
+    @SessionRequired
+    public void maintain(final Role role) {
+        ClosureTables.maintain(this, co(Role.class), role);
+    }
+
+    @Override
+    @SessionRequired
+    public int rebuild() {
+        return ClosureTables.rebuild(this, co(Role.class));
+    }
+
+    @Override
+    @SessionRequired
+    public int rebuildIfEmpty() {
+        return ClosureTables.rebuildIfEmpty(this, co(Role.class));
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<RoleClosure> entities) {
+        return batchDelete(entities.stream().map(RoleClosure::getId).collect(Collectors.toList()));
+    }
+
+    @Override
+    protected IFetchProvider<RoleClosure> createFetchProvider() {
+        return FETCH_PROVIDER;
+    }
+
+}
@@ -4,10 +4,13 @@ import com.google.inject.Inject;
 
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 /**
  * DAO implementation for companion object {@link IRole}.
+ * <p>
+ * Saving maintains the {@link RoleClosure} records of the role hierarchy, rejecting parents that would make a cycle.
  *
  * @author Developers
  *
@@ -20,6 +23,19 @@ public class RoleDao extends CommonEntityDao<Role> implements IRole {
         super(filter);
     }
 
+    @Override
+    @SessionRequired
+    public Role save(final Role role) {
+        final IRoleClosure coClosure = co$(RoleClosure.class);
+        coClosure.assertAcyclic(role);
+        final boolean placementChanged = !role.isPersisted() || role.getProperty("parent").isDirty();
+        final Role saved = super.save(role);
+        if (placementChanged) {
+            coClosure.maintain(saved);
+        }
+        return saved;
+    }
+
     @Override
     protected IFetchProvider<Role> createFetchProvider() {
         return FETCH_PROVIDER;
@@ -0,0 +1,63 @@
+package newyork.organisational.jobs;
+
+import org.apache.log4j.Logger;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import newyork.organisational.BusinessUnitClosure;
+import newyork.organisational.IBusinessUnitClosure;
+import newyork.organisational.IOrganisationClosure;
+import newyork.organisational.IRoleClosure;
+import newyork.organisational.OrganisationClosure;
+import newyork.organisational.OrganisationVisibility;
+import newyork.organisational.RoleClosure;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.security.user.IUser;
+import ua.com.fielden.platform.security.user.IUserProvider;
+import ua.com.fielden.platform.security.user.User;
+
+/**
+ * A one-off start-up job that populates the closure tables of organisations, business units and roles for databases that predate them.
+ * It runs before the application starts serving requests, so that organisation visibility and subtree rollups are complete from the start,
+ * and does nothing once the closure tables have been populated.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class ClosureTablesPopulationJob implements Runnable {
+
+    private static final Logger LOGGER = Logger.getLogger(ClosureTablesPopulationJob.class);
+
+    private final ICompanionObjectFinder coFinder;
+    private final IUserProvider userProvider;
+    private final OrganisationVisibility organisationVisibility;
+
+    @Inject
+    public ClosureTablesPopulationJob(final ICompanionObjectFinder coFinder, final IUserProvider userProvider, final OrganisationVisibility organisationVisibility) {
+        this.coFinder = coFinder;
+        this.userProvider = userProvider;
+        this.organisationVisibility = organisationVisibility;
+    }
+
+    @Override
+    public void run() {
+        final IUser coUser = coFinder.find(User.class, true);
+        userProvider.setUsername(User.system_users.SU.name(), coUser);
+
+        final IOrganisationClosure coOrganisationClosure = coFinder.find(OrganisationClosure.class);
+        final int organisationPaths = coOrganisationClosure.rebuildIfEmpty();
+        if (organisationPaths > 0) {
+            organisationVisibility.invalidateAll();
+        }
+        final IBusinessUnitClosure coBusinessUnitClosure = coFinder.find(BusinessUnitClosure.class);
+        final int businessUnitPaths = coBusinessUnitClosure.rebuildIfEmpty();
+        final IRoleClosure coRoleClosure = coFinder.find(RoleClosure.class);
+        final int rolePaths = coRoleClosure.rebuildIfEmpty();
+        if (organisationPaths + businessUnitPaths + rolePaths > 0) {
+            LOGGER.info(String.format("Populated closure tables with %s organisation, %s business unit and %s role path(s).", organisationPaths, businessUnitPaths, rolePaths));
+        }
+    }
+
+}
@@ -1,15 +1,35 @@
 package newyork.personnel;
 
 import static java.lang.String.format;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toSet;
 import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetch;
-import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchAll;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
 import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
 import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+import static ua.com.fielden.platform.types.tuples.T3.t3;
 
 import org.apache.log4j.Logger;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
 import com.google.inject.Inject;
 
+import newyork.common.cache.AfterCompletion;
+import newyork.organisational.OrganisationVisibility;
 import newyork.security.tokens.personnel.MakePersonAUserToken;
 
 import ua.com.fielden.platform.dao.CommonEntityDao;
@@ -17,12 +37,14 @@ import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.entity.query.IFilter;
+import ua.com.fielden.platform.entity.query.fluent.EntityQueryProgressiveInterfaces.ICompoundCondition0;
 import ua.com.fielden.platform.entity.query.fluent.fetch;
 import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
 import ua.com.fielden.platform.error.Result;
 import ua.com.fielden.platform.security.Authorise;
 import ua.com.fielden.platform.security.user.IUser;
 import ua.com.fielden.platform.security.user.User;
+import ua.com.fielden.platform.types.tuples.T3;
 
 /**
  * DAO implementation for companion object {@link IPerson}.
@@ -34,10 +56,48 @@ import ua.com.fielden.platform.security.user.User;
 public class PersonDao extends CommonEntityDao<Person> implements IPerson {
 
     private static final Logger LOGGER = Logger.getLogger(PersonDao.class);
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^a-zA-Z0-9]");
+    private static final char[] SUFFIXES = "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789".toCharArray();
+    private static final int PREFIXES_PER_QUERY = 100;
+    private static final int IDS_PER_QUERY = 1000;
+    /** Properties of a person that are required to make it a user. */
+    private static final fetch<Person> FETCH_FOR_MAKE_USER = fetchKeyAndDescOnly(Person.class).with("email", "user");
+    public static final String ERR_ALREADY_A_USER = "Person [%s] is already an application user.";
+    public static final String ERR_ALREADY_USERS = "Persons [%s] are already application users.";
+    public static final String ERR_NOT_FOUND = "Person [%s] could not be found.";
+    public static final String ERR_NOT_FOUND_MANY = "Persons [%s] could not be found.";
+
+    private final OrganisationVisibility organisationVisibility;
 
     @Inject
-    protected PersonDao(final IFilter filter) {
+    protected PersonDao(final IFilter filter, final OrganisationVisibility organisationVisibility) {
         super(filter);
+        this.organisationVisibility = organisationVisibility;
+    }
+
+    /**
+     * Saves the person, invalidating the cached organisation visibilities of users, which depend on the organisation and user of persons.
+     * Visibilities are invalidated once more after the transaction completes (see {@link AfterCompletion}), so that a visibility computed from the previous state of the person is not cached.
+     */
+    @Override
+    @SessionRequired
+    public Person save(final Person person) {
+        AfterCompletion.invalidate(this, organisationVisibility::invalidateAll);
+        return super.save(person);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        AfterCompletion.invalidate(this, organisationVisibility::invalidateAll);
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<Person> entities) {
+        AfterCompletion.invalidate(this, organisationVisibility::invalidateAll);
+        return defaultBatchDelete(entities);
     }
 
     /**
@@ -48,37 +108,96 @@ public class PersonDao extends CommonEntityDao<Person> implements IPerson {
      * @param userName
      * @return
      */
-    private String generateUniquePersonCode(final String givenName, final String surName, final String userName) {
+    @Override
+    @SessionRequired
+    public String generateUniquePersonCode(final String givenName, final String surName, final String userName) {
+        return generateUniquePersonCodes(singletonList(t3(givenName, surName, userName))).get(0);
+    }
+
+    /**
+     * Generates unique person codes for a list of given name, surname and username triples in one pass.
+     * <p>
+     * All candidate codes for a person start with the first letter of the given name and the first letter of the surname, except the one based on the username.
+     * Therefore, existing keys are retrieved with a single query per chunk of such prefixes, and free codes are then picked in memory.
+     * Codes allocated earlier in the list are regarded as taken for the subsequent persons.
+     *
+     * @param names
+     * @return codes in the order of {@code names}
+     */
+    @Override
+    @SessionRequired
+    public List<String> generateUniquePersonCodes(final List<T3<String, String, String>> names) {
+        final List<List<String>> candidates = names.stream().map(name -> candidateCodes(name._1, name._2, name._3)).collect(toList());
+        final Set<String> takenCodes = existingKeys(candidates);
+
+        final List<String> codes = new ArrayList<>(names.size());
+        for (int index = 0; index < names.size(); index++) {
+            final List<String> personCandidates = candidates.get(index);
+            final Optional<String> code = personCandidates.stream().filter(candidate -> !candidate.isEmpty() && !takenCodes.contains(candidate)).findFirst();
+            if (!code.isPresent()) {
+                final T3<String, String, String> name = names.get(index);
+                final String ex = "A new user/person creation failed for [" + name._1 + " " + name._2 + "] with automatically generated username [" + name._3
+                        + "]. All the following usernames are regretably already assigned to other persons: [" + String.join(",", personCandidates.subList(0, 4))
+                        + "] and all codes [" + personCandidates.get(1) + " + letter/digit]. Is it possible? Please contact your administrator.";
+                LOGGER.error(ex);
+                throw new IllegalStateException(ex);
+            }
+            takenCodes.add(code.get());
+            codes.add(code.get());
+        }
+        return codes;
+    }
+
+    /**
+     * Produces candidate codes in the order of preference.
+     * The first four candidates are always the four-, three- and two-letter name-based codes and the username-based code, which may be shorter or repeat each other for short names.
+     */
+    private static List<String> candidateCodes(final String givenName, final String surName, final String userName) {
         final String gn = letters(givenName, 1);
         final String four = gn + letters(surName, 3), three = gn + letters(surName, 2), two = gn + letters(surName, 1), usernameFour = letters(userName, 4);
+        final List<String> candidates = new ArrayList<>(4 + SUFFIXES.length);
+        candidates.add(four);
+        candidates.add(three);
+        candidates.add(two);
+        candidates.add(usernameFour);
+        for (final char suffix : SUFFIXES) {
+            candidates.add(three + suffix);
+        }
+        return candidates;
+    }
+
+    /**
+     * Retrieves upper-cased keys of persons that clash with any of the candidate codes.
+     * The shortest name-based candidate (two letters) is a common prefix for all but the username-based candidate.
+     */
+    private Set<String> existingKeys(final List<List<String>> candidates) {
+        final List<String> prefixes = candidates.stream().map(personCandidates -> personCandidates.get(2)).filter(prefix -> !prefix.isEmpty()).distinct().collect(toList());
+        final List<String> usernameCodes = candidates.stream().map(personCandidates -> personCandidates.get(3)).filter(code -> !code.isEmpty()).distinct().collect(toList());
 
-        if (!entityWithKeyExists(four)) {
-            return four;
-            // error("A person code [" + code + "] is not unique. Currently just fail.");
-        } else if (!entityWithKeyExists(three)) {
-            return three;
-        } else if (!entityWithKeyExists(two)) {
-            return two;
-        } else if (!entityWithKeyExists(usernameFour)) {
-            return usernameFour;
-        } else {
-            for (char c = 'A'; c <= 'Z'; c++) {
-                final String code = three + c;
-                if (!entityWithKeyExists(code)) {
-                    return code;
-                }
+        final Set<String> keys = new HashSet<>();
+        for (int start = 0; start < prefixes.size(); start += PREFIXES_PER_QUERY) {
+            final List<String> prefixesChunk = prefixes.subList(start, Math.min(start + PREFIXES_PER_QUERY, prefixes.size()));
+            ICompoundCondition0<Person> condition = select(Person.class).where().prop("key").iLike().val(prefixesChunk.get(0) + "%");
+            for (final String prefix : prefixesChunk.subList(1, prefixesChunk.size())) {
+                condition = condition.or().prop("key").iLike().val(prefix + "%");
             }
-            for (char c = '0'; c <= '9'; c++) {
-                final String code = three + c;
-                if (!entityWithKeyExists(code)) {
-                    return code;
-                }
+            if (start < usernameCodes.size()) {
+                final List<String> usernameCodesChunk = usernameCodes.subList(start, Math.min(start + PREFIXES_PER_QUERY, usernameCodes.size()));
+                condition = condition.or().prop("key").in().values(usernameCodesChunk.toArray());
             }
-            final String ex = "A new user/person creation failed for [" + givenName + " " + surName + "] with automatically generated username [" + userName
-                    + "]. All the following usernames are regretably already assigned to other persons: [" + four + "," + three + "," + two + "," + usernameFour
-                    + "] and all codes [" + three + " + letter/digit]. Is it possible? Please contact your administrator.";
-            LOGGER.error(ex);
-            throw new IllegalStateException(ex);
+            collectKeys(condition.model(), keys);
+        }
+        // there are never more username-based candidates than persons, but they may outnumber the distinct prefixes
+        for (int start = (prefixes.size() + PREFIXES_PER_QUERY - 1) / PREFIXES_PER_QUERY * PREFIXES_PER_QUERY; start < usernameCodes.size(); start += PREFIXES_PER_QUERY) {
+            final List<String> usernameCodesChunk = usernameCodes.subList(start, Math.min(start + PREFIXES_PER_QUERY, usernameCodes.size()));
+            collectKeys(select(Person.class).where().prop("key").in().values(usernameCodesChunk.toArray()).model(), keys);
+        }
+        return keys;
+    }
+
+    private void collectKeys(final EntityResultQueryModel<Person> query, final Set<String> keys) {
+        try (final Stream<Person> persons = stream(from(query).with(fetchKeyAndDescOnly(Person.class)).lightweight().model())) {
+            persons.forEach(person -> keys.add(person.getKey().toUpperCase()));
         }
     }
 
@@ -90,8 +209,9 @@ public class PersonDao extends CommonEntityDao<Person> implements IPerson {
      * @return
      */
     private static String letters(final String str, final int n) {
-        final String cleanUpperCase = str.replaceAll("[^a-zA-Z0-9]", "").toUpperCase();
-        return cleanUpperCase.substring(0, n);
+        final String cleanUpperCase = str == null ? "" : NON_ALPHANUMERIC.matcher(str).replaceAll("").toUpperCase();
+        // names shorter than n letters contribute all of their letters, so that one short name does not fail the generation of codes for the whole list
+        return cleanUpperCase.substring(0, Math.min(n, cleanUpperCase.length()));
     }
 
     /**
@@ -128,21 +248,63 @@ public class PersonDao extends CommonEntityDao<Person> implements IPerson {
     @Authorise(MakePersonAUserToken.class)
     @SessionRequired
     public Person makeUser(final Person person) {
-        if (person.isUser()) {
-            throw Result.failure(format("Person [%s] is already an application user.", person.getKey()));
+        // the person is checked as it is in the database, as the passed instance may be stale
+        final Person latestPerson = person.isPersisted() ? findById(person.getId(), FETCH_FOR_MAKE_USER) : null;
+        if (latestPerson == null) {
+            throw Result.failure(format(ERR_NOT_FOUND, person.getKey()));
+        }
+        if (latestPerson.isUser()) {
+            throw Result.failure(format(ERR_ALREADY_A_USER, latestPerson.getKey()));
+        }
+        final IUser coUser = co(User.class);
+        return makeUser(latestPerson, baseUser(coUser), coUser);
+    }
+
+    @Override
+    @Authorise(MakePersonAUserToken.class)
+    @SessionRequired
+    public List<Person> makeUsers(final Collection<Person> persons) {
+        if (persons.isEmpty()) {
+            return emptyList();
+        }
+        final Long[] ids = persons.stream().map(Person::getId).filter(Objects::nonNull).distinct().toArray(Long[]::new);
+        final List<Person> latestPersons = new ArrayList<>(ids.length);
+        for (int start = 0; start < ids.length; start += IDS_PER_QUERY) {
+            final EntityResultQueryModel<Person> query = select(Person.class).where().prop("id").in().values((Object[]) Arrays.copyOfRange(ids, start, Math.min(start + IDS_PER_QUERY, ids.length))).model();
+            latestPersons.addAll(getAllEntities(from(query).with(FETCH_FOR_MAKE_USER).with(orderBy().prop("key").asc().model()).model()));
+        }
+        final Set<Long> foundIds = latestPersons.stream().map(Person::getId).collect(toSet());
+        final String missing = persons.stream().filter(person -> !foundIds.contains(person.getId())).map(Person::getKey).collect(joining(", "));
+        if (!missing.isEmpty()) {
+            throw Result.failure(format(ERR_NOT_FOUND_MANY, missing));
         }
+        final String alreadyUsers = latestPersons.stream().filter(Person::isUser).map(Person::getKey).collect(joining(", "));
+        if (!alreadyUsers.isEmpty()) {
+            throw Result.failure(format(ERR_ALREADY_USERS, alreadyUsers));
+        }
+
+        final IUser coUser = co(User.class);
+        final User su = baseUser(coUser);
+        return latestPersons.stream().map(person -> makeUser(person, su, coUser)).collect(toList());
+    }
 
+    /**
+     * Loads the user that new users are based on, fetching only what is required for {@link User#setBasedOnUser(User)}.
+     */
+    private static User baseUser(final IUser coUser) {
+        return coUser.findByKeyAndFetch(fetchKeyAndDescOnly(User.class).with("base"), User.system_users.SU.name());
+    }
+
+    /**
+     * Creates a user for {@code person}, which should be fetched with {@link #FETCH_FOR_MAKE_USER}, and associates the person with it.
+     */
+    private Person makeUser(final Person person, final User su, final IUser coUser) {
         final String email = person.getEmail();
         final boolean active = email != null; // i.e. only make a user active if the email is not null
-        final User user = co(User.class).new_().setKey(person.getKey()).setEmail(email).setActive(active);
+        final User user = coUser.new_().setKey(person.getKey()).setEmail(email).setActive(active);
         user.setDesc(format("User for person [%s].", person.getDesc()));
-        final IUser coUser = co(User.class);
-        final User su = coUser.findByKeyAndFetch(fetchAll(User.class), User.system_users.SU.name());
         user.setBasedOnUser(su);
         final User savedUser = coUser.resetPasswd(user, user.getKey()).getKey();
-
-        final Person latestPerson = findById(person.getId(), fetchAll(Person.class));
-        latestPerson.setUser(savedUser);
-        return save(latestPerson);
+        return save(person.setUser(savedUser));
     }
 }
@@ -1,13 +1,22 @@
 package newyork.projects;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import com.google.inject.Inject;
 
+import newyork.common.cache.AfterCompletion;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 /**
  * DAO implementation for companion object {@link IProject}.
+ * <p>
+ * Saving and deleting of projects keeps {@link ProjectPeriods} in sync by discarding the periods of affected projects, both straight away and after the transaction completes.
+ * Periods are then reloaded from committed data, so that changes that get rolled back are never recorded.
  *
  * @author Developers
  *
@@ -15,9 +24,34 @@ import ua.com.fielden.platform.entity.annotation.EntityType;
 @EntityType(Project.class)
 public class ProjectDao extends CommonEntityDao<Project> implements IProject {
 
+    private final ProjectPeriods periods;
+
     @Inject
-    public ProjectDao(final IFilter filter) {
+    public ProjectDao(final IFilter filter, final ProjectPeriods periods) {
         super(filter);
+        this.periods = periods;
+    }
+
+    @Override
+    @SessionRequired
+    public Project save(final Project project) {
+        if (project.isPersisted()) {
+            AfterCompletion.invalidate(this, () -> periods.invalidate(project.getId()));
+        }
+        return super.save(project);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        AfterCompletion.invalidate(this, () -> entitiesIds.forEach(periods::invalidate));
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<Project> entities) {
+        return batchDelete(entities.stream().map(Project::getId).collect(Collectors.toList()));
     }
 
     @Override
@@ -0,0 +1,86 @@
+package newyork.tablescodes.assets;
+
+import java.util.Collection;
+import java.util.List;
+
+import newyork.common.cache.AfterCompletion;
+
+import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.query.IFilter;
+import ua.com.fielden.platform.entity.query.fluent.fetch;
+
+/**
+ * A base DAO for reference data, which reads entities by ID and by key through {@link ReferenceDataCache}.
+ * <p>
+ * Only uninstrumented companions read through the cache, because instrumented entities are meant to be modified and cannot be shared.
+ * Saving or deleting an entity invalidates all cached entities of its type, both straight away and after the transaction completes (see {@link AfterCompletion}).
+ *
+ * @author Developers
+ *
+ */
+public abstract class AbstractReferenceDataDao<T extends AbstractEntity<?>> extends CommonEntityDao<T> {
+
+    private final ReferenceDataCache cache;
+
+    protected AbstractReferenceDataDao(final IFilter filter, final ReferenceDataCache cache) {
+        super(filter);
+        this.cache = cache;
+    }
+
+    @Override
+    public T findById(final Long id) {
+        return instrumented() ? loadById(id, null) : cache.byId(getEntityType(), id, null, () -> loadById(id, null));
+    }
+
+    @Override
+    public T findById(final Long id, final fetch<T> fetchModel) {
+        return instrumented() ? loadById(id, fetchModel) : cache.byId(getEntityType(), id, fetchModel, () -> loadById(id, fetchModel));
+    }
+
+    @Override
+    public T findByKey(final Object... keyValues) {
+        return instrumented() ? loadByKey(null, keyValues) : cache.byKey(getEntityType(), keyValues, null, () -> loadByKey(null, keyValues));
+    }
+
+    @Override
+    public T findByKeyAndFetch(final fetch<T> fetchModel, final Object... keyValues) {
+        return instrumented() ? loadByKey(fetchModel, keyValues) : cache.byKey(getEntityType(), keyValues, fetchModel, () -> loadByKey(fetchModel, keyValues));
+    }
+
+    /**
+     * Loads an entity from the database. A session is only required upon a cache miss, which is why lookups themselves are not marked with {@link SessionRequired}.
+     */
+    @SessionRequired
+    protected T loadById(final Long id, final fetch<T> fetchModel) {
+        return fetchModel == null ? super.findById(id) : super.findById(id, fetchModel);
+    }
+
+    @SessionRequired
+    protected T loadByKey(final fetch<T> fetchModel, final Object... keyValues) {
+        return fetchModel == null ? super.findByKey(keyValues) : super.findByKeyAndFetch(fetchModel, keyValues);
+    }
+
+    @Override
+    @SessionRequired
+    public T save(final T entity) {
+        AfterCompletion.invalidate(this, () -> cache.invalidate(getEntityType()));
+        return super.save(entity);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        AfterCompletion.invalidate(this, () -> cache.invalidate(getEntityType()));
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<T> entities) {
+        AfterCompletion.invalidate(this, () -> cache.invalidate(getEntityType()));
+        return defaultBatchDelete(entities);
+    }
+
+}
@@ -3,21 +3,21 @@ package newyork.tablescodes.assets;
 import com.google.inject.Inject;
 
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
-import ua.com.fielden.platform.dao.CommonEntityDao;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 /**
  * DAO implementation for companion object {@link IAssetClass}.
+ * Lookups by ID and key are cached (see {@link AbstractReferenceDataDao}).
  *
  * @author Developers
  *
  */
 @EntityType(AssetClass.class)
-public class AssetClassDao extends CommonEntityDao<AssetClass> implements IAssetClass {
+public class AssetClassDao extends AbstractReferenceDataDao<AssetClass> implements IAssetClass {
 
     @Inject
-    public AssetClassDao(final IFilter filter) {
-        super(filter);
+    public AssetClassDao(final IFilter filter, final ReferenceDataCache cache) {
+        super(filter, cache);
     }
 
     @Override
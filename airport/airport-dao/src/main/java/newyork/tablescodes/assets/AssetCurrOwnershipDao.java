@@ -0,0 +1,118 @@
+package newyork.tablescodes.assets;
+
+import static newyork.filter.OrganisationScopedDataFilter.unscoped;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
+import com.google.inject.Inject;
+
+import newyork.assets.Asset;
+import newyork.common.cache.AfterCompletion;
+import newyork.common.cache.CalculatedPropertyCache;
+import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
+import ua.com.fielden.platform.entity.annotation.EntityType;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.entity.query.IFilter;
+import ua.com.fielden.platform.entity.query.fluent.EntityQueryProgressiveInterfaces.ICompoundCondition0;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+
+/**
+ * DAO implementation for companion object {@link IAssetCurrOwnership}.
+ * <p>
+ * Every change to the current ownership of an asset goes through {@link #save}, which invalidates the values cached by {@link CurrentOwnerships} for that asset, both straight away and after the transaction completes.
+ * The projection is maintained from all ownerships of an asset, regardless of the organisations visible to the current user, and therefore without scoping.
+ *
+ * @author Developers
+ *
+ */
+@EntityType(AssetCurrOwnership.class)
+public class AssetCurrOwnershipDao extends CommonEntityDao<AssetCurrOwnership> implements IAssetCurrOwnership {
+
+    private final CalculatedPropertyCache calculatedPropertyCache;
+
+    @Inject
+    public AssetCurrOwnershipDao(final IFilter filter, final CalculatedPropertyCache calculatedPropertyCache) {
+        super(filter);
+        this.calculatedPropertyCache = calculatedPropertyCache;
+    }
+
+    @Override
+    @SessionRequired
+    public AssetCurrOwnership save(final AssetCurrOwnership projection) {
+        final Long assetId = projection.getKey().getId();
+        AfterCompletion.invalidate(this, () -> calculatedPropertyCache.invalidate(Asset.class, assetId));
+        return super.save(projection);
+    }
+
+    @Override
+    @SessionRequired
+    public AssetCurrOwnership refresh(final Asset asset) {
+        return unscoped(() -> refreshUnscoped(asset));
+    }
+
+    private AssetCurrOwnership refreshUnscoped(final Asset asset) {
+        final EntityResultQueryModel<AssetOwnership> laterOwnership = select(AssetOwnership.class).where()
+                .prop("asset").eq().extProp("asset").and()
+                .prop("startDate").le().now().and()
+                .prop("startDate").gt().extProp("startDate").model();
+        final EntityResultQueryModel<AssetOwnership> query = select(AssetOwnership.class).where()
+                .prop("asset").eq().val(asset).and()
+                .prop("startDate").le().now().and()
+                .notExists(laterOwnership).model();
+        final AssetOwnership current = co(AssetOwnership.class).getEntityOptional(from(query).with(fetchKeyAndDescOnly(AssetOwnership.class)).model()).orElse(null);
+
+        final AssetCurrOwnership existing = findByKeyAndFetch(FETCH_PROVIDER.fetchModel(), asset);
+        if (existing == null && current == null) {
+            return new_().setKey(asset);
+        }
+        final AssetCurrOwnership projection = (existing != null ? existing : new_().setKey(asset)).setOwnership(current);
+        return projection.isDirty() ? save(projection) : projection;
+    }
+
+    @Override
+    @SessionRequired
+    public int detach(final Collection<Long> ownershipIds) {
+        if (ownershipIds.isEmpty()) {
+            return 0;
+        }
+        return unscoped(() -> {
+            final EntityResultQueryModel<AssetCurrOwnership> query = select(AssetCurrOwnership.class).where().prop("ownership").in().values(ownershipIds.toArray()).model();
+            final List<AssetCurrOwnership> projections = getAllEntities(from(query).with(FETCH_PROVIDER.fetchModel()).model());
+            projections.forEach(projection -> save(projection.setOwnership(null)));
+            return projections.size();
+        });
+    }
+
+    @Override
+    @SessionRequired
+    public int rollForward(final Date since) {
+        final ICompoundCondition0<AssetOwnership> started = select(AssetOwnership.class).where()
+                .prop("asset").eq().extProp("id").and()
+                .prop("startDate").le().now();
+        final EntityResultQueryModel<AssetOwnership> startedOwnerships = since == null ? started.model() : started.and().prop("startDate").gt().val(since).model();
+        final EntityResultQueryModel<Asset> query = select(Asset.class).where().exists(startedOwnerships).model();
+        return unscoped(() -> {
+            final List<Asset> assets = co(Asset.class).getAllEntities(from(query).with(fetchKeyAndDescOnly(Asset.class)).model());
+            assets.forEach(this::refresh);
+            return assets.size();
+        });
+    }
+
+    @Override
+    @SessionRequired
+    public int populateIfEmpty() {
+        return unscoped(() -> count(select(AssetCurrOwnership.class).model()) == 0 ? rollForward(null) : 0);
+    }
+
+    @Override
+    protected IFetchProvider<AssetCurrOwnership> createFetchProvider() {
+        return FETCH_PROVIDER;
+    }
+
+}
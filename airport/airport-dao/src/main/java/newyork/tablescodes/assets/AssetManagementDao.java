@@ -1,14 +1,23 @@
 package newyork.tablescodes.assets;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import com.google.inject.Inject;
 
+import newyork.common.cache.AfterCompletion;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 
 /**
  * DAO implementation for companion object {@link IAssetManagement}.
+ * <p>
+ * Saving is rejected if the management overlaps with another one for the same asset (see {@link DatedRecordOverlaps}).
+ * Saving and deleting invalidates responsibilities resolved by {@link IAssetResponsibilityResolver}.
  *
  * @author Developers
  *
@@ -16,9 +25,33 @@ import ua.com.fielden.platform.entity.annotation.EntityType;
 @EntityType(AssetManagement.class)
 public class AssetManagementDao extends CommonEntityDao<AssetManagement> implements IAssetManagement {
 
+    private final IAssetResponsibilityResolver responsibilityResolver;
+
     @Inject
-    public AssetManagementDao(final IFilter filter) {
+    public AssetManagementDao(final IFilter filter, final IAssetResponsibilityResolver responsibilityResolver) {
         super(filter);
+        this.responsibilityResolver = responsibilityResolver;
+    }
+
+    @Override
+    @SessionRequired
+    public AssetManagement save(final AssetManagement management) {
+        DatedRecordOverlaps.assertNoOverlap(this, management, "asset");
+        AfterCompletion.invalidate(this, responsibilityResolver::invalidateAll);
+        return super.save(management);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        AfterCompletion.invalidate(this, responsibilityResolver::invalidateAll);
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<AssetManagement> entities) {
+        return batchDelete(entities.stream().map(AssetManagement::getId).collect(Collectors.toList()));
     }
 
     @Override
@@ -1,13 +1,22 @@
 package newyork.tablescodes.assets;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import com.google.inject.Inject;
 
+import newyork.common.cache.AfterCompletion;
 import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.entity.query.IFilter;
 /**
  * DAO implementation for companion object {@link IAssetOwnership}.
+ * <p>
+ * Saving is rejected if the operation overlaps with another one for the same asset (see {@link DatedRecordOverlaps}).
+ * Saving and deleting invalidates responsibilities resolved by {@link IAssetResponsibilityResolver}.
  *
  * @author Developers
  *
@@ -15,9 +24,12 @@ import ua.com.fielden.platform.entity.query.IFilter;
 @EntityType(AssetOperation.class)
 public class AssetOperationDao extends CommonEntityDao<AssetOperation> implements IAssetOperation {
 
+    private final IAssetResponsibilityResolver responsibilityResolver;
+
     @Inject
-    public AssetOperationDao(final IFilter filter) {
+    public AssetOperationDao(final IFilter filter, final IAssetResponsibilityResolver responsibilityResolver) {
         super(filter);
+        this.responsibilityResolver = responsibilityResolver;
     }
 
     @Override
@@ -29,6 +41,27 @@ public class AssetOperationDao extends CommonEntityDao<AssetOperation> implement
         return operation;
     }
 
+    @Override
+    @SessionRequired
+    public AssetOperation save(final AssetOperation operation) {
+        DatedRecordOverlaps.assertNoOverlap(this, operation, "asset");
+        AfterCompletion.invalidate(this, responsibilityResolver::invalidateAll);
+        return super.save(operation);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        AfterCompletion.invalidate(this, responsibilityResolver::invalidateAll);
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<AssetOperation> entities) {
+        return batchDelete(entities.stream().map(AssetOperation::getId).collect(Collectors.toList()));
+    }
+
     @Override
     protected IFetchProvider<AssetOperation> createFetchProvider() {
         return FETCH_PROVIDER;
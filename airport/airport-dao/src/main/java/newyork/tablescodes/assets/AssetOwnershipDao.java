@@ -1,13 +1,32 @@
 package newyork.tablescodes.assets;
 
+import static newyork.filter.OrganisationScopedDataFilter.unscoped;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetch;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 import com.google.inject.Inject;
 
+import newyork.assets.Asset;
+import newyork.common.cache.AfterCompletion;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 /**
  * DAO implementation for companion object {@link IAssetOwnership}.
+ * <p>
+ * Saving and deleting of ownerships keeps the {@link AssetCurrOwnership} projection up-to-date for the affected assets,
+ * and invalidates responsibilities resolved by {@link IAssetResponsibilityResolver}.
+ * Both run without scoping by organisation, because an ownership saved by a scoped user may hand the asset over to an organisation the user cannot see,
+ * in which case neither the refetched ownership nor the projection would be visible to the user.
  *
  * @author Developers
  *
@@ -15,11 +34,14 @@ import ua.com.fielden.platform.entity.annotation.EntityType;
 @EntityType(AssetOwnership.class)
 public class AssetOwnershipDao extends CommonEntityDao<AssetOwnership> implements IAssetOwnership {
 
+    private final IAssetResponsibilityResolver responsibilityResolver;
+
     @Inject
-    public AssetOwnershipDao(final IFilter filter) {
+    public AssetOwnershipDao(final IFilter filter, final IAssetResponsibilityResolver responsibilityResolver) {
         super(filter);
+        this.responsibilityResolver = responsibilityResolver;
     }
-    
+
     @Override
     public AssetOwnership new_() {
         final AssetOwnership ownership = super.new_();
@@ -29,6 +51,41 @@ public class AssetOwnershipDao extends CommonEntityDao<AssetOwnership> implement
         return ownership;
     }
 
+    @Override
+    @SessionRequired
+    public AssetOwnership save(final AssetOwnership ownership) {
+        AfterCompletion.invalidate(this, responsibilityResolver::invalidateAll);
+        return unscoped(() -> {
+            final AssetOwnership savedOwnership = super.save(ownership);
+            co$(AssetCurrOwnership.class).refresh(savedOwnership.getAsset());
+            return savedOwnership;
+        });
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        return unscoped(() -> batchDeleteUnscoped(entitiesIds));
+    }
+
+    private int batchDeleteUnscoped(final Collection<Long> entitiesIds) {
+        final Set<Asset> assets = getAllEntities(from(select(AssetOwnership.class).where().prop("id").in().values(entitiesIds.toArray()).model())
+                                  .with(fetch(AssetOwnership.class).with("asset")).model())
+                                  .stream().map(AssetOwnership::getAsset).collect(Collectors.toCollection(LinkedHashSet::new));
+        final IAssetCurrOwnership coCurrOwnership = co$(AssetCurrOwnership.class);
+        coCurrOwnership.detach(entitiesIds);
+        AfterCompletion.invalidate(this, responsibilityResolver::invalidateAll);
+        final int deleted = defaultBatchDelete(entitiesIds);
+        assets.forEach(coCurrOwnership::refresh);
+        return deleted;
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<AssetOwnership> entities) {
+        return batchDelete(entities.stream().map(AssetOwnership::getId).collect(Collectors.toList()));
+    }
+
     @Override
     protected IFetchProvider<AssetOwnership> createFetchProvider() {
         return FETCH_PROVIDER;
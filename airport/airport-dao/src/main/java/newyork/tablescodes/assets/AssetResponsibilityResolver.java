@@ -0,0 +1,213 @@
+package newyork.tablescodes.assets;
+
+import static java.util.concurrent.TimeUnit.DAYS;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import org.joda.time.DateTime;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import newyork.assets.Asset;
+import newyork.common.cache.AfterCompletion;
+import newyork.filter.OrganisationScopedDataFilter;
+import newyork.organisational.BusinessUnit;
+import newyork.organisational.Organisation;
+import newyork.organisational.OrganisationVisibility;
+import newyork.organisational.Role;
+import newyork.tablescodes.assets.AssetResponsibilities.Responsible;
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.entity.query.fluent.EntityQueryProgressiveInterfaces.ICompoundCondition0;
+import ua.com.fielden.platform.entity.query.fluent.EntityQueryProgressiveInterfaces.IWhere0;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+import ua.com.fielden.platform.security.user.IUserProvider;
+import ua.com.fielden.platform.security.user.User;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * Default implementation of {@link IAssetResponsibilityResolver}.
+ * <p>
+ * Assets are resolved in chunks of {@link #IDS_PER_QUERY}, with one query per kind of record for each chunk, which selects only the records in effect at the date.
+ * That is, resolution is not a single query, but six queries per chunk -- one for each of the six kinds of records, which are stored in separate tables.
+ * Thus, the number of round-trips is {@code 6 * ceil(assets / IDS_PER_QUERY)} for assets that are not cached, and does not depend on the number of records per asset.
+ * Combining the six queries into a union would save five round-trips per chunk, but would not change how the cost grows with the number of assets.
+ * Resolved responsibilities are cached by day, asset and asset type. The cache is invalidated by the companions of all six kinds of records upon saving and deleting,
+ * both straight away and after the transaction completes (see {@link AfterCompletion}), which, together with the generation guard, discards responsibilities resolved from uncommitted state.
+ * <p>
+ * The cache is shared by all users, therefore records are read with {@link OrganisationScopedDataFilter#unscoped(java.util.function.Supplier)}, so that the resolution does not depend on the user.
+ * Organisation scoping is applied to the result instead: asset-level owners by organisations that are not visible to the current user are omitted.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class AssetResponsibilityResolver implements IAssetResponsibilityResolver {
+
+    public static final int IDS_PER_QUERY = 1000;
+    public static final long MAXIMUM_SIZE = 100_000;
+
+    private final ICompanionObjectFinder coFinder;
+    private final IUniversalConstants constants;
+    private final IUserProvider userProvider;
+    private final OrganisationVisibility visibility;
+    private final Cache<CacheKey, AssetResponsibilities> cache = CacheBuilder.newBuilder()
+            .maximumSize(MAXIMUM_SIZE)
+            .expireAfterWrite(1, DAYS)
+            .build();
+    // incremented upon invalidation to prevent responsibilities resolved before invalidation from being cached after it
+    private final AtomicLong generation = new AtomicLong();
+
+    @Inject
+    public AssetResponsibilityResolver(final ICompanionObjectFinder coFinder, final IUniversalConstants constants, final IUserProvider userProvider, final OrganisationVisibility visibility) {
+        this.coFinder = coFinder;
+        this.constants = constants;
+        this.userProvider = userProvider;
+        this.visibility = visibility;
+    }
+
+    @Override
+    public Map<Long, AssetResponsibilities> resolve(final Collection<Asset> assets) {
+        return resolve(assets, constants.now().toDate());
+    }
+
+    @Override
+    public Map<Long, AssetResponsibilities> resolve(final Collection<Asset> assets, final Date date) {
+        final Map<Long, AssetResponsibilities> resolved = OrganisationScopedDataFilter.unscoped(() -> resolveUnscoped(assets, date));
+        final User user = userProvider.getUser();
+        final Optional<long[]> visibleOrganisations = user == null ? Optional.empty() : visibility.visibleOrganisations(user.getKey());
+        if (!visibleOrganisations.isPresent()) {
+            return resolved;
+        }
+        final long[] organisationIds = visibleOrganisations.get();
+        resolved.replaceAll((assetId, responsibilities) -> responsibilities.owner()
+                .filter(owner -> owner.isAssetLevel() && owner.getOrg() != null && Arrays.binarySearch(organisationIds, owner.getOrg().getId()) < 0)
+                .map(hiddenOwner -> new AssetResponsibilities(null, responsibilities.manager().orElse(null), responsibilities.operator().orElse(null)))
+                .orElse(responsibilities));
+        return resolved;
+    }
+
+    private Map<Long, AssetResponsibilities> resolveUnscoped(final Collection<Asset> assets, final Date date) {
+        final Date day = new DateTime(date).withTimeAtStartOfDay().toDate();
+        final Map<Long, AssetResponsibilities> result = new LinkedHashMap<>();
+        final Map<Long, Asset> unresolved = new LinkedHashMap<>();
+        for (final Asset asset : assets) {
+            final AssetResponsibilities cached = cache.getIfPresent(CacheKey.of(day, asset));
+            if (cached != null) {
+                result.put(asset.getId(), cached);
+            } else {
+                unresolved.put(asset.getId(), asset);
+            }
+        }
+
+        final long resolvedInGeneration = generation.get();
+        for (final List<Asset> chunk : Lists.partition(new ArrayList<>(unresolved.values()), IDS_PER_QUERY)) {
+            final Object[] assetIds = chunk.stream().map(Asset::getId).toArray();
+            final Object[] assetTypeIds = chunk.stream().map(asset -> asset.getAssetType().getId()).distinct().toArray();
+
+            final Map<Long, Responsible> owners = inEffect(AssetOwnership.class, "asset", false, assetIds, day);
+            final Map<Long, Responsible> typeOwners = inEffect(AssetTypeOwnership.class, "assetType", false, assetTypeIds, day);
+            final Map<Long, Responsible> managers = inEffect(AssetManagement.class, "asset", true, assetIds, day);
+            final Map<Long, Responsible> typeManagers = inEffect(AssetTypeManagement.class, "assetType", true, assetTypeIds, day);
+            final Map<Long, Responsible> operators = inEffect(AssetOperation.class, "asset", true, assetIds, day);
+            final Map<Long, Responsible> typeOperators = inEffect(AssetTypeOperation.class, "assetType", true, assetTypeIds, day);
+
+            for (final Asset asset : chunk) {
+                final Long assetTypeId = asset.getAssetType().getId();
+                final AssetResponsibilities responsibilities = new AssetResponsibilities(
+                        owners.getOrDefault(asset.getId(), typeOwners.get(assetTypeId)),
+                        managers.getOrDefault(asset.getId(), typeManagers.get(assetTypeId)),
+                        operators.getOrDefault(asset.getId(), typeOperators.get(assetTypeId)));
+                result.put(asset.getId(), responsibilities);
+                if (resolvedInGeneration == generation.get()) {
+                    cache.put(CacheKey.of(day, asset), responsibilities);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Selects records of {@code type} in effect at {@code day} for the specified holders (assets or asset types), and maps them by holder ID.
+     * If several records happen to be in effect (e.g. overlapping managements), the latest one wins.
+     */
+    private <T extends AbstractEntity<?>> Map<Long, Responsible> inEffect(final Class<T> type, final String holderProp, final boolean dated, final Object[] holderIds, final Date day) {
+        if (holderIds.length == 0) {
+            return new HashMap<>();
+        }
+        final EntityResultQueryModel<T> laterRecord = inEffectAt(select(type).where().prop(holderProp).eq().extProp(holderProp).and(), dated, day).and()
+                .prop("startDate").gt().extProp("startDate").model();
+        final EntityResultQueryModel<T> query = inEffectAt(select(type).where().prop(holderProp).in().values(holderIds).and(), dated, day).and()
+                .notExists(laterRecord).model();
+        final IEntityDao<T> co = coFinder.find(type, true);
+        final boolean assetLevel = "asset".equals(holderProp);
+        return co.getAllEntities(from(query).with(fetchKeyAndDescOnly(type).with("role", "bu", "org")).lightweight().model()).stream()
+                .collect(Collectors.toMap(record -> ((AbstractEntity<?>) record.get(holderProp)).getId(),
+                                          record -> new Responsible(record.<Role>get("role"), record.<BusinessUnit>get("bu"), record.<Organisation>get("org"), record.get("startDate"), assetLevel),
+                                          (prev, curr) -> prev.getStartDate().after(curr.getStartDate()) ? prev : curr));
+    }
+
+    private static <T extends AbstractEntity<?>> ICompoundCondition0<T> inEffectAt(final IWhere0<T> where, final boolean dated, final Date day) {
+        final ICompoundCondition0<T> started = where.prop("startDate").le().val(day);
+        return dated ? started.and().begin().prop("endDate").isNull().or().prop("endDate").ge().val(day).end() : started;
+    }
+
+    private static final class CacheKey {
+        private final long day;
+        private final Long assetId;
+        private final Long assetTypeId;
+
+        private CacheKey(final long day, final Long assetId, final Long assetTypeId) {
+            this.day = day;
+            this.assetId = assetId;
+            this.assetTypeId = assetTypeId;
+        }
+
+        static CacheKey of(final Date day, final Asset asset) {
+            return new CacheKey(day.getTime(), asset.getId(), asset.getAssetType().getId());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, assetId, assetTypeId);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey that = (CacheKey) obj;
+            return day == that.day && Objects.equals(assetId, that.assetId) && Objects.equals(assetTypeId, that.assetTypeId);
+        }
+    }
+
+}
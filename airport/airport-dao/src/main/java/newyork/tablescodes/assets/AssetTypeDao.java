@@ -3,21 +3,21 @@ package newyork.tablescodes.assets;
 import com.google.inject.Inject;
 
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
-import ua.com.fielden.platform.dao.CommonEntityDao;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 /**
  * DAO implementation for companion object {@link IAssetType}.
+ * Lookups by ID and key are cached (see {@link AbstractReferenceDataDao}).
  *
  * @author Developers
  *
  */
 @EntityType(AssetType.class)
-public class AssetTypeDao extends CommonEntityDao<AssetType> implements IAssetType {
+public class AssetTypeDao extends AbstractReferenceDataDao<AssetType> implements IAssetType {
 
     @Inject
-    public AssetTypeDao(final IFilter filter) {
-        super(filter);
+    public AssetTypeDao(final IFilter filter, final ReferenceDataCache cache) {
+        super(filter, cache);
     }
 
     @Override
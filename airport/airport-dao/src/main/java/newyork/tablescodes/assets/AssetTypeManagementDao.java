@@ -1,14 +1,23 @@
 package newyork.tablescodes.assets;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import com.google.inject.Inject;
 
+import newyork.common.cache.AfterCompletion;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 
 /**
  * DAO implementation for companion object {@link IAssetTypeManagement}.
+ * <p>
+ * Saving is rejected if the management overlaps with another one for the same asset type (see {@link DatedRecordOverlaps}).
+ * Saving and deleting invalidates responsibilities resolved by {@link IAssetResponsibilityResolver}.
  *
  * @author Developers
  *
@@ -16,9 +25,33 @@ import ua.com.fielden.platform.entity.annotation.EntityType;
 @EntityType(AssetTypeManagement.class)
 public class AssetTypeManagementDao extends CommonEntityDao<AssetTypeManagement> implements IAssetTypeManagement {
 
+    private final IAssetResponsibilityResolver responsibilityResolver;
+
     @Inject
-    public AssetTypeManagementDao(final IFilter filter) {
+    public AssetTypeManagementDao(final IFilter filter, final IAssetResponsibilityResolver responsibilityResolver) {
         super(filter);
+        this.responsibilityResolver = responsibilityResolver;
+    }
+
+    @Override
+    @SessionRequired
+    public AssetTypeManagement save(final AssetTypeManagement management) {
+        DatedRecordOverlaps.assertNoOverlap(this, management, "assetType");
+        AfterCompletion.invalidate(this, responsibilityResolver::invalidateAll);
+        return super.save(management);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        AfterCompletion.invalidate(this, responsibilityResolver::invalidateAll);
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<AssetTypeManagement> entities) {
+        return batchDelete(entities.stream().map(AssetTypeManagement::getId).collect(Collectors.toList()));
     }
 
     @Override
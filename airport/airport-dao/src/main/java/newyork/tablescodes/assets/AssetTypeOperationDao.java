@@ -1,13 +1,22 @@
 package newyork.tablescodes.assets;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import com.google.inject.Inject;
 
+import newyork.common.cache.AfterCompletion;
 import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.entity.query.IFilter;
 /**
  * DAO implementation for companion object {@link IAssetTypeOperation}.
+ * <p>
+ * Saving is rejected if the operation overlaps with another one for the same asset type (see {@link DatedRecordOverlaps}).
+ * Saving and deleting invalidates responsibilities resolved by {@link IAssetResponsibilityResolver}.
  *
  * @author Developers
  *
@@ -15,9 +24,12 @@ import ua.com.fielden.platform.entity.query.IFilter;
 @EntityType(AssetTypeOperation.class)
 public class AssetTypeOperationDao extends CommonEntityDao<AssetTypeOperation> implements IAssetTypeOperation {
 
+    private final IAssetResponsibilityResolver responsibilityResolver;
+
     @Inject
-    public AssetTypeOperationDao(final IFilter filter) {
+    public AssetTypeOperationDao(final IFilter filter, final IAssetResponsibilityResolver responsibilityResolver) {
         super(filter);
+        this.responsibilityResolver = responsibilityResolver;
     }
     
     @Override
@@ -29,6 +41,27 @@ public class AssetTypeOperationDao extends CommonEntityDao<AssetTypeOperation> i
         return operation;
     }
 
+    @Override
+    @SessionRequired
+    public AssetTypeOperation save(final AssetTypeOperation operation) {
+        DatedRecordOverlaps.assertNoOverlap(this, operation, "assetType");
+        AfterCompletion.invalidate(this, responsibilityResolver::invalidateAll);
+        return super.save(operation);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        AfterCompletion.invalidate(this, responsibilityResolver::invalidateAll);
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<AssetTypeOperation> entities) {
+        return batchDelete(entities.stream().map(AssetTypeOperation::getId).collect(Collectors.toList()));
+    }
+
     @Override
     protected IFetchProvider<AssetTypeOperation> createFetchProvider() {
         return FETCH_PROVIDER;
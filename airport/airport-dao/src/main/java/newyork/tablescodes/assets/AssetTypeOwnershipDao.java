@@ -1,13 +1,36 @@
 package newyork.tablescodes.assets;
 
+import static newyork.tablescodes.assets.AssetTypeOwnershipIndex.NO_OWNERSHIP;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetch;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
 import com.google.inject.Inject;
 
+import newyork.common.cache.AfterCompletion;
+import newyork.common.cache.CalculatedPropertyCache;
+import newyork.tablescodes.assets.AssetTypeOwnershipIndex.Timeline;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
 import ua.com.fielden.platform.entity.query.IFilter;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 /**
  * DAO implementation for companion object {@link IAssetTypeOwnership}.
+ * <p>
+ * Saving and deleting of ownerships keeps {@link AssetTypeOwnershipIndex} in sync by discarding the timelines of affected asset types, both straight away and after the transaction completes,
+ * so that neither rolled back changes nor timelines loaded by concurrent readers before the commit remain indexed.
+ * Cached asset types, their ownerships cached by {@link CurrentOwnerships} and responsibilities resolved by {@link IAssetResponsibilityResolver} are invalidated as well,
+ * because their current ownership may have changed.
  *
  * @author Developers
  *
@@ -15,9 +38,18 @@ import ua.com.fielden.platform.entity.annotation.EntityType;
 @EntityType(AssetTypeOwnership.class)
 public class AssetTypeOwnershipDao extends CommonEntityDao<AssetTypeOwnership> implements IAssetTypeOwnership {
 
+    private final AssetTypeOwnershipIndex index;
+    private final ReferenceDataCache referenceDataCache;
+    private final IAssetResponsibilityResolver responsibilityResolver;
+    private final CalculatedPropertyCache calculatedPropertyCache;
+
     @Inject
-    public AssetTypeOwnershipDao(final IFilter filter) {
+    public AssetTypeOwnershipDao(final IFilter filter, final AssetTypeOwnershipIndex index, final ReferenceDataCache referenceDataCache, final IAssetResponsibilityResolver responsibilityResolver, final CalculatedPropertyCache calculatedPropertyCache) {
         super(filter);
+        this.index = index;
+        this.referenceDataCache = referenceDataCache;
+        this.responsibilityResolver = responsibilityResolver;
+        this.calculatedPropertyCache = calculatedPropertyCache;
     }
     
     @Override
@@ -29,6 +61,75 @@ public class AssetTypeOwnershipDao extends CommonEntityDao<AssetTypeOwnership> i
         return ownership;
     }
 
+    @Override
+    @SessionRequired
+    public AssetTypeOwnership save(final AssetTypeOwnership ownership) {
+        final boolean assetTypeChanged = ownership.isPersisted() && ownership.getProperty("assetType").isDirty();
+        final Long assetTypeId = ownership.getAssetType() != null ? ownership.getAssetType().getId() : null;
+        // timelines are discarded rather than updated in place, so that changes that get rolled back never reach the index
+        AfterCompletion.invalidate(this, () -> {
+            if (assetTypeChanged) {
+                index.invalidateAll();
+            } else if (assetTypeId != null) {
+                index.invalidate(assetTypeId);
+            }
+            referenceDataCache.invalidate(AssetType.class);
+            calculatedPropertyCache.invalidate(AssetType.class);
+            responsibilityResolver.invalidateAll();
+        });
+        return super.save(ownership);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final Collection<Long> entitiesIds) {
+        final List<Long> assetTypeIds = getAllEntities(from(select(AssetTypeOwnership.class).where().prop("id").in().values(entitiesIds.toArray()).model())
+                                        .with(fetch(AssetTypeOwnership.class).with("assetType")).model())
+                                        .stream().map(ownership -> ownership.getAssetType().getId()).distinct().collect(Collectors.toList());
+        AfterCompletion.invalidate(this, () -> {
+            assetTypeIds.forEach(index::invalidate);
+            referenceDataCache.invalidate(AssetType.class);
+            calculatedPropertyCache.invalidate(AssetType.class);
+            responsibilityResolver.invalidateAll();
+        });
+        return defaultBatchDelete(entitiesIds);
+    }
+
+    @Override
+    @SessionRequired
+    public int batchDelete(final List<AssetTypeOwnership> entities) {
+        return batchDelete(entities.stream().map(AssetTypeOwnership::getId).collect(Collectors.toList()));
+    }
+
+    @Override
+    public Optional<AssetTypeOwnership> ownerAt(final AssetType assetType, final Date date) {
+        final long ownershipId = index.ownershipAt(assetType.getId(), date.getTime(), this::loadTimeline);
+        if (ownershipId == NO_OWNERSHIP) {
+            return Optional.empty();
+        }
+        final AssetTypeOwnership ownership = findById(ownershipId, FETCH_PROVIDER.fetchModel());
+        if (ownership != null) {
+            return Optional.of(ownership);
+        }
+        // the index referenced an ownership that no longer exists, which means it went stale -- reload and try again
+        index.invalidate(assetType.getId());
+        final long reloadedOwnershipId = index.ownershipAt(assetType.getId(), date.getTime(), this::loadTimeline);
+        return reloadedOwnershipId == NO_OWNERSHIP ? Optional.empty() : Optional.ofNullable(findById(reloadedOwnershipId, FETCH_PROVIDER.fetchModel()));
+    }
+
+    private Timeline loadTimeline(final Long assetTypeId) {
+        final EntityResultQueryModel<AssetTypeOwnership> query = select(AssetTypeOwnership.class).where().prop("assetType").eq().val(assetTypeId).model();
+        final List<AssetTypeOwnership> ownerships = getAllEntities(from(query).with(fetchKeyAndDescOnly(AssetTypeOwnership.class))
+                                                    .with(orderBy().prop("startDate").asc().model()).model());
+        final long[] startDates = new long[ownerships.size()];
+        final long[] ownershipIds = new long[ownerships.size()];
+        for (int index = 0; index < ownerships.size(); index++) {
+            startDates[index] = ownerships.get(index).getStartDate().getTime();
+            ownershipIds[index] = ownerships.get(index).getId();
+        }
+        return Timeline.of(startDates, ownershipIds);
+    }
+
     @Override
     protected IFetchProvider<AssetTypeOwnership> createFetchProvider() {
         return FETCH_PROVIDER;
@@ -0,0 +1,96 @@
+package newyork.tablescodes.assets;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import com.google.inject.Singleton;
+
+/**
+ * An in-memory index of {@link AssetTypeOwnership} start dates per asset type, which is used to resolve the ownership in effect at any given point in time.
+ * <p>
+ * Each asset type is represented by a {@link Timeline} of primitive start dates and ownership IDs sorted by start date, and is loaded lazily upon first use.
+ * Lookups are binary searches over immutable timelines, so that concurrent readers never observe a partially updated state.
+ * The index is kept in sync by {@link AssetTypeOwnershipDao}, which discards the timelines of asset types whose ownerships change.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class AssetTypeOwnershipIndex {
+
+    public static final long NO_OWNERSHIP = -1L;
+
+    private final ConcurrentMap<Long, Timeline> timelines = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the ID of the ownership in effect for the specified asset type at {@code instant} (milliseconds), or {@link #NO_OWNERSHIP} if there is none.
+     *
+     * @param assetTypeId
+     * @param instant
+     * @param loader -- loads the timeline for an asset type if it is not indexed yet
+     * @return
+     */
+    public long ownershipAt(final Long assetTypeId, final long instant, final Function<Long, Timeline> loader) {
+        return timelines.computeIfAbsent(assetTypeId, loader).ownershipAt(instant);
+    }
+
+    /**
+     * Discards the timeline for an asset type, which gets reloaded upon next lookup.
+     *
+     * @param assetTypeId
+     */
+    public void invalidate(final Long assetTypeId) {
+        timelines.remove(assetTypeId);
+    }
+
+    public void invalidateAll() {
+        timelines.clear();
+    }
+
+    /**
+     * An immutable timeline of ownerships for a single asset type.
+     */
+    public static final class Timeline {
+        public static final Timeline EMPTY = new Timeline(new long[0], new long[0]);
+
+        private final long[] startDates;
+        private final long[] ownershipIds;
+
+        private Timeline(final long[] startDates, final long[] ownershipIds) {
+            this.startDates = startDates;
+            this.ownershipIds = ownershipIds;
+        }
+
+        /**
+         * Creates a timeline from start dates in ascending order and ownership IDs at matching positions.
+         *
+         * @param startDates
+         * @param ownershipIds
+         * @return
+         */
+        public static Timeline of(final long[] startDates, final long[] ownershipIds) {
+            if (startDates.length != ownershipIds.length) {
+                throw new IllegalArgumentException("The number of start dates and ownerships should match.");
+            }
+            for (int index = 1; index < startDates.length; index++) {
+                if (startDates[index - 1] >= startDates[index]) {
+                    throw new IllegalArgumentException("Start dates should be unique and in ascending order.");
+                }
+            }
+            return new Timeline(startDates.clone(), ownershipIds.clone());
+        }
+
+        public long ownershipAt(final long instant) {
+            final int found = Arrays.binarySearch(startDates, instant);
+            final int position = found >= 0 ? found : -found - 2;
+            return position < 0 ? NO_OWNERSHIP : ownershipIds[position];
+        }
+
+        public int size() {
+            return startDates.length;
+        }
+    }
+
+}
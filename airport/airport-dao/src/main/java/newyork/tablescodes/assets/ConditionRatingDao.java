@@ -3,21 +3,21 @@ package newyork.tablescodes.assets;
 import com.google.inject.Inject;
 
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
-import ua.com.fielden.platform.dao.CommonEntityDao;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 /**
  * DAO implementation for companion object {@link IConditionRating}.
+ * Lookups by ID and key are cached (see {@link AbstractReferenceDataDao}).
  *
  * @author Developers
  *
  */
 @EntityType(ConditionRating.class)
-public class ConditionRatingDao extends CommonEntityDao<ConditionRating> implements IConditionRating {
+public class ConditionRatingDao extends AbstractReferenceDataDao<ConditionRating> implements IConditionRating {
 
     @Inject
-    public ConditionRatingDao(final IFilter filter) {
-        super(filter);
+    public ConditionRatingDao(final IFilter filter, final ReferenceDataCache cache) {
+        super(filter, cache);
     }
 
     @Override
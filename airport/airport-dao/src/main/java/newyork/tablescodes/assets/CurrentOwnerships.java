@@ -0,0 +1,87 @@
+package newyork.tablescodes.assets;
+
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import newyork.assets.Asset;
+import newyork.assets.IAsset;
+import newyork.common.cache.CalculatedPropertyCache;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+import ua.com.fielden.platform.utils.EntityUtils;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * Cached current ownerships of assets and asset types, which back the ownership columns of centres.
+ * <p>
+ * Calculated properties {@code Asset.currOwnership} and {@code AssetType.currOwnership} would otherwise be recomputed in SQL for every row of every refresh.
+ * Values are cached in {@link CalculatedPropertyCache} and get invalidated by companions {@link AssetCurrOwnershipDao} and {@link AssetTypeOwnershipDao}.
+ * <p>
+ * Centres assign values row by row, therefore a cache miss for an asset warms the cache for the whole block of {@link #WARM_UP_BLOCK_SIZE} asset IDs around it with a single query.
+ * Asset numbers are generated sequentially, so a page of the asset centre usually falls within one or two blocks.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class CurrentOwnerships {
+
+    public static final String CURR_OWNERSHIP = "currOwnership";
+    public static final int WARM_UP_BLOCK_SIZE = 100;
+
+    private static final IFetchProvider<Asset> FETCH_PROVIDER = EntityUtils.fetch(Asset.class)
+            .with("currOwnershipRecord.ownership.role", "currOwnershipRecord.ownership.bu", "currOwnershipRecord.ownership.org", "currOwnershipRecord.ownership.startDate");
+
+    private final CalculatedPropertyCache cache;
+    private final ICompanionObjectFinder coFinder;
+    private final IUniversalConstants constants;
+
+    @Inject
+    public CurrentOwnerships(final CalculatedPropertyCache cache, final ICompanionObjectFinder coFinder, final IUniversalConstants constants) {
+        this.cache = cache;
+        this.coFinder = coFinder;
+        this.constants = constants;
+    }
+
+    public Optional<AssetOwnership> ofAsset(final Asset asset) {
+        return Optional.ofNullable(cache.get(asset, CURR_OWNERSHIP, () -> {
+            final Map<Asset, AssetOwnership> block = loadBlockOf(asset);
+            cache.warm(Asset.class, CURR_OWNERSHIP, () -> block);
+            return block.entrySet().stream()
+                    .filter(entry -> entry.getKey().getId().equals(asset.getId()))
+                    .findFirst().map(Map.Entry::getValue).orElse(null);
+        }));
+    }
+
+    public Optional<AssetTypeOwnership> ofAssetType(final AssetType assetType) {
+        return Optional.ofNullable(cache.get(assetType, CURR_OWNERSHIP, () -> {
+            final IAssetTypeOwnership co = coFinder.find(AssetTypeOwnership.class, true);
+            return co.ownerAt(assetType, constants.now().toDate()).orElse(null);
+        }));
+    }
+
+    /**
+     * Loads current ownerships of all assets in the block of IDs that {@code asset} belongs to, including assets without an ownership.
+     */
+    private Map<Asset, AssetOwnership> loadBlockOf(final Asset asset) {
+        final long blockStart = asset.getId() - asset.getId() % WARM_UP_BLOCK_SIZE;
+        final EntityResultQueryModel<Asset> query = select(Asset.class).where()
+                .prop("id").ge().val(blockStart).and()
+                .prop("id").lt().val(blockStart + WARM_UP_BLOCK_SIZE).model();
+        final IAsset co = coFinder.find(Asset.class, true);
+        // HashMap, because assets without an ownership map to null
+        final Map<Asset, AssetOwnership> block = new HashMap<>();
+        co.getAllEntities(from(query).with(FETCH_PROVIDER.fetchModel()).model())
+          .forEach(a -> block.put(a, a.getCurrOwnershipRecord() == null ? null : a.getCurrOwnershipRecord().getOwnership()));
+        return block;
+    }
+
+}
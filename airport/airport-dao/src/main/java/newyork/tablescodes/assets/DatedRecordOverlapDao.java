@@ -0,0 +1,89 @@
+package newyork.tablescodes.assets;
+
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchIdOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import com.google.inject.Inject;
+
+import ua.com.fielden.platform.dao.CommonEntityDao;
+import ua.com.fielden.platform.dao.annotations.SessionRequired;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.annotation.EntityType;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.entity.query.IFilter;
+import ua.com.fielden.platform.reflection.TitlesDescsGetter;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * DAO implementation for companion object {@link IDatedRecordOverlap}.
+ * <p>
+ * A scan streams through each of the tables once (see {@link DatedRecordOverlaps#scan}) and only keeps the detected overlaps in memory,
+ * which are saved after all tables have been scanned.
+ *
+ * @author Developers
+ *
+ */
+@EntityType(DatedRecordOverlap.class)
+public class DatedRecordOverlapDao extends CommonEntityDao<DatedRecordOverlap> implements IDatedRecordOverlap {
+
+    private final IUniversalConstants constants;
+
+    @Inject
+    public DatedRecordOverlapDao(final IFilter filter, final IUniversalConstants constants) {
+        super(filter);
+        this.constants = constants;
+    }
+
+    @Override
+    @SessionRequired
+    public int scan() {
+        final Date detectedDate = constants.now().toDate();
+        final List<DatedRecordOverlap> overlaps = new ArrayList<>();
+        DatedRecordOverlaps.scan(co(AssetManagement.class), "asset", collect(AssetManagement.class, "asset", detectedDate, overlaps));
+        DatedRecordOverlaps.scan(co(AssetTypeManagement.class), "assetType", collect(AssetTypeManagement.class, "assetType", detectedDate, overlaps));
+        DatedRecordOverlaps.scan(co(AssetOperation.class), "asset", collect(AssetOperation.class, "asset", detectedDate, overlaps));
+        DatedRecordOverlaps.scan(co(AssetTypeOperation.class), "assetType", collect(AssetTypeOperation.class, "assetType", detectedDate, overlaps));
+
+        final List<Long> previousIds = getAllEntities(from(select(DatedRecordOverlap.class).model()).with(fetchIdOnly(DatedRecordOverlap.class)).model())
+                                       .stream().map(DatedRecordOverlap::getId).collect(Collectors.toList());
+        if (!previousIds.isEmpty()) {
+            defaultBatchDelete(previousIds);
+        }
+        overlaps.forEach(this::save);
+        return overlaps.size();
+    }
+
+    private <T extends AbstractEntity<?>> BiConsumer<T, T> collect(final Class<T> type, final String holderProp, final Date detectedDate, final List<DatedRecordOverlap> overlaps) {
+        final String recordType = TitlesDescsGetter.getEntityTitleAndDesc(type).getKey();
+        return (first, second) -> {
+            final DatedRecordOverlap overlap = new_()
+                    .setRecordType(recordType)
+                    .setFirstRecordId(first.getId())
+                    .setSecondRecordId(second.getId())
+                    .setFirstStartDate(first.get("startDate"))
+                    .setFirstEndDate(first.get("endDate"))
+                    .setSecondStartDate(second.get("startDate"))
+                    .setSecondEndDate(second.get("endDate"))
+                    .setDetectedDate(detectedDate);
+            if ("asset".equals(holderProp)) {
+                overlap.setAsset(first.get(holderProp));
+            } else {
+                overlap.setAssetType(first.get(holderProp));
+            }
+            overlaps.add(overlap);
+        };
+    }
+
+    @Override
+    protected IFetchProvider<DatedRecordOverlap> createFetchProvider() {
+        return FETCH_PROVIDER;
+    }
+
+}
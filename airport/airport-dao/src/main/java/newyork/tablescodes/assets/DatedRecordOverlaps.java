@@ -0,0 +1,99 @@
+package newyork.tablescodes.assets;
+
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.stream.Stream;
+
+import newyork.common.intervals.IntervalSweep;
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.query.fluent.EntityQueryProgressiveInterfaces.ICompoundCondition0;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+import ua.com.fielden.platform.error.Result;
+import ua.com.fielden.platform.reflection.TitlesDescsGetter;
+
+/**
+ * Overlap checks for dated records, which are in effect from their {@code startDate} to their {@code endDate} inclusive and belong to an asset or an asset type (their holder),
+ * such as {@link AssetManagement} and {@link AssetTypeOperation}.
+ * <p>
+ * Saving a record is checked against the other records of the same holder with a single indexed query,
+ * while whole tables are checked with {@link IntervalSweep} by streaming records ordered by holder and start date.
+ *
+ * @author Developers
+ *
+ */
+public final class DatedRecordOverlaps {
+
+    public static final String ERR_OVERLAPPING_RECORD = "%s from [%s] to [%s] overlaps with the existing one from [%s] to [%s].";
+    public static final int FETCH_SIZE = 1000;
+    private static final String DATE_FORMAT = "dd/MM/yyyy";
+
+    private DatedRecordOverlaps() {}
+
+    /**
+     * Throws an exception if {@code record} overlaps with some other record of the same holder. Incomplete records are not checked, leaving it to the validation upon saving.
+     *
+     * @param co
+     * @param record
+     * @param holderProp -- {@code asset} or {@code assetType}
+     */
+    public static <T extends AbstractEntity<?>> void assertNoOverlap(final IEntityDao<T> co, final T record, final String holderProp) {
+        final Object holder = record.get(holderProp);
+        final Date startDate = record.get("startDate");
+        final Date endDate = record.get("endDate");
+        if (holder == null || startDate == null) {
+            return;
+        }
+        if (record.isPersisted() && !record.getProperty(holderProp).isDirty() && !record.getProperty("startDate").isDirty() && !record.getProperty("endDate").isDirty()) {
+            return;
+        }
+
+        final ICompoundCondition0<T> sameHolder = select(co.getEntityType()).where().prop(holderProp).eq().val(holder);
+        final ICompoundCondition0<T> others = record.isPersisted() ? sameHolder.and().prop("id").ne().val(record.getId()) : sameHolder;
+        final ICompoundCondition0<T> notEndedBefore = others.and().begin().prop("endDate").isNull().or().prop("endDate").ge().val(startDate).end();
+        final EntityResultQueryModel<T> query = (endDate == null ? notEndedBefore : notEndedBefore.and().prop("startDate").le().val(endDate)).model();
+
+        final Optional<T> overlapping = co.getFirstEntities(from(query).with(fetchKeyAndDescOnly(co.getEntityType())).with(orderBy().prop("startDate").asc().model()).model(), 1).stream().findFirst();
+        if (overlapping.isPresent()) {
+            final SimpleDateFormat dateFormat = new SimpleDateFormat(DATE_FORMAT);
+            throw Result.failuref(ERR_OVERLAPPING_RECORD, TitlesDescsGetter.getEntityTitleAndDesc(co.getEntityType()).getKey(),
+                                  dateFormat.format(startDate), format(endDate, dateFormat),
+                                  dateFormat.format(overlapping.get().<Date>get("startDate")), format(overlapping.get().get("endDate"), dateFormat));
+        }
+    }
+
+    /**
+     * Streams all records of the companion's type ordered by holder and start date, reporting overlaps to {@code onOverlap}.
+     * Needs to be invoked within a session.
+     *
+     * @param co
+     * @param holderProp -- {@code asset} or {@code assetType}
+     * @param onOverlap -- accepts the preceding overlapped record and the overlapping record
+     * @return the number of detected overlaps
+     */
+    public static <T extends AbstractEntity<?>> int scan(final IEntityDao<T> co, final String holderProp, final BiConsumer<T, T> onOverlap) {
+        final EntityResultQueryModel<T> query = select(co.getEntityType()).model();
+        try (final Stream<T> records = co.stream(from(query)
+                .with(fetchKeyAndDescOnly(co.getEntityType()))
+                .with(orderBy().prop(holderProp).asc().prop("startDate").asc().model())
+                .lightweight().model(), FETCH_SIZE)) {
+            return IntervalSweep.sweepOrdered(records.iterator(),
+                    record -> ((AbstractEntity<?>) record.get(holderProp)).getId(),
+                    record -> record.<Date>get("startDate").getTime(),
+                    record -> record.get("endDate") == null ? IntervalSweep.OPEN_END : record.<Date>get("endDate").getTime(),
+                    onOverlap);
+        }
+    }
+
+    private static String format(final Date date, final SimpleDateFormat dateFormat) {
+        return date == null ? "" : dateFormat.format(date);
+    }
+
+}
@@ -0,0 +1,147 @@
+package newyork.tablescodes.assets;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A read-through cache for reference data (table codes) that change rarely but are looked up all the time, such as {@link AssetClass} and {@link AssetType}.
+ * <p>
+ * Entities are cached per entity type, by ID and by key, separately for each fetch model. Each cache is bounded in size with least-recently-used eviction.
+ * All cached entries of a type are invalidated whenever an entity of that type is saved or deleted (see {@link AbstractReferenceDataDao}).
+ * <p>
+ * Cache keys include the current date, so that calculated properties that depend on <i>now</i>, such as {@link AssetType#getCurrOwnership()}, never outlive the day they were computed for.
+ * Entries also expire some time after being loaded as a safety net for changes that bypass the companions.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class ReferenceDataCache {
+
+    public static final long MAXIMUM_SIZE = 1_000;
+    public static final long EXPIRE_AFTER_MINUTES = 30;
+
+    private final IUniversalConstants constants;
+    private final ConcurrentMap<Class<?>, TypeCache> caches = new ConcurrentHashMap<>();
+
+    @Inject
+    public ReferenceDataCache(final IUniversalConstants constants) {
+        this.constants = constants;
+    }
+
+    /**
+     * Returns a cached entity for the ID and fetch model, loading it with {@code loader} upon a cache miss.
+     * Missing entities (i.e. {@code null}) are not cached.
+     */
+    public <T extends AbstractEntity<?>> T byId(final Class<T> type, final Long id, final Object fetchModel, final Supplier<T> loader) {
+        return typeCache(type).get(new CacheKey(today(), fetchModel, id), loader);
+    }
+
+    /**
+     * Returns a cached entity for the key values and fetch model, loading it with {@code loader} upon a cache miss.
+     * Missing entities (i.e. {@code null}) are not cached.
+     */
+    public <T extends AbstractEntity<?>> T byKey(final Class<T> type, final Object[] keyValues, final Object fetchModel, final Supplier<T> loader) {
+        return typeCache(type).get(new CacheKey(today(), fetchModel, Arrays.asList(keyValues)), loader);
+    }
+
+    public void invalidate(final Class<? extends AbstractEntity<?>> type) {
+        typeCache(type).invalidateAll();
+    }
+
+    public void invalidateAll() {
+        caches.values().forEach(TypeCache::invalidateAll);
+    }
+
+    /**
+     * Hit and miss counters, as well as eviction counters, per entity type.
+     */
+    public Map<Class<?>, CacheStats> stats() {
+        final Map<Class<?>, CacheStats> stats = new ConcurrentHashMap<>();
+        caches.forEach((type, cache) -> stats.put(type, cache.entries.stats()));
+        return stats;
+    }
+
+    private TypeCache typeCache(final Class<?> type) {
+        return caches.computeIfAbsent(type, t -> new TypeCache());
+    }
+
+    private long today() {
+        return constants.now().withTimeAtStartOfDay().getMillis();
+    }
+
+    private static final class TypeCache {
+        private final Cache<CacheKey, AbstractEntity<?>> entries = CacheBuilder.newBuilder()
+                .maximumSize(MAXIMUM_SIZE)
+                .expireAfterWrite(EXPIRE_AFTER_MINUTES, MINUTES)
+                .recordStats()
+                .build();
+        // incremented upon invalidation to prevent entities loaded before invalidation from being cached after it
+        private final AtomicLong generation = new AtomicLong();
+
+        @SuppressWarnings("unchecked")
+        <T extends AbstractEntity<?>> T get(final CacheKey key, final Supplier<T> loader) {
+            final T cached = (T) entries.getIfPresent(key);
+            if (cached != null) {
+                return cached;
+            }
+            final long loadedInGeneration = generation.get();
+            final T loaded = loader.get();
+            if (loaded != null && loadedInGeneration == generation.get()) {
+                entries.put(key, loaded);
+            }
+            return loaded;
+        }
+
+        void invalidateAll() {
+            generation.incrementAndGet();
+            entries.invalidateAll();
+        }
+    }
+
+    private static final class CacheKey {
+        private final long day;
+        private final Object fetchModel;
+        private final Object lookUpValue;
+
+        private CacheKey(final long day, final Object fetchModel, final Object lookUpValue) {
+            this.day = day;
+            this.fetchModel = fetchModel;
+            this.lookUpValue = lookUpValue;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, fetchModel, lookUpValue);
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            final CacheKey that = (CacheKey) obj;
+            return day == that.day && Objects.equals(fetchModel, that.fetchModel) && Objects.equals(lookUpValue, that.lookUpValue);
+        }
+    }
+
+}
@@ -3,21 +3,21 @@ package newyork.tablescodes.assets;
 import com.google.inject.Inject;
 
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
-import ua.com.fielden.platform.dao.CommonEntityDao;
 import ua.com.fielden.platform.entity.query.IFilter;
 import ua.com.fielden.platform.entity.annotation.EntityType;
 /**
  * DAO implementation for companion object {@link IServiceStatus}.
+ * Lookups by ID and key are cached (see {@link AbstractReferenceDataDao}).
  *
  * @author Developers
  *
  */
 @EntityType(ServiceStatus.class)
-public class ServiceStatusDao extends CommonEntityDao<ServiceStatus> implements IServiceStatus {
+public class ServiceStatusDao extends AbstractReferenceDataDao<ServiceStatus> implements IServiceStatus {
 
     @Inject
-    public ServiceStatusDao(final IFilter filter) {
-        super(filter);
+    public ServiceStatusDao(final IFilter filter, final ReferenceDataCache cache) {
+        super(filter, cache);
     }
 
     @Override
@@ -0,0 +1,89 @@
+package newyork.tablescodes.assets.jobs;
+
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.Date;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.log4j.Logger;
+import org.joda.time.DateTime;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import newyork.tablescodes.assets.AssetCurrOwnership;
+import newyork.tablescodes.assets.IAssetCurrOwnership;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.security.user.IUser;
+import ua.com.fielden.platform.security.user.IUserProvider;
+import ua.com.fielden.platform.security.user.User;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A nightly job that rolls the {@link AssetCurrOwnership} projection forward, picking up future-dated ownerships that came into effect since the previous run.
+ * The job also runs once upon start-up, covering the day before, so that a restart over midnight does not leave the projection behind.
+ * The first run after start-up also populates the projection for all assets if it is empty, as is the case for databases that predate it.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class AssetCurrOwnershipRollForwardJob implements Runnable {
+
+    private static final Logger LOGGER = Logger.getLogger(AssetCurrOwnershipRollForwardJob.class);
+
+    private final ICompanionObjectFinder coFinder;
+    private final IUserProvider userProvider;
+    private final IUniversalConstants constants;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "asset-curr-ownership-roll-forward");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Date lastRun;
+    private volatile boolean populated;
+
+    @Inject
+    public AssetCurrOwnershipRollForwardJob(final ICompanionObjectFinder coFinder, final IUserProvider userProvider, final IUniversalConstants constants) {
+        this.coFinder = coFinder;
+        this.userProvider = userProvider;
+        this.constants = constants;
+    }
+
+    /**
+     * Runs this job straight away and then schedules it to run daily just after midnight.
+     */
+    public void schedule() {
+        final DateTime now = constants.now();
+        final long delay = now.plusDays(1).withTimeAtStartOfDay().plusMinutes(1).getMillis() - now.getMillis();
+        lastRun = now.minusDays(1).withTimeAtStartOfDay().toDate();
+        scheduler.execute(this);
+        scheduler.scheduleAtFixedRate(this, delay, DAYS.toMillis(1), MILLISECONDS);
+    }
+
+    @Override
+    public void run() {
+        try {
+            final IUser coUser = coFinder.find(User.class, true);
+            userProvider.setUsername(User.system_users.SU.name(), coUser);
+            final Date now = constants.now().toDate();
+            final IAssetCurrOwnership coCurrOwnership = coFinder.find(AssetCurrOwnership.class);
+            if (!populated) {
+                final int populatedAssets = coCurrOwnership.populateIfEmpty();
+                if (populatedAssets > 0) {
+                    LOGGER.info(String.format("Populated current asset ownerships for %s asset(s).", populatedAssets));
+                }
+                populated = true;
+            }
+            final int refreshed = coCurrOwnership.rollForward(lastRun);
+            lastRun = now;
+            LOGGER.info(String.format("Rolled current asset ownerships forward for %s asset(s).", refreshed));
+        } catch (final Exception ex) {
+            // the next run picks up from the last successful one
+            LOGGER.error("Could not roll current asset ownerships forward.", ex);
+        }
+    }
+
+}
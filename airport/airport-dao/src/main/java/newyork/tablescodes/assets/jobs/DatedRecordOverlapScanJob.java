@@ -0,0 +1,75 @@
+package newyork.tablescodes.assets.jobs;
+
+import static java.util.concurrent.TimeUnit.DAYS;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import org.apache.log4j.Logger;
+import org.joda.time.DateTime;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import newyork.tablescodes.assets.DatedRecordOverlap;
+import newyork.tablescodes.assets.IDatedRecordOverlap;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.security.user.IUser;
+import ua.com.fielden.platform.security.user.IUserProvider;
+import ua.com.fielden.platform.security.user.User;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A nightly data-quality job that scans dated management and operation records for overlaps, replacing the {@link DatedRecordOverlap} findings of the previous run.
+ * The job runs some time after the {@link AssetCurrOwnershipRollForwardJob} in order not to compete with it.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class DatedRecordOverlapScanJob implements Runnable {
+
+    private static final Logger LOGGER = Logger.getLogger(DatedRecordOverlapScanJob.class);
+    private static final int MINUTES_AFTER_MIDNIGHT = 60;
+
+    private final ICompanionObjectFinder coFinder;
+    private final IUserProvider userProvider;
+    private final IUniversalConstants constants;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        final Thread thread = new Thread(runnable, "dated-record-overlap-scan");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Inject
+    public DatedRecordOverlapScanJob(final ICompanionObjectFinder coFinder, final IUserProvider userProvider, final IUniversalConstants constants) {
+        this.coFinder = coFinder;
+        this.userProvider = userProvider;
+        this.constants = constants;
+    }
+
+    /**
+     * Schedules this job to run daily in the early hours.
+     */
+    public void schedule() {
+        final DateTime now = constants.now();
+        final long delay = now.plusDays(1).withTimeAtStartOfDay().plusMinutes(MINUTES_AFTER_MIDNIGHT).getMillis() - now.getMillis();
+        scheduler.scheduleAtFixedRate(this, delay, DAYS.toMillis(1), MILLISECONDS);
+    }
+
+    @Override
+    public void run() {
+        try {
+            final IUser coUser = coFinder.find(User.class, true);
+            userProvider.setUsername(User.system_users.SU.name(), coUser);
+            final IDatedRecordOverlap coOverlap = coFinder.find(DatedRecordOverlap.class);
+            final int overlaps = coOverlap.scan();
+            LOGGER.info(String.format("Detected %s overlapping dated record(s).", overlaps));
+        } catch (final Exception ex) {
+            // the findings of the previous run remain in place until the next successful one
+            LOGGER.error("Could not scan dated records for overlaps.", ex);
+        }
+    }
+
+}
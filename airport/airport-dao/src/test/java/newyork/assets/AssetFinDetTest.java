@@ -12,6 +12,7 @@ import org.junit.Test;
 
 import newyork.assets.validators.AssetFinDetAcquireDateWithinProjectPeriodValidator;
 import newyork.personnel.Person;
+import newyork.projects.IProject;
 import newyork.projects.Project;
 import newyork.tablescodes.assets.AssetClass;
 import newyork.tablescodes.assets.AssetType;
@@ -91,6 +92,25 @@ public class AssetFinDetTest extends AbstractDaoTestCase {
         assertEquals(AssetFinDetAcquireDateWithinProjectPeriodValidator.ERR_OUTSIDE_PROJECT_PERIOD, finDet.isValid().getMessage());
     }
 
+    @Test
+    public void acquired_date_is_validated_against_the_latest_saved_project_period() {
+        final AssetType at1 = co(AssetType.class).findByKey("AT1");
+
+        final Asset asset = save(new_(Asset.class).setDesc("a demo asset").setAssetType(at1));
+        final Project project = save(new_(Project.class).setName("PROJECT 1").setStartDate(date("2019-12-08 00:00:00")).setDesc("project description"));
+
+        final AssetFinDet finDet = co$(AssetFinDet.class).findById(asset.getId(), IAssetFinDet.FETCH_PROVIDER.fetchModel());
+        finDet.setProject(project);
+        finDet.setAcquireDate(date("2020-06-10 00:00:00"));
+        assertTrue(finDet.isValid().isSuccessful());
+
+        save(co$(Project.class).findById(project.getId(), IProject.FETCH_PROVIDER.fetchModel()).setFinishDate(date("2020-01-31 00:00:00")));
+
+        finDet.setAcquireDate(date("2020-06-11 00:00:00"));
+        assertFalse(finDet.isValid().isSuccessful());
+        assertEquals(AssetFinDetAcquireDateWithinProjectPeriodValidator.ERR_OUTSIDE_PROJECT_PERIOD, finDet.isValid().getMessage());
+    }
+
     @Test 
     public void asset_fin_det_is_created_and_saved_at_the_same_time_as_asset() {
         final AssetType at1 = co(AssetType.class).findByKey("AT1");
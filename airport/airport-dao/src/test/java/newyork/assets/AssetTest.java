@@ -1,5 +1,9 @@
 package newyork.assets;
 
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static newyork.assets.IAsset.DEFAULT_ASSET_NUMBER;
 
 import static org.junit.Assert.assertEquals;
@@ -12,11 +16,22 @@ import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.order
 import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
 import static ua.com.fielden.platform.utils.EntityUtils.fetch;
 
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.Ignore;
 import org.junit.Test;
 
+import newyork.assets.imports.AssetImportResult;
+import newyork.assets.imports.AssetImportRow;
+import newyork.common.export.ExportFormat;
+import newyork.common.paging.KeysetPage;
+import newyork.common.paging.KeysetPaging;
 import newyork.tablescodes.assets.AssetClass;
 import newyork.tablescodes.assets.AssetType;
 import newyork.tablescodes.assets.IAssetType;
@@ -183,6 +198,132 @@ public class AssetTest extends AbstractDaoTestCase {
         assertEquals("1", assetsMoreExpensiveThan100.get(0).getNumber());
     }
 
+    @Test
+    public void import_saves_valid_rows_in_batches_and_reports_invalid_ones() {
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("asset class 1").setActive(true));
+        save(new_(AssetType.class).setName("AT1").setDesc("asset type 1").setAssetClass(ac1).setActive(true));
+
+        final Stream<AssetImportRow> rows = Stream.of(
+                new AssetImportRow(1, "imported asset 1", "AT1", new BigDecimal("100.00"), date("2019-09-01 00:00:00"), null),
+                new AssetImportRow(2, "imported asset 2", "at1", null, null, null),
+                new AssetImportRow(3, "", "AT1", null, null, null),
+                new AssetImportRow(4, "imported asset 4", "AT2", null, null, null),
+                new AssetImportRow(5, "imported asset 5", "AT1", new BigDecimal("-1.00"), null, null));
+
+        final AssetImportResult result = co$(Asset.class).importAssets(rows, 2);
+
+        assertEquals(2, result.getImported());
+        assertEquals(3, result.getFailures().size());
+        assertEquals(AssetDao.ERR_IMPORT_DESC_REQUIRED, result.getFailures().get(3));
+        assertEquals(format(AssetDao.ERR_IMPORT_UNKNOWN_ASSET_TYPE, "AT2"), result.getFailures().get(4));
+        assertEquals(AssetDao.ERR_IMPORT_NEGATIVE_INIT_COST, result.getFailures().get(5));
+
+        final AssetFinDet finDet1 = co(AssetFinDet.class).findByKeyAndFetch(IAssetFinDet.FETCH_PROVIDER.fetchModel(), co(Asset.class).findByKey("1"));
+        assertEquals(Money.of("100.00"), finDet1.getInitCost());
+        assertEquals(date("2019-09-01 00:00:00"), finDet1.getAcquireDate());
+        assertTrue(co(Asset.class).entityWithKeyExists("2"));
+
+        // numbers keep going after the import
+        final Asset asset = save(new_(Asset.class).setDesc("a demo asset").setAssetType(co(AssetType.class).findByKey("AT1")));
+        assertEquals("3", asset.getNumber());
+    }
+
+    @Test
+    public void import_retries_a_failed_batch_row_by_row_to_isolate_rows_that_cannot_be_saved() {
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("asset class 1").setActive(true));
+        save(new_(AssetType.class).setName("AT1").setDesc("asset type 1").setAssetClass(ac1).setActive(true));
+
+        // the description passes validation of rows, but does not fit into the database column, failing the save of the whole batch
+        final String tooLongDesc = String.join("", Collections.nCopies(1000, "x"));
+        final Stream<AssetImportRow> rows = Stream.of(
+                new AssetImportRow(1, "imported asset 1", "AT1", null, null, null),
+                new AssetImportRow(2, tooLongDesc, "AT1", null, null, null),
+                new AssetImportRow(3, "imported asset 3", "AT1", null, null, null));
+
+        final AssetImportResult result = co$(Asset.class).importAssets(rows, 3);
+
+        assertEquals(2, result.getImported());
+        assertEquals(1, result.getFailures().size());
+        assertTrue(result.getFailures().containsKey(2));
+
+        // numbers reserved for the failed batch were rolled back with it and reused by the retries
+        assertEquals("imported asset 1", co(Asset.class).findByKey("1").getDesc());
+        assertEquals("imported asset 3", co(Asset.class).findByKey("2").getDesc());
+        assertFalse(co(Asset.class).entityWithKeyExists("3"));
+        assertNotNull(co(AssetFinDet.class).findByKey(co(Asset.class).findByKey("2")));
+    }
+
+    @Test
+    public void streaming_export_writes_a_csv_row_for_every_asset() {
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("asset class 1").setActive(true));
+        save(new_(AssetType.class).setName("AT1").setDesc("asset type 1").setAssetClass(ac1).setActive(true));
+        co$(Asset.class).importAssets(Stream.of(
+                new AssetImportRow(1, "first asset, with comma", "AT1", new BigDecimal("100.00"), date("2019-09-01 00:00:00"), null),
+                new AssetImportRow(2, "second asset", "AT1", null, null, null)));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final int exported = co(Asset.class).export(ExportFormat.CSV, select(Asset.class).model(), out);
+
+        assertEquals(2, exported);
+        final String[] lines = new String(out.toByteArray(), UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].startsWith("1,\"first asset, with comma\",AT1,100.00,2019-09-01,"));
+        assertTrue(lines[2].startsWith("2,second asset,AT1,,,"));
+    }
+
+    @Test
+    public void streaming_export_writes_only_assets_matching_the_query() {
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("asset class 1").setActive(true));
+        save(new_(AssetType.class).setName("AT1").setDesc("asset type 1").setAssetClass(ac1).setActive(true));
+        save(new_(AssetType.class).setName("AT2").setDesc("asset type 2").setAssetClass(ac1).setActive(true));
+        co$(Asset.class).importAssets(Stream.of(
+                new AssetImportRow(1, "first asset", "AT1", null, null, null),
+                new AssetImportRow(2, "second asset", "AT2", null, null, null),
+                new AssetImportRow(3, "third asset", "AT1", null, null, null)));
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final int exported = co(Asset.class).export(ExportFormat.CSV, select(Asset.class).where().prop("assetType.name").eq().val("AT1").model(), out);
+
+        assertEquals(2, exported);
+        final String[] lines = new String(out.toByteArray(), UTF_8).split("\r\n");
+        assertEquals(3, lines.length);
+        assertTrue(lines[1].startsWith("1,first asset,AT1,"));
+        assertTrue(lines[2].startsWith("3,third asset,AT1,"));
+    }
+
+    @Test
+    public void keyset_paging_walks_through_all_assets_in_the_order_of_registration_without_overlaps() {
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("asset class 1").setActive(true));
+        save(new_(AssetType.class).setName("AT1").setDesc("asset type 1").setAssetClass(ac1).setActive(true));
+        co$(Asset.class).importAssets(IntStream.rangeClosed(1, 12).mapToObj(index -> new AssetImportRow(index, "asset " + index, "AT1", null, null, null)));
+
+        final IAsset coAsset = co(Asset.class);
+        final EntityResultQueryModel<Asset> query = select(Asset.class).model();
+        final KeysetPage<Asset> page1 = KeysetPaging.page(coAsset, query, IAsset.EXPORT_FETCH_PROVIDER.fetchModel(), "id", true, Optional.empty(), 5);
+        assertEquals(asList("1", "2", "3", "4", "5"), page1.data().stream().map(Asset::getNumber).collect(toList()));
+        assertTrue(page1.hasNext());
+
+        final KeysetPage<Asset> page2 = KeysetPaging.page(coAsset, query, IAsset.EXPORT_FETCH_PROVIDER.fetchModel(), "id", true, page1.next(), 5);
+        assertEquals(asList("6", "7", "8", "9", "10"), page2.data().stream().map(Asset::getNumber).collect(toList()));
+
+        final KeysetPage<Asset> page3 = KeysetPaging.page(coAsset, query, IAsset.EXPORT_FETCH_PROVIDER.fetchModel(), "id", true, page2.next(), 5);
+        assertEquals(asList("11", "12"), page3.data().stream().map(Asset::getNumber).collect(toList()));
+        assertFalse(page3.hasNext());
+    }
+
+    @Test
+    public void keyset_stream_retrieves_all_matching_assets_across_pages() {
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("asset class 1").setActive(true));
+        save(new_(AssetType.class).setName("AT1").setDesc("asset type 1").setAssetClass(ac1).setActive(true));
+        save(new_(AssetType.class).setName("AT2").setDesc("asset type 2").setAssetClass(ac1).setActive(true));
+        co$(Asset.class).importAssets(IntStream.rangeClosed(1, 7).mapToObj(index -> new AssetImportRow(index, "asset " + index, index % 2 == 0 ? "AT2" : "AT1", null, null, null)));
+
+        final EntityResultQueryModel<Asset> query = select(Asset.class).where().prop("assetType.name").eq().val("AT1").model();
+        try (final Stream<Asset> assets = KeysetPaging.stream(co(Asset.class), query, IAsset.EXPORT_FETCH_PROVIDER.fetchModel(), "id", true, 2)) {
+            assertEquals(asList("1", "3", "5", "7"), assets.map(Asset::getNumber).collect(toList()));
+        }
+    }
+
     @Override
     public boolean saveDataPopulationScriptToFile() {
         return false;
@@ -0,0 +1,170 @@
+package newyork.assets.depreciation;
+
+import static org.junit.Assert.assertEquals;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import org.junit.Test;
+
+import newyork.assets.Asset;
+import newyork.assets.AssetFinDet;
+import newyork.assets.IAssetFinDet;
+import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.AssetType;
+import newyork.tablescodes.assets.IAssetType;
+import newyork.test_config.AbstractDaoTestCase;
+import newyork.test_config.UniversalConstantsForTesting;
+import ua.com.fielden.platform.types.Money;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A test case for {@link IAssetDepreciation}.
+ *
+ * @author Developers
+ *
+ */
+public class AssetDepreciationTest extends AbstractDaoTestCase {
+
+    private Asset acquiredAsset(final String assetType, final String cost, final String acquireDate) {
+        final Asset asset = save(new_(Asset.class).setDesc("a demo asset").setAssetType(co(AssetType.class).findByKey(assetType)));
+        save(co$(AssetFinDet.class).findById(asset.getId(), IAssetFinDet.FETCH_PROVIDER.fetchModel())
+                .setInitCost(Money.of(cost))
+                .setAcquireDate(date(acquireDate)));
+        return asset;
+    }
+
+    private List<AssetDepreciation> ledgerOf(final Asset asset) {
+        return co(AssetDepreciation.class).getAllEntities(from(select(AssetDepreciation.class).where().prop("asset").eq().val(asset).model())
+                .with(IAssetDepreciation.FETCH_PROVIDER.fetchModel())
+                .with(orderBy().prop("period").asc().model()).model());
+    }
+
+    private static void assertAmount(final String expected, final Money actual) {
+        assertEquals(0, new BigDecimal(expected).compareTo(actual.getAmount()));
+    }
+
+    @Test
+    public void assets_are_depreciated_monthly_from_the_month_after_acquisition() {
+        final Asset asset = acquiredAsset("SL12", "120.00", "2019-06-15 00:00:00");
+
+        assertEquals(6, co(AssetDepreciation.class).depreciate(201912));
+
+        final List<AssetDepreciation> ledger = ledgerOf(asset);
+        assertEquals(6, ledger.size());
+        assertEquals(Integer.valueOf(201907), ledger.get(0).getPeriod());
+        assertEquals(Integer.valueOf(201912), ledger.get(5).getPeriod());
+        assertAmount("10.00", ledger.get(0).getDepreciation());
+        assertAmount("60.00", ledger.get(5).getBookValue());
+    }
+
+    @Test
+    public void depreciation_continues_from_the_latest_ledger_record() {
+        final Asset asset = acquiredAsset("SL12", "120.00", "2019-06-15 00:00:00");
+
+        assertEquals(6, co(AssetDepreciation.class).depreciate(201912));
+        assertEquals(0, co(AssetDepreciation.class).depreciate(201912));
+        assertEquals(1, co(AssetDepreciation.class).depreciate(202001));
+
+        final List<AssetDepreciation> ledger = ledgerOf(asset);
+        assertEquals(7, ledger.size());
+        assertEquals(Integer.valueOf(202001), ledger.get(6).getPeriod());
+        assertAmount("50.00", ledger.get(6).getBookValue());
+    }
+
+    @Test
+    public void depreciation_stops_at_the_end_of_useful_life_with_a_zero_book_value() {
+        final Asset asset = acquiredAsset("DB12", "100.00", "2019-01-10 00:00:00");
+
+        assertEquals(12, co(AssetDepreciation.class).depreciate(201912));
+        assertEquals(0, co(AssetDepreciation.class).depreciate(202012));
+
+        final List<AssetDepreciation> ledger = ledgerOf(asset);
+        assertEquals(12, ledger.size());
+        assertAmount("0.00", ledger.get(11).getBookValue());
+    }
+
+    @Test
+    public void ledger_is_rebuilt_when_the_cost_changes_after_depreciation() {
+        final Asset asset = acquiredAsset("SL12", "120.00", "2019-06-15 00:00:00");
+        assertEquals(6, co(AssetDepreciation.class).depreciate(201912));
+
+        save(co$(AssetFinDet.class).findById(asset.getId(), IAssetFinDet.FETCH_PROVIDER.fetchModel()).setInitCost(Money.of("240.00")));
+        assertEquals(7, co(AssetDepreciation.class).depreciate(202001));
+
+        final List<AssetDepreciation> ledger = ledgerOf(asset);
+        assertEquals(7, ledger.size());
+        assertEquals(Integer.valueOf(201907), ledger.get(0).getPeriod());
+        assertAmount("20.00", ledger.get(0).getDepreciation());
+        assertAmount("100.00", ledger.get(6).getBookValue());
+    }
+
+    @Test
+    public void ledger_is_rebuilt_when_the_useful_life_of_the_asset_type_changes_after_depreciation() {
+        final Asset asset = acquiredAsset("SL12", "120.00", "2019-06-15 00:00:00");
+        assertEquals(6, co(AssetDepreciation.class).depreciate(201912));
+
+        save(co$(AssetType.class).findByKeyAndFetch(IAssetType.FETCH_PROVIDER.fetchModel(), "SL12").setUsefulLifeMonths(6));
+        assertEquals(6, co(AssetDepreciation.class).depreciate(201912));
+
+        final List<AssetDepreciation> ledger = ledgerOf(asset);
+        assertEquals(6, ledger.size());
+        assertAmount("20.00", ledger.get(0).getDepreciation());
+        assertAmount("0.00", ledger.get(5).getBookValue());
+    }
+
+    @Test
+    public void ledger_is_rebuilt_when_the_acquisition_date_moves_to_another_month() {
+        final Asset asset = acquiredAsset("SL12", "120.00", "2019-06-15 00:00:00");
+        assertEquals(6, co(AssetDepreciation.class).depreciate(201912));
+
+        save(co$(AssetFinDet.class).findById(asset.getId(), IAssetFinDet.FETCH_PROVIDER.fetchModel()).setAcquireDate(date("2019-09-01 00:00:00")));
+        assertEquals(3, co(AssetDepreciation.class).depreciate(201912));
+
+        final List<AssetDepreciation> ledger = ledgerOf(asset);
+        assertEquals(3, ledger.size());
+        assertEquals(Integer.valueOf(201910), ledger.get(0).getPeriod());
+        assertAmount("90.00", ledger.get(2).getBookValue());
+    }
+
+    @Test
+    public void assets_without_acquisition_or_a_depreciation_method_are_not_depreciated() {
+        save(new_(Asset.class).setDesc("an asset without acquisition").setAssetType(co(AssetType.class).findByKey("SL12")));
+        acquiredAsset("AT1", "120.00", "2019-06-15 00:00:00");
+
+        assertEquals(0, co(AssetDepreciation.class).depreciate(201912));
+    }
+
+    @Override
+    public boolean saveDataPopulationScriptToFile() {
+        return false;
+    }
+
+    @Override
+    public boolean useSavedDataPopulationScript() {
+        return false;
+    }
+
+    @Override
+    protected void populateDomain() {
+        super.populateDomain();
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-12-16 13:00:00"));
+
+        if (useSavedDataPopulationScript()) {
+            return;
+        }
+
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("asset class 1").setActive(true));
+        save(new_(AssetType.class).setName("AT1").setDesc("asset type without depreciation").setAssetClass(ac1).setActive(true));
+        save(new_(AssetType.class).setName("SL12").setDesc("straight line over a year").setAssetClass(ac1)
+                .setDepreciationMethod(DepreciationMethod.STRAIGHT_LINE.code).setUsefulLifeMonths(12).setActive(true));
+        save(new_(AssetType.class).setName("DB12").setDesc("declining balance over a year").setAssetClass(ac1)
+                .setDepreciationMethod(DepreciationMethod.DECLINING_BALANCE.code).setUsefulLifeMonths(12).setActive(true));
+    }
+
+}
@@ -0,0 +1,110 @@
+package newyork.assets.depreciation;
+
+import static newyork.assets.depreciation.DepreciationMethod.DECLINING_BALANCE;
+import static newyork.assets.depreciation.DepreciationMethod.STRAIGHT_LINE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+/**
+ * A test case for {@link DepreciationSchedule}.
+ *
+ * @author Developers
+ *
+ */
+public class DepreciationScheduleTest {
+
+    private static long[] schedule(final DepreciationMethod method, final long cost, final int usefulLifeMonths) {
+        final long[] schedule = new long[usefulLifeMonths];
+        long bookValue = cost;
+        for (int month = 1; month <= usefulLifeMonths; month++) {
+            schedule[month - 1] = DepreciationSchedule.depreciation(method, bookValue, usefulLifeMonths, month);
+            bookValue -= schedule[month - 1];
+        }
+        return schedule;
+    }
+
+    private static long total(final long[] schedule) {
+        long total = 0;
+        for (final long depreciation : schedule) {
+            total += depreciation;
+        }
+        return total;
+    }
+
+    @Test
+    public void straight_line_depreciates_evenly_divisible_cost_in_equal_instalments() {
+        for (final long depreciation : schedule(STRAIGHT_LINE, 120_000, 12)) {
+            assertEquals(10_000, depreciation);
+        }
+    }
+
+    @Test
+    public void straight_line_depreciation_adds_up_to_the_cost_exactly() {
+        final long[] schedule = schedule(STRAIGHT_LINE, 100_000, 7);
+        assertEquals(100_000, total(schedule));
+        for (final long depreciation : schedule) {
+            assertTrue(Math.abs(depreciation - 100_000 / 7) <= 1);
+        }
+    }
+
+    @Test
+    public void declining_balance_depreciation_adds_up_to_the_cost_exactly() {
+        assertEquals(120_000, total(schedule(DECLINING_BALANCE, 120_000, 12)));
+        assertEquals(99_999, total(schedule(DECLINING_BALANCE, 99_999, 37)));
+    }
+
+    @Test
+    public void declining_balance_is_front_loaded_and_never_increases() {
+        final long[] schedule = schedule(DECLINING_BALANCE, 120_000, 12);
+        assertEquals(20_000, schedule[0]);
+        for (int index = 1; index < schedule.length; index++) {
+            assertFalse(schedule[index] > schedule[index - 1]);
+        }
+    }
+
+    @Test
+    public void declining_balance_switches_to_straight_line_once_that_is_larger() {
+        final long[] schedule = schedule(DECLINING_BALANCE, 120_000, 12);
+        // the last two months depreciate the remaining book value evenly
+        assertEquals(schedule[10], schedule[11], 1);
+    }
+
+    @Test
+    public void there_is_no_depreciation_outside_of_useful_life_or_for_fully_depreciated_assets() {
+        assertEquals(0, DepreciationSchedule.depreciation(STRAIGHT_LINE, 120_000, 12, 0));
+        assertEquals(0, DepreciationSchedule.depreciation(STRAIGHT_LINE, 120_000, 12, 13));
+        assertEquals(0, DepreciationSchedule.depreciation(DECLINING_BALANCE, 0, 12, 5));
+    }
+
+    @Test
+    public void depreciation_continued_from_an_opening_book_value_matches_depreciation_from_cost() {
+        final long[] schedule = schedule(DECLINING_BALANCE, 120_000, 12);
+        long bookValue = 120_000;
+        for (int month = 1; month <= 5; month++) {
+            bookValue -= schedule[month - 1];
+        }
+        assertEquals(schedule[5], DepreciationSchedule.depreciation(DECLINING_BALANCE, bookValue, 12, 6));
+    }
+
+    @Test
+    public void period_arithmetic_crosses_year_ends() {
+        assertEquals(202001, DepreciationSchedule.plusMonths(201912, 1));
+        assertEquals(201912, DepreciationSchedule.plusMonths(202001, -1));
+        assertEquals(202106, DepreciationSchedule.plusMonths(201906, 24));
+        assertEquals(7, DepreciationSchedule.monthsBetween(201906, 202001));
+        assertEquals(-7, DepreciationSchedule.monthsBetween(202001, 201906));
+    }
+
+    @Test
+    public void amounts_are_converted_to_and_from_minor_units_with_rounding_half_up() {
+        assertEquals(12_000, DepreciationSchedule.toMinorUnits(new BigDecimal("120.00")));
+        assertEquals(12_346, DepreciationSchedule.toMinorUnits(new BigDecimal("123.455")));
+        assertEquals(new BigDecimal("123.45"), DepreciationSchedule.fromMinorUnits(12_345));
+    }
+
+}
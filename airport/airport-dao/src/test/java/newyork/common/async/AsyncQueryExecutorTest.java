@@ -0,0 +1,190 @@
+package newyork.common.async;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.concurrent.CountDownLatch;
+
+import org.hibernate.Session;
+import org.junit.Test;
+
+import newyork.assets.Asset;
+import newyork.personnel.Person;
+import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.AssetType;
+import newyork.test_config.AbstractDaoTestCase;
+import newyork.test_config.UniversalConstantsForTesting;
+import ua.com.fielden.platform.dao.ISessionEnabled;
+import ua.com.fielden.platform.error.Result;
+import ua.com.fielden.platform.security.user.IUserProvider;
+import ua.com.fielden.platform.security.user.User;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A test case for {@link AsyncQueryExecutor}.
+ *
+ * @author Developers
+ *
+ */
+public class AsyncQueryExecutorTest extends AbstractDaoTestCase {
+
+    private static final String OTHER_USER = "OTHER";
+
+    @Test
+    public void submitted_query_completes_in_the_background_with_its_results() throws InterruptedException {
+        final AsyncQueryExecutor executor = getInstance(AsyncQueryExecutor.class);
+        final AsyncQuery<Asset> query = executor.submit(Asset.class,
+                from(select(Asset.class).model()).with(fetchKeyAndDescOnly(Asset.class)).with(orderBy().prop("key").asc().model()).model(),
+                asList("number", "desc"));
+
+        assertTrue(query.await(10, SECONDS));
+        assertEquals(AsyncQuery.Status.COMPLETED, query.getStatus());
+        assertEquals(asList("1", "2"), query.getResult().stream().map(Asset::getNumber).collect(toList()));
+        assertFalse(query.isTruncated());
+        assertTrue(executor.find(query.id).isPresent());
+    }
+
+    @Test
+    public void results_with_more_than_the_maximum_number_of_rows_are_cut_and_marked_as_truncated() {
+        final Asset a1 = co(Asset.class).findByKey("1");
+        final Asset a2 = co(Asset.class).findByKey("2");
+
+        final AsyncQuery<Asset> exceeding = new AsyncQuery<>("exceeding", TEST_PERSON_KEY, Asset.class, asList("number"), System.currentTimeMillis());
+        assertTrue(exceeding.start(mock(ISessionEnabled.class)));
+        exceeding.complete(asList(a1, a2), 1, System.currentTimeMillis());
+        assertEquals(asList(a1), exceeding.getResult());
+        assertTrue(exceeding.isTruncated());
+
+        final AsyncQuery<Asset> fitting = new AsyncQuery<>("fitting", TEST_PERSON_KEY, Asset.class, asList("number"), System.currentTimeMillis());
+        assertTrue(fitting.start(mock(ISessionEnabled.class)));
+        fitting.complete(asList(a1, a2), 2, System.currentTimeMillis());
+        assertEquals(asList(a1, a2), fitting.getResult());
+        assertFalse(fitting.isTruncated());
+    }
+
+    @Test
+    public void finished_queries_cannot_be_cancelled() throws InterruptedException {
+        final AsyncQueryExecutor executor = getInstance(AsyncQueryExecutor.class);
+        final AsyncQuery<Asset> query = executor.submit(Asset.class, from(select(Asset.class).model()).with(fetchKeyAndDescOnly(Asset.class)).model(), asList("number"));
+        assertTrue(query.await(10, SECONDS));
+
+        assertFalse(executor.cancel(query.id));
+        assertEquals(AsyncQuery.Status.COMPLETED, query.getStatus());
+    }
+
+    @Test
+    public void cancelling_of_unknown_queries_fails() {
+        try {
+            getInstance(AsyncQueryExecutor.class).cancel("unknown");
+            fail("Cancelling of an unknown query should have failed.");
+        } catch (final Result ex) {
+            assertEquals(String.format(AsyncQueryExecutor.ERR_UNKNOWN_QUERY, "unknown"), ex.getMessage());
+        }
+    }
+
+    @Test
+    public void cancelling_a_running_query_cancels_its_statement_once_the_worker_has_a_session_and_frees_the_worker() throws Exception {
+        final AsyncQueryExecutor executor = getInstance(AsyncQueryExecutor.class);
+        final CountDownLatch statementCancelled = new CountDownLatch(1);
+        final Session session = mock(Session.class);
+        doAnswer(invocation -> {
+            statementCancelled.countDown();
+            return null;
+        }).when(session).cancelQuery();
+        final ISessionEnabled co = mock(ISessionEnabled.class);
+        // the session is not set yet at the time of cancellation, which used to leave the statement running
+        when(co.getSession()).thenThrow(new IllegalStateException("Session is missing.")).thenReturn(session);
+
+        final AsyncQuery<Asset> query = new AsyncQuery<>("long-running", User.system_users.UNIT_TEST_USER.name(), Asset.class, asList("number"), System.currentTimeMillis());
+        final Thread worker = new Thread(() -> {
+            query.start(co);
+            try {
+                // a long-running JDBC statement, which returns only upon cancellation
+                statementCancelled.await(1, MINUTES);
+            } catch (final InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } finally {
+                query.stopped();
+            }
+        });
+        worker.start();
+        while (query.getStatus() != AsyncQuery.Status.RUNNING) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(query.cancel());
+        executor.cancelStatement(query);
+
+        worker.join(SECONDS.toMillis(10));
+        assertFalse(worker.isAlive());
+        assertFalse(query.isExecuting());
+        assertEquals(AsyncQuery.Status.CANCELLED, query.getStatus());
+        verify(session, atLeastOnce()).cancelQuery();
+    }
+
+    @Test
+    public void queries_are_accessible_only_to_the_users_who_submitted_them() throws InterruptedException {
+        final AsyncQueryExecutor executor = getInstance(AsyncQueryExecutor.class);
+        final AsyncQuery<Asset> query = executor.submit(Asset.class, from(select(Asset.class).model()).with(fetchKeyAndDescOnly(Asset.class)).model(), asList("number"));
+        assertTrue(query.await(10, SECONDS));
+
+        final IUserProvider userProvider = getInstance(IUserProvider.class);
+        userProvider.setUsername(OTHER_USER, co(User.class));
+        try {
+            assertFalse(executor.find(query.id).isPresent());
+            executor.cancel(query.id);
+            fail("Cancelling of a query submitted by another user should have failed.");
+        } catch (final Result ex) {
+            assertEquals(String.format(AsyncQueryExecutor.ERR_UNKNOWN_QUERY, query.id), ex.getMessage());
+        } finally {
+            userProvider.setUsername(User.system_users.UNIT_TEST_USER.name(), co(User.class));
+        }
+        assertTrue(executor.find(query.id).isPresent());
+    }
+
+    @Override
+    public boolean saveDataPopulationScriptToFile() {
+        return false;
+    }
+
+    @Override
+    public boolean useSavedDataPopulationScript() {
+        return false;
+    }
+
+    @Override
+    protected void populateDomain() {
+        super.populateDomain();
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-12-16 13:00:00"));
+
+        if (useSavedDataPopulationScript()) {
+            return;
+        }
+
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("First asset class").setActive(true));
+        final AssetType at1 = save(new_(AssetType.class).setName("AT1").setDesc("First asset type").setAssetClass(ac1).setActive(true));
+        save(new_(Asset.class).setDesc("first asset").setAssetType(at1).setActive(true));
+        save(new_(Asset.class).setDesc("second asset").setAssetType(at1).setActive(true));
+
+        final Person other = save(new_(Person.class, OTHER_USER).setDesc("Another user").setEmail("other@newyork").setActive(true));
+        co$(Person.class).makeUser(other);
+    }
+
+}
@@ -0,0 +1,64 @@
+package newyork.common.concurrency;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.util.Properties;
+
+import org.junit.Test;
+
+import ua.com.fielden.platform.error.Result;
+
+/**
+ * A test case for {@link ConcurrencyLimit}.
+ *
+ * @author Developers
+ *
+ */
+public class ConcurrencyLimitTest {
+
+    @Test
+    public void work_in_excess_of_the_limit_is_rejected_after_the_queue_timeout() {
+        final ConcurrencyLimit limit = new ConcurrencyLimit(2, 10);
+        assertTrue(limit.tryAcquire());
+        assertTrue(limit.tryAcquire());
+        assertEquals(2, limit.inFlight());
+
+        assertFalse(limit.tryAcquire());
+        try {
+            limit.execute(() -> "never");
+            fail("Work in excess of the limit should have been rejected.");
+        } catch (final Result ex) {
+            assertEquals(ConcurrencyLimit.ERR_LIMIT_EXCEEDED, ex.getMessage());
+        }
+        assertEquals(2, limit.rejected());
+
+        limit.release();
+        assertEquals("admitted", limit.execute(() -> "admitted"));
+        assertEquals(1, limit.inFlight());
+    }
+
+    @Test
+    public void limit_is_disabled_unless_configured() {
+        final ConcurrencyLimit limit = ConcurrencyLimit.fromProperties(new Properties());
+        assertFalse(limit.isEnabled());
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(limit.tryAcquire());
+        }
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    public void limit_and_queue_timeout_are_read_from_properties() {
+        final Properties props = new Properties();
+        props.setProperty(ConcurrencyLimit.LIMIT_PROPERTY, "20");
+        props.setProperty(ConcurrencyLimit.QUEUE_TIMEOUT_PROPERTY, "250");
+        final ConcurrencyLimit limit = ConcurrencyLimit.fromProperties(props);
+        assertTrue(limit.isEnabled());
+        assertEquals(20, limit.limit);
+        assertEquals(250, limit.queueTimeoutMillis);
+    }
+
+}
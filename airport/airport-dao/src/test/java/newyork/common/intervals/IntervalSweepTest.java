@@ -0,0 +1,55 @@
+package newyork.common.intervals;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+/**
+ * A test case for {@link IntervalSweep}.
+ *
+ * @author Developers
+ *
+ */
+public class IntervalSweepTest {
+
+    private static long[] interval(final long holder, final long start, final long end) {
+        return new long[] {holder, start, end};
+    }
+
+    private static List<String> overlapsOf(final List<long[]> intervals) {
+        final List<String> overlaps = new ArrayList<>();
+        IntervalSweep.sweep(intervals, i -> i[1], i -> i[2], (first, second) -> overlaps.add(first[1] + "-" + first[2] + "/" + second[1] + "-" + second[2]));
+        return overlaps;
+    }
+
+    @Test
+    public void disjoint_intervals_in_any_order_do_not_overlap() {
+        assertEquals(asList(), overlapsOf(asList(interval(0, 20, 29), interval(0, 1, 9), interval(0, 10, 19))));
+    }
+
+    @Test
+    public void intervals_are_closed_and_an_interval_starting_on_the_end_of_another_overlaps_it() {
+        assertEquals(asList("1-10/10-19"), overlapsOf(asList(interval(0, 10, 19), interval(0, 1, 10))));
+    }
+
+    @Test
+    public void overlaps_are_reported_against_the_interval_that_reaches_the_furthest() {
+        // the long interval covers all others, while the short ones are disjoint among themselves
+        assertEquals(asList("1-100/5-9", "1-100/20-29", "1-100/50-" + IntervalSweep.OPEN_END),
+                     overlapsOf(asList(interval(0, 20, 29), interval(0, 1, 100), interval(0, 5, 9), interval(0, 50, IntervalSweep.OPEN_END))));
+    }
+
+    @Test
+    public void only_intervals_of_the_same_holder_overlap_when_sweeping_ordered_intervals() {
+        final List<long[]> intervals = asList(interval(1, 1, 10), interval(1, 5, 15), interval(2, 6, 7), interval(2, 8, 9), interval(3, 1, IntervalSweep.OPEN_END), interval(3, 100, 200));
+        final List<String> overlaps = new ArrayList<>();
+        final int count = IntervalSweep.sweepOrdered(intervals.iterator(), i -> i[0], i -> i[1], i -> i[2], (first, second) -> overlaps.add(first[0] + ":" + first[1] + "/" + second[1]));
+        assertEquals(2, count);
+        assertEquals(asList("1:1/5", "3:1/100"), overlaps);
+    }
+
+}
@@ -0,0 +1,105 @@
+package newyork.common.metrics;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashSet;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.junit.Test;
+
+import newyork.assets.Asset;
+import newyork.assets.IAsset;
+import newyork.tablescodes.assets.AssetType;
+
+/**
+ * A test case for {@link FetchModelProfiler}.
+ *
+ * @author Developers
+ *
+ */
+public class FetchModelProfilerTest {
+
+    private static Set<String> paths(final String... paths) {
+        return new HashSet<>(asList(paths));
+    }
+
+    @Test
+    public void recommended_paths_are_the_union_of_paths_observed_by_all_views_of_an_entity_type() {
+        final FetchModelProfiler profiler = new FetchModelProfiler(true, false);
+        profiler.record("/centre/MiAsset", Asset.class, paths("desc", "assetType", "assetType.assetClass"));
+        profiler.record("/entity/Asset/1", Asset.class, paths("desc", "active"));
+        profiler.record("/entity/AssetType/1", AssetType.class, paths("name"));
+
+        assertEquals(new TreeSet<>(asList("active", "assetType", "assetType.assetClass", "desc")), profiler.observedPaths(Asset.class));
+        assertEquals(new TreeSet<>(asList("name")), profiler.observedPaths(AssetType.class));
+        assertTrue(profiler.recommend(Asset.class).isPresent());
+    }
+
+    @Test
+    public void paths_that_do_not_resolve_on_the_entity_type_are_not_recorded() {
+        final FetchModelProfiler profiler = new FetchModelProfiler(true, true);
+        profiler.record("/centre/MiAsset", Asset.class, paths("desc", "owner", "ownedSince", "assetType.typeOwner"));
+
+        assertEquals(new TreeSet<>(asList("desc")), profiler.observedPaths(Asset.class));
+    }
+
+    @Test
+    public void applied_recommendations_extend_the_declared_paths() {
+        final FetchModelProfiler applying = new FetchModelProfiler(true, true);
+        applying.record("/centre/MiAsset", Asset.class, paths("active"));
+
+        final Set<String> effective = applying.effective(Asset.class, IAsset.FETCH_PROVIDER).allProperties();
+        assertTrue(effective.containsAll(IAsset.FETCH_PROVIDER.allProperties()));
+        assertTrue(effective.contains("active"));
+    }
+
+    @Test
+    public void nothing_is_recorded_or_recommended_unless_profiling_is_enabled() {
+        final FetchModelProfiler profiler = FetchModelProfiler.fromProperties(new Properties());
+        profiler.record("/centre/MiAsset", Asset.class, paths("desc"));
+
+        assertTrue(profiler.observedPaths(Asset.class).isEmpty());
+        assertFalse(profiler.recommend(Asset.class).isPresent());
+        assertFalse(profiler.applying);
+    }
+
+    @Test
+    public void declared_fetch_providers_are_effective_unless_recommendations_are_applied_for_observed_types() {
+        final FetchModelProfiler recording = new FetchModelProfiler(true, false);
+        recording.record("/centre/MiAsset", Asset.class, paths("desc"));
+        assertSame(IAsset.FETCH_PROVIDER, recording.effective(Asset.class, IAsset.FETCH_PROVIDER));
+
+        final FetchModelProfiler applying = new FetchModelProfiler(true, true);
+        assertSame(IAsset.FETCH_PROVIDER, applying.effective(Asset.class, IAsset.FETCH_PROVIDER));
+        applying.record("/centre/MiAsset", Asset.class, paths("desc"));
+        assertNotSame(IAsset.FETCH_PROVIDER, applying.effective(Asset.class, IAsset.FETCH_PROVIDER));
+    }
+
+    @Test
+    public void report_lists_declared_paths_that_are_not_used_and_used_paths_that_are_not_declared() {
+        final FetchModelProfiler profiler = new FetchModelProfiler(true, false);
+        profiler.record("/centre/MiAsset", Asset.class, paths("desc", "assetType.assetClass"));
+
+        final String report = profiler.report(type -> paths("desc", "assetType", "finDet"));
+        assertTrue(report, report.contains("  /centre/MiAsset: [assetType.assetClass, desc]"));
+        assertTrue(report, report.contains("  declared but not used: [assetType, finDet]"));
+        assertTrue(report, report.contains("  used but not declared: [assetType.assetClass]"));
+    }
+
+    @Test
+    public void clearing_removes_all_observations() {
+        final FetchModelProfiler profiler = new FetchModelProfiler(true, false);
+        profiler.record("/centre/MiAsset", Asset.class, paths("desc"));
+        profiler.clear();
+
+        assertTrue(profiler.observedPaths(Asset.class).isEmpty());
+    }
+
+}
@@ -0,0 +1,80 @@
+package newyork.common.metrics;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import newyork.assets.Asset;
+import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.AssetType;
+import newyork.test_config.AbstractDaoTestCase;
+import newyork.test_config.UniversalConstantsForTesting;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A test case for {@link Metrics} and the instrumentation that feeds it.
+ *
+ * @author Developers
+ *
+ */
+public class MetricsTest extends AbstractDaoTestCase {
+
+    @Test
+    public void requests_are_recorded_as_cumulative_histograms_in_prometheus_text_format() {
+        final Metrics metrics = getInstance(Metrics.class);
+        metrics.recordRequest("/test/histogram", 7, 3);
+        metrics.recordRequest("/test/histogram", 70, 12);
+
+        final String text = metrics.toPrometheusText();
+        assertTrue(text.contains("# TYPE airport_request_duration_milliseconds histogram\n"));
+        assertTrue(text.contains("airport_request_duration_milliseconds_bucket{resource=\"/test/histogram\",le=\"5\"} 0\n"));
+        assertTrue(text.contains("airport_request_duration_milliseconds_bucket{resource=\"/test/histogram\",le=\"10\"} 1\n"));
+        assertTrue(text.contains("airport_request_duration_milliseconds_bucket{resource=\"/test/histogram\",le=\"+Inf\"} 2\n"));
+        assertTrue(text.contains("airport_request_duration_milliseconds_sum{resource=\"/test/histogram\"} 77\n"));
+        assertTrue(text.contains("airport_request_sql_statements_bucket{resource=\"/test/histogram\",le=\"5\"} 1\n"));
+    }
+
+    @Test
+    public void companion_methods_are_timed() {
+        save(new_(AssetClass.class).setName("AC2").setDesc("Second asset class").setActive(true));
+
+        final String text = getInstance(Metrics.class).toPrometheusText();
+        assertTrue(text.contains("airport_companion_method_duration_milliseconds_count{companion=\"AssetClassDao\",method=\"save\"}"));
+    }
+
+    @Test
+    public void sql_statements_of_the_current_thread_are_counted() {
+        SqlStatementCounter.start();
+        co(Asset.class).findByKey("1");
+        assertTrue(SqlStatementCounter.stop() > 0);
+        assertEquals(0, SqlStatementCounter.stop());
+    }
+
+    @Override
+    public boolean saveDataPopulationScriptToFile() {
+        return false;
+    }
+
+    @Override
+    public boolean useSavedDataPopulationScript() {
+        return false;
+    }
+
+    @Override
+    protected void populateDomain() {
+        super.populateDomain();
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-12-16 13:00:00"));
+
+        if (useSavedDataPopulationScript()) {
+            return;
+        }
+
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("First asset class").setActive(true));
+        final AssetType at1 = save(new_(AssetType.class).setName("AT1").setDesc("First asset type").setAssetClass(ac1).setActive(true));
+        save(new_(Asset.class).setDesc("first asset").setAssetType(at1).setActive(true));
+    }
+
+}
@@ -0,0 +1,78 @@
+package newyork.common.metrics;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.Test;
+
+import newyork.assets.Asset;
+import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.AssetType;
+
+/**
+ * A test case for {@link NPlusOneDetector}.
+ *
+ * @author Developers
+ *
+ */
+public class NPlusOneDetectorTest {
+
+    private final NPlusOneDetector detector = new NPlusOneDetector(asList(Asset.class, AssetType.class, AssetClass.class), 3);
+
+    private static List<String> perRowLookups(final String rootQuery, final String lookup, final int rows) {
+        final List<String> statements = new ArrayList<>();
+        statements.add(rootQuery);
+        for (int row = 0; row < rows; row++) {
+            statements.add(lookup);
+            statements.add("update ASSET_ set DESC_ = ? where _ID = ?");
+        }
+        return statements;
+    }
+
+    @Test
+    public void repeated_lookups_suggest_the_property_path_from_the_preceding_query() {
+        final List<NPlusOneDetector.Finding> findings = detector.analyse(perRowLookups(
+                "select A._ID, A.KEY_ from ASSET_ A where A.ACTIVE_ = ?",
+                "select T._ID, T.KEY_ from ASSETTYPE_ T where T._ID = ?", 3));
+
+        assertEquals(1, findings.size());
+        final NPlusOneDetector.Finding finding = findings.get(0);
+        assertEquals(3, finding.executions);
+        assertEquals(Optional.of(AssetType.class), finding.retrievedType);
+        assertEquals(Optional.of(Asset.class), finding.precedingType);
+        assertEquals(Optional.of("assetType"), finding.suggestedPath);
+    }
+
+    @Test
+    public void property_paths_are_suggested_through_intermediate_entities() {
+        final List<NPlusOneDetector.Finding> findings = detector.analyse(perRowLookups(
+                "select A._ID from ASSET_ A",
+                "select C._ID, C.KEY_\n  from ASSETCLASS_ C\n where C._ID = ?", 4));
+
+        assertEquals(Optional.of("assetType.assetClass"), findings.get(0).suggestedPath);
+        assertTrue(findings.get(0).toString().contains("add \"assetType.assetClass\" to the fetch provider of Asset"));
+    }
+
+    @Test
+    public void statements_repeated_fewer_times_than_the_threshold_and_modifications_are_not_reported() {
+        assertTrue(detector.analyse(perRowLookups("select A._ID from ASSET_ A", "select T._ID from ASSETTYPE_ T where T._ID = ?", 2)).isEmpty());
+        assertTrue(detector.analyse(asList("insert into ASSET_ values (?)", "insert into ASSET_ values (?)", "insert into ASSET_ values (?)")).isEmpty());
+    }
+
+    @Test
+    public void lookups_without_a_path_from_the_preceding_query_suggest_a_single_query() {
+        final NPlusOneDetector.Finding finding = detector.analyse(asList(
+                "select T._ID from ASSETTYPE_ T where T._ID = ?",
+                "select T._ID from ASSETTYPE_ T where T._ID = ?",
+                "select T._ID from ASSETTYPE_ T where T._ID = ?")).get(0);
+        assertFalse(finding.suggestedPath.isPresent());
+        assertTrue(finding.toString().contains("retrieve these entities with a single query"));
+    }
+
+}
@@ -0,0 +1,105 @@
+package newyork.common.metrics;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.concurrent.Callable;
+
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.Test;
+
+import newyork.assets.Asset;
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.query.QueryExecutionModel;
+
+/**
+ * A test case for {@link SlowQueryInterceptor}, which uses a zero threshold so that every query is slow.
+ *
+ * @author Developers
+ *
+ */
+public class SlowQueryInterceptorTest {
+
+    private final SlowQueryLog log = new SlowQueryLog(0, 10);
+    private final SlowQueryInterceptor interceptor = new SlowQueryInterceptor();
+    private final SqlStatementCounter inspector = new SqlStatementCounter();
+
+    {
+        interceptor.setLog(() -> log);
+    }
+
+    private static MethodInvocation invocation(final Object model, final Callable<Object> body) throws Throwable {
+        final IEntityDao<?> co = mock(IEntityDao.class);
+        doReturn(Asset.class).when(co).getEntityType();
+        final MethodInvocation invocation = mock(MethodInvocation.class);
+        when(invocation.getThis()).thenReturn(co);
+        when(invocation.getMethod()).thenReturn(IEntityDao.class.getMethod("getAllEntities", QueryExecutionModel.class));
+        when(invocation.getArguments()).thenReturn(new Object[] {model});
+        when(invocation.proceed()).thenAnswer(ignored -> body.call());
+        return invocation;
+    }
+
+    private static QueryExecutionModel<Asset, ?> modelForNumber(final String number) {
+        return from(select(Asset.class).where().prop("number").eq().val(number).model()).model();
+    }
+
+    @Test
+    public void slow_queries_are_recorded_with_their_sql_and_number_of_rows() throws Throwable {
+        interceptor.invoke(invocation(modelForNumber("1"), () -> {
+            inspector.inspect("select A.id from ASSET_ A where A.number_ = ?");
+            return asList("a", "b");
+        }));
+
+        assertEquals(1, log.recent().size());
+        final SlowQuery query = log.recent().get(0);
+        assertEquals("Asset", query.entityType);
+        assertEquals("select A.id from ASSET_ A where A.number_ = ?", query.sql);
+        assertEquals(2, query.rows);
+        assertEquals(SlowQueryLog.fingerprint("Asset", asList("select A.id from ASSET_ A where A.number_ = ?"), query.model), query.fingerprint);
+    }
+
+    @Test
+    public void executions_with_different_parameter_values_share_a_fingerprint() throws Throwable {
+        interceptor.invoke(invocation(modelForNumber("1"), () -> inspector.inspect("select A.id from ASSET_ A where A.number_ = ?")));
+        interceptor.invoke(invocation(modelForNumber("2"), () -> inspector.inspect("select A.id from ASSET_ A where A.number_ = ?")));
+
+        assertEquals(2, log.recent().size());
+        assertEquals(log.recent().get(0).fingerprint, log.recent().get(1).fingerprint);
+        assertEquals(2, log.executionsOf(log.recent().get(0).fingerprint));
+    }
+
+    @Test
+    public void only_the_outermost_of_nested_query_methods_is_recorded_with_sql_of_both() throws Throwable {
+        final MethodInvocation inner = invocation(modelForNumber("2"), () -> inspector.inspect("select B.id from ASSET_ B"));
+        interceptor.invoke(invocation(modelForNumber("1"), () -> {
+            inspector.inspect("select A.id from ASSET_ A");
+            return interceptor.invoke(inner);
+        }));
+
+        assertEquals(1, log.recent().size());
+        assertEquals("select A.id from ASSET_ A;\nselect B.id from ASSET_ B", log.recent().get(0).sql);
+    }
+
+    @Test
+    public void queries_that_fail_are_recorded_and_do_not_affect_subsequent_ones() throws Throwable {
+        try {
+            interceptor.invoke(invocation(modelForNumber("1"), () -> {
+                throw new IllegalStateException("Query failed.");
+            }));
+            fail("The failure should have been propagated.");
+        } catch (final IllegalStateException ex) {
+        }
+        interceptor.invoke(invocation(modelForNumber("2"), () -> inspector.inspect("select A.id from ASSET_ A")));
+
+        assertEquals(2, log.recent().size());
+        assertTrue(log.recent().get(0).sql.contains("select A.id"));
+    }
+
+}
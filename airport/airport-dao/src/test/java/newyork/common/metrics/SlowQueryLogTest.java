@@ -0,0 +1,65 @@
+package newyork.common.metrics;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Date;
+
+import org.junit.Test;
+
+/**
+ * A test case for {@link SlowQueryLog}.
+ *
+ * @author Developers
+ *
+ */
+public class SlowQueryLogTest {
+
+    private static SlowQuery query(final String fingerprint, final double millis) {
+        return new SlowQuery(fingerprint, "Asset", "AssetDao.getFirstEntities", "AssetDao.export:42", "model", "select ...", millis, 10, new Date());
+    }
+
+    @Test
+    public void the_log_keeps_only_the_most_recent_executions_up_to_its_capacity() {
+        final SlowQueryLog log = new SlowQueryLog(100, 3);
+        log.record(query("a", 100));
+        log.record(query("b", 200));
+        log.record(query("c", 300));
+        log.record(query("d", 400));
+
+        assertEquals(asList("d", "c", "b"), log.recent().stream().map(query -> query.fingerprint).collect(toList()));
+    }
+
+    @Test
+    public void top_offenders_are_the_slowest_executions_of_distinct_fingerprints() {
+        final SlowQueryLog log = new SlowQueryLog(100, 10);
+        log.record(query("a", 150));
+        log.record(query("b", 900));
+        log.record(query("a", 700));
+        log.record(query("c", 120));
+
+        assertEquals(asList("b:900.0", "a:700.0"), log.topOffenders(2).stream().map(query -> query.fingerprint + ":" + query.millis).collect(toList()));
+        assertEquals(2, log.executionsOf("a"));
+    }
+
+    @Test
+    public void queries_below_the_threshold_are_not_slow() {
+        final SlowQueryLog log = new SlowQueryLog(500, 10);
+        assertFalse(log.isSlow(499.9));
+        assertTrue(log.isSlow(500));
+    }
+
+    @Test
+    public void fingerprints_depend_on_the_shape_of_sql_but_not_on_its_formatting() {
+        final String fingerprint = SlowQueryLog.fingerprint("Asset", asList("select A.id from ASSET_ A where A.key_ = ?"), "model 1");
+        assertEquals(fingerprint, SlowQueryLog.fingerprint("Asset", asList("select A.id\n  from ASSET_ A\n where A.key_ = ?"), "model 2"));
+        assertNotEquals(fingerprint, SlowQueryLog.fingerprint("AssetType", asList("select A.id from ASSET_ A where A.key_ = ?"), "model 1"));
+        assertNotEquals(SlowQueryLog.fingerprint("Asset", emptyList(), "model 1"), SlowQueryLog.fingerprint("Asset", emptyList(), "model 2"));
+    }
+
+}
@@ -0,0 +1,126 @@
+package newyork.common.session;
+
+import static java.util.concurrent.TimeUnit.MINUTES;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.Properties;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+
+import ua.com.fielden.platform.security.session.UserSession;
+
+/**
+ * A test case for {@link SessionStore}.
+ *
+ * @author Developers
+ *
+ */
+public class SessionStoreTest {
+
+    private static class ManualTicker extends Ticker {
+        private long nanos;
+
+        @Override
+        public long read() {
+            return nanos;
+        }
+
+        void advanceMinutes(final long minutes) {
+            nanos += MINUTES.toNanos(minutes);
+        }
+    }
+
+    private final ManualTicker ticker = new ManualTicker();
+
+    private static UserSession session(final boolean trusted) {
+        final UserSession session = new UserSession();
+        session.setTrusted(trusted);
+        return session;
+    }
+
+    @Test
+    public void sessions_of_untrusted_devices_expire_sooner_than_sessions_of_trusted_devices() {
+        final SessionStore store = new SessionStore(100, 4, 30, 2, ticker);
+        final UserSession trusted = session(true);
+        store.put("trusted", trusted);
+        store.put("untrusted", session(false));
+
+        ticker.advanceMinutes(2);
+        assertSame(trusted, store.getIfPresent("trusted"));
+        assertNull(store.getIfPresent("untrusted"));
+
+        ticker.advanceMinutes(28);
+        assertNull(store.getIfPresent("trusted"));
+        assertEquals(2, store.expirations());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    public void sessions_of_all_devices_expire_after_half_of_the_untrusted_device_session_duration_by_default() {
+        final SessionStore store = SessionStore.fromProperties(new Properties(), 5);
+        assertEquals(2, store.trustedExpiryMinutes);
+        assertEquals(2, store.untrustedExpiryMinutes);
+
+        final Properties props = new Properties();
+        props.setProperty(SessionStore.TRUSTED_EXPIRY_PROPERTY, "30");
+        assertEquals(30, SessionStore.fromProperties(props, 5).trustedExpiryMinutes);
+    }
+
+    @Test
+    public void least_recently_used_sessions_are_evicted_when_a_stripe_is_full() {
+        // a single stripe makes the eviction order exact
+        final SessionStore store = new SessionStore(2, 1, 30, 2, ticker);
+        final UserSession first = session(true);
+        store.put("first", first);
+        store.put("second", session(true));
+        store.getIfPresent("first");
+        store.put("third", session(true));
+
+        assertSame(first, store.getIfPresent("first"));
+        assertNull(store.getIfPresent("second"));
+        assertEquals(2, store.size());
+        assertEquals(1, store.sizeEvictions());
+    }
+
+    @Test
+    public void hits_misses_and_evictions_are_counted() {
+        final SessionStore store = new SessionStore(100, 4, 30, 2, ticker);
+        store.put("user", session(false));
+        store.getIfPresent("user");
+        store.getIfPresent("other");
+        ticker.advanceMinutes(5);
+        store.cleanUp();
+
+        assertEquals(1, store.stats().hitCount());
+        assertEquals(1, store.stats().missCount());
+        assertEquals(1, store.stats().evictionCount());
+    }
+
+    @Test
+    public void missing_sessions_are_loaded_and_stored() throws ExecutionException {
+        final SessionStore store = new SessionStore(100, 4, 30, 2, ticker);
+        final UserSession loaded = session(true);
+
+        assertSame(loaded, store.get("user", () -> loaded));
+        assertSame(loaded, store.get("user", () -> session(true)));
+        assertEquals(1, store.stats().hitCount());
+    }
+
+    @Test
+    public void map_view_reflects_and_modifies_the_store() {
+        final SessionStore store = new SessionStore(100, 4, 30, 2, ticker);
+        store.put("first", session(true));
+        store.put("second", session(false));
+
+        assertEquals(2, store.asMap().size());
+        store.asMap().keySet().removeIf("first"::equals);
+        assertNull(store.getIfPresent("first"));
+        assertEquals(1, store.size());
+    }
+
+}
@@ -0,0 +1,109 @@
+package newyork.common.session;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.google.common.base.Ticker;
+
+import ua.com.fielden.platform.security.session.UserSession;
+
+/**
+ * A test case for {@link SharedSessionStore}, with two nodes sharing a session invalidation log within the same process.
+ *
+ * @author Developers
+ *
+ */
+public class SharedSessionStoreTest {
+
+    private Path file;
+    private SessionInvalidationLog firstLog;
+    private SessionInvalidationLog secondLog;
+    private SharedSessionStore first;
+    private SharedSessionStore second;
+
+    @Before
+    public void setUp() throws IOException {
+        file = Files.createTempFile("sessions", ".log");
+        firstLog = new SessionInvalidationLog(file, 1024 * 1024);
+        secondLog = new SessionInvalidationLog(file, 1024 * 1024);
+        first = new SharedSessionStore(new SessionStore(100, 4, 30, 2, Ticker.systemTicker()), firstLog);
+        second = new SharedSessionStore(new SessionStore(100, 4, 30, 2, Ticker.systemTicker()), secondLog);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        firstLog.close();
+        secondLog.close();
+        Files.deleteIfExists(file);
+    }
+
+    private static UserSession session() {
+        final UserSession session = new UserSession();
+        session.setTrusted(true);
+        return session;
+    }
+
+    @Test
+    public void invalidating_a_session_on_one_node_removes_it_from_other_nodes() {
+        final UserSession session = session();
+        first.put("user", session);
+        second.put("user", session);
+        first.synchronise();
+
+        first.invalidate("user");
+        assertSame(session, second.getIfPresent("user"));
+        second.synchronise();
+        assertNull(second.getIfPresent("user"));
+    }
+
+    @Test
+    public void storing_a_session_on_one_node_removes_stale_copies_from_other_nodes_but_not_its_own() {
+        second.put("user", session());
+        final UserSession changed = session();
+        first.put("user", changed);
+
+        first.synchronise();
+        second.synchronise();
+        assertSame(changed, first.getIfPresent("user"));
+        assertNull(second.getIfPresent("user"));
+    }
+
+    @Test
+    public void invalidating_all_sessions_is_shared() {
+        second.put("first", session());
+        second.put("second", session());
+        first.synchronise();
+
+        first.invalidateAll();
+        second.synchronise();
+        assertEquals(0, second.size());
+    }
+
+    @Test
+    public void nodes_that_miss_invalidations_due_to_truncation_of_the_log_drop_all_sessions() throws IOException {
+        final SessionInvalidationLog smallLog = new SessionInvalidationLog(file, 0);
+        try {
+            final SharedSessionStore third = new SharedSessionStore(new SessionStore(100, 4, 30, 2, Ticker.systemTicker()), smallLog);
+            second.put("user", session());
+            second.synchronise();
+            // with no room in the log, the second append truncates the log and the first invalidation is lost for the second node
+            third.invalidate("first");
+            third.invalidate("second");
+
+            second.synchronise();
+            assertEquals(0, second.size());
+        } finally {
+            smallLog.close();
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+package newyork.dbsetup;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.SQLServer2012Dialect;
+import org.junit.Test;
+
+import newyork.common.ddl.DbIndex;
+import newyork.organisational.BusinessUnitClosure;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.annotation.IsProperty;
+import ua.com.fielden.platform.entity.annotation.KeyType;
+import ua.com.fielden.platform.entity.annotation.MapEntityTo;
+import ua.com.fielden.platform.entity.annotation.MapTo;
+
+/**
+ * A test case for DDL generated by {@link DbIndexDdlGenerator} for SQL Server and H2.
+ *
+ * @author Developers
+ *
+ */
+public class DbIndexDdlGeneratorTest {
+
+    @Test
+    public void all_indexes_of_an_entity_are_generated_for_SQL_Server_with_included_columns_and_existence_checks() {
+        final List<String> ddl = DbIndexDdlGenerator.generateIndexDdl(asList(BusinessUnitClosure.class), new SQLServer2012Dialect());
+
+        assertEquals(asList(
+                "IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_BUSINESSUNITCLOSURE_ANCESTOR_DESCENDANT' AND object_id = OBJECT_ID('BUSINESSUNITCLOSURE_')) "
+                + "CREATE UNIQUE INDEX IX_BUSINESSUNITCLOSURE_ANCESTOR_DESCENDANT ON BUSINESSUNITCLOSURE_ (ANCESTOR_, DESCENDANT_)",
+                "IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_BUSINESSUNITCLOSURE_DESCENDANT_ANCESTOR' AND object_id = OBJECT_ID('BUSINESSUNITCLOSURE_')) "
+                + "CREATE INDEX IX_BUSINESSUNITCLOSURE_DESCENDANT_ANCESTOR ON BUSINESSUNITCLOSURE_ (DESCENDANT_, ANCESTOR_) INCLUDE (DEPTH_)"),
+                ddl);
+    }
+
+    @Test
+    public void all_indexes_of_an_entity_are_generated_for_H2_with_included_columns_appended_to_key_columns() {
+        final List<String> ddl = DbIndexDdlGenerator.generateIndexDdl(asList(BusinessUnitClosure.class), new H2Dialect());
+
+        assertEquals(asList(
+                "CREATE UNIQUE INDEX IF NOT EXISTS IX_BUSINESSUNITCLOSURE_ANCESTOR_DESCENDANT ON BUSINESSUNITCLOSURE_ (ANCESTOR_, DESCENDANT_)",
+                "CREATE INDEX IF NOT EXISTS IX_BUSINESSUNITCLOSURE_DESCENDANT_ANCESTOR ON BUSINESSUNITCLOSURE_ (DESCENDANT_, ANCESTOR_, DEPTH_)"),
+                ddl);
+    }
+
+    @Test
+    public void H2_DDL_can_be_executed_repeatedly_against_an_existing_schema() throws SQLException {
+        final List<String> ddl = DbIndexDdlGenerator.generateIndexDdl(asList(BusinessUnitClosure.class), new H2Dialect());
+
+        try (final Connection conn = DriverManager.getConnection("jdbc:h2:mem:db_index_ddl_test", "sa", "");
+             final Statement st = conn.createStatement()) {
+            st.execute("CREATE TABLE BUSINESSUNITCLOSURE_ (_ID BIGINT PRIMARY KEY, ANCESTOR_ BIGINT, DESCENDANT_ BIGINT, DEPTH_ INT)");
+            for (final String statement : ddl) {
+                st.execute(statement);
+            }
+            // the second run finds the indexes in place and does nothing
+            for (final String statement : ddl) {
+                st.execute(statement);
+            }
+
+            try (final ResultSet rs = st.executeQuery("SELECT COUNT(DISTINCT INDEX_NAME) FROM INFORMATION_SCHEMA.INDEXES WHERE TABLE_NAME = 'BUSINESSUNITCLOSURE_' AND INDEX_NAME LIKE 'IX_%'")) {
+                assertTrue(rs.next());
+                assertEquals(2, rs.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    public void explicit_index_names_are_used_as_is() {
+        final DbIndex index = NamedIndexEntity.class.getAnnotation(DbIndex.class);
+
+        assertEquals("CREATE INDEX IF NOT EXISTS IX_CUSTOM ON NAMED_INDEX_ENTITY (CODE_)", DbIndexDdlGenerator.generateIndexDdl(NamedIndexEntity.class, index, new H2Dialect()));
+    }
+
+    @Test
+    public void unique_indexes_with_included_columns_are_rejected_for_H2_but_not_for_SQL_Server() {
+        final DbIndex index = UniqueCoveredEntity.class.getAnnotation(DbIndex.class);
+
+        assertEquals("IF NOT EXISTS (SELECT 1 FROM sys.indexes WHERE name = 'IX_UNIQUECOVEREDENTITY_CODE' AND object_id = OBJECT_ID('UNIQUECOVEREDENTITY_')) "
+                + "CREATE UNIQUE INDEX IX_UNIQUECOVEREDENTITY_CODE ON UNIQUECOVEREDENTITY_ (CODE_) INCLUDE (DEPTH_)",
+                DbIndexDdlGenerator.generateIndexDdl(UniqueCoveredEntity.class, index, new SQLServer2012Dialect()));
+        try {
+            DbIndexDdlGenerator.generateIndexDdl(UniqueCoveredEntity.class, index, new H2Dialect());
+            fail("Unique index with included columns should not be supported by H2.");
+        } catch (final IllegalArgumentException ex) {
+            assertTrue(ex.getMessage().startsWith("Unique index [IX_UNIQUECOVEREDENTITY_CODE] with included properties is not supported"));
+        }
+    }
+
+    @KeyType(String.class)
+    @MapEntityTo("NAMED_INDEX_ENTITY")
+    @DbIndex(name = "IX_CUSTOM", props = {"code"})
+    public static class NamedIndexEntity extends AbstractEntity<String> {
+        @IsProperty
+        @MapTo
+        private String code;
+    }
+
+    @KeyType(String.class)
+    @MapEntityTo
+    @DbIndex(props = {"code"}, unique = true, include = {"depth"})
+    public static class UniqueCoveredEntity extends AbstractEntity<String> {
+        @IsProperty
+        @MapTo
+        private String code;
+
+        @IsProperty
+        @MapTo
+        private Integer depth;
+    }
+
+}
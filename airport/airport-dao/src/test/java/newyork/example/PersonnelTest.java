@@ -1,12 +1,17 @@
 package newyork.example;
 
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.*;
 import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetch;
 import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
 import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
 import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+import static ua.com.fielden.platform.types.tuples.T3.t3;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import org.junit.Test;
 
@@ -14,9 +19,12 @@ import ua.com.fielden.platform.dao.QueryExecutionModel;
 import ua.com.fielden.platform.entity.query.fluent.fetch;
 import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
 import ua.com.fielden.platform.entity.query.model.OrderingModel;
+import ua.com.fielden.platform.error.Result;
 import ua.com.fielden.platform.security.user.User;
 import ua.com.fielden.platform.utils.IUniversalConstants;
+import newyork.personnel.IPerson;
 import newyork.personnel.Person;
+import newyork.personnel.PersonDao;
 import newyork.test_config.AbstractDaoTestCase;
 import newyork.test_config.UniversalConstantsForTesting;
 
@@ -49,6 +57,82 @@ public class PersonnelTest extends AbstractDaoTestCase {
         assertFalse(person.isActive());
     }
 
+    @Test
+    public void unique_person_code_skips_codes_taken_by_existing_persons() {
+        final IPerson coPerson = co(Person.class);
+        assertEquals("RMCD", coPerson.generateUniquePersonCode("Ronald", "McDonald", "rmcdonald"));
+        assertEquals("JCA", coPerson.generateUniquePersonCode("John", "Carmack", "jcarmack"));
+    }
+
+    @Test
+    public void unique_person_codes_generated_in_one_pass_do_not_clash_with_each_other() {
+        final IPerson coPerson = co(Person.class);
+        final List<String> codes = coPerson.generateUniquePersonCodes(asList(t3("John", "Carmack", "jcarmack"), t3("John", "Carmack", "john.carmack"), t3("Mary", "Poppins", "mpoppins")));
+        // JCAR and JC are taken by existing persons, and JCA by the first John Carmack, so the second one gets the username-based code
+        assertEquals(asList("JCA", "JOHN", "MPOP"), codes);
+    }
+
+    @Test
+    public void unique_person_codes_are_generated_for_names_shorter_than_the_code() {
+        final IPerson coPerson = co(Person.class);
+        final List<String> codes = coPerson.generateUniquePersonCodes(asList(t3("Al", "Wu", "al.wu"), t3("Al", "Wu", "a.w"), t3("Mary", "Poppins", "mpoppins")));
+        assertEquals(asList("AWU", "AW", "MPOP"), codes);
+    }
+
+    @Test
+    public void makeUsers_makes_all_persons_application_users() {
+        final IPerson coPerson = co$(Person.class);
+        final List<Person> persons = coPerson.makeUsers(asList(coPerson.findByKey("RMD"), coPerson.findByKey("JCAR")));
+        assertEquals(asList("JCAR", "RMD"), persons.stream().map(Person::getKey).collect(toList()));
+        assertTrue(persons.stream().allMatch(Person::isUser));
+        assertNotNull(co(User.class).findByKey("RMD"));
+        assertNotNull(co(User.class).findByKey("JCAR"));
+    }
+
+    @Test
+    public void makeUsers_makes_no_users_if_any_of_the_persons_is_a_user_already() {
+        final IPerson coPerson = co$(Person.class);
+        try {
+            coPerson.makeUsers(asList(coPerson.findByKey("RMD"), coPerson.findByKey(TEST_PERSON_KEY)));
+            fail();
+        } catch (final Result ex) {
+            assertEquals(format(PersonDao.ERR_ALREADY_USERS, TEST_PERSON_KEY), ex.getMessage());
+        }
+        assertNull(co(User.class).findByKey("RMD"));
+    }
+
+    @Test
+    public void makeUser_checks_the_latest_state_of_the_person_rather_than_the_passed_instance() {
+        final IPerson coPerson = co$(Person.class);
+        final Person stalePerson = coPerson.findByKey("RMD");
+        coPerson.makeUser(coPerson.findByKey("RMD"));
+        try {
+            coPerson.makeUser(stalePerson);
+            fail();
+        } catch (final Result ex) {
+            assertEquals(format(PersonDao.ERR_ALREADY_A_USER, "RMD"), ex.getMessage());
+        }
+    }
+
+    @Test
+    public void makeUser_and_makeUsers_fail_for_persons_that_are_not_persisted() {
+        final IPerson coPerson = co$(Person.class);
+        final Person newPerson = new_(Person.class, "NEW").setDesc("New Person");
+        try {
+            coPerson.makeUser(newPerson);
+            fail();
+        } catch (final Result ex) {
+            assertEquals(format(PersonDao.ERR_NOT_FOUND, "NEW"), ex.getMessage());
+        }
+        try {
+            coPerson.makeUsers(asList(coPerson.findByKey("RMD"), newPerson));
+            fail();
+        } catch (final Result ex) {
+            assertEquals(format(PersonDao.ERR_NOT_FOUND_MANY, "NEW"), ex.getMessage());
+        }
+        assertNull(co(User.class).findByKey("RMD"));
+    }
+
     /**
      * In case of a complex data population it is possible to store the data into a script by changing this method to return <code>true</code>.
      * <p>
@@ -99,6 +183,7 @@ public class PersonnelTest extends AbstractDaoTestCase {
     	// Here the three Person entities are persisted using the the inherited from TG testing framework methods.
         save(new_(Person.class, "RMD", "Ronald McDonald").setActive(true));
         save(new_(Person.class, "JC", "John Carmack").setActive(false));
+        save(new_(Person.class, "JCAR", "John Carmack Jr").setActive(true));
     }
 
 }
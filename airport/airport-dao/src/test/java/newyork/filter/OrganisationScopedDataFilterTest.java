@@ -0,0 +1,194 @@
+package newyork.filter;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import newyork.assets.Asset;
+import newyork.assets.IAsset;
+import newyork.organisational.BusinessUnit;
+import newyork.organisational.Organisation;
+import newyork.personnel.Person;
+import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.AssetCurrOwnership;
+import newyork.tablescodes.assets.IAssetCurrOwnership;
+import newyork.tablescodes.assets.AssetOwnership;
+import newyork.tablescodes.assets.AssetType;
+import newyork.tablescodes.assets.IAssetResponsibilityResolver;
+import newyork.test_config.AbstractDaoTestCase;
+import newyork.test_config.UniversalConstantsForTesting;
+import ua.com.fielden.platform.security.user.IUserProvider;
+import ua.com.fielden.platform.security.user.User;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A test case for {@link OrganisationScopedDataFilter}.
+ *
+ * @author Developers
+ *
+ */
+public class OrganisationScopedDataFilterTest extends AbstractDaoTestCase {
+
+    private static final String CONTRACTOR = "CON";
+
+    private <T> T as(final String username, final Supplier<T> action) {
+        final IUserProvider userProvider = getInstance(IUserProvider.class);
+        userProvider.setUsername(username, co(User.class));
+        try {
+            return action.get();
+        } finally {
+            userProvider.setUsername(User.system_users.UNIT_TEST_USER.name(), co(User.class));
+        }
+    }
+
+    private List<String> assetsVisibleTo(final String username) {
+        return as(username, () -> co(Asset.class).getAllEntities(from(select(Asset.class).model())
+                .with(fetchKeyAndDescOnly(Asset.class))
+                .with(orderBy().prop("key").asc().model()).model())
+                .stream().map(Asset::getKey).collect(toList()));
+    }
+
+    private AssetOwnership currentOwnershipOf(final Asset asset) {
+        return co(AssetCurrOwnership.class).findByKeyAndFetch(IAssetCurrOwnership.FETCH_PROVIDER.fetchModel(), asset).getOwnership();
+    }
+
+    @Test
+    public void users_of_persons_without_an_organisation_see_all_assets() {
+        assertEquals(asList("1", "2", "3"), assetsVisibleTo(User.system_users.UNIT_TEST_USER.name()));
+    }
+
+    @Test
+    public void users_of_persons_with_an_organisation_see_only_assets_currently_owned_by_that_organisation() {
+        assertEquals(asList("1"), assetsVisibleTo(CONTRACTOR));
+    }
+
+    @Test
+    public void users_of_persons_with_an_organisation_see_only_ownerships_by_that_organisation() {
+        final IUserProvider userProvider = getInstance(IUserProvider.class);
+        userProvider.setUsername(CONTRACTOR, co(User.class));
+        try {
+            final List<AssetOwnership> ownerships = co(AssetOwnership.class).getAllEntities(from(select(AssetOwnership.class).model())
+                    .with(fetchKeyAndDescOnly(AssetOwnership.class).with("org")).model());
+            assertEquals(1, ownerships.size());
+            assertEquals("ORG1", ownerships.get(0).getOrg().getName());
+        } finally {
+            userProvider.setUsername(User.system_users.UNIT_TEST_USER.name(), co(User.class));
+        }
+    }
+
+    @Test
+    public void changing_the_organisation_of_a_person_changes_the_visibility_of_its_user() {
+        assertEquals(asList("1"), assetsVisibleTo(CONTRACTOR));
+
+        final Person contractor = co$(Person.class).findByKey(CONTRACTOR);
+        save(contractor.setOrganisation(co(Organisation.class).findByKey("ORG2")));
+        assertEquals(asList("2"), assetsVisibleTo(CONTRACTOR));
+
+        save(co$(Person.class).findByKey(CONTRACTOR).setOrganisation(null));
+        assertEquals(asList("1", "2", "3"), assetsVisibleTo(CONTRACTOR));
+    }
+
+    @Test
+    public void ownerships_saved_by_scoped_users_can_hand_assets_over_to_organisations_the_users_cannot_see() {
+        final Asset a1 = co(Asset.class).findByKey("1");
+        final AssetType at1 = co(AssetType.class).findByKey("AT1");
+        final Organisation org2 = co(Organisation.class).findByKey("ORG2");
+
+        final AssetOwnership handedOver = as(CONTRACTOR, () -> save(co(AssetOwnership.class).new_()
+                .setAsset(a1).setAssetType(at1).setStartDate(date("2019-12-12 00:00:00")).setOrg(org2)));
+        assertNotNull(handedOver);
+        assertEquals(handedOver, currentOwnershipOf(a1));
+        assertEquals(asList(), assetsVisibleTo(CONTRACTOR));
+    }
+
+    @Test
+    public void ownerships_saved_by_scoped_users_can_hand_assets_over_to_business_units() {
+        final Asset a1 = co(Asset.class).findByKey("1");
+        final AssetType at1 = co(AssetType.class).findByKey("AT1");
+        final BusinessUnit bu1 = co(BusinessUnit.class).findByKey("BU1");
+
+        final AssetOwnership handedOver = as(CONTRACTOR, () -> save(co(AssetOwnership.class).new_()
+                .setAsset(a1).setAssetType(at1).setStartDate(date("2019-12-12 00:00:00")).setBu(bu1)));
+        assertNotNull(handedOver);
+        assertEquals(handedOver, currentOwnershipOf(a1));
+        assertEquals(1, co(AssetCurrOwnership.class).count(select(AssetCurrOwnership.class).where().prop("key").eq().val(a1).model()));
+    }
+
+    @Test
+    public void ownerships_deleted_by_scoped_users_roll_the_current_ownership_back() {
+        final Asset a1 = co(Asset.class).findByKey("1");
+        final AssetType at1 = co(AssetType.class).findByKey("AT1");
+        final AssetOwnership original = currentOwnershipOf(a1);
+
+        final AssetOwnership handedOver = as(CONTRACTOR, () -> save(co(AssetOwnership.class).new_()
+                .setAsset(a1).setAssetType(at1).setStartDate(date("2019-12-12 00:00:00")).setOrg(co(Organisation.class).findByKey("ORG2"))));
+        as(CONTRACTOR, () -> co$(AssetOwnership.class).batchDelete(asList(handedOver.getId())));
+        assertEquals(original, currentOwnershipOf(a1));
+        assertEquals(asList("1"), assetsVisibleTo(CONTRACTOR));
+    }
+
+    @Test
+    public void responsibilities_are_resolved_regardless_of_scoping_and_hide_owners_the_current_user_cannot_see() {
+        final Asset a1 = co(Asset.class).findByKeyAndFetch(IAsset.FETCH_PROVIDER.fetchModel(), "1");
+        final Organisation org1 = co(Organisation.class).findByKey("ORG1");
+        final Organisation org2 = co(Organisation.class).findByKey("ORG2");
+        // a past ownership by an organisation the contractor cannot see
+        save(co(AssetOwnership.class).new_().setAsset(a1).setAssetType(a1.getAssetType()).setStartDate(date("2019-12-05 00:00:00")).setOrg(org2));
+        final IAssetResponsibilityResolver resolver = getInstance(IAssetResponsibilityResolver.class);
+
+        // the contractor resolves first, which caches the responsibilities
+        assertFalse(as(CONTRACTOR, () -> resolver.resolve(asList(a1), date("2019-12-07 00:00:00"))).get(a1.getId()).owner().isPresent());
+        assertEquals(org2, resolver.resolve(asList(a1), date("2019-12-07 00:00:00")).get(a1.getId()).owner().get().getOrg());
+        assertEquals(org1, as(CONTRACTOR, () -> resolver.resolve(asList(a1), date("2019-12-16 00:00:00"))).get(a1.getId()).owner().get().getOrg());
+    }
+
+    @Override
+    public boolean saveDataPopulationScriptToFile() {
+        return false;
+    }
+
+    @Override
+    public boolean useSavedDataPopulationScript() {
+        return false;
+    }
+
+    @Override
+    protected void populateDomain() {
+        super.populateDomain();
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-12-16 13:00:00"));
+
+        if (useSavedDataPopulationScript()) {
+            return;
+        }
+
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("First asset class").setActive(true));
+        final AssetType at1 = save(new_(AssetType.class).setName("AT1").setDesc("First asset type").setAssetClass(ac1).setActive(true));
+        final Organisation org1 = save(new_(Organisation.class).setName("ORG1").setDesc("First organisation"));
+        final Organisation org2 = save(new_(Organisation.class).setName("ORG2").setDesc("Second organisation"));
+        save(new_(BusinessUnit.class).setName("BU1").setDesc("First business unit"));
+
+        final Asset a1 = save(new_(Asset.class).setDesc("first asset").setAssetType(at1).setActive(true));
+        final Asset a2 = save(new_(Asset.class).setDesc("second asset").setAssetType(at1).setActive(true));
+        save(new_(Asset.class).setDesc("third asset").setAssetType(at1).setActive(true));
+
+        save(co(AssetOwnership.class).new_().setAsset(a1).setAssetType(at1).setStartDate(date("2019-12-10 00:00:00")).setOrg(org1));
+        save(co(AssetOwnership.class).new_().setAsset(a2).setAssetType(at1).setStartDate(date("2019-12-10 00:00:00")).setOrg(org2));
+
+        final Person contractor = save(new_(Person.class, CONTRACTOR).setDesc("Contractor").setEmail("contractor@newyork").setOrganisation(org1).setActive(true));
+        co$(Person.class).makeUser(contractor);
+    }
+
+}
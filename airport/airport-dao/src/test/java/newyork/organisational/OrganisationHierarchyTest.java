@@ -0,0 +1,181 @@
+package newyork.organisational;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static newyork.organisational.ClosureTables.ERR_CYCLIC_PARENT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.List;
+
+import org.junit.Test;
+
+import newyork.test_config.AbstractDaoTestCase;
+import newyork.test_config.UniversalConstantsForTesting;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+import ua.com.fielden.platform.error.Result;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A test case for the closure-table hierarchies of {@link Organisation}, {@link BusinessUnit} and {@link Role}, which are maintained by {@link ClosureTables}.
+ *
+ * @author Developers
+ *
+ */
+public class OrganisationHierarchyTest extends AbstractDaoTestCase {
+
+    @Test
+    public void subtree_of_an_organisation_includes_the_organisation_itself_and_all_organisations_under_it() {
+        assertEquals(asList("AIR", "GATES", "OPS"), subtreeOf("OPS"));
+        assertEquals(asList("AIR", "GATES"), subtreeOf("AIR"));
+        assertEquals(asList("FIN"), subtreeOf("FIN"));
+        assertEquals(Integer.valueOf(0), depth("OPS", "OPS"));
+        assertEquals(Integer.valueOf(2), depth("OPS", "GATES"));
+    }
+
+    @Test
+    public void re_parenting_an_organisation_moves_its_whole_subtree() {
+        save(organisation("AIR").setParent(co(Organisation.class).findByKey("FIN")));
+
+        assertEquals(asList("OPS"), subtreeOf("OPS"));
+        assertEquals(asList("AIR", "FIN", "GATES"), subtreeOf("FIN"));
+        assertEquals(asList("AIR", "GATES"), subtreeOf("AIR"));
+        assertEquals(Integer.valueOf(2), depth("FIN", "GATES"));
+        assertEquals(Integer.valueOf(1), depth("AIR", "GATES"));
+    }
+
+    @Test
+    public void removing_the_parent_makes_an_organisation_a_root() {
+        save(organisation("GATES").setParent(null));
+
+        assertEquals(asList("AIR", "OPS"), subtreeOf("OPS"));
+        assertEquals(asList("GATES"), subtreeOf("GATES"));
+        assertEquals(1, co(OrganisationClosure.class).count(select(OrganisationClosure.class).where().prop("descendant").eq().val(organisation("GATES")).model()));
+    }
+
+    @Test
+    public void an_organisation_cannot_be_placed_under_itself_or_an_organisation_under_it() {
+        try {
+            save(organisation("OPS").setParent(co(Organisation.class).findByKey("GATES")));
+            fail("Cyclic parent should have been rejected.");
+        } catch (final Result ex) {
+            assertEquals(String.format(ERR_CYCLIC_PARENT, Organisation.ENTITY_TITLE, "OPS", "GATES"), ex.getMessage());
+        }
+        try {
+            final Organisation air = organisation("AIR");
+            save(air.setParent(air));
+            fail("Cyclic parent should have been rejected.");
+        } catch (final Result ex) {
+            assertEquals(String.format(ERR_CYCLIC_PARENT, Organisation.ENTITY_TITLE, "AIR", "AIR"), ex.getMessage());
+        }
+        assertEquals(asList("AIR", "GATES", "OPS"), subtreeOf("OPS"));
+    }
+
+    @Test
+    public void rebuilding_recomputes_the_same_closure_records() {
+        assertEquals(7, co$(OrganisationClosure.class).rebuild());
+
+        assertEquals(asList("AIR", "GATES", "OPS"), subtreeOf("OPS"));
+        assertEquals(Integer.valueOf(2), depth("OPS", "GATES"));
+    }
+
+    @Test
+    public void rebuilding_if_empty_populates_closure_records_only_if_there_are_none() {
+        assertEquals(0, co$(OrganisationClosure.class).rebuildIfEmpty());
+
+        deleteAllClosureRecords();
+        assertEquals(7, co$(OrganisationClosure.class).rebuildIfEmpty());
+        assertEquals(asList("AIR", "GATES", "OPS"), subtreeOf("OPS"));
+    }
+
+    @Test
+    public void creating_an_organisation_under_a_parent_without_closure_records_rebuilds_the_whole_tree() {
+        deleteAllClosureRecords();
+        save(new_(Organisation.class).setName("STANDS").setDesc("Stands").setParent(co(Organisation.class).findByKey("AIR")));
+
+        assertEquals(asList("AIR", "GATES", "OPS", "STANDS"), subtreeOf("OPS"));
+        assertEquals(Integer.valueOf(2), depth("OPS", "STANDS"));
+        assertEquals(asList("FIN"), subtreeOf("FIN"));
+    }
+
+    @Test
+    public void re_parenting_an_organisation_without_closure_records_rebuilds_the_whole_tree() {
+        deleteAllClosureRecords();
+        save(organisation("AIR").setParent(co(Organisation.class).findByKey("FIN")));
+
+        assertEquals(asList("AIR", "FIN", "GATES"), subtreeOf("FIN"));
+        assertEquals(asList("OPS"), subtreeOf("OPS"));
+    }
+
+    @Test
+    public void business_units_and_roles_are_hierarchies_as_well() {
+        final BusinessUnit division = save(new_(BusinessUnit.class).setName("DIV").setDesc("Division"));
+        final BusinessUnit department = save(new_(BusinessUnit.class).setName("DEP").setDesc("Department").setParent(division));
+        save(new_(BusinessUnit.class).setName("SEC").setDesc("Section").setParent(department));
+        assertEquals(3, co(BusinessUnitClosure.class).count(select(BusinessUnitClosure.class).where().prop("ancestor").eq().val(division).model()));
+
+        final Role manager = save(new_(Role.class).setName("MGR").setDesc("Manager"));
+        final Role supervisor = save(new_(Role.class).setName("SUP").setDesc("Supervisor").setParent(manager));
+        try {
+            save(co$(Role.class).findByKeyAndFetch(IRole.FETCH_PROVIDER.fetchModel(), "MGR").setParent(supervisor));
+            fail("Cyclic parent should have been rejected.");
+        } catch (final Result ex) {
+            assertEquals(String.format(ERR_CYCLIC_PARENT, Role.ENTITY_TITLE, "MGR", "SUP"), ex.getMessage());
+        }
+    }
+
+    private void deleteAllClosureRecords() {
+        final IOrganisationClosure co = co$(OrganisationClosure.class);
+        co.batchDelete(co.getAllEntities(from(select(OrganisationClosure.class).model()).with(fetchKeyAndDescOnly(OrganisationClosure.class)).model()));
+    }
+
+    private Organisation organisation(final String name) {
+        return co$(Organisation.class).findByKeyAndFetch(IOrganisation.FETCH_PROVIDER.fetchModel(), name);
+    }
+
+    private List<String> subtreeOf(final String name) {
+        final EntityResultQueryModel<Organisation> query = select(Organisation.class).where()
+                .prop("id").in().model(IOrganisationClosure.subtreeOf(co(Organisation.class).findByKey(name))).model();
+        return co(Organisation.class).getAllEntities(from(query).with(fetchKeyAndDescOnly(Organisation.class)).with(orderBy().prop("name").asc().model()).model())
+                .stream().map(Organisation::getName).collect(toList());
+    }
+
+    private Integer depth(final String ancestor, final String descendant) {
+        final EntityResultQueryModel<OrganisationClosure> query = select(OrganisationClosure.class).where()
+                .prop("ancestor").eq().val(co(Organisation.class).findByKey(ancestor)).and()
+                .prop("descendant").eq().val(co(Organisation.class).findByKey(descendant)).model();
+        return co(OrganisationClosure.class).getEntity(from(query).with(IOrganisationClosure.FETCH_PROVIDER.fetchModel()).model()).getDepth();
+    }
+
+    @Override
+    public boolean saveDataPopulationScriptToFile() {
+        return false;
+    }
+
+    @Override
+    public boolean useSavedDataPopulationScript() {
+        return false;
+    }
+
+    @Override
+    protected void populateDomain() {
+        super.populateDomain();
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-12-16 13:00:00"));
+
+        if (useSavedDataPopulationScript()) {
+            return;
+        }
+
+        final Organisation ops = save(new_(Organisation.class).setName("OPS").setDesc("Operations"));
+        final Organisation air = save(new_(Organisation.class).setName("AIR").setDesc("Airside").setParent(ops));
+        save(new_(Organisation.class).setName("GATES").setDesc("Gates").setParent(air));
+        save(new_(Organisation.class).setName("FIN").setDesc("Finance"));
+    }
+
+}
@@ -1,5 +1,6 @@
 package newyork.projects;
 
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNull;
@@ -10,6 +11,7 @@ import org.junit.Test;
 import newyork.assets.Asset;
 import newyork.assets.AssetFinDet;
 import newyork.assets.IAssetFinDet;
+import newyork.projects.ProjectPeriods.Period;
 import newyork.projects.validators.ProjectStartAndFinishDatesValidator;
 import newyork.tablescodes.assets.AssetClass;
 import newyork.tablescodes.assets.AssetType;
@@ -103,6 +105,37 @@ public class ProjectTest extends AbstractDaoTestCase {
         assertTrue(project.isValid().isSuccessful());
     }
 
+    @Test
+    public void acquire_dates_are_validated_against_the_latest_project_period() {
+        final AssetType at1 = co(AssetType.class).findByKey("AT1");
+        final Project project = save(new_(Project.class).setName("PROJECT 1")
+                .setStartDate(date("2019-10-01 00:00:00"))
+                .setFinishDate(date("2019-12-01 00:00:00"))
+                .setDesc("Project 1 description"));
+        final Asset asset1 = save(new_(Asset.class).setDesc("first asset").setAssetType(at1));
+
+        final AssetFinDet finDet = co$(AssetFinDet.class).findById(asset1.getId(), IAssetFinDet.FETCH_PROVIDER.fetchModel()).setProject(project);
+        finDet.setAcquireDate(date("2020-01-02 00:00:00"));
+        assertFalse(finDet.getProperty("acquireDate").isValid());
+
+        save(co$(Project.class).findById(project.getId(), IProject.FETCH_PROVIDER.fetchModel()).setFinishDate(date("2020-10-01 00:00:00")));
+
+        final AssetFinDet reloadedFinDet = co$(AssetFinDet.class).findById(asset1.getId(), IAssetFinDet.FETCH_PROVIDER.fetchModel()).setProject(project);
+        reloadedFinDet.setAcquireDate(date("2020-01-02 00:00:00"));
+        assertTrue(reloadedFinDet.getProperty("acquireDate").isValid());
+    }
+
+    @Test
+    public void periods_of_deleted_projects_are_discarded() {
+        final ProjectPeriods periods = getInstance(ProjectPeriods.class);
+        final Project project = save(new_(Project.class).setName("PROJECT 1").setStartDate(date("2019-10-01 00:00:00")).setDesc("Project 1 description"));
+        assertTrue(periods.contains(project.getId(), date("2019-10-02 00:00:00"), id -> Period.of(project)));
+
+        co$(Project.class).batchDelete(asList(project.getId()));
+
+        assertFalse(periods.contains(project.getId(), date("2019-10-02 00:00:00"), id -> Period.NONE));
+    }
+
     @Override
     public boolean saveDataPopulationScriptToFile() {
         return false;
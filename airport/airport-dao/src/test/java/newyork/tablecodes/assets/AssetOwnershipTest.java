@@ -7,6 +7,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -108,23 +110,28 @@ public class AssetOwnershipTest extends AbstractDaoTestCase {
         
         final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
         constants.setNow(dateTime("2019-12-10 13:00:00"));
+        co$(AssetCurrOwnership.class).refresh(asset);
         
         final Asset assetWithCurrOwnership1 = co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel());
         assertNull(assetWithCurrOwnership1.getCurrOwnership());
         
         constants.setNow(dateTime("2019-12-16 13:00:00"));
+        co$(AssetCurrOwnership.class).refresh(asset);
         final Asset assetWithCurrOwnership2 = co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel());
         assertEquals(o0, assetWithCurrOwnership2.getCurrOwnership());
         
         constants.setNow(dateTime("2019-12-17 13:00:00"));
+        co$(AssetCurrOwnership.class).refresh(asset);
         final Asset assetWithCurrOwnership3 = co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel());
         assertEquals(o1, assetWithCurrOwnership3.getCurrOwnership());
         
         constants.setNow(dateTime("2019-12-18 13:00:00"));
+        co$(AssetCurrOwnership.class).refresh(asset);
         final Asset assetWithCurrOwnership4 = co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel());
         assertEquals(o2, assetWithCurrOwnership4.getCurrOwnership());
         
         constants.setNow(dateTime("2020-02-18 13:00:00"));
+        co$(AssetCurrOwnership.class).refresh(asset);
         final Asset assetWithCurrOwnership5 = co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel());
         assertEquals(o4, assetWithCurrOwnership5.getCurrOwnership());
     
@@ -172,23 +179,27 @@ public class AssetOwnershipTest extends AbstractDaoTestCase {
         
         final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
         constants.setNow(dateTime("2019-12-10 13:00:00"));
+        co$(AssetCurrOwnership.class).refresh(asset);
         
         final Asset assetWithCurrOwnership1 = co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel());
         assertNull(assetWithCurrOwnership1.getCurrOwnership());
         assertNull(assetWithCurrOwnership1.getAssetType().getCurrOwnership());
         
         constants.setNow(dateTime("2019-12-14 13:00:00"));
+        co$(AssetCurrOwnership.class).refresh(asset);
         final Asset assetWithCurrOwnership2 = co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel());
         assertEquals(o0, assetWithCurrOwnership2.getCurrOwnership());
         assertNull(assetWithCurrOwnership2.getAssetType().getCurrOwnership());
         
         constants.setNow(dateTime("2019-12-17 13:00:00"));
+        co$(AssetCurrOwnership.class).refresh(asset);
         final Asset assetWithCurrOwnership3 = co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel());
         assertEquals(o1, assetWithCurrOwnership3.getCurrOwnership());
         final AssetTypeOwnership assetTypeOwnership1 = co(AssetTypeOwnership.class).findByKeyAndFetch(IAsset.FETCH_PROVIDER.<AssetTypeOwnership>fetchFor("assetType.currOwnership").fetchModel(), assetWithCurrOwnership3.getAssetType(), date("2019-12-17 00:00:00"));
         assertEquals(assetTypeOwnership1, assetWithCurrOwnership3.getAssetType().getCurrOwnership());
         
         constants.setNow(dateTime("2020-02-18 13:00:00"));
+        co$(AssetCurrOwnership.class).refresh(asset);
         final Asset assetWithCurrOwnership5 = co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel());
         assertEquals(o4, assetWithCurrOwnership5.getCurrOwnership());
         final AssetTypeOwnership assetTypeOwnership2 = co(AssetTypeOwnership.class).findByKeyAndFetch(IAsset.FETCH_PROVIDER.<AssetTypeOwnership>fetchFor("assetType.currOwnership").fetchModel(), assetWithCurrOwnership3.getAssetType(), date("2019-12-19 00:00:00"));
@@ -196,6 +207,76 @@ public class AssetOwnershipTest extends AbstractDaoTestCase {
     
     }
     
+    @Test
+    public void rolling_forward_picks_up_future_dated_ownerships_that_came_into_effect() {
+        final Asset asset = co(Asset.class).findByKeyAndFetch(IAssetOwnership.FETCH_PROVIDER.<Asset>fetchFor("asset").fetchModel(), "1");
+        final AssetType at1 = co(AssetType.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<AssetType>fetchFor("assetType").fetchModel(), "AT1");
+        final Role r1 = co(Role.class).findByKeyAndFetch(IAssetOwnership.FETCH_PROVIDER.<Role>fetchFor("role").fetchModel(), "R1");
+        final Organisation org1 = co(Organisation.class).findByKeyAndFetch(IAssetOwnership.FETCH_PROVIDER.<Organisation>fetchFor("org").fetchModel(), "ORG1");
+
+        final AssetOwnership o1 = save(co(AssetOwnership.class).new_()
+                .setAsset(asset)
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-13 00:00:00"))
+                .setOrg(org1));
+        final AssetOwnership o2 = save(co(AssetOwnership.class).new_()
+                .setAsset(asset)
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-17 00:00:00"))
+                .setRole(r1));
+        assertEquals(o1, co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel()).getCurrOwnership());
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-12-17 01:00:00"));
+        assertEquals("The projection should not change until rolled forward.", o1, co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel()).getCurrOwnership());
+
+        assertEquals(1, co$(AssetCurrOwnership.class).rollForward(date("2019-12-16 00:00:00")));
+        assertEquals(o2, co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel()).getCurrOwnership());
+
+        assertEquals("Nothing came into effect since the last run.", 0, co$(AssetCurrOwnership.class).rollForward(dateTime("2019-12-17 01:00:00").toDate()));
+    }
+
+    @Test
+    public void populating_an_already_populated_projection_does_nothing() {
+        final Asset asset = co(Asset.class).findByKeyAndFetch(IAssetOwnership.FETCH_PROVIDER.<Asset>fetchFor("asset").fetchModel(), "1");
+        final AssetType at1 = co(AssetType.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<AssetType>fetchFor("assetType").fetchModel(), "AT1");
+        final Organisation org1 = co(Organisation.class).findByKeyAndFetch(IAssetOwnership.FETCH_PROVIDER.<Organisation>fetchFor("org").fetchModel(), "ORG1");
+        final AssetOwnership o1 = save(co(AssetOwnership.class).new_()
+                .setAsset(asset)
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-13 00:00:00"))
+                .setOrg(org1));
+
+        assertEquals(0, co$(AssetCurrOwnership.class).populateIfEmpty());
+        assertEquals(o1, co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel()).getCurrOwnership());
+    }
+
+    @Test
+    public void deleting_the_current_ownership_falls_back_to_the_previous_one() {
+        final Asset asset = co(Asset.class).findByKeyAndFetch(IAssetOwnership.FETCH_PROVIDER.<Asset>fetchFor("asset").fetchModel(), "1");
+        final AssetType at1 = co(AssetType.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<AssetType>fetchFor("assetType").fetchModel(), "AT1");
+        final BusinessUnit bu1 = co(BusinessUnit.class).findByKeyAndFetch(IAssetOwnership.FETCH_PROVIDER.<BusinessUnit>fetchFor("bu").fetchModel(), "BU1");
+        final Organisation org1 = co(Organisation.class).findByKeyAndFetch(IAssetOwnership.FETCH_PROVIDER.<Organisation>fetchFor("org").fetchModel(), "ORG1");
+
+        final AssetOwnership o1 = save(co(AssetOwnership.class).new_()
+                .setAsset(asset)
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-13 00:00:00"))
+                .setOrg(org1));
+        final AssetOwnership o2 = save(co(AssetOwnership.class).new_()
+                .setAsset(asset)
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-15 00:00:00"))
+                .setBu(bu1));
+        assertEquals(o2, co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel()).getCurrOwnership());
+
+        co$(AssetOwnership.class).batchDelete(Arrays.asList(o2.getId()));
+        assertEquals(o1, co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel()).getCurrOwnership());
+
+        co$(AssetOwnership.class).batchDelete(Arrays.asList(o1.getId()));
+        assertNull(co(Asset.class).findById(asset.getId(), IAsset.FETCH_PROVIDER.fetchModel()).getCurrOwnership());
+    }
+
     @Test
     public void different_ownerships_for_the_same_asset_on_the_same_date_is_not_permited() {
         final Asset asset = co(Asset.class).findByKeyAndFetch(IAssetOwnership.FETCH_PROVIDER.<Asset>fetchFor("asset").fetchModel(), "1");
@@ -0,0 +1,147 @@
+package newyork.tablecodes.assets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+
+import org.junit.Test;
+
+import newyork.assets.Asset;
+import newyork.assets.IAsset;
+import newyork.organisational.BusinessUnit;
+import newyork.organisational.Organisation;
+import newyork.organisational.Role;
+import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.AssetOperation;
+import newyork.tablescodes.assets.AssetOwnership;
+import newyork.tablescodes.assets.AssetResponsibilities;
+import newyork.tablescodes.assets.AssetType;
+import newyork.tablescodes.assets.AssetTypeManagement;
+import newyork.tablescodes.assets.AssetTypeOwnership;
+import newyork.tablescodes.assets.IAssetResponsibilityResolver;
+import newyork.test_config.AbstractDaoTestCase;
+import newyork.test_config.UniversalConstantsForTesting;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A test case for {@link IAssetResponsibilityResolver}.
+ *
+ * @author Developers
+ *
+ */
+public class AssetResponsibilityResolverTest extends AbstractDaoTestCase {
+
+    private Asset asset(final String number) {
+        return co(Asset.class).findByKeyAndFetch(IAsset.FETCH_PROVIDER.fetchModel(), number);
+    }
+
+    @Test
+    public void asset_level_records_override_asset_type_level_ones() {
+        final Asset a1 = asset("1");
+        final Asset a2 = asset("2");
+        final Map<Long, AssetResponsibilities> resolved = getInstance(IAssetResponsibilityResolver.class).resolve(Arrays.asList(a1, a2), date("2019-12-16 00:00:00"));
+
+        final AssetResponsibilities r1 = resolved.get(a1.getId());
+        assertEquals(co(Organisation.class).findByKey("ORG1"), r1.owner().get().getOrg());
+        assertTrue(r1.owner().get().isAssetLevel());
+        assertEquals(co(BusinessUnit.class).findByKey("BU1"), r1.manager().get().getBu());
+        assertFalse(r1.manager().get().isAssetLevel());
+        assertFalse(r1.operator().isPresent());
+
+        final AssetResponsibilities r2 = resolved.get(a2.getId());
+        assertEquals(co(Role.class).findByKey("R1"), r2.owner().get().getRole());
+        assertFalse(r2.owner().get().isAssetLevel());
+        assertEquals(co(BusinessUnit.class).findByKey("BU1"), r2.manager().get().getBu());
+        assertEquals(co(Role.class).findByKey("R1"), r2.operator().get().getRole());
+        assertTrue(r2.operator().get().isAssetLevel());
+    }
+
+    @Test
+    public void records_are_in_effect_from_their_start_date_to_their_end_date_inclusive() {
+        final Asset a2 = asset("2");
+        final IAssetResponsibilityResolver resolver = getInstance(IAssetResponsibilityResolver.class);
+
+        final AssetResponsibilities before = resolver.resolve(a2, date("2019-11-30 00:00:00"));
+        assertFalse(before.owner().isPresent());
+        assertFalse(before.manager().isPresent());
+        assertFalse(before.operator().isPresent());
+
+        assertTrue(resolver.resolve(a2, date("2019-12-20 23:00:00")).operator().isPresent());
+        final AssetResponsibilities after = resolver.resolve(a2, date("2019-12-21 00:00:00"));
+        assertFalse(after.operator().isPresent());
+        assertTrue(after.manager().isPresent());
+        assertTrue(after.owner().isPresent());
+    }
+
+    @Test
+    public void resolved_responsibilities_are_invalidated_upon_saving_of_ownerships() {
+        final Asset a2 = asset("2");
+        final IAssetResponsibilityResolver resolver = getInstance(IAssetResponsibilityResolver.class);
+        assertFalse(resolver.resolve(Arrays.asList(a2)).get(a2.getId()).owner().get().isAssetLevel());
+
+        save(co(AssetOwnership.class).new_()
+                .setAsset(a2)
+                .setAssetType(a2.getAssetType())
+                .setStartDate(date("2019-12-15 00:00:00"))
+                .setBu(co(BusinessUnit.class).findByKey("BU1")));
+
+        final AssetResponsibilities resolved = resolver.resolve(Arrays.asList(a2)).get(a2.getId());
+        assertTrue(resolved.owner().get().isAssetLevel());
+        assertEquals(co(BusinessUnit.class).findByKey("BU1"), resolved.owner().get().getBu());
+    }
+
+    @Override
+    public boolean saveDataPopulationScriptToFile() {
+        return false;
+    }
+
+    @Override
+    public boolean useSavedDataPopulationScript() {
+        return false;
+    }
+
+    @Override
+    protected void populateDomain() {
+        super.populateDomain();
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-12-16 13:00:00"));
+
+        if (useSavedDataPopulationScript()) {
+            return;
+        }
+
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("First asset class").setActive(true));
+        final AssetType at1 = save(new_(AssetType.class).setName("AT1").setDesc("First asset type").setAssetClass(ac1).setActive(true));
+        final Role r1 = save(new_(Role.class).setName("R1").setDesc("First role"));
+        final BusinessUnit bu1 = save(new_(BusinessUnit.class).setName("BU1").setDesc("First business unit"));
+        final Organisation org1 = save(new_(Organisation.class).setName("ORG1").setDesc("First organisation"));
+
+        final Asset a1 = save(new_(Asset.class).setDesc("first asset").setAssetType(at1).setActive(true));
+        final Asset a2 = save(new_(Asset.class).setDesc("second asset").setAssetType(at1).setActive(true));
+
+        save(co(AssetTypeOwnership.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-01 00:00:00"))
+                .setRole(r1));
+        save(co(AssetOwnership.class).new_()
+                .setAsset(a1)
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-10 00:00:00"))
+                .setOrg(org1));
+        save(co(AssetTypeManagement.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-01 00:00:00"))
+                .setEndDate(date("2019-12-31 00:00:00"))
+                .setBu(bu1));
+        save(co(AssetOperation.class).new_()
+                .setAsset(a2)
+                .setStartDate(date("2019-12-05 00:00:00"))
+                .setEndDate(date("2019-12-20 00:00:00"))
+                .setRole(r1));
+    }
+
+}
@@ -7,6 +7,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.Arrays;
+
 import org.junit.Test;
 
 import newyork.organisational.BusinessUnit;
@@ -85,6 +87,69 @@ public class AssetTypeOwnershipTest extends AbstractDaoTestCase {
     
     }
     
+    @Test
+    public void ownerAt_resolves_the_ownership_in_effect_on_the_specified_date() {
+        final AssetType at1 = co(AssetType.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<AssetType>fetchFor("assetType").fetchModel(), "AT1");
+        final Role r1 = co(Role.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<Role>fetchFor("role").fetchModel(), "R1");
+        final BusinessUnit bu1 = co(BusinessUnit.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<BusinessUnit>fetchFor("bu").fetchModel(), "BU1");
+        final Organisation org1 = co(Organisation.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<Organisation>fetchFor("org").fetchModel(), "ORG1");
+
+        final AssetTypeOwnership o1 = save(co(AssetTypeOwnership.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-17 00:00:00"))
+                .setRole(r1));
+        assertFalse(co(AssetTypeOwnership.class).ownerAt(at1, date("2019-12-16 00:00:00")).isPresent());
+        assertEquals(o1, co(AssetTypeOwnership.class).ownerAt(at1, date("2019-12-17 00:00:00")).orElse(null));
+
+        // ownerships saved after the index got loaded should be picked up
+        final AssetTypeOwnership o0 = save(co(AssetTypeOwnership.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-13 00:00:00"))
+                .setOrg(org1));
+        final AssetTypeOwnership o2 = save(co(AssetTypeOwnership.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-18 00:00:00"))
+                .setBu(bu1));
+        assertEquals(o0, co(AssetTypeOwnership.class).ownerAt(at1, date("2019-12-16 00:00:00")).orElse(null));
+        assertEquals(o1, co(AssetTypeOwnership.class).ownerAt(at1, date("2019-12-17 13:00:00")).orElse(null));
+        assertEquals(o2, co(AssetTypeOwnership.class).ownerAt(at1, date("2020-02-18 00:00:00")).orElse(null));
+
+        co$(AssetTypeOwnership.class).batchDelete(Arrays.asList(o2.getId()));
+        assertEquals(o1, co(AssetTypeOwnership.class).ownerAt(at1, date("2020-02-18 00:00:00")).orElse(null));
+    }
+
+    @Test
+    public void ownerAt_reflects_changed_start_dates_and_ignores_failed_saves() {
+        final AssetType at1 = co(AssetType.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<AssetType>fetchFor("assetType").fetchModel(), "AT1");
+        final Role r1 = co(Role.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<Role>fetchFor("role").fetchModel(), "R1");
+        final BusinessUnit bu1 = co(BusinessUnit.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<BusinessUnit>fetchFor("bu").fetchModel(), "BU1");
+
+        final AssetTypeOwnership o1 = save(co(AssetTypeOwnership.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-17 00:00:00"))
+                .setRole(r1));
+        final AssetTypeOwnership o2 = save(co(AssetTypeOwnership.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-20 00:00:00"))
+                .setBu(bu1));
+        assertEquals(o1, co(AssetTypeOwnership.class).ownerAt(at1, date("2019-12-18 00:00:00")).orElse(null));
+
+        final AssetTypeOwnership movedO2 = save(co$(AssetTypeOwnership.class).findById(o2.getId(), IAssetTypeOwnership.FETCH_PROVIDER.fetchModel()).setStartDate(date("2019-12-18 00:00:00")));
+        assertEquals(movedO2, co(AssetTypeOwnership.class).ownerAt(at1, date("2019-12-18 00:00:00")).orElse(null));
+        assertEquals(o1, co(AssetTypeOwnership.class).ownerAt(at1, date("2019-12-17 13:00:00")).orElse(null));
+
+        try {
+            save(co(AssetTypeOwnership.class).new_()
+                    .setAssetType(at1)
+                    .setBu(bu1)
+                    .setStartDate(date("2019-12-17 00:00:00")));
+            fail("Error was expected due to duplicate ownerships.");
+        } catch (final EntityAlreadyExists ex) {
+        }
+        assertEquals(o1, co(AssetTypeOwnership.class).ownerAt(at1, date("2019-12-17 13:00:00")).orElse(null));
+        assertEquals(movedO2, co(AssetTypeOwnership.class).ownerAt(at1, date("2020-02-18 00:00:00")).orElse(null));
+    }
+
     @Test
     public void different_ownerships_for_the_same_asset_type_on_the_same_date_is_not_permited() {
         final AssetType at1 = co(AssetType.class).findByKeyAndFetch(IAssetTypeOwnership.FETCH_PROVIDER.<AssetType>fetchFor("assetType").fetchModel(), "AT1");
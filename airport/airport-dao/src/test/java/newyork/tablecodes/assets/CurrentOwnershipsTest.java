@@ -0,0 +1,163 @@
+package newyork.tablecodes.assets;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import newyork.assets.Asset;
+import newyork.common.cache.CalculatedPropertyCache;
+import newyork.organisational.BusinessUnit;
+import newyork.organisational.Organisation;
+import newyork.organisational.Role;
+import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.AssetOwnership;
+import newyork.tablescodes.assets.AssetType;
+import newyork.tablescodes.assets.AssetTypeOwnership;
+import newyork.tablescodes.assets.CurrentOwnerships;
+import newyork.test_config.AbstractDaoTestCase;
+import newyork.test_config.UniversalConstantsForTesting;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A test case for {@link CurrentOwnerships}, which caches values in {@link CalculatedPropertyCache}.
+ *
+ * @author Developers
+ *
+ */
+public class CurrentOwnershipsTest extends AbstractDaoTestCase {
+
+    @Test
+    public void current_ownerships_are_computed_once_and_reused_until_invalidated() {
+        final CurrentOwnerships ownerships = getInstance(CurrentOwnerships.class);
+        final Asset a1 = co(Asset.class).findByKey("1");
+        final AssetType at1 = co(AssetType.class).findByKey("AT1");
+
+        final AssetOwnership assetOwnership = ownerships.ofAsset(a1).get();
+        assertEquals(co(Organisation.class).findByKey("ORG1"), assetOwnership.getOrg());
+        assertSame(assetOwnership, ownerships.ofAsset(a1).get());
+
+        final AssetTypeOwnership typeOwnership = ownerships.ofAssetType(at1).get();
+        assertEquals(co(Role.class).findByKey("R1"), typeOwnership.getRole());
+        assertSame(typeOwnership, ownerships.ofAssetType(at1).get());
+    }
+
+    @Test
+    public void missing_ownerships_are_cached_too() {
+        final CurrentOwnerships ownerships = getInstance(CurrentOwnerships.class);
+        final CalculatedPropertyCache cache = getInstance(CalculatedPropertyCache.class);
+        final Asset a2 = co(Asset.class).findByKey("2");
+        assertFalse(ownerships.ofAsset(a2).isPresent());
+        final long hits = cache.stats().get(Asset.class).hitCount();
+        assertFalse(ownerships.ofAsset(a2).isPresent());
+        assertEquals(hits + 1, cache.stats().get(Asset.class).hitCount());
+    }
+
+    @Test
+    public void a_cache_miss_warms_the_cache_for_neighbouring_assets() {
+        final CurrentOwnerships ownerships = getInstance(CurrentOwnerships.class);
+        final CalculatedPropertyCache cache = getInstance(CalculatedPropertyCache.class);
+        final Asset a1 = co(Asset.class).findByKey("1");
+        final Asset a2 = co(Asset.class).findByKey("2");
+
+        assertTrue(ownerships.ofAsset(a1).isPresent());
+        final long hits = cache.stats().get(Asset.class).hitCount();
+        final long misses = cache.stats().get(Asset.class).missCount();
+
+        assertFalse(ownerships.ofAsset(a2).isPresent());
+        assertEquals(hits + 1, cache.stats().get(Asset.class).hitCount());
+        assertEquals(misses, cache.stats().get(Asset.class).missCount());
+    }
+
+    @Test
+    public void invalidation_of_an_asset_retains_cached_values_of_other_assets() {
+        final CurrentOwnerships ownerships = getInstance(CurrentOwnerships.class);
+        final CalculatedPropertyCache cache = getInstance(CalculatedPropertyCache.class);
+        final Asset a1 = co(Asset.class).findByKey("1");
+        final Asset a2 = co(Asset.class).findByKey("2");
+        assertTrue(ownerships.ofAsset(a1).isPresent());
+
+        cache.invalidate(Asset.class, a1.getId());
+        final long hits = cache.stats().get(Asset.class).hitCount();
+        final long misses = cache.stats().get(Asset.class).missCount();
+
+        assertFalse(ownerships.ofAsset(a2).isPresent());
+        assertEquals(hits + 1, cache.stats().get(Asset.class).hitCount());
+        assertTrue(ownerships.ofAsset(a1).isPresent());
+        assertEquals(misses + 1, cache.stats().get(Asset.class).missCount());
+    }
+
+    @Test
+    public void saving_of_asset_ownership_invalidates_the_cached_value_for_that_asset() {
+        final CurrentOwnerships ownerships = getInstance(CurrentOwnerships.class);
+        final Asset a1 = co(Asset.class).findByKey("1");
+        final AssetType at1 = co(AssetType.class).findByKey("AT1");
+        ownerships.ofAsset(a1);
+
+        save(co(AssetOwnership.class).new_()
+                .setAsset(a1)
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-15 00:00:00"))
+                .setBu(co(BusinessUnit.class).findByKey("BU1")));
+
+        assertEquals(co(BusinessUnit.class).findByKey("BU1"), ownerships.ofAsset(a1).get().getBu());
+    }
+
+    @Test
+    public void saving_of_asset_type_ownership_invalidates_the_cached_value_for_asset_types() {
+        final CurrentOwnerships ownerships = getInstance(CurrentOwnerships.class);
+        final AssetType at1 = co(AssetType.class).findByKey("AT1");
+        ownerships.ofAssetType(at1);
+
+        save(co(AssetTypeOwnership.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-15 00:00:00"))
+                .setOrg(co(Organisation.class).findByKey("ORG1")));
+
+        assertEquals(co(Organisation.class).findByKey("ORG1"), ownerships.ofAssetType(at1).get().getOrg());
+    }
+
+    @Override
+    public boolean saveDataPopulationScriptToFile() {
+        return false;
+    }
+
+    @Override
+    public boolean useSavedDataPopulationScript() {
+        return false;
+    }
+
+    @Override
+    protected void populateDomain() {
+        super.populateDomain();
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-12-16 13:00:00"));
+
+        if (useSavedDataPopulationScript()) {
+            return;
+        }
+
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("First asset class").setActive(true));
+        final AssetType at1 = save(new_(AssetType.class).setName("AT1").setDesc("First asset type").setAssetClass(ac1).setActive(true));
+        final Role r1 = save(new_(Role.class).setName("R1").setDesc("First role"));
+        save(new_(BusinessUnit.class).setName("BU1").setDesc("First business unit"));
+        final Organisation org1 = save(new_(Organisation.class).setName("ORG1").setDesc("First organisation"));
+
+        final Asset a1 = save(new_(Asset.class).setDesc("first asset").setAssetType(at1).setActive(true));
+        save(new_(Asset.class).setDesc("second asset").setAssetType(at1).setActive(true));
+
+        save(co(AssetTypeOwnership.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-01 00:00:00"))
+                .setRole(r1));
+        save(co(AssetOwnership.class).new_()
+                .setAsset(a1)
+                .setAssetType(at1)
+                .setStartDate(date("2019-12-10 00:00:00"))
+                .setOrg(org1));
+    }
+
+}
@@ -0,0 +1,138 @@
+package newyork.tablecodes.assets;
+
+import static newyork.tablescodes.assets.DatedRecordOverlaps.ERR_OVERLAPPING_RECORD;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import org.junit.Test;
+
+import newyork.assets.Asset;
+import newyork.organisational.BusinessUnit;
+import newyork.organisational.Role;
+import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.AssetManagement;
+import newyork.tablescodes.assets.AssetType;
+import newyork.tablescodes.assets.AssetTypeOperation;
+import newyork.tablescodes.assets.DatedRecordOverlap;
+import newyork.tablescodes.assets.IDatedRecordOverlap;
+import newyork.test_config.AbstractDaoTestCase;
+import newyork.test_config.UniversalConstantsForTesting;
+import ua.com.fielden.platform.error.Result;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A test case for overlap detection of dated records, such as {@link AssetManagement} and {@link AssetTypeOperation}.
+ *
+ * @author Developers
+ *
+ */
+public class DatedRecordOverlapTest extends AbstractDaoTestCase {
+
+    @Test
+    public void saving_a_management_that_overlaps_with_an_existing_one_for_the_same_asset_is_rejected() {
+        final Asset asset = co(Asset.class).findByKey("1");
+        try {
+            save(co$(AssetManagement.class).new_()
+                    .setAsset(asset)
+                    .setStartDate(date("2019-12-31 00:00:00"))
+                    .setEndDate(date("2020-01-31 00:00:00"))
+                    .setRole(co(Role.class).findByKey("R1")));
+            fail("Overlapping management should have been rejected.");
+        } catch (final Result ex) {
+            assertEquals(String.format(ERR_OVERLAPPING_RECORD, AssetManagement.ENTITY_TITLE, "31/12/2019", "31/01/2020", "01/12/2019", "31/12/2019"), ex.getMessage());
+        }
+    }
+
+    @Test
+    public void adjacent_managements_and_managements_for_other_assets_do_not_overlap() {
+        final Role r1 = co(Role.class).findByKey("R1");
+        save(co$(AssetManagement.class).new_()
+                .setAsset(co(Asset.class).findByKey("1"))
+                .setStartDate(date("2020-01-01 00:00:00"))
+                .setEndDate(date("2020-01-31 00:00:00"))
+                .setRole(r1));
+        save(co$(AssetManagement.class).new_()
+                .setAsset(co(Asset.class).findByKey("2"))
+                .setStartDate(date("2019-12-15 00:00:00"))
+                .setEndDate(date("2020-01-15 00:00:00"))
+                .setRole(r1));
+
+        assertEquals(0, co$(DatedRecordOverlap.class).scan());
+    }
+
+    @Test
+    public void moving_an_existing_operation_over_another_one_is_rejected() {
+        final AssetType at1 = co(AssetType.class).findByKey("AT1");
+        final AssetTypeOperation later = save(co$(AssetTypeOperation.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2020-02-01 00:00:00"))
+                .setEndDate(date("2020-02-28 00:00:00"))
+                .setBu(co(BusinessUnit.class).findByKey("BU1")));
+        try {
+            save(later.setStartDate(date("2020-01-15 00:00:00")));
+            fail("Overlapping operation should have been rejected.");
+        } catch (final Result ex) {
+            assertEquals(String.format(ERR_OVERLAPPING_RECORD, AssetTypeOperation.ENTITY_TITLE, "15/01/2020", "28/02/2020", "01/01/2020", "31/01/2020"), ex.getMessage());
+        }
+    }
+
+    @Test
+    public void scanning_replaces_the_findings_of_the_previous_scan() {
+        final IDatedRecordOverlap co = co$(DatedRecordOverlap.class);
+        save(co.new_()
+                .setRecordType(AssetManagement.ENTITY_TITLE)
+                .setFirstRecordId(1L)
+                .setSecondRecordId(2L)
+                .setAsset(co(Asset.class).findByKey("1"))
+                .setFirstStartDate(date("2019-12-01 00:00:00"))
+                .setSecondStartDate(date("2019-12-02 00:00:00"))
+                .setDetectedDate(date("2019-12-16 00:00:00")));
+        assertEquals(1, co.count(select(DatedRecordOverlap.class).model()));
+
+        assertEquals(0, co.scan());
+        assertEquals(0, co.count(select(DatedRecordOverlap.class).model()));
+    }
+
+    @Override
+    public boolean saveDataPopulationScriptToFile() {
+        return false;
+    }
+
+    @Override
+    public boolean useSavedDataPopulationScript() {
+        return false;
+    }
+
+    @Override
+    protected void populateDomain() {
+        super.populateDomain();
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-12-16 13:00:00"));
+
+        if (useSavedDataPopulationScript()) {
+            return;
+        }
+
+        final AssetClass ac1 = save(new_(AssetClass.class).setName("AC1").setDesc("First asset class").setActive(true));
+        final AssetType at1 = save(new_(AssetType.class).setName("AT1").setDesc("First asset type").setAssetClass(ac1).setActive(true));
+        final Role r1 = save(new_(Role.class).setName("R1").setDesc("First role"));
+        final BusinessUnit bu1 = save(new_(BusinessUnit.class).setName("BU1").setDesc("First business unit"));
+
+        final Asset a1 = save(new_(Asset.class).setDesc("first asset").setAssetType(at1).setActive(true));
+        save(new_(Asset.class).setDesc("second asset").setAssetType(at1).setActive(true));
+
+        save(co(AssetManagement.class).new_()
+                .setAsset(a1)
+                .setStartDate(date("2019-12-01 00:00:00"))
+                .setEndDate(date("2019-12-31 00:00:00"))
+                .setRole(r1));
+        save(co(AssetTypeOperation.class).new_()
+                .setAssetType(at1)
+                .setStartDate(date("2020-01-01 00:00:00"))
+                .setEndDate(date("2020-01-31 00:00:00"))
+                .setBu(bu1));
+    }
+
+}
@@ -0,0 +1,132 @@
+package newyork.tablecodes.assets;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.ReferenceDataCache;
+import newyork.test_config.AbstractDaoTestCase;
+import newyork.test_config.UniversalConstantsForTesting;
+import ua.com.fielden.platform.utils.IUniversalConstants;
+
+/**
+ * A test case for {@link ReferenceDataCache} and its use by the reference data companions.
+ *
+ * @author Developers
+ *
+ */
+public class ReferenceDataCacheTest extends AbstractDaoTestCase {
+
+    @Test
+    public void repeated_look_ups_by_key_are_served_from_cache() {
+        final ReferenceDataCache cache = getInstance(ReferenceDataCache.class);
+        final AssetClass ac1 = co(AssetClass.class).findByKey("AC1");
+        final long hits = cache.stats().get(AssetClass.class).hitCount();
+        final long misses = cache.stats().get(AssetClass.class).missCount();
+
+        assertSame(ac1, co(AssetClass.class).findByKey("AC1"));
+        assertEquals(hits + 1, cache.stats().get(AssetClass.class).hitCount());
+        assertEquals(misses, cache.stats().get(AssetClass.class).missCount());
+    }
+
+    @Test
+    public void missing_entities_are_not_cached() {
+        final ReferenceDataCache cache = getInstance(ReferenceDataCache.class);
+        final AtomicInteger loads = new AtomicInteger();
+
+        assertNull(cache.byKey(AssetClass.class, new Object[] {"AC42"}, null, () -> { loads.incrementAndGet(); return null; }));
+        assertNull(cache.byKey(AssetClass.class, new Object[] {"AC42"}, null, () -> { loads.incrementAndGet(); return null; }));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void entities_are_cached_separately_for_each_fetch_model() {
+        final ReferenceDataCache cache = getInstance(ReferenceDataCache.class);
+        final AssetClass ac1 = co(AssetClass.class).findByKey("AC1");
+        final AtomicInteger loads = new AtomicInteger();
+
+        assertSame(ac1, cache.byKey(AssetClass.class, new Object[] {"AC1"}, "another fetch model", () -> { loads.incrementAndGet(); return ac1; }));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void saving_an_entity_invalidates_cached_entities_of_its_type() {
+        final AssetClass ac1 = co$(AssetClass.class).findByKey("AC1");
+        assertEquals("The first asset class", co(AssetClass.class).findByKey("AC1").getDesc());
+
+        save(ac1.setDesc("The changed asset class"));
+
+        assertEquals("The changed asset class", co(AssetClass.class).findByKey("AC1").getDesc());
+    }
+
+    @Test
+    public void deleting_an_entity_invalidates_cached_entities_of_its_type() {
+        final AssetClass ac2 = co(AssetClass.class).findByKey("AC2");
+        co$(AssetClass.class).batchDelete(asList(ac2.getId()));
+
+        assertNull(co(AssetClass.class).findByKey("AC2"));
+        assertNull(co(AssetClass.class).findById(ac2.getId()));
+    }
+
+    @Test
+    public void entities_loaded_before_invalidation_are_not_cached_after_it() {
+        final ReferenceDataCache cache = getInstance(ReferenceDataCache.class);
+        final AssetClass ac1 = co(AssetClass.class).findByKey("AC1");
+        cache.invalidate(AssetClass.class);
+        final AtomicInteger loads = new AtomicInteger();
+
+        // the loader races with an invalidation, which happens for example when a concurrent transaction commits
+        assertSame(ac1, cache.byKey(AssetClass.class, new Object[] {"AC1"}, null, () -> {
+            loads.incrementAndGet();
+            cache.invalidate(AssetClass.class);
+            return ac1;
+        }));
+        assertSame(ac1, cache.byKey(AssetClass.class, new Object[] {"AC1"}, null, () -> { loads.incrementAndGet(); return ac1; }));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void cached_entities_do_not_outlive_the_day_they_were_loaded_on() {
+        final ReferenceDataCache cache = getInstance(ReferenceDataCache.class);
+        final AssetClass ac1 = co(AssetClass.class).findByKey("AC1");
+        final AtomicInteger loads = new AtomicInteger();
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-10-02 08:00:00"));
+
+        assertSame(ac1, cache.byKey(AssetClass.class, new Object[] {"AC1"}, null, () -> { loads.incrementAndGet(); return ac1; }));
+        assertEquals(1, loads.get());
+    }
+
+    @Override
+    public boolean saveDataPopulationScriptToFile() {
+        return false;
+    }
+
+    @Override
+    public boolean useSavedDataPopulationScript() {
+        return false;
+    }
+
+    @Override
+    protected void populateDomain() {
+        super.populateDomain();
+
+        final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
+        constants.setNow(dateTime("2019-10-01 11:30:00"));
+
+        if (useSavedDataPopulationScript()) {
+            return;
+        }
+
+        save(new_composite(AssetClass.class, "AC1").setDesc("The first asset class"));
+        save(new_composite(AssetClass.class, "AC2").setDesc("The second asset class"));
+    }
+
+}
@@ -1,17 +1,28 @@
 package newyork.test_config;
 
 import java.util.List;
+import java.util.stream.Collectors;
 
 import org.joda.time.DateTime;
+import org.junit.Before;
 import org.junit.runner.RunWith;
+import org.junit.runners.model.Statement;
 
 import ua.com.fielden.platform.entity.AbstractEntity;
 import ua.com.fielden.platform.test.AbstractDomainDrivenTestCase;
 import ua.com.fielden.platform.utils.IUniversalConstants;
 import ua.com.fielden.platform.security.user.User;
 
+import newyork.common.cache.CalculatedPropertyCache;
+import newyork.common.metrics.NPlusOneDetector;
+import newyork.common.metrics.SqlStatementCounter;
 import newyork.config.ApplicationDomain;
+import newyork.organisational.OrganisationVisibility;
 import newyork.personnel.Person;
+import newyork.projects.ProjectPeriods;
+import newyork.tablescodes.assets.AssetTypeOwnershipIndex;
+import newyork.tablescodes.assets.IAssetResponsibilityResolver;
+import newyork.tablescodes.assets.ReferenceDataCache;
 import newyork.test_config.UniversalConstantsForTesting;
 
 /**
@@ -27,6 +38,8 @@ public abstract class AbstractDaoTestCase extends AbstractDomainDrivenTestCase {
     public static final String TEST_PERSON_KEY = User.system_users.UNIT_TEST_USER.name();
     public final DateTime prePopulateNow = dateTime("2019-01-01 08:00:00");
 
+    private static final NPlusOneDetector N_PLUS_ONE_DETECTOR = NPlusOneDetector.forApplicationDomain();
+
     private final ApplicationDomain applicationDomainProvider = new ApplicationDomain();
 
     @Override
@@ -39,6 +52,8 @@ public abstract class AbstractDaoTestCase extends AbstractDomainDrivenTestCase {
      */
     @Override
     protected void populateDomain() {
+        resetInMemoryState();
+
         final UniversalConstantsForTesting constants = (UniversalConstantsForTesting) getInstance(IUniversalConstants.class);
         constants.setNow(prePopulateNow);
 
@@ -46,6 +61,55 @@ public abstract class AbstractDaoTestCase extends AbstractDomainDrivenTestCase {
         setupPerson(User.system_users.UNIT_TEST_USER, "unit.test.user");
     }
     
+    /**
+     * In-memory caches and indexes outlive the test database, which gets repopulated or restored for every test.
+     * Therefore, they are reset both before the data population and before every test.
+     */
+    @Before
+    public void resetInMemoryState() {
+        getInstance(ReferenceDataCache.class).invalidateAll();
+        getInstance(AssetTypeOwnershipIndex.class).invalidateAll();
+        getInstance(ProjectPeriods.class).invalidateAll();
+        getInstance(IAssetResponsibilityResolver.class).invalidateAll();
+        getInstance(CalculatedPropertyCache.class).invalidateAll();
+        getInstance(OrganisationVisibility.class).invalidateAll();
+    }
+
+    /**
+     * The number of executions of the same {@code SELECT} statement by a test method, which fails the test as an N+1 query pattern.
+     * Test cases that repeat queries deliberately, such as tests of bulk operations, can override it; a non-positive value disables the detection.
+     */
+    protected int nPlusOneThreshold() {
+        return N_PLUS_ONE_DETECTOR.threshold;
+    }
+
+    /**
+     * Wraps the invocation of a test method (excluding the data population) with detection of N+1 query patterns, which is invoked by {@link H2DomainDrivenTestCaseRunner}.
+     */
+    Statement withNPlusOneDetection(final Statement testMethod) {
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                final int threshold = nPlusOneThreshold();
+                if (threshold <= 0) {
+                    testMethod.evaluate();
+                    return;
+                }
+                final List<String> enclosing = SqlStatementCounter.startCapture();
+                final List<String> statements;
+                try {
+                    testMethod.evaluate();
+                } finally {
+                    statements = SqlStatementCounter.stopCapture(enclosing);
+                }
+                final List<NPlusOneDetector.Finding> findings = N_PLUS_ONE_DETECTOR.analyse(statements, threshold);
+                if (!findings.isEmpty()) {
+                    throw new AssertionError(String.format("N+1 query pattern(s) detected:%n%s", findings.stream().map(Object::toString).collect(Collectors.joining(System.lineSeparator()))));
+                }
+            }
+        };
+    }
+
     private void setupPerson(final User.system_users defaultUser, final String emailDomain) {
         if (!useSavedDataPopulationScript()) {
             final User su = co(User.class).findByKey(defaultUser.name());
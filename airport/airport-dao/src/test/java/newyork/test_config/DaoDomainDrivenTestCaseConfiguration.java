@@ -15,9 +15,10 @@ import ua.com.fielden.platform.test.IDomainDrivenTestCaseConfiguration;
 
 import com.google.inject.Injector;
 
+import newyork.common.metrics.SqlStatementCounter;
 import newyork.config.ApplicationDomain;
 import newyork.dbsetup.HibernateSetup;
-import newyork.filter.NoDataFilter;
+import newyork.filter.OrganisationScopedDataFilter;
 import newyork.ioc.ApplicationServerModule;
 import newyork.serialisation.SerialisationClassProvider;
 
@@ -52,6 +53,7 @@ public final class DaoDomainDrivenTestCaseConfiguration implements IDomainDriven
     	    // custom Hibernate configuration properties
     	    props.setProperty("hibernate.show_sql", "false");
     	    props.setProperty("hibernate.format_sql", "true");
+    	    props.setProperty("hibernate.session_factory.statement_inspector", SqlStatementCounter.class.getName());
     	    props.setProperty("cacheDefaults", "false");
     	    
     	    final ApplicationDomain applicationDomainProvider = new ApplicationDomain();
@@ -61,7 +63,7 @@ public final class DaoDomainDrivenTestCaseConfiguration implements IDomainDriven
                     applicationDomainProvider,
                     applicationDomainProvider.domainTypes(),
                     SerialisationClassProvider.class,
-                    NoDataFilter.class,
+                    OrganisationScopedDataFilter.class,
                     NoAuthorisation.class,
                     UniversalConstantsForTesting.class,
                     props);
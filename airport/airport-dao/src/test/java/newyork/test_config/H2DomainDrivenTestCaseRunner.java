@@ -11,6 +11,9 @@ import java.util.Optional;
 import java.util.Properties;
 import java.util.stream.Stream;
 
+import org.junit.runners.model.FrameworkMethod;
+import org.junit.runners.model.Statement;
+
 import ua.com.fielden.platform.test.AbstractDomainDrivenTestCase;
 import ua.com.fielden.platform.test.DbCreator;
 import ua.com.fielden.platform.test.IDomainDrivenTestCaseConfiguration;
@@ -33,6 +36,15 @@ public class H2DomainDrivenTestCaseRunner extends AbstractDomainDrivenTestCaseRu
         super(klass, H2DbCreator.class, Optional.of(config));
     }
 
+    /**
+     * Test methods of {@link AbstractDaoTestCase} descendants are checked for N+1 query patterns.
+     */
+    @Override
+    protected Statement methodInvoker(final FrameworkMethod method, final Object test) {
+        final Statement invoker = super.methodInvoker(method, test);
+        return test instanceof AbstractDaoTestCase ? ((AbstractDaoTestCase) test).withNPlusOneDetection(invoker) : invoker;
+    }
+
     /**
      * Produces a set of properties for DB connectivity based on the provided <code>dbUri</code>.
      * The URI for H2 looks like <code>./src/test/resources/db/JUNIT_TEST_DB</code>.
@@ -1,15 +1,14 @@
 package newyork.assets;
 
 import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.expr;
-import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
 
 import newyork.tablescodes.assets.AssetClass;
+import newyork.tablescodes.assets.AssetCurrOwnership;
 import newyork.tablescodes.assets.AssetOwnership;
 import newyork.tablescodes.assets.AssetType;
 import newyork.tablescodes.assets.AssetTypeOwnership;
 import ua.com.fielden.platform.entity.ActivatableAbstractEntity;
 import ua.com.fielden.platform.entity.DynamicEntityKey;
-import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
 import ua.com.fielden.platform.entity.query.model.ExpressionModel;
 
 import ua.com.fielden.platform.entity.annotation.CompanionObject;
@@ -72,13 +71,22 @@ public class Asset extends ActivatableAbstractEntity<DynamicEntityKey> {
                 @PathTitle(path ="org", title="Ownership Organisation"),
                 @PathTitle(path ="startDate", title="Ownership Start Date")})
     private AssetOwnership currOwnership;
-    private static final EntityResultQueryModel<AssetOwnership> subQuery = select(AssetOwnership.class).where()
-            .prop("asset").eq().extProp("asset").and()
-            .prop("startDate").le().now().and()
-            .prop("startDate").gt().extProp("startDate").model();
 
+    protected static final ExpressionModel currOwnership_ = expr().prop("currOwnershipRecord.ownership").model();
 
-    protected static final ExpressionModel currOwnership_ = expr().model(select(AssetOwnership.class).where().prop("asset").eq().extProp("id").and().prop("startDate").le().now().and().notExists(subQuery).model()).model();
+    @IsProperty
+    @Title(value = "Current Ownership Record", desc = "A materialised record of the ownership that is currently in effect for this asset.")
+    private AssetCurrOwnership currOwnershipRecord;
+
+    @Observable
+    protected Asset setCurrOwnershipRecord(final AssetCurrOwnership currOwnershipRecord) {
+        this.currOwnershipRecord = currOwnershipRecord;
+        return this;
+    }
+
+    public AssetCurrOwnership getCurrOwnershipRecord() {
+        return currOwnershipRecord;
+    }
 
     @Observable
     protected Asset setCurrOwnership(final AssetOwnership name) {
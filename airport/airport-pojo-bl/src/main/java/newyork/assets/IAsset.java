@@ -1,5 +1,14 @@
 package newyork.assets;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import newyork.assets.imports.AssetImportResult;
+import newyork.assets.imports.AssetImportRow;
+import newyork.common.export.IStreamingExport;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.utils.EntityUtils;
 import ua.com.fielden.platform.dao.IEntityDao;
@@ -10,14 +19,39 @@ import ua.com.fielden.platform.dao.IEntityDao;
  * @author Developers
  *
  */
-public interface IAsset extends IEntityDao<Asset> {
+public interface IAsset extends IEntityDao<Asset>, IStreamingExport<Asset> {
 
     static final IFetchProvider<Asset> FETCH_PROVIDER = EntityUtils.fetch(Asset.class)
             .with("number", "desc", "assetType")
             .with("assetType.currOwnership.role", "assetType.currOwnership.bu", "assetType.currOwnership.org", "assetType.currOwnership.startDate")
             .with("currOwnership.role", "currOwnership.bu", "currOwnership.org", "currOwnership.startDate");
 
-    
+    /** Properties exported by {@link #export}, which match the columns of the asset centre. */
+    static final List<String> EXPORT_PROPS = unmodifiableList(asList("number", "desc", "assetType", "finDet.initCost", "finDet.acquireDate", "active"));
+    static final IFetchProvider<Asset> EXPORT_FETCH_PROVIDER = EntityUtils.fetch(Asset.class).with(EXPORT_PROPS.toArray(new String[0]));
+
     String DEFAULT_ASSET_NUMBER = "NEXT NUMBER WILL BE GENERATED UPON SAVE";
-    
+
+    int DEFAULT_IMPORT_BATCH_SIZE = 500;
+
+    /**
+     * Imports assets together with their financial details from a stream of rows.
+     * <p>
+     * Rows are consumed in batches of {@code batchSize}. Rows of each batch are validated in parallel, and valid rows are saved one by one in a separate transaction per batch
+     * with asset numbers reserved for the whole batch at once. Rows that fail validation or saving are reported in the result and do not abort the import.
+     * <p>
+     * This is not a bulk load. Every asset and its financial details go through a complete companion save, which keeps validation, reference counting of activatable entities
+     * and audit data intact, but costs the same database round-trips per row as saving assets one by one, including the refetch of saved entities.
+     * Batches only save a commit and a {@code KeyNumber} update per row. Loading registers of millions of assets in a reasonable time requires a database-level bulk load instead.
+     *
+     * @param rows
+     * @param batchSize
+     * @return
+     */
+    AssetImportResult importAssets(final Stream<AssetImportRow> rows, final int batchSize);
+
+    default AssetImportResult importAssets(final Stream<AssetImportRow> rows) {
+        return importAssets(rows, DEFAULT_IMPORT_BATCH_SIZE);
+    }
+
 }
@@ -1,5 +1,11 @@
 package newyork.assets;
 
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+import newyork.common.export.IStreamingExport;
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.utils.EntityUtils;
 import ua.com.fielden.platform.dao.IEntityDao;
@@ -10,8 +16,12 @@ import ua.com.fielden.platform.dao.IEntityDao;
  * @author Developers
  *
  */
-public interface IAssetFinDet extends IEntityDao<AssetFinDet> {
+public interface IAssetFinDet extends IEntityDao<AssetFinDet>, IStreamingExport<AssetFinDet> {
 
     static final IFetchProvider<AssetFinDet> FETCH_PROVIDER = EntityUtils.fetch(AssetFinDet.class)
     		.with("key", "initCost", "acquireDate", "project.startDate");
+
+    /** Properties exported by {@link #export}. */
+    static final List<String> EXPORT_PROPS = unmodifiableList(asList("key", "key.desc", "initCost", "acquireDate", "project"));
+    static final IFetchProvider<AssetFinDet> EXPORT_FETCH_PROVIDER = EntityUtils.fetch(AssetFinDet.class).with(EXPORT_PROPS.toArray(new String[0]));
 }
@@ -0,0 +1,105 @@
+package newyork.assets.depreciation;
+
+import newyork.assets.Asset;
+import newyork.common.ddl.DbIndex;
+import ua.com.fielden.platform.entity.AbstractPersistentEntity;
+import ua.com.fielden.platform.entity.DynamicEntityKey;
+import ua.com.fielden.platform.entity.annotation.CompanionObject;
+import ua.com.fielden.platform.entity.annotation.CompositeKeyMember;
+import ua.com.fielden.platform.entity.annotation.IsProperty;
+import ua.com.fielden.platform.entity.annotation.KeyTitle;
+import ua.com.fielden.platform.entity.annotation.KeyType;
+import ua.com.fielden.platform.entity.annotation.MapEntityTo;
+import ua.com.fielden.platform.entity.annotation.MapTo;
+import ua.com.fielden.platform.entity.annotation.Observable;
+import ua.com.fielden.platform.entity.annotation.SkipEntityExistsValidation;
+import ua.com.fielden.platform.entity.annotation.Title;
+import ua.com.fielden.platform.reflection.TitlesDescsGetter;
+import ua.com.fielden.platform.types.Money;
+import ua.com.fielden.platform.utils.Pair;
+
+/**
+ * A depreciation ledger record, which captures the depreciation of an asset for a month and its book value at the end of that month.
+ * <p>
+ * Records are written by {@link IAssetDepreciation#depreciate(int)} for the whole asset register, as per the depreciation settings of asset types.
+ * Every run only adds records for the months after the latest recorded month of each asset, which makes the latest record of an asset the starting point of the next run.
+ *
+ * @author Developers
+ *
+ */
+@KeyType(DynamicEntityKey.class)
+@KeyTitle("Asset and period")
+@CompanionObject(IAssetDepreciation.class)
+@MapEntityTo
+@DbIndex(props = {"asset", "period"}, unique = true)
+@DbIndex(props = {"period"})
+public class AssetDepreciation extends AbstractPersistentEntity<DynamicEntityKey> {
+
+    private static final Pair<String, String> entityTitleAndDesc = TitlesDescsGetter.getEntityTitleAndDesc(AssetDepreciation.class);
+    public static final String ENTITY_TITLE = entityTitleAndDesc.getKey();
+    public static final String ENTITY_DESC = entityTitleAndDesc.getValue();
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Asset", desc = "The depreciated asset.")
+    @CompositeKeyMember(1)
+    @SkipEntityExistsValidation(skipActiveOnly = true)
+    private Asset asset;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Period", desc = "The month of depreciation as a number in format yyyyMM, such as 201912.")
+    @CompositeKeyMember(2)
+    private Integer period;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Depreciation", desc = "The depreciation of the asset for the period.")
+    private Money depreciation;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Book Value", desc = "The book value of the asset at the end of the period.")
+    private Money bookValue;
+
+    @Observable
+    public AssetDepreciation setAsset(final Asset asset) {
+        this.asset = asset;
+        return this;
+    }
+
+    public Asset getAsset() {
+        return asset;
+    }
+
+    @Observable
+    public AssetDepreciation setPeriod(final Integer period) {
+        this.period = period;
+        return this;
+    }
+
+    public Integer getPeriod() {
+        return period;
+    }
+
+    @Observable
+    public AssetDepreciation setDepreciation(final Money depreciation) {
+        this.depreciation = depreciation;
+        return this;
+    }
+
+    public Money getDepreciation() {
+        return depreciation;
+    }
+
+    @Observable
+    public AssetDepreciation setBookValue(final Money bookValue) {
+        this.bookValue = bookValue;
+        return this;
+    }
+
+    public Money getBookValue() {
+        return bookValue;
+    }
+
+}
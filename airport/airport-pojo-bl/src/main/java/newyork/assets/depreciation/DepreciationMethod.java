@@ -0,0 +1,29 @@
+package newyork.assets.depreciation;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Depreciation methods, which are specified per asset type by their codes (see {@code AssetType.depreciationMethod}).
+ *
+ * @author Developers
+ *
+ */
+public enum DepreciationMethod {
+
+    /** Spreads the book value evenly over the remaining useful life. */
+    STRAIGHT_LINE("SL"),
+    /** Depreciates twice the straight-line rate of the book value, switching to straight line once that depreciates more. */
+    DECLINING_BALANCE("DB");
+
+    public final String code;
+
+    private DepreciationMethod(final String code) {
+        this.code = code;
+    }
+
+    public static Optional<DepreciationMethod> fromCode(final String code) {
+        return Arrays.stream(values()).filter(method -> method.code.equalsIgnoreCase(code)).findFirst();
+    }
+
+}
@@ -0,0 +1,42 @@
+package newyork.assets.depreciation;
+
+import newyork.assets.AssetFinDet;
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.utils.EntityUtils;
+
+/**
+ * Companion object for entity {@link AssetDepreciation}.
+ *
+ * @author Developers
+ *
+ */
+public interface IAssetDepreciation extends IEntityDao<AssetDepreciation> {
+
+    static final IFetchProvider<AssetDepreciation> FETCH_PROVIDER = EntityUtils.fetch(AssetDepreciation.class)
+            .with("asset", "period", "depreciation", "bookValue");
+
+    /**
+     * Depreciates all assets with financial details for all months up to and including {@code throughPeriod} that are not recorded yet.
+     * The ledger of an asset whose cost, acquisition date, or type's depreciation method or useful life changed after the ledger was written is rebuilt from scratch.
+     * Ledgers of assets that can no longer be depreciated (e.g. their cost was cleared) are left as they are.
+     * The asset register is split into ranges of {@link AssetFinDet} IDs, which are depreciated in parallel, each range in its own transactions.
+     * This is why this method should not be invoked within a transaction.
+     *
+     * @param throughPeriod -- the last month to depreciate in format yyyyMM
+     * @return the number of written ledger records
+     */
+    int depreciate(final int throughPeriod);
+
+    /**
+     * Depreciates assets with financial details whose IDs are between {@code fromId} and {@code toId} inclusive, which is a unit of work of {@link #depreciate(int)}.
+     * Ledger records are written in batches, each in its own transaction.
+     *
+     * @param fromId
+     * @param toId
+     * @param throughPeriod -- the last month to depreciate in format yyyyMM
+     * @return the number of written ledger records
+     */
+    int depreciateRange(final long fromId, final long toId, final int throughPeriod);
+
+}
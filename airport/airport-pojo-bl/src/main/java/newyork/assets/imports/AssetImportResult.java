@@ -0,0 +1,44 @@
+package newyork.assets.imports;
+
+import static java.util.Collections.unmodifiableSortedMap;
+
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * An outcome of the asset import: the number of imported assets and failure messages for rows that could not be imported, by row number.
+ *
+ * @author Developers
+ *
+ */
+public class AssetImportResult {
+
+    private int imported;
+    private final SortedMap<Integer, String> failures = new TreeMap<>();
+
+    public void recordImported() {
+        imported++;
+    }
+
+    public void recordFailure(final AssetImportRow row, final String message) {
+        failures.put(row.getRowNumber(), message);
+    }
+
+    public int getImported() {
+        return imported;
+    }
+
+    public SortedMap<Integer, String> getFailures() {
+        return unmodifiableSortedMap(failures);
+    }
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Imported %s asset(s), %s row(s) failed.", imported, failures.size());
+    }
+
+}
@@ -0,0 +1,66 @@
+package newyork.assets.imports;
+
+import java.math.BigDecimal;
+import java.util.Date;
+
+import newyork.assets.Asset;
+import newyork.assets.IAsset;
+
+/**
+ * A single row of source data for the import of {@link Asset}s with {@link IAsset#importAssets}, typically a line from a spreadsheet.
+ * Values reference other entities by their keys.
+ *
+ * @author Developers
+ *
+ */
+public class AssetImportRow {
+
+    private final int rowNumber;
+    private final String desc;
+    private final String assetType;
+    private final BigDecimal initCost;
+    private final Date acquireDate;
+    private final String project;
+
+    /**
+     * @param rowNumber -- the number of this row in its source, which is used for reporting failures
+     * @param desc -- asset description
+     * @param assetType -- the name of an active asset type
+     * @param initCost -- initial asset cost, optional
+     * @param acquireDate -- acquisition date, optional
+     * @param project -- the name of a CAPEX project, optional
+     */
+    public AssetImportRow(final int rowNumber, final String desc, final String assetType, final BigDecimal initCost, final Date acquireDate, final String project) {
+        this.rowNumber = rowNumber;
+        this.desc = desc;
+        this.assetType = assetType;
+        this.initCost = initCost;
+        this.acquireDate = acquireDate;
+        this.project = project;
+    }
+
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    public String getDesc() {
+        return desc;
+    }
+
+    public String getAssetType() {
+        return assetType;
+    }
+
+    public BigDecimal getInitCost() {
+        return initCost;
+    }
+
+    public Date getAcquireDate() {
+        return acquireDate;
+    }
+
+    public String getProject() {
+        return project;
+    }
+
+}
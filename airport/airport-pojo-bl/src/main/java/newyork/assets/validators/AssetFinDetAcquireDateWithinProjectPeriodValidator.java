@@ -1,37 +1,53 @@
 package newyork.assets.validators;
 
-import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.fetchKeyAndDescOnly;
 
 import java.lang.annotation.Annotation;
 import java.util.Date;
 import java.util.Set;
 
+import com.google.inject.Inject;
+
 import newyork.assets.AssetFinDet;
+import newyork.projects.IProject;
 import newyork.projects.Project;
+import newyork.projects.ProjectPeriods;
+import newyork.projects.ProjectPeriods.Period;
 import ua.com.fielden.platform.entity.meta.MetaProperty;
 import ua.com.fielden.platform.entity.meta.impl.AbstractBeforeChangeEventHandler;
-import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
 import ua.com.fielden.platform.error.Result;
 
+/**
+ * Ensures that the acquire date of an asset is within the period of its project.
+ * Project periods are looked up in {@link ProjectPeriods}, which avoids a database round-trip for every change of the acquire date.
+ *
+ * @author Developers
+ *
+ */
 public class AssetFinDetAcquireDateWithinProjectPeriodValidator extends AbstractBeforeChangeEventHandler<Date> {
     public static final String ERR_OUTSIDE_PROJECT_PERIOD = "Value for acquire date is outside the project period.";
 
+    private final ProjectPeriods periods;
+
+    @Inject
+    public AssetFinDetAcquireDateWithinProjectPeriodValidator(final ProjectPeriods periods) {
+        this.periods = periods;
+    }
+
     @Override
     public Result handle(final MetaProperty<Date> property, final Date newValue, final Set<Annotation> mutatorAnnotations) {
         final AssetFinDet finDet = property.getEntity();
         if (finDet.getProject() == null || newValue == null) {
             return Result.successful(newValue);
         }
-        
-        final EntityResultQueryModel<Project> query = select(Project.class)
-                .where().prop("id").eq().val(finDet.getProject()).and()
-                .prop("startDate").le().val(newValue).and()
-                .begin()
-                    .prop("finishDate").isNull().or()
-                    .prop("finishDate").ge().val(newValue)
-                .end().model();
-        return co(Project.class).exists(query) ? Result.successful(newValue) : Result.failure(ERR_OUTSIDE_PROJECT_PERIOD);
 
+        return periods.contains(finDet.getProject().getId(), newValue, this::loadPeriod) ? Result.successful(newValue) : Result.failure(ERR_OUTSIDE_PROJECT_PERIOD);
+    }
+
+    private Period loadPeriod(final Long projectId) {
+        final IProject coProject = co(Project.class);
+        final Project project = coProject.findById(projectId, fetchKeyAndDescOnly(Project.class).with("startDate", "finishDate"));
+        return project == null ? Period.NONE : Period.of(project);
     }
 
 }
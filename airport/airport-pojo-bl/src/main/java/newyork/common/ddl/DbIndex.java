@@ -0,0 +1,35 @@
+package newyork.common.ddl;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * Declares a secondary database index for a persistent entity, which is created together with the database schema and by the index migration tool.
+ * <p>
+ * Indexes are declared in terms of properties, which get mapped to columns as per {@code @MapTo}.
+ * Properties in {@link #include()} make the index covering -- they are stored as non-key columns where supported (SQL Server), or appended to the key columns otherwise (H2).
+ *
+ * @author Developers
+ *
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+@Repeatable(DbIndexes.class)
+public @interface DbIndex {
+
+    /** Index name, which is generated from the table and property names if not specified. */
+    String name() default "";
+
+    /** Key properties in the order of significance. */
+    String[] props();
+
+    boolean unique() default false;
+
+    /** Non-key properties to be included in the index. */
+    String[] include() default {};
+
+}
@@ -0,0 +1,21 @@
+package newyork.common.ddl;
+
+import static java.lang.annotation.ElementType.TYPE;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * A container for repeated {@link DbIndex} declarations.
+ *
+ * @author Developers
+ *
+ */
+@Retention(RUNTIME)
+@Target(TYPE)
+public @interface DbIndexes {
+
+    DbIndex[] value();
+
+}
@@ -0,0 +1,37 @@
+package newyork.common.export;
+
+/**
+ * File formats supported by streaming exports (see {@link IStreamingExport}).
+ *
+ * @author Developers
+ *
+ */
+public enum ExportFormat {
+
+    CSV("csv", "text/csv"),
+    XLSX("xlsx", "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet");
+
+    public final String extension;
+    public final String mimeType;
+
+    private ExportFormat(final String extension, final String mimeType) {
+        this.extension = extension;
+        this.mimeType = mimeType;
+    }
+
+    /**
+     * Finds a format by its file extension, case-insensitively.
+     *
+     * @param extension
+     * @return
+     */
+    public static ExportFormat ofExtension(final String extension) {
+        for (final ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(extension)) {
+                return format;
+            }
+        }
+        throw new IllegalArgumentException(String.format("Unsupported export format [%s].", extension));
+    }
+
+}
@@ -0,0 +1,31 @@
+package newyork.common.export;
+
+import java.io.OutputStream;
+
+import newyork.common.paging.KeysetPaging;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+
+/**
+ * A contract for companion objects that can export their entities without loading them into memory at once.
+ * Entities are read page by page with {@link KeysetPaging} and written to the output as they arrive, so that memory consumption does not depend on the number of exported entities.
+ * Each page is read in its own session, therefore the export does not hold a database session while writing to {@code out}, but it is also not a snapshot (see {@link KeysetPaging#stream}).
+ *
+ * @author Developers
+ *
+ */
+public interface IStreamingExport<T extends AbstractEntity<?>> {
+
+    /**
+     * Writes entities matching {@code query} to {@code out} in the specified format. The stream is not closed.
+     * <p>
+     * Only the conditions of {@code query} are taken into account -- the exported properties are defined by the companion, and entities are exported in the order of their registration.
+     *
+     * @param format
+     * @param query
+     * @param out
+     * @return the number of exported entities
+     */
+    int export(final ExportFormat format, final EntityResultQueryModel<T> query, final OutputStream out);
+
+}
@@ -0,0 +1,73 @@
+package newyork.common.intervals;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Detects overlapping intervals with a single sweep over intervals ordered by their start, which takes O(n log n) time for unordered intervals and O(n) for ordered ones.
+ * <p>
+ * Intervals are closed, i.e. an interval that starts on the day another one ends overlaps with it.
+ * The sweep keeps track of the interval that reaches the furthest among those seen so far, and reports every interval that starts before that reach ends.
+ * Thus, each overlapping interval is reported once, paired with the preceding interval it overlaps with, rather than with all of them, which would be quadratic in the worst case.
+ *
+ * @author Developers
+ *
+ */
+public final class IntervalSweep {
+
+    /** The end of an open interval. */
+    public static final long OPEN_END = Long.MAX_VALUE;
+
+    private IntervalSweep() {}
+
+    /**
+     * Reports overlaps among {@code intervals}, which can be in any order.
+     *
+     * @param intervals
+     * @param start
+     * @param end -- should return {@link #OPEN_END} for open intervals
+     * @param onOverlap -- accepts the preceding overlapped interval and the overlapping interval
+     * @return the number of reported overlaps
+     */
+    public static <T> int sweep(final Collection<T> intervals, final ToLongFunction<T> start, final ToLongFunction<T> end, final BiConsumer<T, T> onOverlap) {
+        final List<T> ordered = new ArrayList<>(intervals);
+        ordered.sort(Comparator.comparingLong(start).thenComparingLong(end));
+        return sweepOrdered(ordered.iterator(), interval -> null, start, end, onOverlap);
+    }
+
+    /**
+     * Reports overlaps among intervals of the same holder (e.g. an asset), where {@code intervals} are ordered by holder and then by start.
+     * Only one interval is kept in memory at a time, which makes this method suitable for streaming through a whole table.
+     *
+     * @param intervals
+     * @param holder
+     * @param start
+     * @param end -- should return {@link #OPEN_END} for open intervals
+     * @param onOverlap -- accepts the preceding overlapped interval and the overlapping interval
+     * @return the number of reported overlaps
+     */
+    public static <T> int sweepOrdered(final Iterator<T> intervals, final Function<T, ?> holder, final ToLongFunction<T> start, final ToLongFunction<T> end, final BiConsumer<T, T> onOverlap) {
+        int overlaps = 0;
+        T reach = null;
+        while (intervals.hasNext()) {
+            final T interval = intervals.next();
+            final boolean sameHolder = reach != null && Objects.equals(holder.apply(reach), holder.apply(interval));
+            if (sameHolder && start.applyAsLong(interval) <= end.applyAsLong(reach)) {
+                onOverlap.accept(reach, interval);
+                overlaps++;
+            }
+            if (!sameHolder || end.applyAsLong(interval) > end.applyAsLong(reach)) {
+                reach = interval;
+            }
+        }
+        return overlaps;
+    }
+
+}
@@ -0,0 +1,35 @@
+package newyork.common.paging;
+
+/**
+ * A position in a result set paged with {@link KeysetPaging}, which is represented by the value of the ordering property and the ID of the last entity on a page.
+ *
+ * @author Developers
+ *
+ */
+public final class KeysetCursor {
+
+    private final Object value;
+    private final Long id;
+
+    public KeysetCursor(final Object value, final Long id) {
+        if (value == null || id == null) {
+            throw new IllegalArgumentException("Keyset cursor requires both the value of the ordering property and ID.");
+        }
+        this.value = value;
+        this.id = id;
+    }
+
+    public Object getValue() {
+        return value;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("KeysetCursor[%s, %s]", value, id);
+    }
+
+}
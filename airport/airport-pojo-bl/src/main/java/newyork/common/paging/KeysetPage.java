@@ -0,0 +1,40 @@
+package newyork.common.paging;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import ua.com.fielden.platform.entity.AbstractEntity;
+
+/**
+ * A page of entities retrieved with {@link KeysetPaging} together with the cursor for retrieving the next page, if there is one.
+ *
+ * @author Developers
+ *
+ */
+public final class KeysetPage<T extends AbstractEntity<?>> {
+
+    private final List<T> data;
+    private final Optional<KeysetCursor> next;
+
+    public KeysetPage(final List<T> data, final Optional<KeysetCursor> next) {
+        this.data = Collections.unmodifiableList(data);
+        this.next = next;
+    }
+
+    public List<T> data() {
+        return data;
+    }
+
+    /**
+     * The cursor for the next page, which is empty if this is the last page.
+     */
+    public Optional<KeysetCursor> next() {
+        return next;
+    }
+
+    public boolean hasNext() {
+        return next.isPresent();
+    }
+
+}
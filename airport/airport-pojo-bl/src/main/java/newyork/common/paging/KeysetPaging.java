@@ -0,0 +1,149 @@
+package newyork.common.paging;
+
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.DynamicEntityKey;
+import ua.com.fielden.platform.entity.query.fluent.EntityQueryProgressiveInterfaces.IWhere0;
+import ua.com.fielden.platform.entity.query.fluent.fetch;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+import ua.com.fielden.platform.entity.query.model.OrderingModel;
+import ua.com.fielden.platform.reflection.AnnotationReflector;
+import ua.com.fielden.platform.reflection.Finder;
+
+/**
+ * Keyset (seek) pagination, which retrieves the page after a {@link KeysetCursor} by a condition on the ordering property and ID, rather than by skipping the preceding rows.
+ * This makes retrieval of any page as cheap as retrieval of the first one, provided there is an index on the ordering property.
+ * <p>
+ * Results are ordered by the ordering property and then by ID, both in the same direction, which makes the order total.
+ * The ordering property should not be nullable, as entities with {@code null} values cannot be sought.
+ * It also cannot be the key of an entity with a composite key, whose value cannot be compared in a query, so the key members should be used instead.
+ * Each page is retrieved with one extra entity to find out whether there is a next page.
+ * <p>
+ * {@link #stream} walks through all matching entities page by page, which is suitable for long reads, such as exports, that should not hold a database session throughout.
+ *
+ * @author Developers
+ *
+ */
+public final class KeysetPaging {
+
+    private static final String KEY = "key";
+
+    private KeysetPaging() {}
+
+    /**
+     * Retrieves a page of entities that match {@code query}.
+     *
+     * @param co -- companion to retrieve entities with
+     * @param query -- a query that determines matching entities
+     * @param fetch -- fetch model, which should include {@code orderProp}
+     * @param orderProp -- the ordering property, dot-notation is supported
+     * @param ascending -- ordering direction
+     * @param after -- the cursor for the page to be retrieved, empty for the first page
+     * @param pageCapacity
+     * @return
+     */
+    public static <T extends AbstractEntity<?>> KeysetPage<T> page(
+            final IEntityDao<T> co,
+            final EntityResultQueryModel<T> query,
+            final fetch<T> fetch,
+            final String orderProp,
+            final boolean ascending,
+            final Optional<KeysetCursor> after,
+            final int pageCapacity) {
+        if (pageCapacity <= 0) {
+            throw new IllegalArgumentException(String.format("Page capacity should be positive, but was %s.", pageCapacity));
+        }
+        if (KEY.equals(orderProp) && DynamicEntityKey.class.equals(AnnotationReflector.getKeyType(co.getEntityType()))) {
+            throw new IllegalArgumentException(String.format("Entities of type [%s] have a composite key and should be paged by one of its members.", co.getEntityType().getSimpleName()));
+        }
+
+        final EntityResultQueryModel<T> seekQuery = after.map(cursor -> seek(query, orderProp, ascending, cursor)).orElse(query);
+        final OrderingModel ordering = ascending ? orderBy().prop(orderProp).asc().prop("id").asc().model()
+                                                 : orderBy().prop(orderProp).desc().prop("id").desc().model();
+        final List<T> entities = co.getFirstEntities(from(seekQuery).with(fetch).with(ordering).model(), pageCapacity + 1);
+
+        if (entities.size() <= pageCapacity) {
+            return new KeysetPage<>(entities, Optional.empty());
+        }
+        final List<T> data = entities.subList(0, pageCapacity);
+        final T last = data.get(pageCapacity - 1);
+        return new KeysetPage<>(data, Optional.of(new KeysetCursor(Finder.findFieldValueByName(last, orderProp), last.getId())));
+    }
+
+    /**
+     * Lazily retrieves all entities that match {@code query}, one page at a time, in the order of {@code orderProp} and ID.
+     * Each page is retrieved with a separate call to {@code co}, and therefore in its own session if there is no enclosing one.
+     * As a result, the stream is not a snapshot -- entities saved while it is being consumed may or may not be included, but none of the entities that existed
+     * from start to end of the consumption are missed or repeated, provided their ordering property does not change.
+     *
+     * @param co -- companion to retrieve entities with
+     * @param query -- a query that determines matching entities
+     * @param fetch -- fetch model, which should include {@code orderProp}
+     * @param orderProp -- the ordering property, dot-notation is supported
+     * @param ascending -- ordering direction
+     * @param pageCapacity
+     * @return
+     */
+    public static <T extends AbstractEntity<?>> Stream<T> stream(
+            final IEntityDao<T> co,
+            final EntityResultQueryModel<T> query,
+            final fetch<T> fetch,
+            final String orderProp,
+            final boolean ascending,
+            final int pageCapacity) {
+        final Iterator<T> entities = new Iterator<T>() {
+            private Optional<KeysetCursor> next = Optional.empty();
+            private Iterator<T> current;
+
+            @Override
+            public boolean hasNext() {
+                while ((current == null || !current.hasNext()) && (current == null || next.isPresent())) {
+                    final KeysetPage<T> page = page(co, query, fetch, orderProp, ascending, next, pageCapacity);
+                    next = page.next();
+                    current = page.data().iterator();
+                }
+                return current.hasNext();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return current.next();
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(entities, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * Restricts {@code query} to entities that follow the cursor, i.e. {@code (orderProp, id) > (value, id)} for ascending order.
+     */
+    private static <T extends AbstractEntity<?>> EntityResultQueryModel<T> seek(final EntityResultQueryModel<T> query, final String orderProp, final boolean ascending, final KeysetCursor cursor) {
+        final IWhere0<T> where = select(query).where();
+        if (ascending) {
+            return where.begin()
+                        .prop(orderProp).gt().val(cursor.getValue()).or()
+                        .begin().prop(orderProp).eq().val(cursor.getValue()).and().prop("id").gt().val(cursor.getId()).end()
+                    .end().model();
+        }
+        return where.begin()
+                    .prop(orderProp).lt().val(cursor.getValue()).or()
+                    .begin().prop(orderProp).eq().val(cursor.getValue()).and().prop("id").lt().val(cursor.getId()).end()
+                .end().model();
+    }
+
+}
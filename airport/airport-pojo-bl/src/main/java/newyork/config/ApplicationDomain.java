@@ -22,13 +22,19 @@ import newyork.tablescodes.assets.master.menu.actions.AssetClassMaster_OpenMain_
 import newyork.tablescodes.assets.master.menu.actions.AssetClassMaster_OpenAssetType_MenuItem;
 import newyork.assets.AssetFinDet;
 import newyork.projects.Project;
+import newyork.assets.depreciation.AssetDepreciation;
 import newyork.organisational.Role;
 import newyork.organisational.BusinessUnit;
 import newyork.organisational.Organisation;
+import newyork.organisational.OrganisationClosure;
+import newyork.organisational.BusinessUnitClosure;
+import newyork.organisational.RoleClosure;
 import newyork.tablescodes.assets.AssetTypeOwnership;
 import newyork.tablescodes.assets.AssetOwnership;
 import newyork.tablescodes.assets.AssetManagement;
 import newyork.tablescodes.assets.AssetTypeManagement;
+import newyork.tablescodes.assets.AssetCurrOwnership;
+import newyork.tablescodes.assets.DatedRecordOverlap;
 
 /**
  * A class to register domain entities.
@@ -64,12 +70,18 @@ public class ApplicationDomain implements IApplicationDomainProvider {
         add(Role.class);
         add(BusinessUnit.class);
         add(Organisation.class);
+        add(OrganisationClosure.class);
+        add(BusinessUnitClosure.class);
+        add(RoleClosure.class);
         add(AssetTypeOwnership.class);
         add(AssetOwnership.class);
         add(AssetOperation.class);
         add(AssetTypeOperation.class);
         add(AssetManagement.class);
         add(AssetTypeManagement.class);
+        add(AssetCurrOwnership.class);
+        add(DatedRecordOverlap.class);
+        add(AssetDepreciation.class);
 
     }
 
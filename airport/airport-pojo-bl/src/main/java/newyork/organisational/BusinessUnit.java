@@ -42,6 +42,11 @@ public class BusinessUnit extends AbstractPersistentEntity<DynamicEntityKey> {
     @CompositeKeyMember(1)
     private String name;
 
+    @IsProperty
+    @MapTo
+    @Title(value = "Parent", desc = "The business unit this business unit is part of.")
+    private BusinessUnit parent;
+
     @Observable
     public BusinessUnit setName(final String name) {
         this.name = name;
@@ -51,6 +56,16 @@ public class BusinessUnit extends AbstractPersistentEntity<DynamicEntityKey> {
     public String getName() {
         return name;
     }
+
+    @Observable
+    public BusinessUnit setParent(final BusinessUnit parent) {
+        this.parent = parent;
+        return this;
+    }
+
+    public BusinessUnit getParent() {
+        return parent;
+    }
     
     @Override
     @Observable
@@ -0,0 +1,87 @@
+package newyork.organisational;
+
+import newyork.common.ddl.DbIndex;
+import ua.com.fielden.platform.entity.AbstractPersistentEntity;
+import ua.com.fielden.platform.entity.DynamicEntityKey;
+import ua.com.fielden.platform.entity.annotation.CompanionObject;
+import ua.com.fielden.platform.entity.annotation.CompositeKeyMember;
+import ua.com.fielden.platform.entity.annotation.IsProperty;
+import ua.com.fielden.platform.entity.annotation.KeyTitle;
+import ua.com.fielden.platform.entity.annotation.KeyType;
+import ua.com.fielden.platform.entity.annotation.MapEntityTo;
+import ua.com.fielden.platform.entity.annotation.MapTo;
+import ua.com.fielden.platform.entity.annotation.Observable;
+import ua.com.fielden.platform.entity.annotation.Title;
+import ua.com.fielden.platform.reflection.TitlesDescsGetter;
+import ua.com.fielden.platform.utils.Pair;
+
+/**
+ * A closure table record of the {@link BusinessUnit} hierarchy, which relates a business unit to one of its descendants.
+ * <p>
+ * There is a record for every pair of a business unit and a business unit under it at any depth, including a record of depth 0 for every business unit and itself.
+ * This way all business units under some business unit can be selected with a single indexed query (see {@link IBusinessUnitClosure#subtreeOf(BusinessUnit)}).
+ * Records are maintained by {@link IBusinessUnit} upon saving business units.
+ *
+ * @author Developers
+ *
+ */
+@KeyType(DynamicEntityKey.class)
+@KeyTitle("Ancestor and descendant")
+@CompanionObject(IBusinessUnitClosure.class)
+@MapEntityTo
+@DbIndex(props = {"ancestor", "descendant"}, unique = true)
+@DbIndex(props = {"descendant", "ancestor"}, include = {"depth"})
+public class BusinessUnitClosure extends AbstractPersistentEntity<DynamicEntityKey> {
+
+    private static final Pair<String, String> entityTitleAndDesc = TitlesDescsGetter.getEntityTitleAndDesc(BusinessUnitClosure.class);
+    public static final String ENTITY_TITLE = entityTitleAndDesc.getKey();
+    public static final String ENTITY_DESC = entityTitleAndDesc.getValue();
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Ancestor", desc = "The business unit at the top of the path.")
+    @CompositeKeyMember(1)
+    private BusinessUnit ancestor;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Descendant", desc = "The business unit at the bottom of the path, which is the ancestor itself for paths of depth 0.")
+    @CompositeKeyMember(2)
+    private BusinessUnit descendant;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Depth", desc = "The number of parent links between the ancestor and the descendant.")
+    private Integer depth;
+
+    @Observable
+    public BusinessUnitClosure setAncestor(final BusinessUnit ancestor) {
+        this.ancestor = ancestor;
+        return this;
+    }
+
+    public BusinessUnit getAncestor() {
+        return ancestor;
+    }
+
+    @Observable
+    public BusinessUnitClosure setDescendant(final BusinessUnit descendant) {
+        this.descendant = descendant;
+        return this;
+    }
+
+    public BusinessUnit getDescendant() {
+        return descendant;
+    }
+
+    @Observable
+    public BusinessUnitClosure setDepth(final Integer depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+}
@@ -13,5 +13,5 @@ import ua.com.fielden.platform.dao.IEntityDao;
 public interface IBusinessUnit extends IEntityDao<BusinessUnit> {
 
     static final IFetchProvider<BusinessUnit> FETCH_PROVIDER = EntityUtils.fetch(BusinessUnit.class).with(
-         "name", "desc");
+         "name", "desc", "parent");
 }
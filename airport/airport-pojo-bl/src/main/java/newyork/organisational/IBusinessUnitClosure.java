@@ -0,0 +1,60 @@
+package newyork.organisational;
+
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.entity.query.model.PrimitiveResultQueryModel;
+import ua.com.fielden.platform.utils.EntityUtils;
+
+/**
+ * Companion object for entity {@link BusinessUnitClosure}.
+ *
+ * @author Developers
+ *
+ */
+public interface IBusinessUnitClosure extends IEntityDao<BusinessUnitClosure> {
+
+    static final IFetchProvider<BusinessUnitClosure> FETCH_PROVIDER = EntityUtils.fetch(BusinessUnitClosure.class)
+            .with("ancestor", "descendant", "depth");
+
+    /**
+     * A sub-query that yields IDs of {@code businessUnit} and all business units under it, such as in {@code prop("bu").in().model(subtreeOf(businessUnit))}.
+     *
+     * @param businessUnit
+     * @return the sub-query
+     */
+    static PrimitiveResultQueryModel subtreeOf(final BusinessUnit businessUnit) {
+        return select(BusinessUnitClosure.class).where().prop("ancestor").eq().val(businessUnit).yield().prop("descendant").modelAsPrimitive();
+    }
+
+    /**
+     * Throws an exception if the parent of {@code businessUnit} is the business unit itself or one of the business units under it.
+     *
+     * @param businessUnit
+     */
+    void assertAcyclic(final BusinessUnit businessUnit);
+
+    /**
+     * Brings the closure records of a saved {@code businessUnit} and the business units under it in line with its parent.
+     * This needs to happen after the business unit is created or its parent is changed.
+     *
+     * @param businessUnit
+     */
+    void maintain(final BusinessUnit businessUnit);
+
+    /**
+     * Recomputes all closure records from the parents of all business units, which is useful for the initial population.
+     *
+     * @return the number of closure records
+     */
+    int rebuild();
+
+    /**
+     * Recomputes all closure records if there are none yet while there are business units, which is performed upon start-up for databases that predate the closure records.
+     *
+     * @return the number of closure records created
+     */
+    int rebuildIfEmpty();
+
+}
@@ -13,5 +13,5 @@ import ua.com.fielden.platform.dao.IEntityDao;
 public interface IOrganisation extends IEntityDao<Organisation> {
 
     static final IFetchProvider<Organisation> FETCH_PROVIDER = EntityUtils.fetch(Organisation.class).with(
-            "name", "desc");
+            "name", "desc", "parent");
 }
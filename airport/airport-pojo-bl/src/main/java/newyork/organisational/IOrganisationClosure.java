@@ -0,0 +1,60 @@
+package newyork.organisational;
+
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.entity.query.model.PrimitiveResultQueryModel;
+import ua.com.fielden.platform.utils.EntityUtils;
+
+/**
+ * Companion object for entity {@link OrganisationClosure}.
+ *
+ * @author Developers
+ *
+ */
+public interface IOrganisationClosure extends IEntityDao<OrganisationClosure> {
+
+    static final IFetchProvider<OrganisationClosure> FETCH_PROVIDER = EntityUtils.fetch(OrganisationClosure.class)
+            .with("ancestor", "descendant", "depth");
+
+    /**
+     * A sub-query that yields IDs of {@code organisation} and all organisations under it, such as in {@code prop("org").in().model(subtreeOf(organisation))}.
+     *
+     * @param organisation
+     * @return the sub-query
+     */
+    static PrimitiveResultQueryModel subtreeOf(final Organisation organisation) {
+        return select(OrganisationClosure.class).where().prop("ancestor").eq().val(organisation).yield().prop("descendant").modelAsPrimitive();
+    }
+
+    /**
+     * Throws an exception if the parent of {@code organisation} is the organisation itself or one of the organisations under it.
+     *
+     * @param organisation
+     */
+    void assertAcyclic(final Organisation organisation);
+
+    /**
+     * Brings the closure records of a saved {@code organisation} and the organisations under it in line with its parent.
+     * This needs to happen after the organisation is created or its parent is changed.
+     *
+     * @param organisation
+     */
+    void maintain(final Organisation organisation);
+
+    /**
+     * Recomputes all closure records from the parents of all organisations, which is useful for the initial population.
+     *
+     * @return the number of closure records
+     */
+    int rebuild();
+
+    /**
+     * Recomputes all closure records if there are none yet while there are organisations, which is performed upon start-up for databases that predate the closure records.
+     *
+     * @return the number of closure records created
+     */
+    int rebuildIfEmpty();
+
+}
@@ -13,5 +13,5 @@ import ua.com.fielden.platform.dao.IEntityDao;
 public interface IRole extends IEntityDao<Role> {
 
     static final IFetchProvider<Role> FETCH_PROVIDER = EntityUtils.fetch(Role.class).with(
-            "name", "desc");
+            "name", "desc", "parent");
 }
@@ -0,0 +1,60 @@
+package newyork.organisational;
+
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.entity.query.model.PrimitiveResultQueryModel;
+import ua.com.fielden.platform.utils.EntityUtils;
+
+/**
+ * Companion object for entity {@link RoleClosure}.
+ *
+ * @author Developers
+ *
+ */
+public interface IRoleClosure extends IEntityDao<RoleClosure> {
+
+    static final IFetchProvider<RoleClosure> FETCH_PROVIDER = EntityUtils.fetch(RoleClosure.class)
+            .with("ancestor", "descendant", "depth");
+
+    /**
+     * A sub-query that yields IDs of {@code role} and all roles under it, such as in {@code prop("role").in().model(subtreeOf(role))}.
+     *
+     * @param role
+     * @return the sub-query
+     */
+    static PrimitiveResultQueryModel subtreeOf(final Role role) {
+        return select(RoleClosure.class).where().prop("ancestor").eq().val(role).yield().prop("descendant").modelAsPrimitive();
+    }
+
+    /**
+     * Throws an exception if the parent of {@code role} is the role itself or one of the roles under it.
+     *
+     * @param role
+     */
+    void assertAcyclic(final Role role);
+
+    /**
+     * Brings the closure records of a saved {@code role} and the roles under it in line with its parent.
+     * This needs to happen after the role is created or its parent is changed.
+     *
+     * @param role
+     */
+    void maintain(final Role role);
+
+    /**
+     * Recomputes all closure records from the parents of all roles, which is useful for the initial population.
+     *
+     * @return the number of closure records
+     */
+    int rebuild();
+
+    /**
+     * Recomputes all closure records if there are none yet while there are roles, which is performed upon start-up for databases that predate the closure records.
+     *
+     * @return the number of closure records created
+     */
+    int rebuildIfEmpty();
+
+}
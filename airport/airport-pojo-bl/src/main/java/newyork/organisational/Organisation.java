@@ -42,6 +42,11 @@ public class Organisation extends AbstractPersistentEntity<DynamicEntityKey> {
     @CompositeKeyMember(1)
     private String name;
 
+    @IsProperty
+    @MapTo
+    @Title(value = "Parent", desc = "The organisation this organisation is part of.")
+    private Organisation parent;
+
     @Observable
     public Organisation setName(final String name) {
         this.name = name;
@@ -51,6 +56,16 @@ public class Organisation extends AbstractPersistentEntity<DynamicEntityKey> {
     public String getName() {
         return name;
     }
+
+    @Observable
+    public Organisation setParent(final Organisation parent) {
+        this.parent = parent;
+        return this;
+    }
+
+    public Organisation getParent() {
+        return parent;
+    }
     
     @Override
     @Observable
@@ -0,0 +1,87 @@
+package newyork.organisational;
+
+import newyork.common.ddl.DbIndex;
+import ua.com.fielden.platform.entity.AbstractPersistentEntity;
+import ua.com.fielden.platform.entity.DynamicEntityKey;
+import ua.com.fielden.platform.entity.annotation.CompanionObject;
+import ua.com.fielden.platform.entity.annotation.CompositeKeyMember;
+import ua.com.fielden.platform.entity.annotation.IsProperty;
+import ua.com.fielden.platform.entity.annotation.KeyTitle;
+import ua.com.fielden.platform.entity.annotation.KeyType;
+import ua.com.fielden.platform.entity.annotation.MapEntityTo;
+import ua.com.fielden.platform.entity.annotation.MapTo;
+import ua.com.fielden.platform.entity.annotation.Observable;
+import ua.com.fielden.platform.entity.annotation.Title;
+import ua.com.fielden.platform.reflection.TitlesDescsGetter;
+import ua.com.fielden.platform.utils.Pair;
+
+/**
+ * A closure table record of the {@link Organisation} hierarchy, which relates an organisation to one of its descendants.
+ * <p>
+ * There is a record for every pair of an organisation and an organisation under it at any depth, including a record of depth 0 for every organisation and itself.
+ * This way all organisations under some organisation can be selected with a single indexed query (see {@link IOrganisationClosure#subtreeOf(Organisation)}).
+ * Records are maintained by {@link IOrganisation} upon saving organisations.
+ *
+ * @author Developers
+ *
+ */
+@KeyType(DynamicEntityKey.class)
+@KeyTitle("Ancestor and descendant")
+@CompanionObject(IOrganisationClosure.class)
+@MapEntityTo
+@DbIndex(props = {"ancestor", "descendant"}, unique = true)
+@DbIndex(props = {"descendant", "ancestor"}, include = {"depth"})
+public class OrganisationClosure extends AbstractPersistentEntity<DynamicEntityKey> {
+
+    private static final Pair<String, String> entityTitleAndDesc = TitlesDescsGetter.getEntityTitleAndDesc(OrganisationClosure.class);
+    public static final String ENTITY_TITLE = entityTitleAndDesc.getKey();
+    public static final String ENTITY_DESC = entityTitleAndDesc.getValue();
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Ancestor", desc = "The organisation at the top of the path.")
+    @CompositeKeyMember(1)
+    private Organisation ancestor;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Descendant", desc = "The organisation at the bottom of the path, which is the ancestor itself for paths of depth 0.")
+    @CompositeKeyMember(2)
+    private Organisation descendant;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Depth", desc = "The number of parent links between the ancestor and the descendant.")
+    private Integer depth;
+
+    @Observable
+    public OrganisationClosure setAncestor(final Organisation ancestor) {
+        this.ancestor = ancestor;
+        return this;
+    }
+
+    public Organisation getAncestor() {
+        return ancestor;
+    }
+
+    @Observable
+    public OrganisationClosure setDescendant(final Organisation descendant) {
+        this.descendant = descendant;
+        return this;
+    }
+
+    public Organisation getDescendant() {
+        return descendant;
+    }
+
+    @Observable
+    public OrganisationClosure setDepth(final Integer depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+}
@@ -43,6 +43,11 @@ public class Role extends AbstractPersistentEntity<DynamicEntityKey> {
     @CompositeKeyMember(1)
     private String name;
 
+    @IsProperty
+    @MapTo
+    @Title(value = "Parent", desc = "The role this role reports to.")
+    private Role parent;
+
     @Observable
     public Role setName(final String name) {
         this.name = name;
@@ -52,6 +57,16 @@ public class Role extends AbstractPersistentEntity<DynamicEntityKey> {
     public String getName() {
         return name;
     }
+
+    @Observable
+    public Role setParent(final Role parent) {
+        this.parent = parent;
+        return this;
+    }
+
+    public Role getParent() {
+        return parent;
+    }
     
     @Override
     @Observable
@@ -0,0 +1,87 @@
+package newyork.organisational;
+
+import newyork.common.ddl.DbIndex;
+import ua.com.fielden.platform.entity.AbstractPersistentEntity;
+import ua.com.fielden.platform.entity.DynamicEntityKey;
+import ua.com.fielden.platform.entity.annotation.CompanionObject;
+import ua.com.fielden.platform.entity.annotation.CompositeKeyMember;
+import ua.com.fielden.platform.entity.annotation.IsProperty;
+import ua.com.fielden.platform.entity.annotation.KeyTitle;
+import ua.com.fielden.platform.entity.annotation.KeyType;
+import ua.com.fielden.platform.entity.annotation.MapEntityTo;
+import ua.com.fielden.platform.entity.annotation.MapTo;
+import ua.com.fielden.platform.entity.annotation.Observable;
+import ua.com.fielden.platform.entity.annotation.Title;
+import ua.com.fielden.platform.reflection.TitlesDescsGetter;
+import ua.com.fielden.platform.utils.Pair;
+
+/**
+ * A closure table record of the {@link Role} hierarchy, which relates a role to one of its descendants.
+ * <p>
+ * There is a record for every pair of a role and a role under it at any depth, including a record of depth 0 for every role and itself.
+ * This way all roles under some role can be selected with a single indexed query (see {@link IRoleClosure#subtreeOf(Role)}).
+ * Records are maintained by {@link IRole} upon saving roles.
+ *
+ * @author Developers
+ *
+ */
+@KeyType(DynamicEntityKey.class)
+@KeyTitle("Ancestor and descendant")
+@CompanionObject(IRoleClosure.class)
+@MapEntityTo
+@DbIndex(props = {"ancestor", "descendant"}, unique = true)
+@DbIndex(props = {"descendant", "ancestor"}, include = {"depth"})
+public class RoleClosure extends AbstractPersistentEntity<DynamicEntityKey> {
+
+    private static final Pair<String, String> entityTitleAndDesc = TitlesDescsGetter.getEntityTitleAndDesc(RoleClosure.class);
+    public static final String ENTITY_TITLE = entityTitleAndDesc.getKey();
+    public static final String ENTITY_DESC = entityTitleAndDesc.getValue();
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Ancestor", desc = "The role at the top of the path.")
+    @CompositeKeyMember(1)
+    private Role ancestor;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Descendant", desc = "The role at the bottom of the path, which is the ancestor itself for paths of depth 0.")
+    @CompositeKeyMember(2)
+    private Role descendant;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Depth", desc = "The number of parent links between the ancestor and the descendant.")
+    private Integer depth;
+
+    @Observable
+    public RoleClosure setAncestor(final Role ancestor) {
+        this.ancestor = ancestor;
+        return this;
+    }
+
+    public Role getAncestor() {
+        return ancestor;
+    }
+
+    @Observable
+    public RoleClosure setDescendant(final Role descendant) {
+        this.descendant = descendant;
+        return this;
+    }
+
+    public Role getDescendant() {
+        return descendant;
+    }
+
+    @Observable
+    public RoleClosure setDepth(final Integer depth) {
+        this.depth = depth;
+        return this;
+    }
+
+    public Integer getDepth() {
+        return depth;
+    }
+
+}
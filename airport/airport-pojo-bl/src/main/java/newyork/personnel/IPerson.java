@@ -10,12 +10,15 @@ import static ua.com.fielden.platform.types.either.Either.right;
 import ua.com.fielden.platform.dao.IEntityDao;
 import ua.com.fielden.platform.entity.query.fluent.fetch;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
 import ua.com.fielden.platform.error.Result;
 import ua.com.fielden.platform.security.user.User;
 import ua.com.fielden.platform.types.either.Either;
+import ua.com.fielden.platform.types.tuples.T3;
 
 
 /**
@@ -31,6 +34,22 @@ public interface IPerson extends IEntityDao<Person> {
     /** Should provide a person with default user name and password. */
     Person makeUser(final Person person);
 
+    /**
+     * Makes application users of all {@code persons} in a single session, loading the base user only once.
+     * This is a loop within one transaction rather than a batch operation -- a user is still created with its own password reset and saved for every person, followed by the save of the person.
+     * None of the persons is made a user if any of them is a user already or cannot be found.
+     *
+     * @param persons
+     * @return persons associated with their new users, ordered by key
+     */
+    List<Person> makeUsers(final Collection<Person> persons);
+
+    /** Generates a unique person code, which is short and based on the person's names (e.g. 4 letters), or on the username if no such code is available. */
+    String generateUniquePersonCode(final String givenName, final String surName, final String userName);
+
+    /** Generates unique person codes for triples of given name, surname and username, guaranteeing that the generated codes are also unique among themselves. */
+    List<String> generateUniquePersonCodes(final List<T3<String, String, String>> names);
+
     /** Retrieves current person using the default fetch model. */
     Optional<Person> currentPerson();
 
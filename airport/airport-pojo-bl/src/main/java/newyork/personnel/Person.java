@@ -1,5 +1,6 @@
 package newyork.personnel;
 
+import newyork.organisational.Organisation;
 import newyork.security.tokens.personnel.MakePersonAUserToken;
 import ua.com.fielden.platform.entity.ActivatableAbstractEntity;
 import ua.com.fielden.platform.entity.annotation.CompanionObject;
@@ -77,6 +78,11 @@ public class Person extends ActivatableAbstractEntity<String> {
     @BeforeChange(@Handler(EmailValidator.class))
     private String email;
 
+    @IsProperty
+    @MapTo
+    @Title(value = "Organisation", desc = "Organisation the person works for, which restricts the data visible to the person's user. Persons without an organisation see all data.")
+    private Organisation organisation;
+
     @Override
     @Observable
     public Person setDesc(final String desc) {
@@ -151,6 +157,16 @@ public class Person extends ActivatableAbstractEntity<String> {
         return user;
     }
 
+    @Observable
+    public Person setOrganisation(final Organisation organisation) {
+        this.organisation = organisation;
+        return this;
+    }
+
+    public Organisation getOrganisation() {
+        return organisation;
+    }
+
     /** A convenient method to identify whether the current person instance is an application user. */
     public boolean isUser() {
         return getUser() != null;
@@ -0,0 +1,71 @@
+package newyork.projects;
+
+import java.util.Date;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+import com.google.inject.Singleton;
+
+/**
+ * An in-memory index of {@link Project} periods, which makes it possible to check whether a date falls within a project period without querying the database.
+ * <p>
+ * Periods are loaded lazily upon first use and are kept up-to-date by {@code ProjectDao}, which discards the periods of saved and deleted projects.
+ * A project that does not exist is represented by {@link Period#NONE}, which contains no dates.
+ *
+ * @author Developers
+ *
+ */
+@Singleton
+public class ProjectPeriods {
+
+    private final ConcurrentMap<Long, Period> periods = new ConcurrentHashMap<>();
+
+    /**
+     * Determines whether {@code date} is within the period of the specified project, inclusive of the start and finish dates.
+     *
+     * @param projectId
+     * @param date
+     * @param loader -- loads the period of a project if it is not indexed yet
+     * @return
+     */
+    public boolean contains(final Long projectId, final Date date, final Function<Long, Period> loader) {
+        return periods.computeIfAbsent(projectId, loader).contains(date.getTime());
+    }
+
+    public void invalidate(final Long projectId) {
+        periods.remove(projectId);
+    }
+
+    public void invalidateAll() {
+        periods.clear();
+    }
+
+    /**
+     * An immutable project period with start and finish dates as milliseconds.
+     */
+    public static final class Period {
+        public static final Period NONE = new Period(Long.MAX_VALUE, Long.MIN_VALUE);
+
+        private final long start;
+        private final long finish;
+
+        private Period(final long start, final long finish) {
+            this.start = start;
+            this.finish = finish;
+        }
+
+        /**
+         * Creates a period from a project, which should have its start and finish dates fetched. An open period finishes at the end of time.
+         */
+        public static Period of(final Project project) {
+            return new Period(project.getStartDate().getTime(),
+                              project.getFinishDate() == null ? Long.MAX_VALUE : project.getFinishDate().getTime());
+        }
+
+        public boolean contains(final long instant) {
+            return start <= instant && instant <= finish;
+        }
+    }
+
+}
@@ -0,0 +1,13 @@
+package newyork.security.tokens.admin;
+
+import ua.com.fielden.platform.entity.annotation.KeyTitle;
+
+/**
+ * Fetch model profile clearing security token.
+ *
+ * @author Developers
+ *
+ */
+@KeyTitle(value = "Clear fetch profile", desc = "Controls permission to clear the fetch profile, which changes the fetch models of companions that apply it.")
+public class FetchProfileClearToken extends FetchProfileReviewToken {
+}
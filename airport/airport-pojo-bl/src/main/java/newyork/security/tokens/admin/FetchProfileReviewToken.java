@@ -0,0 +1,14 @@
+package newyork.security.tokens.admin;
+
+import ua.com.fielden.platform.entity.annotation.KeyTitle;
+import ua.com.fielden.platform.security.ISecurityToken;
+
+/**
+ * Fetch model profile review security token.
+ *
+ * @author Developers
+ *
+ */
+@KeyTitle(value = "Fetch profile review", desc = "Controls permission to review the profile of property paths used by centres and masters.")
+public class FetchProfileReviewToken implements ISecurityToken {
+}
@@ -0,0 +1,13 @@
+package newyork.security.tokens.admin;
+
+import ua.com.fielden.platform.entity.annotation.KeyTitle;
+
+/**
+ * Slow query log clearing security token.
+ *
+ * @author Developers
+ *
+ */
+@KeyTitle(value = "Clear slow query log", desc = "Controls permission to clear the slow query log.")
+public class SlowQueryLogClearToken extends SlowQueryLogReviewToken {
+}
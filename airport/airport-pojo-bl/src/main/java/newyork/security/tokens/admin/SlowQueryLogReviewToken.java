@@ -0,0 +1,14 @@
+package newyork.security.tokens.admin;
+
+import ua.com.fielden.platform.entity.annotation.KeyTitle;
+import ua.com.fielden.platform.security.ISecurityToken;
+
+/**
+ * Slow query log review security token.
+ *
+ * @author Developers
+ *
+ */
+@KeyTitle(value = "Slow query log review", desc = "Controls permission to review the slow query log, which includes EQL models with parameter values.")
+public class SlowQueryLogReviewToken implements ISecurityToken {
+}
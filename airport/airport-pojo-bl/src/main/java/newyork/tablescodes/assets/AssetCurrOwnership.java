@@ -0,0 +1,70 @@
+package newyork.tablescodes.assets;
+
+import newyork.assets.Asset;
+import newyork.common.ddl.DbIndex;
+import ua.com.fielden.platform.entity.AbstractPersistentEntity;
+import ua.com.fielden.platform.entity.annotation.CompanionObject;
+import ua.com.fielden.platform.entity.annotation.IsProperty;
+import ua.com.fielden.platform.entity.annotation.KeyTitle;
+import ua.com.fielden.platform.entity.annotation.KeyType;
+import ua.com.fielden.platform.entity.annotation.MapEntityTo;
+import ua.com.fielden.platform.entity.annotation.MapTo;
+import ua.com.fielden.platform.entity.annotation.Observable;
+import ua.com.fielden.platform.entity.annotation.SkipEntityExistsValidation;
+import ua.com.fielden.platform.entity.annotation.Title;
+import ua.com.fielden.platform.reflection.TitlesDescsGetter;
+import ua.com.fielden.platform.utils.Pair;
+
+/**
+ * A materialised projection of the current {@link AssetOwnership} for an asset.
+ * <p>
+ * There is at most one record per asset, which references the ownership with the latest start date that is not in the future.
+ * The projection is maintained by {@link IAssetOwnership} upon saving and deleting ownerships, and is rolled forward daily to pick up future-dated ownerships as they come into effect.
+ *
+ * @author Developers
+ *
+ */
+@KeyType(Asset.class)
+@KeyTitle("Asset")
+@CompanionObject(IAssetCurrOwnership.class)
+@MapEntityTo
+@DbIndex(props = {"ownership"})
+public class AssetCurrOwnership extends AbstractPersistentEntity<Asset> {
+
+    private static final Pair<String, String> entityTitleAndDesc = TitlesDescsGetter.getEntityTitleAndDesc(AssetCurrOwnership.class);
+    public static final String ENTITY_TITLE = entityTitleAndDesc.getKey();
+    public static final String ENTITY_DESC = entityTitleAndDesc.getValue();
+
+    @IsProperty
+    @MapTo
+    @SkipEntityExistsValidation(skipActiveOnly = true)
+    private Asset key;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Ownership", desc = "The ownership that is currently in effect for the asset.")
+    private AssetOwnership ownership;
+
+    @Observable
+    public AssetCurrOwnership setOwnership(final AssetOwnership ownership) {
+        this.ownership = ownership;
+        return this;
+    }
+
+    public AssetOwnership getOwnership() {
+        return ownership;
+    }
+
+    @Override
+    @Observable
+    public AssetCurrOwnership setKey(final Asset key) {
+        this.key = key;
+        return this;
+    }
+
+    @Override
+    public Asset getKey() {
+        return key;
+    }
+
+}
@@ -3,6 +3,7 @@ package newyork.tablescodes.assets;
 import java.util.Date;
 
 import newyork.assets.Asset;
+import newyork.common.ddl.DbIndex;
 import newyork.organisational.BusinessUnit;
 import newyork.organisational.Organisation;
 import newyork.organisational.Role;
@@ -36,6 +37,7 @@ import ua.com.fielden.platform.utils.Pair;
 @KeyTitle("Key")
 @CompanionObject(IAssetOperation.class)
 @MapEntityTo
+@DbIndex(props = {"asset", "startDate"}, include = {"endDate"})
 public class AssetOperation extends AbstractPersistentEntity<DynamicEntityKey> {
 
     private static final Pair<String, String> entityTitleAndDesc = TitlesDescsGetter.getEntityTitleAndDesc(AssetOperation.class);
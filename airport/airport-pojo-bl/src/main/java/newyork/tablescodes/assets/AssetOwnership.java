@@ -3,6 +3,7 @@ package newyork.tablescodes.assets;
 import java.util.Date;
 
 import newyork.assets.Asset;
+import newyork.common.ddl.DbIndex;
 import newyork.organisational.BusinessUnit;
 import newyork.organisational.Organisation;
 import newyork.organisational.Role;
@@ -34,6 +35,8 @@ import ua.com.fielden.platform.utils.Pair;
 @KeyTitle("Key")
 @CompanionObject(IAssetOwnership.class)
 @MapEntityTo
+@DbIndex(props = {"asset", "startDate"}, include = {"role", "bu", "org"})
+@DbIndex(props = {"org"})
 public class AssetOwnership extends AbstractOwnership {
 
     private static final Pair<String, String> entityTitleAndDesc = TitlesDescsGetter.getEntityTitleAndDesc(AssetOwnership.class);
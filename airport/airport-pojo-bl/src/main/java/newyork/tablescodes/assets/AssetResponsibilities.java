@@ -0,0 +1,95 @@
+package newyork.tablescodes.assets;
+
+import java.util.Date;
+import java.util.Optional;
+
+import newyork.organisational.BusinessUnit;
+import newyork.organisational.Organisation;
+import newyork.organisational.Role;
+
+/**
+ * The effective ownership, management and operation of an asset at some date, as determined by {@link IAssetResponsibilityResolver}.
+ * Each of the responsibilities is empty if there is neither an asset-level nor an asset-type-level record in effect.
+ *
+ * @author Developers
+ *
+ */
+public final class AssetResponsibilities {
+
+    public static final AssetResponsibilities NONE = new AssetResponsibilities(null, null, null);
+
+    private final Responsible owner;
+    private final Responsible manager;
+    private final Responsible operator;
+
+    public AssetResponsibilities(final Responsible owner, final Responsible manager, final Responsible operator) {
+        this.owner = owner;
+        this.manager = manager;
+        this.operator = operator;
+    }
+
+    public Optional<Responsible> owner() {
+        return Optional.ofNullable(owner);
+    }
+
+    public Optional<Responsible> manager() {
+        return Optional.ofNullable(manager);
+    }
+
+    public Optional<Responsible> operator() {
+        return Optional.ofNullable(operator);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("owner [%s], manager [%s], operator [%s]", owner, manager, operator);
+    }
+
+    /**
+     * The role, business unit or organisation (only one of them is expected to be present) responsible for an asset, and the record that made it so.
+     */
+    public static final class Responsible {
+        private final Role role;
+        private final BusinessUnit bu;
+        private final Organisation org;
+        private final Date startDate;
+        private final boolean assetLevel;
+
+        public Responsible(final Role role, final BusinessUnit bu, final Organisation org, final Date startDate, final boolean assetLevel) {
+            this.role = role;
+            this.bu = bu;
+            this.org = org;
+            this.startDate = startDate;
+            this.assetLevel = assetLevel;
+        }
+
+        public Role getRole() {
+            return role;
+        }
+
+        public BusinessUnit getBu() {
+            return bu;
+        }
+
+        public Organisation getOrg() {
+            return org;
+        }
+
+        public Date getStartDate() {
+            return startDate;
+        }
+
+        /**
+         * Indicates whether the responsibility was established for the asset itself, rather than inherited from its asset type.
+         */
+        public boolean isAssetLevel() {
+            return assetLevel;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("role [%s], bu [%s], org [%s] since [%s]%s", role, bu, org, startDate, assetLevel ? "" : " via asset type");
+        }
+    }
+
+}
@@ -18,6 +18,8 @@ import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.order
 import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
 import static ua.com.fielden.platform.utils.EntityUtils.fetch;
 
+import newyork.tablescodes.assets.validators.AssetTypeDepreciationMethodValidator;
+import newyork.tablescodes.assets.validators.AssetTypeUsefulLifeValidator;
 import ua.com.fielden.platform.dao.QueryExecutionModel;
 import ua.com.fielden.platform.entity.ActivatableAbstractEntity;
 import ua.com.fielden.platform.entity.DynamicEntityKey;
@@ -34,6 +36,8 @@ import ua.com.fielden.platform.entity.annotation.Required;
 import ua.com.fielden.platform.entity.annotation.Title;
 import ua.com.fielden.platform.entity.annotation.titles.PathTitle;
 import ua.com.fielden.platform.entity.annotation.titles.Subtitles;
+import ua.com.fielden.platform.entity.annotation.mutator.BeforeChange;
+import ua.com.fielden.platform.entity.annotation.mutator.Handler;
 import ua.com.fielden.platform.entity.query.EntityAggregates;
 import ua.com.fielden.platform.entity.query.fluent.fetch;
 import ua.com.fielden.platform.entity.query.model.AggregatedResultQueryModel;
@@ -132,6 +136,38 @@ public class AssetType extends ActivatableAbstractEntity<DynamicEntityKey> {
         return assetClass;
     }
     
+    @IsProperty
+    @MapTo
+    @Title(value = "Depreciation Method", desc = "The code of the method to depreciate assets of this type: SL for straight line or DB for declining balance.")
+    @BeforeChange(@Handler(AssetTypeDepreciationMethodValidator.class))
+    private String depreciationMethod;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Useful Life", desc = "The number of months over which assets of this type are depreciated.")
+    @BeforeChange(@Handler(AssetTypeUsefulLifeValidator.class))
+    private Integer usefulLifeMonths;
+
+    @Observable
+    public AssetType setDepreciationMethod(final String depreciationMethod) {
+        this.depreciationMethod = depreciationMethod;
+        return this;
+    }
+
+    public String getDepreciationMethod() {
+        return depreciationMethod;
+    }
+
+    @Observable
+    public AssetType setUsefulLifeMonths(final Integer usefulLifeMonths) {
+        this.usefulLifeMonths = usefulLifeMonths;
+        return this;
+    }
+
+    public Integer getUsefulLifeMonths() {
+        return usefulLifeMonths;
+    }
+
     @Override
     @Observable
     public AssetType setActive(boolean active) {
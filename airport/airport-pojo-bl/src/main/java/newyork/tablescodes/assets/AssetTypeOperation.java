@@ -2,6 +2,7 @@ package newyork.tablescodes.assets;
 
 import java.util.Date;
 
+import newyork.common.ddl.DbIndex;
 import newyork.organisational.BusinessUnit;
 import newyork.organisational.Organisation;
 import newyork.organisational.Role;
@@ -35,6 +36,7 @@ import ua.com.fielden.platform.utils.Pair;
 @KeyTitle("Key")
 @CompanionObject(IAssetTypeOperation.class)
 @MapEntityTo
+@DbIndex(props = {"assetType", "startDate"}, include = {"endDate"})
 public class AssetTypeOperation extends AbstractPersistentEntity<DynamicEntityKey> {
 
     private static final Pair<String, String> entityTitleAndDesc = TitlesDescsGetter.getEntityTitleAndDesc(AssetTypeOperation.class);
@@ -2,6 +2,7 @@ package newyork.tablescodes.assets;
 
 import java.util.Date;
 
+import newyork.common.ddl.DbIndex;
 import newyork.organisational.BusinessUnit;
 import newyork.organisational.Organisation;
 import newyork.organisational.Role;
@@ -34,6 +35,7 @@ import ua.com.fielden.platform.utils.Pair;
 @KeyTitle("Key")
 @CompanionObject(IAssetTypeOwnership.class)
 @MapEntityTo
+@DbIndex(props = {"assetType", "startDate"}, include = {"role", "bu", "org"})
 public class AssetTypeOwnership extends AbstractOwnership {
 
     private static final Pair<String, String> entityTitleAndDesc = TitlesDescsGetter.getEntityTitleAndDesc(AssetTypeOwnership.class);
@@ -0,0 +1,196 @@
+package newyork.tablescodes.assets;
+
+import java.util.Date;
+
+import newyork.assets.Asset;
+import ua.com.fielden.platform.entity.AbstractPersistentEntity;
+import ua.com.fielden.platform.entity.DynamicEntityKey;
+import ua.com.fielden.platform.entity.annotation.CompanionObject;
+import ua.com.fielden.platform.entity.annotation.CompositeKeyMember;
+import ua.com.fielden.platform.entity.annotation.DateOnly;
+import ua.com.fielden.platform.entity.annotation.IsProperty;
+import ua.com.fielden.platform.entity.annotation.KeyTitle;
+import ua.com.fielden.platform.entity.annotation.KeyType;
+import ua.com.fielden.platform.entity.annotation.MapEntityTo;
+import ua.com.fielden.platform.entity.annotation.MapTo;
+import ua.com.fielden.platform.entity.annotation.Observable;
+import ua.com.fielden.platform.entity.annotation.Title;
+import ua.com.fielden.platform.reflection.TitlesDescsGetter;
+import ua.com.fielden.platform.utils.Pair;
+
+/**
+ * A data-quality finding about two overlapping dated records of the same asset or asset type, such as {@link AssetManagement} or {@link AssetTypeOperation}.
+ * <p>
+ * Findings are recreated by every scan (see {@link IDatedRecordOverlap#scan()}) and are not meant to be edited.
+ *
+ * @author Developers
+ *
+ */
+@KeyType(DynamicEntityKey.class)
+@KeyTitle("Overlap")
+@CompanionObject(IDatedRecordOverlap.class)
+@MapEntityTo
+public class DatedRecordOverlap extends AbstractPersistentEntity<DynamicEntityKey> {
+
+    private static final Pair<String, String> entityTitleAndDesc = TitlesDescsGetter.getEntityTitleAndDesc(DatedRecordOverlap.class);
+    public static final String ENTITY_TITLE = entityTitleAndDesc.getKey();
+    public static final String ENTITY_DESC = entityTitleAndDesc.getValue();
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Record Type", desc = "The title of the type of overlapping records")
+    @CompositeKeyMember(1)
+    private String recordType;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "First Record ID", desc = "ID of the earlier of the overlapping records")
+    @CompositeKeyMember(2)
+    private Long firstRecordId;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Second Record ID", desc = "ID of the later of the overlapping records")
+    @CompositeKeyMember(3)
+    private Long secondRecordId;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Asset", desc = "The asset of asset-level overlapping records")
+    private Asset asset;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Asset Type", desc = "The asset type of asset-type-level overlapping records")
+    private AssetType assetType;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "First Start Date", desc = "The start date of the earlier record")
+    @DateOnly
+    private Date firstStartDate;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "First End Date", desc = "The end date of the earlier record")
+    @DateOnly
+    private Date firstEndDate;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Second Start Date", desc = "The start date of the later record")
+    @DateOnly
+    private Date secondStartDate;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Second End Date", desc = "The end date of the later record")
+    @DateOnly
+    private Date secondEndDate;
+
+    @IsProperty
+    @MapTo
+    @Title(value = "Detected", desc = "The date and time of the scan that detected the overlap")
+    private Date detectedDate;
+
+    @Observable
+    public DatedRecordOverlap setRecordType(final String recordType) {
+        this.recordType = recordType;
+        return this;
+    }
+
+    public String getRecordType() {
+        return recordType;
+    }
+
+    @Observable
+    public DatedRecordOverlap setFirstRecordId(final Long firstRecordId) {
+        this.firstRecordId = firstRecordId;
+        return this;
+    }
+
+    public Long getFirstRecordId() {
+        return firstRecordId;
+    }
+
+    @Observable
+    public DatedRecordOverlap setSecondRecordId(final Long secondRecordId) {
+        this.secondRecordId = secondRecordId;
+        return this;
+    }
+
+    public Long getSecondRecordId() {
+        return secondRecordId;
+    }
+
+    @Observable
+    public DatedRecordOverlap setAsset(final Asset asset) {
+        this.asset = asset;
+        return this;
+    }
+
+    public Asset getAsset() {
+        return asset;
+    }
+
+    @Observable
+    public DatedRecordOverlap setAssetType(final AssetType assetType) {
+        this.assetType = assetType;
+        return this;
+    }
+
+    public AssetType getAssetType() {
+        return assetType;
+    }
+
+    @Observable
+    public DatedRecordOverlap setFirstStartDate(final Date firstStartDate) {
+        this.firstStartDate = firstStartDate;
+        return this;
+    }
+
+    public Date getFirstStartDate() {
+        return firstStartDate;
+    }
+
+    @Observable
+    public DatedRecordOverlap setFirstEndDate(final Date firstEndDate) {
+        this.firstEndDate = firstEndDate;
+        return this;
+    }
+
+    public Date getFirstEndDate() {
+        return firstEndDate;
+    }
+
+    @Observable
+    public DatedRecordOverlap setSecondStartDate(final Date secondStartDate) {
+        this.secondStartDate = secondStartDate;
+        return this;
+    }
+
+    public Date getSecondStartDate() {
+        return secondStartDate;
+    }
+
+    @Observable
+    public DatedRecordOverlap setSecondEndDate(final Date secondEndDate) {
+        this.secondEndDate = secondEndDate;
+        return this;
+    }
+
+    public Date getSecondEndDate() {
+        return secondEndDate;
+    }
+
+    @Observable
+    public DatedRecordOverlap setDetectedDate(final Date detectedDate) {
+        this.detectedDate = detectedDate;
+        return this;
+    }
+
+    public Date getDetectedDate() {
+        return detectedDate;
+    }
+
+}
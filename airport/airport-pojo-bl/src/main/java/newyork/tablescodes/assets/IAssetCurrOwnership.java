@@ -0,0 +1,58 @@
+package newyork.tablescodes.assets;
+
+import java.util.Collection;
+import java.util.Date;
+
+import newyork.assets.Asset;
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.utils.EntityUtils;
+
+/**
+ * Companion object for entity {@link AssetCurrOwnership}.
+ *
+ * @author Developers
+ *
+ */
+public interface IAssetCurrOwnership extends IEntityDao<AssetCurrOwnership> {
+
+    static final IFetchProvider<AssetCurrOwnership> FETCH_PROVIDER = EntityUtils.fetch(AssetCurrOwnership.class)
+            .with("key", "ownership");
+
+    /**
+     * Recomputes the current ownership projection for {@code asset} as of now.
+     * A projection record is created if the asset has no record yet, and its ownership is cleared if no ownership is currently in effect.
+     *
+     * @param asset
+     * @return the up-to-date projection record
+     */
+    AssetCurrOwnership refresh(final Asset asset);
+
+    /**
+     * Clears projection records that reference any of the specified ownerships.
+     * This needs to happen before the ownerships get deleted.
+     *
+     * @param ownershipIds
+     * @return the number of cleared projection records
+     */
+    int detach(final Collection<Long> ownershipIds);
+
+    /**
+     * Refreshes projection records for all assets with ownerships that came into effect after {@code since} and no later than now.
+     * This is what picks up future-dated ownerships and is expected to run nightly.
+     * If {@code since} is {@code null} then projection records are refreshed for all assets with ownerships, which is useful for the initial population.
+     *
+     * @param since
+     * @return the number of refreshed assets
+     */
+    int rollForward(final Date since);
+
+    /**
+     * Populates the projection for all assets with ownerships if there are no projection records at all, which is the case for databases that predate the projection.
+     * This is a one-off step, which is performed upon start-up by {@code AssetCurrOwnershipRollForwardJob} and does nothing once the projection has been populated.
+     *
+     * @return the number of refreshed assets
+     */
+    int populateIfEmpty();
+
+}
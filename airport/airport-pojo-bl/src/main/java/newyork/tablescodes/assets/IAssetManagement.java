@@ -13,5 +13,5 @@ import ua.com.fielden.platform.dao.IEntityDao;
 public interface IAssetManagement extends IEntityDao<AssetManagement> {
 
     static final IFetchProvider<AssetManagement> FETCH_PROVIDER = EntityUtils.fetch(AssetManagement.class)
-            .with("asset", "role", "bu", "org", "startDate");
+            .with("asset", "role", "bu", "org", "startDate", "endDate");
 }
@@ -14,6 +14,6 @@ public interface IAssetOperation extends IEntityDao<AssetOperation> {
 
     static final IFetchProvider<AssetOperation> FETCH_PROVIDER = EntityUtils.
             fetch(AssetOperation.class).
-            with("asset", "role", "bu", "org", "startDate");
+            with("asset", "role", "bu", "org", "startDate", "endDate");
 
 }
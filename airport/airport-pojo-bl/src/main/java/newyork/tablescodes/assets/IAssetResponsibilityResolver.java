@@ -0,0 +1,47 @@
+package newyork.tablescodes.assets;
+
+import static java.util.Collections.singletonList;
+
+import java.util.Collection;
+import java.util.Date;
+import java.util.Map;
+
+import newyork.assets.Asset;
+
+/**
+ * Determines who owns, manages and operates assets at some date.
+ * <p>
+ * Each responsibility is established by the latest record in effect at the date, where an asset-level record ({@link AssetOwnership}, {@link AssetManagement}, {@link AssetOperation})
+ * overrides an asset-type-level one ({@link AssetTypeOwnership}, {@link AssetTypeManagement}, {@link AssetTypeOperation}).
+ * Management and operation records are in effect from their start date to their end date inclusive, while ownerships are in effect until superseded.
+ *
+ * @author Developers
+ *
+ */
+public interface IAssetResponsibilityResolver {
+
+    /**
+     * Resolves the responsibilities for all {@code assets} at {@code date} (only the day matters) in bulk, with a fixed number of queries per chunk of assets rather than per asset.
+     * Assets need to have their property {@code assetType} fetched.
+     *
+     * @param assets
+     * @param date
+     * @return responsibilities by asset ID, for each of the assets
+     */
+    Map<Long, AssetResponsibilities> resolve(Collection<Asset> assets, Date date);
+
+    /**
+     * The same as {@link #resolve(Collection, Date)}, but for the current date.
+     */
+    Map<Long, AssetResponsibilities> resolve(Collection<Asset> assets);
+
+    default AssetResponsibilities resolve(final Asset asset, final Date date) {
+        return resolve(singletonList(asset), date).get(asset.getId());
+    }
+
+    /**
+     * Discards all resolved responsibilities. Needs to be invoked whenever any of the underlying records change.
+     */
+    void invalidateAll();
+
+}
@@ -13,7 +13,7 @@ import ua.com.fielden.platform.dao.IEntityDao;
 public interface IAssetType extends IEntityDao<AssetType> {
 
     static final IFetchProvider<AssetType> FETCH_PROVIDER = EntityUtils.fetch(AssetType.class)
-            .with("name", "desc", "assetClass")
+            .with("name", "desc", "assetClass", "depreciationMethod", "usefulLifeMonths")
             .with("currOwnership.role", "currOwnership.bu", "currOwnership.org", "currOwnership.startDate");
 
 }
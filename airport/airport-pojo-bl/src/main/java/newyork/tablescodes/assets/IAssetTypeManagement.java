@@ -13,6 +13,6 @@ import ua.com.fielden.platform.dao.IEntityDao;
 public interface IAssetTypeManagement extends IEntityDao<AssetTypeManagement> {
 
     static final IFetchProvider<AssetTypeManagement> FETCH_PROVIDER = EntityUtils.fetch(AssetTypeManagement.class)
-            .with("assetType", "role", "bu", "org", "startDate");
+            .with("assetType", "role", "bu", "org", "startDate", "endDate");
 
 }
@@ -13,5 +13,5 @@ import ua.com.fielden.platform.dao.IEntityDao;
 public interface IAssetTypeOperation extends IEntityDao<AssetTypeOperation> {
 
     static final IFetchProvider<AssetTypeOperation> FETCH_PROVIDER = EntityUtils.fetch(AssetTypeOperation.class)
-            .with("assetType", "role", "bu", "org", "startDate");
+            .with("assetType", "role", "bu", "org", "startDate", "endDate");
 }
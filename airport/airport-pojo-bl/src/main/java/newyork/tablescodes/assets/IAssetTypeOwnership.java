@@ -1,5 +1,8 @@
 package newyork.tablescodes.assets;
 
+import java.util.Date;
+import java.util.Optional;
+
 import ua.com.fielden.platform.entity.fetch.IFetchProvider;
 import ua.com.fielden.platform.utils.EntityUtils;
 import ua.com.fielden.platform.dao.IEntityDao;
@@ -14,4 +17,15 @@ public interface IAssetTypeOwnership extends IEntityDao<AssetTypeOwnership> {
 
     static final IFetchProvider<AssetTypeOwnership> FETCH_PROVIDER = EntityUtils.fetch(AssetTypeOwnership.class)
             .with("assetType", "role", "bu", "org", "startDate");
+
+    /**
+     * Returns the ownership in effect for {@code assetType} on {@code date}, which is the one with the latest start date that is not after {@code date}.
+     * The ownership is resolved with an in-memory index, and only the resulting ownership is retrieved from the database.
+     *
+     * @param assetType
+     * @param date
+     * @return
+     */
+    Optional<AssetTypeOwnership> ownerAt(final AssetType assetType, final Date date);
+
 }
@@ -0,0 +1,27 @@
+package newyork.tablescodes.assets;
+
+import ua.com.fielden.platform.dao.IEntityDao;
+import ua.com.fielden.platform.entity.fetch.IFetchProvider;
+import ua.com.fielden.platform.utils.EntityUtils;
+
+/**
+ * Companion object for entity {@link DatedRecordOverlap}.
+ *
+ * @author Developers
+ *
+ */
+public interface IDatedRecordOverlap extends IEntityDao<DatedRecordOverlap> {
+
+    static final IFetchProvider<DatedRecordOverlap> FETCH_PROVIDER = EntityUtils.fetch(DatedRecordOverlap.class)
+            .with("recordType", "firstRecordId", "secondRecordId", "asset", "assetType")
+            .with("firstStartDate", "firstEndDate", "secondStartDate", "secondEndDate", "detectedDate");
+
+    /**
+     * Scans all {@link AssetManagement}, {@link AssetTypeManagement}, {@link AssetOperation} and {@link AssetTypeOperation} records for overlaps,
+     * replacing the findings of the previous scan.
+     *
+     * @return the number of detected overlaps
+     */
+    int scan();
+
+}
@@ -0,0 +1,32 @@
+package newyork.tablescodes.assets.validators;
+
+import static java.util.stream.Collectors.joining;
+
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Set;
+
+import newyork.assets.depreciation.DepreciationMethod;
+import ua.com.fielden.platform.entity.meta.MetaProperty;
+import ua.com.fielden.platform.entity.meta.impl.AbstractBeforeChangeEventHandler;
+import ua.com.fielden.platform.error.Result;
+
+/**
+ * Ensures that the depreciation method of an asset type is a code of one of the {@link DepreciationMethod}s.
+ *
+ * @author Developers
+ *
+ */
+public class AssetTypeDepreciationMethodValidator extends AbstractBeforeChangeEventHandler<String> {
+    public static final String ERR_UNKNOWN_METHOD = "Unknown depreciation method [%s]. Known methods are: %s.";
+
+    @Override
+    public Result handle(final MetaProperty<String> property, final String newValue, final Set<Annotation> mutatorAnnotations) {
+        if (newValue == null || DepreciationMethod.fromCode(newValue).isPresent()) {
+            return Result.successful(newValue);
+        }
+        final String codes = Arrays.stream(DepreciationMethod.values()).map(method -> method.code).collect(joining(", "));
+        return Result.failuref(ERR_UNKNOWN_METHOD, newValue, codes);
+    }
+
+}
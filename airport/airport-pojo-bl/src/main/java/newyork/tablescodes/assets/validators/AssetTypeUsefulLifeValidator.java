@@ -0,0 +1,24 @@
+package newyork.tablescodes.assets.validators;
+
+import java.lang.annotation.Annotation;
+import java.util.Set;
+
+import ua.com.fielden.platform.entity.meta.MetaProperty;
+import ua.com.fielden.platform.entity.meta.impl.AbstractBeforeChangeEventHandler;
+import ua.com.fielden.platform.error.Result;
+
+/**
+ * Ensures that the useful life of an asset type is at least one month.
+ *
+ * @author Developers
+ *
+ */
+public class AssetTypeUsefulLifeValidator extends AbstractBeforeChangeEventHandler<Integer> {
+    public static final String ERR_NOT_POSITIVE = "Useful life should be at least one month.";
+
+    @Override
+    public Result handle(final MetaProperty<Integer> property, final Integer newValue, final Set<Annotation> mutatorAnnotations) {
+        return newValue == null || newValue > 0 ? Result.successful(newValue) : Result.failure(ERR_NOT_POSITIVE);
+    }
+
+}
@@ -0,0 +1,49 @@
+package newyork.dev_mod.util;
+
+import static java.lang.String.format;
+
+import java.io.FileInputStream;
+import java.util.List;
+import java.util.Properties;
+
+import org.apache.log4j.Logger;
+import org.apache.log4j.xml.DOMConfigurator;
+import org.hibernate.dialect.Dialect;
+
+import newyork.common.ddl.DbIndex;
+import newyork.config.ApplicationDomain;
+import newyork.dbsetup.DbIndexDdlGenerator;
+import ua.com.fielden.platform.persistence.HibernateUtil;
+import ua.com.fielden.platform.utils.DbUtils;
+
+/**
+ * A migration tool that creates secondary indexes declared with {@link DbIndex} in an existing database, skipping the indexes that already exist.
+ * Unlike {@link PopulateDb}, it does not touch any data and is safe to run against deployment databases.
+ * <p>
+ * It accepts the same arguments as {@link PopulateDb}, i.e. an optional name of the application properties file.
+ *
+ * @author Developers
+ *
+ */
+public class CreateDbIndexes {
+    private static final Logger LOGGER = Logger.getLogger(CreateDbIndexes.class);
+
+    public static void main(final String[] args) throws Exception {
+        LOGGER.info("Initialising...");
+        final String configFileName = args.length == 1 ? args[0] : "application.properties";
+        final Properties props = new Properties();
+        try (final FileInputStream in = new FileInputStream(configFileName)) {
+            props.load(in);
+        }
+
+        DOMConfigurator.configure(props.getProperty("log4j"));
+
+        final Dialect dialect = (Dialect) Class.forName(props.getProperty("hibernate.dialect")).newInstance();
+        final DataPopulationConfig config = new DataPopulationConfig(props);
+        final List<String> ddl = DbIndexDdlGenerator.generateIndexDdl(new ApplicationDomain().entityTypes(), dialect);
+        ddl.forEach(LOGGER::info);
+        DbUtils.execSql(ddl, config.getInstance(HibernateUtil.class).getSessionFactory().getCurrentSession());
+        LOGGER.info(format("Completed creation of %s index(es).", ddl.size()));
+    }
+
+}
@@ -3,6 +3,7 @@ package newyork.dev_mod.util;
 import static java.lang.String.format;
 
 import java.io.FileInputStream;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 
@@ -15,6 +16,7 @@ import newyork.assets.Asset;
 import newyork.assets.AssetFinDet;
 import newyork.assets.IAssetFinDet;
 import newyork.config.ApplicationDomain;
+import newyork.dbsetup.DbIndexDdlGenerator;
 import newyork.organisational.BusinessUnit;
 import newyork.organisational.Organisation;
 import newyork.organisational.Role;
@@ -73,9 +75,11 @@ public class PopulateDb extends DomainDrivenDataPopulation {
         // use TG DDL generation or
         // Hibernate DDL generation final List<String> createDdl = DbUtils.generateSchemaByHibernate()
         final List<String> createDdl = config.getDomainMetadata().generateDatabaseDdl(dialect);
-        final List<String> ddl = dialect instanceof H2Dialect ?
-                                 DbUtils.prependDropDdlForH2(createDdl) :
-                                 DbUtils.prependDropDdlForSqlServer(createDdl);
+        final List<String> ddl = new ArrayList<>(dialect instanceof H2Dialect ?
+                                                 DbUtils.prependDropDdlForH2(createDdl) :
+                                                 DbUtils.prependDropDdlForSqlServer(createDdl));
+        // secondary indexes declared with @DbIndex
+        ddl.addAll(DbIndexDdlGenerator.generateIndexDdl(new ApplicationDomain().entityTypes(), dialect));
         DbUtils.execSql(ddl, config.getInstance(HibernateUtil.class).getSessionFactory().getCurrentSession());
 
         final PopulateDb popDb = new PopulateDb(config, props);
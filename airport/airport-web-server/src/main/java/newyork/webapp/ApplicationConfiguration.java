@@ -4,12 +4,20 @@ import java.util.Properties;
 
 import org.restlet.Component;
 
+import newyork.common.concurrency.ConcurrencyLimit;
+import newyork.common.metrics.FetchModelProfiler;
 import newyork.config.ApplicationDomain;
 import newyork.webapp.WebUiResources;
 import newyork.dbsetup.HibernateSetup;
-import newyork.filter.NoDataFilter;
+import newyork.filter.OrganisationScopedDataFilter;
 import newyork.ioc.WebApplicationServerModule;
+import newyork.organisational.jobs.ClosureTablesPopulationJob;
 import newyork.serialisation.SerialisationClassProvider;
+import newyork.assets.jobs.AssetDepreciationJob;
+import newyork.tablescodes.assets.jobs.AssetCurrOwnershipRollForwardJob;
+import newyork.tablescodes.assets.jobs.DatedRecordOverlapScanJob;
+import newyork.webapp.resources.MetricsResource;
+import newyork.webapp.resources.MetricsResourceFactory;
 
 import ua.com.fielden.platform.ioc.ApplicationInjectorFactory;
 import ua.com.fielden.platform.ioc.NewUserEmailNotifierBindingModule;
@@ -49,7 +57,7 @@ public class ApplicationConfiguration extends Component {
                     applicationDomainProvider,
                     applicationDomainProvider.domainTypes(),
                     SerialisationClassProvider.class,
-                    NoDataFilter.class,
+                    OrganisationScopedDataFilter.class,
                     props);
             injector = new ApplicationInjectorFactory()
                     .add(module)
@@ -61,6 +69,15 @@ public class ApplicationConfiguration extends Component {
             ////////////////////////////////////////////////////////////////
             // application configuration 
             final IWebUiConfig webApp = injector.getInstance(IWebUiConfig.class);
+
+            // populate the closure tables of hierarchies for databases that predate them, before any requests are served
+            injector.getInstance(ClosureTablesPopulationJob.class).run();
+            // keep the materialised current asset ownerships in line with future-dated ownerships
+            injector.getInstance(AssetCurrOwnershipRollForwardJob.class).schedule();
+            // nightly data-quality scan for overlapping management and operation records
+            injector.getInstance(DatedRecordOverlapScanJob.class).schedule();
+            // nightly depreciation of the asset register through the last completed month
+            injector.getInstance(AssetDepreciationJob.class).schedule();
             
             // attach system resources, which should be beyond the version scope
             // the interactive login page resource is considered one of the system resources, which does not require guarding
@@ -68,17 +85,41 @@ public class ApplicationConfiguration extends Component {
             getDefaultHost().attach(LoginInitiateResetResource.BINDING_PATH, new LoginInitiateResetResourceFactory(injector));
             getDefaultHost().attach(LoginCompleteResetResource.BINDING_PATH, new LoginCompleteResetResourceFactory(injector, "Imagination is the limit."));
             getDefaultHost().attach(LogoutResource.BINDING_PATH, new LogoutResourceFactory(webApp.getDomainName(), webApp.getPath(), injector));
-            // attach a web resource that represents this application
-            getDefaultHost().attach(
-                    new WebUiResources(
-                            getContext().createChildContext(),
-                            injector,
-                            "New York Airport Asset Management",
-                            "An application server for New York Airport Asset Management",
-                            "New York Asset Management Pty. Ltd.",
-                            "Authors",
-                            webApp
-                            ));
+            // server metrics in the Prometheus text format, which are scraped by monitoring with a bearer token instead of a user session, and are not exposed at all without a token
+            final String metricsToken = props.getProperty("metrics.token", "").trim();
+            if (!metricsToken.isEmpty()) {
+                getDefaultHost().attach(MetricsResource.BINDING_PATH, new MetricsResourceFactory(injector, metricsToken));
+            }
+            // attach a web resource that represents this application behind the configured concurrency limit, with requests measured including any waiting for admission
+            final MetricsFilter metricsFilter = new MetricsFilter(getContext().createChildContext(), injector);
+            final ConcurrencyLimitFilter concurrencyLimitFilter = new ConcurrencyLimitFilter(getContext().createChildContext(), injector.getInstance(ConcurrencyLimit.class));
+            if ("development".equals(props.getProperty("workflow"))) {
+                // requests are checked for N+1 query patterns during development
+                final NPlusOneDetectionFilter nPlusOneDetectionFilter = new NPlusOneDetectionFilter(getContext().createChildContext());
+                metricsFilter.setNext(nPlusOneDetectionFilter);
+                nPlusOneDetectionFilter.setNext(concurrencyLimitFilter);
+            } else {
+                metricsFilter.setNext(concurrencyLimitFilter);
+            }
+            final WebUiResources webUiResources = new WebUiResources(
+                    getContext().createChildContext(),
+                    injector,
+                    "New York Airport Asset Management",
+                    "An application server for New York Airport Asset Management",
+                    "New York Asset Management Pty. Ltd.",
+                    "Authors",
+                    webApp
+                    );
+            final FetchModelProfiler fetchModelProfiler = injector.getInstance(FetchModelProfiler.class);
+            if (fetchModelProfiler.enabled) {
+                // property paths sent to the client are profiled behind the concurrency limit, as buffering of responses is not free
+                final FetchProfilingFilter fetchProfilingFilter = new FetchProfilingFilter(getContext().createChildContext(), fetchModelProfiler);
+                concurrencyLimitFilter.setNext(fetchProfilingFilter);
+                fetchProfilingFilter.setNext(webUiResources);
+            } else {
+                concurrencyLimitFilter.setNext(webUiResources);
+            }
+            getDefaultHost().attach(metricsFilter);
 
         } catch (final Exception e) {
             throw new IllegalStateException(e);
@@ -0,0 +1,58 @@
+package newyork.webapp;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.unmodifiableList;
+
+import java.util.List;
+
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.data.Status;
+import org.restlet.routing.Filter;
+
+import newyork.common.concurrency.ConcurrencyLimit;
+
+/**
+ * A filter that admits requests to the application resources within a {@link ConcurrencyLimit}, responding with {@code 503 Service Unavailable} to requests that could not be admitted in time.
+ * <p>
+ * The limit is configured in {@code application.properties} (see {@link ConcurrencyLimit#fromProperties}), and is best kept close to the size of the database connection pool.
+ * Static UI resources do not use the database and bypass the limit, as loading a single page requests many of them at once.
+ * A permit is released whichever way the handling of a request completes, including exceptions thrown by downstream resources.
+ *
+ * @author Developers
+ *
+ */
+public class ConcurrencyLimitFilter extends Filter {
+
+    /** Path prefixes of static UI resources, such as scripts, styles, images and generated UI components. */
+    public static final List<String> STATIC_PATH_PREFIXES = unmodifiableList(asList("/resources/", "/vulcanized/", "/app/", "/centre_ui/", "/master_ui/", "/custom_view/"));
+
+    private final ConcurrencyLimit concurrencyLimit;
+
+    public ConcurrencyLimitFilter(final Context context, final ConcurrencyLimit concurrencyLimit) {
+        super(context);
+        this.concurrencyLimit = concurrencyLimit;
+    }
+
+    @Override
+    protected int doHandle(final Request request, final Response response) {
+        if (isStaticResource(request.getResourceRef().getPath())) {
+            return super.doHandle(request, response);
+        }
+        if (!concurrencyLimit.tryAcquire()) {
+            response.setStatus(Status.SERVER_ERROR_SERVICE_UNAVAILABLE, ConcurrencyLimit.ERR_LIMIT_EXCEEDED);
+            return STOP;
+        }
+        try {
+            return super.doHandle(request, response);
+        } finally {
+            concurrencyLimit.release();
+        }
+    }
+
+    static boolean isStaticResource(final String path) {
+        return path != null && STATIC_PATH_PREFIXES.stream().anyMatch(path::startsWith);
+    }
+
+}
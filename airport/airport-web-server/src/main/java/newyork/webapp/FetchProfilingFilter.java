@@ -0,0 +1,149 @@
+package newyork.webapp;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.log4j.Logger;
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.data.MediaType;
+import org.restlet.representation.Representation;
+import org.restlet.representation.StringRepresentation;
+import org.restlet.routing.Filter;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import newyork.common.metrics.FetchModelProfiler;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.annotation.EntityType;
+
+/**
+ * A filter that records property paths of entities in JSON responses of entity centres and masters with {@link FetchModelProfiler}.
+ * <p>
+ * Centre responses are attributed to the entity type of their menu item type (e.g. {@code MiAsset}), master responses to the entity type in their URI.
+ * Nested entities contribute their paths relative to the root entity (e.g. {@code assetType.assetClass}), while the serialisation metadata (keys starting with {@code @}) is skipped.
+ * Responses are buffered for parsing and then passed on unchanged, which is only acceptable while profiling.
+ *
+ * @author Developers
+ *
+ */
+public class FetchProfilingFilter extends Filter {
+
+    private static final Logger LOGGER = Logger.getLogger(FetchProfilingFilter.class);
+    private static final String ID = "@id";
+    private static final String CENTRE_SEGMENT = "centre";
+    private static final String MASTER_SEGMENT = "entity";
+
+    private final FetchModelProfiler profiler;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    public FetchProfilingFilter(final Context context, final FetchModelProfiler profiler) {
+        super(context);
+        this.profiler = profiler;
+    }
+
+    @Override
+    protected void afterHandle(final Request request, final Response response) {
+        final Representation entity = response.getEntity();
+        if (entity == null || !entity.isAvailable() || !MediaType.APPLICATION_JSON.equals(entity.getMediaType(), true) || !entity.getEncodings().isEmpty()) {
+            return;
+        }
+        final Optional<Class<? extends AbstractEntity<?>>> entityType = profiledTypeOf(request.getResourceRef().getPath());
+        if (!entityType.isPresent()) {
+            return;
+        }
+
+        final String text;
+        try {
+            text = entity.getText();
+        } catch (final IOException ex) {
+            LOGGER.warn(String.format("Could not read the response of %s for fetch profiling.", request.getResourceRef().getPath()), ex);
+            return;
+        }
+        // the original entity has been consumed and needs to be replaced with an equivalent one
+        final StringRepresentation buffered = new StringRepresentation(text, entity.getMediaType());
+        buffered.setCharacterSet(entity.getCharacterSet());
+        response.setEntity(buffered);
+
+        try {
+            final Set<String> paths = new TreeSet<>();
+            collectPaths(mapper.readTree(text), entityType.get(), "", paths);
+            profiler.record(request.getResourceRef().getPath(), entityType.get(), paths);
+        } catch (final IOException ex) {
+            LOGGER.warn(String.format("Could not parse the response of %s for fetch profiling.", request.getResourceRef().getPath()), ex);
+        }
+    }
+
+    /**
+     * Determines the entity type of a centre or master URI, such as {@code /centre/newyork.main.menu.assets.MiAsset/...} or {@code /entity/newyork.assets.Asset/12}.
+     */
+    @SuppressWarnings("unchecked")
+    private static Optional<Class<? extends AbstractEntity<?>>> profiledTypeOf(final String path) {
+        final String[] segments = path.replaceFirst("^/+", "").split("/");
+        if (segments.length < 2 || !(CENTRE_SEGMENT.equals(segments[0]) || MASTER_SEGMENT.equals(segments[0]))) {
+            return Optional.empty();
+        }
+        final Class<?> type;
+        try {
+            type = Class.forName(segments[1]);
+        } catch (final ClassNotFoundException ex) {
+            return Optional.empty();
+        }
+        if (CENTRE_SEGMENT.equals(segments[0])) {
+            return Optional.ofNullable(type.getAnnotation(EntityType.class)).map(annotation -> (Class<? extends AbstractEntity<?>>) annotation.value());
+        }
+        return AbstractEntity.class.isAssignableFrom(type) ? Optional.of((Class<? extends AbstractEntity<?>>) type) : Optional.empty();
+    }
+
+    /**
+     * Collects property paths of all entities in {@code node}: entities at the top level (e.g. centre results) contribute their own properties,
+     * while entities nested in properties contribute dot-notated paths.
+     */
+    private static void collectPaths(final JsonNode node, final Class<?> entityType, final String prefix, final Set<String> paths) {
+        if (node.isArray()) {
+            node.forEach(element -> collectPaths(element, entityType, prefix, paths));
+        } else if (node.isObject()) {
+            final boolean isEntity = node.has(ID);
+            if (isEntity && prefix.isEmpty() && !isOfType(node.get(ID), entityType)) {
+                // other top-level entities, such as the selection criteria of a centre
+                return;
+            }
+            final Iterator<Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                final Entry<String, JsonNode> field = fields.next();
+                if (field.getKey().startsWith("@")) {
+                    continue;
+                }
+                if (isEntity) {
+                    final String path = prefix.isEmpty() ? field.getKey() : prefix + "." + field.getKey();
+                    paths.add(path);
+                    collectPaths(field.getValue(), entityType, path, paths);
+                } else {
+                    // containers of entities, such as the result of a centre run
+                    collectPaths(field.getValue(), entityType, prefix, paths);
+                }
+            }
+        }
+    }
+
+    /**
+     * Serialisation identifiers have form {@code <type name>#<number>}, where the type name may be that of a generated type (with suffix {@code $$...});
+     * identifiers of any other form are not rejected.
+     */
+    private static boolean isOfType(final JsonNode id, final Class<?> entityType) {
+        final String value = id.asText();
+        final int separator = value.indexOf('#');
+        if (separator < 0) {
+            return true;
+        }
+        final String typeName = value.substring(0, separator).replaceFirst("\\$\\$.*$", "");
+        return typeName.equals(entityType.getName()) || typeName.equals(entityType.getSimpleName());
+    }
+
+}
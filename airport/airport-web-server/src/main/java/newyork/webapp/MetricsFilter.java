@@ -0,0 +1,65 @@
+package newyork.webapp;
+
+import java.util.regex.Pattern;
+
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.routing.Filter;
+
+import com.google.inject.Injector;
+
+import newyork.common.metrics.Metrics;
+import newyork.common.metrics.SqlStatementCounter;
+
+/**
+ * A filter that records the latency and the number of SQL statements of every request in {@link Metrics}.
+ * <p>
+ * Requests are grouped by resource, which is the first two segments of the request path, such as {@code /centre/newyork.main.menu.assets.MiAsset} or {@code /master/newyork.assets.Asset}.
+ * Segments that look like IDs are replaced with {@code {id}} in order to keep the number of distinct resources small.
+ *
+ * @author Developers
+ *
+ */
+public class MetricsFilter extends Filter {
+
+    private static final Pattern ID = Pattern.compile("\\d+|[0-9a-fA-F-]{32,36}");
+
+    private final Metrics metrics;
+
+    public MetricsFilter(final Context context, final Injector injector) {
+        super(context);
+        this.metrics = injector.getInstance(Metrics.class);
+    }
+
+    /**
+     * Requests are measured around the downstream handling rather than in {@code beforeHandle}/{@code afterHandle}, as Restlet skips {@code afterHandle} if handling throws,
+     * which would leave failed requests unrecorded and the statement counter on the pooled thread.
+     */
+    @Override
+    protected int doHandle(final Request request, final Response response) {
+        final long start = System.nanoTime();
+        SqlStatementCounter.start();
+        try {
+            return super.doHandle(request, response);
+        } finally {
+            metrics.recordRequest(resourceOf(request.getResourceRef().getPath()), (System.nanoTime() - start) / 1_000_000d, SqlStatementCounter.stop());
+        }
+    }
+
+    static String resourceOf(final String path) {
+        final StringBuilder resource = new StringBuilder();
+        int segments = 0;
+        for (final String segment : path.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            resource.append('/').append(ID.matcher(segment).matches() ? "{id}" : segment);
+            if (++segments == 2) {
+                break;
+            }
+        }
+        return resource.length() == 0 ? "/" : resource.toString();
+    }
+
+}
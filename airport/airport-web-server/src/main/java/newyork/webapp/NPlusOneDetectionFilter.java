@@ -0,0 +1,53 @@
+package newyork.webapp;
+
+import java.util.List;
+
+import org.apache.log4j.Logger;
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.routing.Filter;
+
+import newyork.common.metrics.NPlusOneDetector;
+import newyork.common.metrics.SqlStatementCounter;
+
+/**
+ * A development-mode filter that checks SQL statements of every request for N+1 query patterns with {@link NPlusOneDetector}, logging its findings as warnings.
+ *
+ * @author Developers
+ *
+ */
+public class NPlusOneDetectionFilter extends Filter {
+
+    private static final Logger LOGGER = Logger.getLogger(NPlusOneDetectionFilter.class);
+
+    private final NPlusOneDetector detector = NPlusOneDetector.forApplicationDomain();
+
+    public NPlusOneDetectionFilter(final Context context) {
+        super(context);
+    }
+
+    /**
+     * Statements are captured around the downstream handling rather than in {@code beforeHandle}/{@code afterHandle}, as Restlet skips {@code afterHandle} if handling throws,
+     * which would leave the capture on the pooled thread.
+     */
+    @Override
+    protected int doHandle(final Request request, final Response response) {
+        final List<String> enclosingCapture = SqlStatementCounter.startCapture();
+        try {
+            return super.doHandle(request, response);
+        } finally {
+            report(request, SqlStatementCounter.stopCapture(enclosingCapture));
+        }
+    }
+
+    private void report(final Request request, final List<String> statements) {
+        final List<NPlusOneDetector.Finding> findings = detector.analyse(statements);
+        if (!findings.isEmpty()) {
+            final StringBuilder message = new StringBuilder(String.format("N+1 query pattern(s) in %s %s (%s statements):", request.getMethod(), request.getResourceRef().getPath(), statements.size()));
+            findings.forEach(finding -> message.append(System.lineSeparator()).append(finding));
+            LOGGER.warn(message);
+        }
+    }
+
+}
@@ -42,10 +42,10 @@ public class Start {
         parameters.add("keyPassword", "changeit");
         parameters.add("keystoreType", "JKS");
 
-        // thread pool parameters for handling requests
-        parameters.add("threadPool.minThreads", "10");
-        parameters.add("threadPool.maxThreads", "200");
-        parameters.add("threadPool.idleTimeout", "60000");
+        // thread pool parameters for handling requests, which work together with the concurrency limit of ConcurrencyLimitFilter
+        parameters.add("threadPool.minThreads", props.getProperty("web.threadPool.minThreads", "10"));
+        parameters.add("threadPool.maxThreads", props.getProperty("web.threadPool.maxThreads", "200"));
+        parameters.add("threadPool.idleTimeout", props.getProperty("web.threadPool.idleTimeout", "60000"));
 
         try {
             app.start();
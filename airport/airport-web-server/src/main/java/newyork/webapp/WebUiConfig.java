@@ -4,6 +4,7 @@ import org.apache.commons.lang.StringUtils;
 
 import newyork.assets.Asset;
 import newyork.assets.AssetFinDet;
+import newyork.assets.depreciation.AssetDepreciation;
 import newyork.config.personnel.PersonWebUiConfig;
 import newyork.projects.Project;
 import newyork.tablescodes.assets.AssetClass;
@@ -17,9 +18,11 @@ import newyork.tablescodes.assets.AssetOperation;
 
 import newyork.tablescodes.assets.AssetTypeOwnership;
 import newyork.tablescodes.assets.ConditionRating;
+import newyork.tablescodes.assets.DatedRecordOverlap;
 import newyork.tablescodes.assets.ServiceStatus;
 import newyork.webapp.config.assets.AssetFinDetWebUiConfig;
 import newyork.webapp.config.assets.AssetWebUiConfig;
+import newyork.webapp.config.assets.depreciation.AssetDepreciationWebUiConfig;
 import newyork.webapp.config.personel.BusinessUnitWebUiConfig;
 import newyork.webapp.config.personel.OrganisationWebUiConfig;
 import newyork.webapp.config.personel.RoleWebUiConfig;
@@ -35,6 +38,7 @@ import newyork.webapp.config.tablescodes.assets.AssetTypeOperationWebUiConfig;
 import newyork.webapp.config.tablescodes.assets.AssetTypeOwnershipWebUiConfig;
 import newyork.webapp.config.tablescodes.assets.AssetTypeWebUiConfig;
 import newyork.webapp.config.tablescodes.assets.ConditionRatingWebUiConfig;
+import newyork.webapp.config.tablescodes.assets.DatedRecordOverlapWebUiConfig;
 import newyork.webapp.config.tablescodes.assets.ServiceStatusWebUiConfig;
 import ua.com.fielden.platform.basic.config.Workflows;
 import ua.com.fielden.platform.web.app.config.IWebUiBuilder;
@@ -120,11 +124,13 @@ public class WebUiConfig extends AbstractWebUiConfig {
 
         final AssetTypeOperationWebUiConfig assetTypeOperationWebUiConfig = AssetTypeOperationWebUiConfig.register(injector(), builder);
         final AssetOperationWebUiConfig assetOperationWebUiConfig = AssetOperationWebUiConfig.register(injector(), builder);
+        final DatedRecordOverlapWebUiConfig datedRecordOverlapWebUiConfig = DatedRecordOverlapWebUiConfig.register(injector(), builder);
 
       // Asset
         final AssetWebUiConfig assetWebUiConfig = AssetWebUiConfig.register(injector(), builder);
         final AssetFinDetWebUiConfig assetFinDetWebUiConfig = AssetFinDetWebUiConfig.register(injector(), builder);
         final AssetOwnershipWebUiConfig assetOwnershipWebUiConfig = AssetOwnershipWebUiConfig.register(injector(), builder);
+        final AssetDepreciationWebUiConfig assetDepreciationWebUiConfig = AssetDepreciationWebUiConfig.register(injector(), builder);
         
         // Project related UI
         final ProjectWebUiConfig projectWebUiConfig = ProjectWebUiConfig.register(injector(), builder);
@@ -150,6 +156,7 @@ public class WebUiConfig extends AbstractWebUiConfig {
                 .addMenuItem(Asset.ENTITY_TITLE).description(String.format("%s Centre", Asset.ENTITY_TITLE)).centre(assetWebUiConfig.centre).done()
                 .addMenuItem(AssetFinDet.ENTITY_TITLE).description(String.format("%s Centre", AssetFinDet.ENTITY_TITLE)).centre(assetFinDetWebUiConfig.centre).done()
                 .addMenuItem(AssetOwnership.ENTITY_TITLE).description(String.format("%s Centre", AssetOwnership.ENTITY_TITLE)).centre(assetOwnershipWebUiConfig.centre).done()
+                .addMenuItem(AssetDepreciation.ENTITY_TITLE).description(String.format("%s Centre", AssetDepreciation.ENTITY_TITLE)).centre(assetDepreciationWebUiConfig.centre).done()
                 .addMenuItem(Project.ENTITY_TITLE).description(String.format("%s Centre", Project.ENTITY_TITLE)).centre(projectWebUiConfig.centre).done()
             .done().done().              
             addModule("Users / Personnel").
@@ -188,6 +195,7 @@ public class WebUiConfig extends AbstractWebUiConfig {
 
                 .addMenuItem(AssetTypeOperation.ENTITY_TITLE).description(String.format("%s Centre", AssetTypeOperation.ENTITY_TITLE)).centre(assetTypeOperationWebUiConfig.centre).done()
                 .addMenuItem(AssetOperation.ENTITY_TITLE).description(String.format("%s Centre", AssetOperation.ENTITY_TITLE)).centre(assetOperationWebUiConfig.centre).done()
+                .addMenuItem(DatedRecordOverlap.ENTITY_TITLE).description(String.format("%s Centre", DatedRecordOverlap.ENTITY_TITLE)).centre(datedRecordOverlapWebUiConfig.centre).done()
                 
                 .done()
                 
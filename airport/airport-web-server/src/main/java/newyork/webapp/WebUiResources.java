@@ -1,11 +1,23 @@
 package newyork.webapp;
 
+import static java.util.Arrays.asList;
+import static newyork.webapp.resources.ExportCriteria.criteriaFor;
+
 import java.util.Date;
 
 import org.restlet.Context;
 import org.restlet.data.MediaType;
 import org.restlet.routing.Router;
 
+import newyork.assets.Asset;
+import newyork.assets.AssetFinDet;
+import newyork.assets.IAsset;
+import newyork.tablescodes.assets.AssetOwnership;
+import newyork.webapp.resources.AsyncQueryResourceFactory;
+import newyork.webapp.resources.AsyncQuerySubmissionResourceFactory;
+import newyork.webapp.resources.FetchProfileResourceFactory;
+import newyork.webapp.resources.SlowQueryResourceFactory;
+import newyork.webapp.resources.StreamingExportResourceFactory;
 import ua.com.fielden.platform.web.app.IWebUiConfig;
 import ua.com.fielden.platform.web.application.AbstractWebUiResources;
 
@@ -19,6 +31,16 @@ import com.google.inject.Injector;
  */
 public class WebUiResources extends AbstractWebUiResources {
 
+    public static final String ASSET_EXPORT_PATH = "/export/assets";
+    public static final String ASSET_FIN_DET_EXPORT_PATH = "/export/asset-fin-dets";
+    public static final String ASYNC_ASSETS_PATH = "/async/assets";
+    public static final String ASYNC_ASSET_OWNERSHIPS_PATH = "/async/asset-ownerships";
+    public static final String ASYNC_QUERY_PATH = "/async/" + AsyncQueryResourceFactory.PATH_PREFIX + "{id}";
+    public static final String SLOW_QUERIES_PATH = "/admin/slow-queries";
+    public static final String FETCH_PROFILE_PATH = "/admin/fetch-profile";
+
+    private final Injector injector;
+
     /**
      * Creates an instance of {@link WebUiResources} (for more information about the meaning of all this arguments see {@link AbstractWebUiResources#AbstractWebApp}
      *
@@ -39,11 +61,32 @@ public class WebUiResources extends AbstractWebUiResources {
             final String author,
             final IWebUiConfig webApp) {
         super(context, injector, name, desc, owner, author, webApp);
+        this.injector = injector;
     }
     
     @Override
     protected void registerDomainWebResources(final Router router, final IWebUiConfig webApp) {
         // register custom resources with router.attach calls...
+        // streaming exports of large registers, which is not feasible with the standard export action of entity centres; criteria mirror those of the corresponding centres
+        router.attach(ASSET_EXPORT_PATH, new StreamingExportResourceFactory<>(injector, criteriaFor(Asset.class)
+                .multi("this", "number")
+                .multi("assetType", "assetType.name")
+                .text("desc", "desc")
+                .decimalRange("finDet.initCost", "finDet.initCost")
+                .dateRange("finDet.acquireDate", "finDet.acquireDate")
+                .bool("active", "active"), "assets"));
+        router.attach(ASSET_FIN_DET_EXPORT_PATH, new StreamingExportResourceFactory<>(injector, criteriaFor(AssetFinDet.class)
+                .multi("key", "key.number")
+                .decimalRange("initCost", "initCost")
+                .dateRange("acquireDate", "acquireDate"), "asset-financial-details"));
+        // asynchronous queries over wide date ranges, which would otherwise block request threads for the whole database call
+        router.attach(ASYNC_ASSETS_PATH, new AsyncQuerySubmissionResourceFactory<>(injector, Asset.class, "finDet.acquireDate", IAsset.EXPORT_PROPS));
+        router.attach(ASYNC_ASSET_OWNERSHIPS_PATH, new AsyncQuerySubmissionResourceFactory<>(injector, AssetOwnership.class, "startDate", asList("asset", "assetType", "role", "bu", "org", "startDate")));
+        router.attach(ASYNC_QUERY_PATH, new AsyncQueryResourceFactory(injector));
+        // the slow query log for administrators, which maps slow SQL back to EQL models and is guarded by security tokens
+        router.attach(SLOW_QUERIES_PATH, new SlowQueryResourceFactory(injector));
+        // property paths used by centres and masters for administrators, with recommended fetch models, guarded by security tokens
+        router.attach(FETCH_PROFILE_PATH, new FetchProfileResourceFactory(injector));
     }
 
 }
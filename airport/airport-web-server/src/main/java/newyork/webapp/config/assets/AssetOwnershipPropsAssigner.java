@@ -0,0 +1,61 @@
+package newyork.webapp.config.assets;
+
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.google.inject.Inject;
+
+import newyork.assets.Asset;
+import newyork.tablescodes.assets.AbstractOwnership;
+import newyork.tablescodes.assets.CurrentOwnerships;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.web.centre.api.resultset.ICustomPropsAssignmentHandler;
+
+/**
+ * Assigns values of the ownership columns of the {@link Asset} centre from {@link CurrentOwnerships},
+ * so that repeated refreshes of the centre do not recompute calculated properties {@code currOwnership} and {@code assetType.currOwnership} in SQL.
+ * Upon a cold cache, the first row of a page warms the cache for the block of assets around it (see {@link CurrentOwnerships}) rather than each row issuing its own queries.
+ *
+ * @author Developers
+ *
+ */
+public class AssetOwnershipPropsAssigner implements ICustomPropsAssignmentHandler {
+
+    public static final String OWNER = "owner";
+    public static final String OWNED_SINCE = "ownedSince";
+    public static final String TYPE_OWNER = "typeOwner";
+    public static final String TYPE_OWNED_SINCE = "typeOwnedSince";
+
+    private final CurrentOwnerships ownerships;
+
+    @Inject
+    public AssetOwnershipPropsAssigner(final CurrentOwnerships ownerships) {
+        this.ownerships = ownerships;
+    }
+
+    @Override
+    public void assignValues(final AbstractEntity<?> entity) {
+        final Asset asset = (Asset) entity;
+        assign(entity, OWNER, OWNED_SINCE, ownerships.ofAsset(asset));
+        if (asset.getAssetType() != null) {
+            assign(entity, TYPE_OWNER, TYPE_OWNED_SINCE, ownerships.ofAssetType(asset.getAssetType()));
+        }
+    }
+
+    private static void assign(final AbstractEntity<?> entity, final String ownerProp, final String sinceProp, final Optional<? extends AbstractOwnership> ownership) {
+        ownership.ifPresent(o -> {
+            entity.set(ownerProp, holderOf(o));
+            entity.set(sinceProp, o.getStartDate());
+        });
+    }
+
+    /**
+     * An ownership is held by either a role, a business unit or an organisation.
+     */
+    private static String holderOf(final AbstractOwnership ownership) {
+        return Stream.of(ownership.getRole(), ownership.getBu(), ownership.getOrg())
+                .filter(holder -> holder != null)
+                .findFirst().map(holder -> holder.getKey().toString()).orElse(null);
+    }
+
+}
@@ -2,7 +2,13 @@ package newyork.webapp.config.assets;
 
 import static java.lang.String.format;
 import static newyork.common.StandardScrollingConfigs.standardStandaloneScrollingConfig;
+import static newyork.webapp.config.assets.AssetOwnershipPropsAssigner.OWNED_SINCE;
+import static newyork.webapp.config.assets.AssetOwnershipPropsAssigner.OWNER;
+import static newyork.webapp.config.assets.AssetOwnershipPropsAssigner.TYPE_OWNED_SINCE;
+import static newyork.webapp.config.assets.AssetOwnershipPropsAssigner.TYPE_OWNER;
+import static ua.com.fielden.platform.web.centre.api.resultset.PropDef.mkProp;
 
+import java.util.Date;
 import java.util.Optional;
 
 import com.google.inject.Injector;
@@ -88,8 +94,14 @@ public class AssetWebUiConfig {
                 .addProp("finDet.initCost").width(150).also()
                 .addProp("finDet.acquireDate").width(150).also()
                 .addProp("assetType").width(100).withActionSupplier(builder.getOpenMasterAction(AssetType.class)).also()
-                .addProp("active").minWidth(100)
+                .addProp("active").minWidth(100).also()
+                // ownership columns are assigned from cached values rather than calculated properties currOwnership and assetType.currOwnership
+                .addProp(mkProp(OWNER, "The role, business unit or organisation that currently owns the asset.", String.class)).minWidth(100).also()
+                .addProp(mkProp(OWNED_SINCE, "The start date of the current asset ownership.", Date.class)).width(120).also()
+                .addProp(mkProp(TYPE_OWNER, "The role, business unit or organisation that currently owns the asset type.", String.class)).minWidth(100).also()
+                .addProp(mkProp(TYPE_OWNED_SINCE, "The start date of the current asset type ownership.", Date.class)).width(120)
                 .addPrimaryAction(standardEditAction)
+                .setCustomPropsValueAssignmentHandler(AssetOwnershipPropsAssigner.class)
                 .build();
 
         return new EntityCentre<>(MiAsset.class, MiAsset.class.getSimpleName(), ecc, injector, null);
@@ -0,0 +1,79 @@
+package newyork.webapp.config.assets.depreciation;
+
+import static java.lang.String.format;
+import static newyork.common.StandardScrollingConfigs.standardStandaloneScrollingConfig;
+
+import java.util.Optional;
+
+import com.google.inject.Injector;
+
+import newyork.assets.Asset;
+import newyork.assets.depreciation.AssetDepreciation;
+import newyork.common.LayoutComposer;
+import newyork.common.StandardActions;
+import newyork.main.menu.assets.depreciation.MiAssetDepreciation;
+import newyork.tablescodes.assets.AssetType;
+import ua.com.fielden.platform.web.action.CentreConfigurationWebUiConfig.CentreConfigActions;
+import ua.com.fielden.platform.web.app.config.IWebUiBuilder;
+import ua.com.fielden.platform.web.centre.EntityCentre;
+import ua.com.fielden.platform.web.centre.api.EntityCentreConfig;
+import ua.com.fielden.platform.web.centre.api.actions.EntityActionConfig;
+import ua.com.fielden.platform.web.centre.api.impl.EntityCentreBuilder;
+import ua.com.fielden.platform.web.interfaces.ILayout.Device;
+/**
+ * {@link AssetDepreciation} Web UI configuration.
+ * <p>
+ * Ledger records are written by the nightly depreciation run and are not edited, therefore there is only a centre.
+ *
+ * @author Developers
+ *
+ */
+public class AssetDepreciationWebUiConfig {
+
+    public final EntityCentre<AssetDepreciation> centre;
+
+    public static AssetDepreciationWebUiConfig register(final Injector injector, final IWebUiBuilder builder) {
+        return new AssetDepreciationWebUiConfig(injector, builder);
+    }
+
+    private AssetDepreciationWebUiConfig(final Injector injector, final IWebUiBuilder builder) {
+        centre = createCentre(injector, builder);
+        builder.register(centre);
+    }
+
+    /**
+     * Creates entity centre for {@link AssetDepreciation}.
+     *
+     * @param injector
+     * @return created entity centre
+     */
+    private EntityCentre<AssetDepreciation> createCentre(final Injector injector, final IWebUiBuilder builder) {
+        final String layout = LayoutComposer.mkGridForCentre(1, 3);
+
+        final EntityActionConfig standardExportAction = StandardActions.EXPORT_ACTION.mkAction(AssetDepreciation.class);
+        final EntityActionConfig standardSortAction = CentreConfigActions.CUSTOMISE_COLUMNS_ACTION.mkAction();
+
+        final EntityCentreConfig<AssetDepreciation> ecc = EntityCentreBuilder.centreFor(AssetDepreciation.class)
+                .addTopAction(standardSortAction).also()
+                .addTopAction(standardExportAction)
+                .addCrit("period").asRange().integer().also()
+                .addCrit("asset").asMulti().autocompleter(Asset.class).also()
+                .addCrit("asset.assetType").asMulti().autocompleter(AssetType.class)
+                .setLayoutFor(Device.DESKTOP, Optional.empty(), layout)
+                .setLayoutFor(Device.TABLET, Optional.empty(), layout)
+                .setLayoutFor(Device.MOBILE, Optional.empty(), layout)
+                .withScrollingConfig(standardStandaloneScrollingConfig(0))
+                .addProp("asset").order(2).asc().minWidth(100)
+                    .withSummary("total_count_", "COUNT(SELF)", format("Count:The total number of matching %ss.", AssetDepreciation.ENTITY_TITLE))
+                    .withActionSupplier(builder.getOpenMasterAction(Asset.class)).also()
+                .addProp("asset.assetType").minWidth(100).also()
+                .addProp("period").order(1).desc().width(100).also()
+                .addProp("depreciation").width(120)
+                    .withSummary("total_depreciation_", "SUM(depreciation)", "Total:The total depreciation of matching records.").also()
+                .addProp("bookValue").width(120)
+                .build();
+
+        return new EntityCentre<>(MiAssetDepreciation.class, MiAssetDepreciation.class.getSimpleName(), ecc, injector, null);
+    }
+
+}
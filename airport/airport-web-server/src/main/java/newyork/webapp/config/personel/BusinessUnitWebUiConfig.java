@@ -54,7 +54,7 @@ public class BusinessUnitWebUiConfig {
      * @return created entity centre
      */
     private EntityCentre<BusinessUnit> createCentre(final Injector injector, final IWebUiBuilder builder) {
-        final String layout = LayoutComposer.mkGridForCentre(2, 1);
+        final String layout = LayoutComposer.mkGridForCentre(3, 1);
 
         final EntityActionConfig standardNewAction = StandardActions.NEW_ACTION.mkAction(BusinessUnit.class);
         final EntityActionConfig standardDeleteAction = StandardActions.DELETE_ACTION.mkAction(BusinessUnit.class);
@@ -71,6 +71,7 @@ public class BusinessUnitWebUiConfig {
                 .addTopAction(standardSortAction).also()
                 .addTopAction(standardExportAction)
                 .addCrit("this").asMulti().autocompleter(BusinessUnit.class).also()
+                .addCrit("parent").asMulti().autocompleter(BusinessUnit.class).also()
                 .addCrit("desc").asMulti().text()
                 .setLayoutFor(Device.DESKTOP, Optional.empty(), layout)
                 .setLayoutFor(Device.TABLET, Optional.empty(), layout)
@@ -79,7 +80,8 @@ public class BusinessUnitWebUiConfig {
                 .addProp("this").order(1).asc().minWidth(100)
                     .withSummary("total_count_", "COUNT(SELF)", format("Count:The total number of matching %ss.", BusinessUnit.ENTITY_TITLE))
                     .withAction(standardEditAction).also()
-                .addProp("desc").minWidth(100)
+                .addProp("desc").minWidth(100).also()
+                .addProp("parent").minWidth(100).withActionSupplier(builder.getOpenMasterAction(BusinessUnit.class))
                 //.addProp("prop").minWidth(100).withActionSupplier(builder.getOpenMasterAction(Entity.class)).also()
                 .addPrimaryAction(standardEditAction)
                 .build();
@@ -94,10 +96,11 @@ public class BusinessUnitWebUiConfig {
      * @return created entity master
      */
     private EntityMaster<BusinessUnit> createMaster(final Injector injector) {
-        final String layout = LayoutComposer.mkGridForMasterFitWidth(2, 1);
+        final String layout = LayoutComposer.mkGridForMasterFitWidth(3, 1);
 
         final IMaster<BusinessUnit> masterConfig = new SimpleMasterBuilder<BusinessUnit>().forEntity(BusinessUnit.class)
                 .addProp("name").asSinglelineText().also()
+                .addProp("parent").asAutocompleter().also()
                 .addProp("desc").asMultilineText().also()
                 .addAction(MasterActions.REFRESH).shortDesc("Cancel").longDesc("Cancel action")
                 .addAction(MasterActions.SAVE)
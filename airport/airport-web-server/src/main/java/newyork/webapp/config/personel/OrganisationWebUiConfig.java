@@ -54,7 +54,7 @@ public class OrganisationWebUiConfig {
      * @return created entity centre
      */
     private EntityCentre<Organisation> createCentre(final Injector injector, final IWebUiBuilder builder) {
-        final String layout = LayoutComposer.mkGridForCentre(1, 2);
+        final String layout = LayoutComposer.mkGridForCentre(1, 3);
 
         final EntityActionConfig standardNewAction = StandardActions.NEW_ACTION.mkAction(Organisation.class);
         final EntityActionConfig standardDeleteAction = StandardActions.DELETE_ACTION.mkAction(Organisation.class);
@@ -71,6 +71,7 @@ public class OrganisationWebUiConfig {
                 .addTopAction(standardSortAction).also()
                 .addTopAction(standardExportAction)
                 .addCrit("this").asMulti().autocompleter(Organisation.class).also()
+                .addCrit("parent").asMulti().autocompleter(Organisation.class).also()
                 .addCrit("desc").asMulti().text()
                 .setLayoutFor(Device.DESKTOP, Optional.empty(), layout)
                 .setLayoutFor(Device.TABLET, Optional.empty(), layout)
@@ -79,7 +80,8 @@ public class OrganisationWebUiConfig {
                 .addProp("this").order(1).asc().minWidth(100)
                     .withSummary("total_count_", "COUNT(SELF)", format("Count:The total number of matching %ss.", Organisation.ENTITY_TITLE))
                     .withAction(standardEditAction).also()
-                .addProp("desc").minWidth(100)
+                .addProp("desc").minWidth(100).also()
+                .addProp("parent").minWidth(100).withActionSupplier(builder.getOpenMasterAction(Organisation.class))
                 //.addProp("prop").minWidth(100).withActionSupplier(builder.getOpenMasterAction(Entity.class)).also()
                 .addPrimaryAction(standardEditAction)
                 .build();
@@ -94,10 +96,11 @@ public class OrganisationWebUiConfig {
      * @return created entity master
      */
     private EntityMaster<Organisation> createMaster(final Injector injector) {
-        final String layout = LayoutComposer.mkGridForMasterFitWidth(2, 1);
+        final String layout = LayoutComposer.mkGridForMasterFitWidth(3, 1);
 
         final IMaster<Organisation> masterConfig = new SimpleMasterBuilder<Organisation>().forEntity(Organisation.class)
                 .addProp("name").asSinglelineText().also()
+                .addProp("parent").asAutocompleter().also()
                 .addProp("desc").asMultilineText().also()
                 .addAction(MasterActions.REFRESH).shortDesc("Cancel").longDesc("Cancel action")
                 .addAction(MasterActions.SAVE)
@@ -97,7 +97,9 @@ public class AssetTypeWebUiConfig {
                 .addProp("currOwnership.role").width(100).also()
                 .addProp("currOwnership.bu").width(100).also()
                 .addProp("currOwnership.org").width(100).also()
-                .addProp("currOwnership.startDate").width(150)
+                .addProp("currOwnership.startDate").width(150).also()
+                .addProp("depreciationMethod").width(100).also()
+                .addProp("usefulLifeMonths").width(100)
                 .addPrimaryAction(standardEditAction)
                 .build();
 
@@ -111,7 +113,7 @@ public class AssetTypeWebUiConfig {
      * @return created entity master
      */
     private EntityMaster<AssetType> createMaster(final Injector injector) {
-        final String layout = LayoutComposer.mkVarGridForMasterFitWidth(1, 1, 2, 4);
+        final String layout = LayoutComposer.mkVarGridForMasterFitWidth(1, 1, 2, 4, 2);
 
         final IMaster<AssetType> masterConfig = new SimpleMasterBuilder<AssetType>().forEntity(AssetType.class)
                 .addProp("name").asSinglelineText().also()
@@ -122,6 +124,8 @@ public class AssetTypeWebUiConfig {
                 .addProp("currOwnership.bu").asAutocompleter().also()
                 .addProp("currOwnership.org").asAutocompleter().also()
                 .addProp("currOwnership.startDate").asDatePicker().also()
+                .addProp("depreciationMethod").asSinglelineText().also()
+                .addProp("usefulLifeMonths").asInteger().also()
                 .addAction(MasterActions.REFRESH).shortDesc("Cancel").longDesc("Cancel action")
                 .addAction(MasterActions.SAVE)
                 .setActionBarLayoutFor(Device.DESKTOP, Optional.empty(), LayoutComposer.mkActionLayoutForMaster())
@@ -0,0 +1,82 @@
+package newyork.webapp.config.tablescodes.assets;
+
+import static java.lang.String.format;
+import static newyork.common.StandardScrollingConfigs.standardStandaloneScrollingConfig;
+
+import java.util.Optional;
+
+import com.google.inject.Injector;
+
+import newyork.assets.Asset;
+import newyork.common.LayoutComposer;
+import newyork.common.StandardActions;
+import newyork.main.menu.tablescodes.assets.MiDatedRecordOverlap;
+import newyork.tablescodes.assets.AssetType;
+import newyork.tablescodes.assets.DatedRecordOverlap;
+import ua.com.fielden.platform.web.action.CentreConfigurationWebUiConfig.CentreConfigActions;
+import ua.com.fielden.platform.web.app.config.IWebUiBuilder;
+import ua.com.fielden.platform.web.centre.EntityCentre;
+import ua.com.fielden.platform.web.centre.api.EntityCentreConfig;
+import ua.com.fielden.platform.web.centre.api.actions.EntityActionConfig;
+import ua.com.fielden.platform.web.centre.api.impl.EntityCentreBuilder;
+import ua.com.fielden.platform.web.interfaces.ILayout.Device;
+/**
+ * {@link DatedRecordOverlap} Web UI configuration.
+ * <p>
+ * Overlaps are findings of a nightly scan, which are not edited, therefore there is only a centre.
+ *
+ * @author Developers
+ *
+ */
+public class DatedRecordOverlapWebUiConfig {
+
+    public final EntityCentre<DatedRecordOverlap> centre;
+
+    public static DatedRecordOverlapWebUiConfig register(final Injector injector, final IWebUiBuilder builder) {
+        return new DatedRecordOverlapWebUiConfig(injector, builder);
+    }
+
+    private DatedRecordOverlapWebUiConfig(final Injector injector, final IWebUiBuilder builder) {
+        centre = createCentre(injector, builder);
+        builder.register(centre);
+    }
+
+    /**
+     * Creates entity centre for {@link DatedRecordOverlap}.
+     *
+     * @param injector
+     * @return created entity centre
+     */
+    private EntityCentre<DatedRecordOverlap> createCentre(final Injector injector, final IWebUiBuilder builder) {
+        final String layout = LayoutComposer.mkGridForCentre(2, 2);
+
+        final EntityActionConfig standardExportAction = StandardActions.EXPORT_ACTION.mkAction(DatedRecordOverlap.class);
+        final EntityActionConfig standardSortAction = CentreConfigActions.CUSTOMISE_COLUMNS_ACTION.mkAction();
+
+        final EntityCentreConfig<DatedRecordOverlap> ecc = EntityCentreBuilder.centreFor(DatedRecordOverlap.class)
+                .runAutomatically()
+                .addTopAction(standardSortAction).also()
+                .addTopAction(standardExportAction)
+                .addCrit("recordType").asMulti().text().also()
+                .addCrit("detectedDate").asRange().date().also()
+                .addCrit("asset").asMulti().autocompleter(Asset.class).also()
+                .addCrit("assetType").asMulti().autocompleter(AssetType.class)
+                .setLayoutFor(Device.DESKTOP, Optional.empty(), layout)
+                .setLayoutFor(Device.TABLET, Optional.empty(), layout)
+                .setLayoutFor(Device.MOBILE, Optional.empty(), layout)
+                .withScrollingConfig(standardStandaloneScrollingConfig(0))
+                .addProp("recordType").order(1).asc().minWidth(100)
+                    .withSummary("total_count_", "COUNT(SELF)", format("Count:The total number of matching %ss.", DatedRecordOverlap.ENTITY_TITLE)).also()
+                .addProp("asset").order(2).asc().minWidth(100).withActionSupplier(builder.getOpenMasterAction(Asset.class)).also()
+                .addProp("assetType").order(3).asc().minWidth(100).withActionSupplier(builder.getOpenMasterAction(AssetType.class)).also()
+                .addProp("firstStartDate").order(4).asc().width(120).also()
+                .addProp("firstEndDate").width(120).also()
+                .addProp("secondStartDate").width(120).also()
+                .addProp("secondEndDate").width(120).also()
+                .addProp("detectedDate").width(150)
+                .build();
+
+        return new EntityCentre<>(MiDatedRecordOverlap.class, MiDatedRecordOverlap.class.getSimpleName(), ecc, injector, null);
+    }
+
+}
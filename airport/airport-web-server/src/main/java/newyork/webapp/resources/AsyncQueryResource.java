@@ -0,0 +1,99 @@
+package newyork.webapp.resources;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.data.Disposition;
+import org.restlet.data.MediaType;
+import org.restlet.data.Status;
+import org.restlet.representation.OutputRepresentation;
+import org.restlet.representation.Representation;
+import org.restlet.representation.StringRepresentation;
+import org.restlet.resource.Delete;
+import org.restlet.resource.Get;
+import org.restlet.resource.ResourceException;
+import org.restlet.resource.ServerResource;
+
+import newyork.common.async.AsyncQuery;
+import newyork.common.async.AsyncQueryExecutor;
+import newyork.common.export.ExportFormat;
+import newyork.common.export.StreamingExporter;
+import ua.com.fielden.platform.entity.AbstractEntity;
+
+/**
+ * A web resource for a query submitted with {@link AsyncQuerySubmissionResource}.
+ * <p>
+ * {@code GET} responds with the status of the query as JSON, which for a completed query includes the number of retrieved rows and whether they were truncated
+ * to {@link AsyncQueryExecutor#MAX_ROWS}, while {@code GET} with query parameter {@code format} responds with the results of a completed query as a CSV or XLSX file.
+ * {@code DELETE} cancels the query, which is what the UI does when the user navigates away before the results arrive.
+ * Queries are accessible only to the users who submitted them (see {@link AsyncQueryExecutor#find(String)}).
+ *
+ * @author Developers
+ *
+ */
+public class AsyncQueryResource extends ServerResource {
+
+    private final AsyncQueryExecutor executor;
+    private final AsyncQuery<?> query;
+
+    public AsyncQueryResource(final AsyncQueryExecutor executor, final AsyncQuery<?> query, final Context context, final Request request, final Response response) {
+        init(context, request, response);
+        this.executor = executor;
+        this.query = query;
+    }
+
+    @Get
+    public Representation status() {
+        final String formatValue = getQueryValue("format");
+        if (formatValue == null) {
+            return new StringRepresentation(statusJson(query), MediaType.APPLICATION_JSON);
+        }
+        if (query.getStatus() != AsyncQuery.Status.COMPLETED) {
+            throw new ResourceException(Status.CLIENT_ERROR_CONFLICT, String.format("Query [%s] is %s.", query.id, query.getStatus()));
+        }
+        final ExportFormat format;
+        try {
+            format = ExportFormat.ofExtension(formatValue);
+        } catch (final IllegalArgumentException ex) {
+            throw new ResourceException(Status.CLIENT_ERROR_BAD_REQUEST, ex.getMessage());
+        }
+        final Representation representation = new OutputRepresentation(MediaType.valueOf(format.mimeType)) {
+            @Override
+            public void write(final OutputStream out) throws IOException {
+                export(query, format, out);
+            }
+        };
+        final Disposition disposition = new Disposition(Disposition.TYPE_ATTACHMENT);
+        disposition.setFilename(query.entityType.getSimpleName() + "." + format.extension);
+        representation.setDisposition(disposition);
+        return representation;
+    }
+
+    @Delete
+    public Representation cancel() {
+        executor.cancel(query.id);
+        return new StringRepresentation(statusJson(query), MediaType.APPLICATION_JSON);
+    }
+
+    private static <T extends AbstractEntity<?>> void export(final AsyncQuery<T> query, final ExportFormat format, final OutputStream out) {
+        StreamingExporter.export(query.entityType, query.props, query.getResult().stream(), format, out);
+    }
+
+    static String statusJson(final AsyncQuery<?> query) {
+        final StringBuilder json = new StringBuilder()
+                .append("{\"id\":\"").append(query.id)
+                .append("\",\"status\":\"").append(query.getStatus()).append('"');
+        if (query.getResult() != null) {
+            json.append(",\"rows\":").append(query.getResult().size())
+                .append(",\"truncated\":").append(query.isTruncated());
+        }
+        if (query.getError() != null) {
+            json.append(",\"error\":\"").append(query.getError().replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n")).append('"');
+        }
+        return json.append('}').toString();
+    }
+
+}
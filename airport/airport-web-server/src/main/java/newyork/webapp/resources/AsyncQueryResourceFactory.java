@@ -0,0 +1,46 @@
+package newyork.webapp.resources;
+
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.Restlet;
+import org.restlet.data.Method;
+import org.restlet.data.Status;
+
+import com.google.inject.Injector;
+
+import newyork.common.async.AsyncQuery;
+import newyork.common.async.AsyncQueryExecutor;
+
+/**
+ * A factory for {@link AsyncQueryResource}, instantiating a resource per request for the query identified by URI template variable {@code id}.
+ *
+ * @author Developers
+ *
+ */
+public class AsyncQueryResourceFactory extends Restlet {
+
+    public static final String PATH_PREFIX = "queries/";
+
+    private final Injector injector;
+
+    public AsyncQueryResourceFactory(final Injector injector) {
+        this.injector = injector;
+    }
+
+    @Override
+    public void handle(final Request request, final Response response) {
+        super.handle(request, response);
+
+        if (Method.GET == request.getMethod() || Method.DELETE == request.getMethod()) {
+            final String id = (String) request.getAttributes().get("id");
+            final AsyncQueryExecutor executor = injector.getInstance(AsyncQueryExecutor.class);
+            final AsyncQuery<?> query = executor.find(id).orElse(null);
+            if (query == null) {
+                response.setStatus(Status.CLIENT_ERROR_NOT_FOUND, String.format(AsyncQueryExecutor.ERR_UNKNOWN_QUERY, id));
+                return;
+            }
+            new AsyncQueryResource(executor, query, getContext(), request, response).handle();
+        }
+    }
+
+}
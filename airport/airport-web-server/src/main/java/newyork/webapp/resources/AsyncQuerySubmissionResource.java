@@ -0,0 +1,92 @@
+package newyork.webapp.resources;
+
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.from;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.orderBy;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.List;
+
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.data.MediaType;
+import org.restlet.data.Reference;
+import org.restlet.data.Status;
+import org.restlet.representation.Representation;
+import org.restlet.representation.StringRepresentation;
+import org.restlet.resource.Post;
+import org.restlet.resource.ResourceException;
+import org.restlet.resource.ServerResource;
+
+import newyork.common.async.AsyncQuery;
+import newyork.common.async.AsyncQueryExecutor;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.query.QueryExecutionModel;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+import ua.com.fielden.platform.error.Result;
+import ua.com.fielden.platform.utils.EntityUtils;
+
+/**
+ * A web resource that submits a query for entities of some type to {@link AsyncQueryExecutor}, responding with the location of {@link AsyncQueryResource} to be polled for results.
+ * <p>
+ * Entities can be restricted to a date range with optional query parameters {@code from} and {@code to} in format {@code yyyy-MM-dd}, which apply to the date property the resource is configured with.
+ *
+ * @author Developers
+ *
+ */
+public class AsyncQuerySubmissionResource<T extends AbstractEntity<?>> extends ServerResource {
+
+    private static final String DATE_FORMAT = "yyyy-MM-dd";
+
+    private final AsyncQueryExecutor executor;
+    private final Class<T> entityType;
+    private final String dateProp;
+    private final List<String> props;
+
+    public AsyncQuerySubmissionResource(final AsyncQueryExecutor executor, final Class<T> entityType, final String dateProp, final List<String> props, final Context context, final Request request, final Response response) {
+        init(context, request, response);
+        this.executor = executor;
+        this.entityType = entityType;
+        this.dateProp = dateProp;
+        this.props = props;
+    }
+
+    @Post
+    public Representation submit() {
+        final EntityResultQueryModel<T> query = select(entityType).where()
+                .prop(dateProp).ge().iVal(parseDate("from"))
+                .and().prop(dateProp).le().iVal(parseDate("to")).model();
+        final QueryExecutionModel<T, EntityResultQueryModel<T>> qem = from(query)
+                .with(EntityUtils.fetch(entityType).with(props.toArray(new String[0])).fetchModel())
+                .with(orderBy().prop("key").asc().model())
+                .lightweight().model();
+
+        final AsyncQuery<T> asyncQuery;
+        try {
+            asyncQuery = executor.submit(entityType, qem, props);
+        } catch (final Result ex) {
+            throw new ResourceException(Status.SERVER_ERROR_SERVICE_UNAVAILABLE, ex.getMessage());
+        }
+        setStatus(Status.SUCCESS_ACCEPTED);
+        setLocationRef(new Reference(getReference().getParentRef(), AsyncQueryResourceFactory.PATH_PREFIX + asyncQuery.id));
+        return new StringRepresentation(AsyncQueryResource.statusJson(asyncQuery), MediaType.APPLICATION_JSON);
+    }
+
+    private Date parseDate(final String param) {
+        final String value = getQueryValue(param);
+        if (value == null) {
+            return null;
+        }
+        final SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT);
+        format.setLenient(false);
+        try {
+            return format.parse(value);
+        } catch (final ParseException ex) {
+            throw new ResourceException(Status.CLIENT_ERROR_BAD_REQUEST, String.format("Parameter [%s] should be a date in format %s, but was [%s].", param, DATE_FORMAT, value));
+        }
+    }
+
+}
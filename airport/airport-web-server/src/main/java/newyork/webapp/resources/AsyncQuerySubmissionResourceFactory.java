@@ -0,0 +1,44 @@
+package newyork.webapp.resources;
+
+import java.util.List;
+
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.Restlet;
+import org.restlet.data.Method;
+
+import com.google.inject.Injector;
+
+import newyork.common.async.AsyncQueryExecutor;
+import ua.com.fielden.platform.entity.AbstractEntity;
+
+/**
+ * A factory for {@link AsyncQuerySubmissionResource}, instantiating a resource per request for entities of the specified type.
+ *
+ * @author Developers
+ *
+ */
+public class AsyncQuerySubmissionResourceFactory<T extends AbstractEntity<?>> extends Restlet {
+
+    private final Injector injector;
+    private final Class<T> entityType;
+    private final String dateProp;
+    private final List<String> props;
+
+    public AsyncQuerySubmissionResourceFactory(final Injector injector, final Class<T> entityType, final String dateProp, final List<String> props) {
+        this.injector = injector;
+        this.entityType = entityType;
+        this.dateProp = dateProp;
+        this.props = props;
+    }
+
+    @Override
+    public void handle(final Request request, final Response response) {
+        super.handle(request, response);
+
+        if (Method.POST == request.getMethod()) {
+            new AsyncQuerySubmissionResource<>(injector.getInstance(AsyncQueryExecutor.class), entityType, dateProp, props, getContext(), request, response).handle();
+        }
+    }
+
+}
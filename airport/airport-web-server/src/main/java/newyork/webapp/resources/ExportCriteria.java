@@ -0,0 +1,160 @@
+package newyork.webapp.resources;
+
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.math.BigDecimal;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import org.restlet.data.Form;
+
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.query.fluent.EntityQueryProgressiveInterfaces.ICompoundCondition0;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+
+/**
+ * Selection criteria of {@link StreamingExportResource}, which are passed as query parameters and mirror the criteria of the entity centre for the same entity type.
+ * <p>
+ * Parameter values follow the centre conventions:
+ * <ul>
+ * <li>multi-valued criteria -- comma-separated values of {@code <name>}, e.g. {@code assetType=AT1,AT2};
+ * <li>text criteria -- comma-separated patterns of {@code <name>} with {@code *} as a wildcard, matched case-insensitively;
+ * <li>boolean criteria -- {@code true} or {@code false};
+ * <li>range criteria -- optional bounds {@code <name>.from} and {@code <name>.to}, inclusive, with dates in format {@code yyyy-MM-dd}.
+ * </ul>
+ * Criteria that are not present in the request do not restrict the export.
+ * <p>
+ * This is a limitation compared to the centre export: the criteria are not taken from the saved centre configuration of the user and the missing-value and negation options of the centre are not supported.
+ * The client is expected to pass the values it shows in the centre.
+ *
+ * @author Developers
+ *
+ */
+public class ExportCriteria<T extends AbstractEntity<?>> {
+
+    private static final String DATE_FORMAT = "yyyy-MM-dd";
+
+    public final Class<T> entityType;
+    private final List<BiFunction<ICompoundCondition0<T>, Form, ICompoundCondition0<T>>> criteria = new ArrayList<>();
+
+    private ExportCriteria(final Class<T> entityType) {
+        this.entityType = entityType;
+    }
+
+    public static <T extends AbstractEntity<?>> ExportCriteria<T> criteriaFor(final Class<T> entityType) {
+        return new ExportCriteria<>(entityType);
+    }
+
+    /**
+     * Adds a multi-valued criterion, matching property {@code prop} against any of the values of parameter {@code name}.
+     * For entity-typed criteria, {@code prop} should be the key member the values stand for (e.g. {@code assetType.name}).
+     */
+    public ExportCriteria<T> multi(final String name, final String prop) {
+        criteria.add((condition, params) -> {
+            final String[] values = values(params, name);
+            return values.length == 0 ? condition : condition.and().prop(prop).in().values((Object[]) values);
+        });
+        return this;
+    }
+
+    /**
+     * Adds a text criterion, matching property {@code prop} case-insensitively against any of the patterns of parameter {@code name}.
+     */
+    public ExportCriteria<T> text(final String name, final String prop) {
+        criteria.add((condition, params) -> {
+            final Object[] patterns = Arrays.stream(values(params, name)).map(value -> value.replace('*', '%')).toArray();
+            return patterns.length == 0 ? condition : condition.and().prop(prop).iLike().anyOfValues(patterns);
+        });
+        return this;
+    }
+
+    /**
+     * Adds a boolean criterion for property {@code prop}.
+     */
+    public ExportCriteria<T> bool(final String name, final String prop) {
+        criteria.add((condition, params) -> {
+            final String value = params.getFirstValue(name);
+            if (value == null) {
+                return condition;
+            }
+            if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+                throw new IllegalArgumentException(String.format("Parameter [%s] should be true or false, but was [%s].", name, value));
+            }
+            return condition.and().prop(prop).eq().val(Boolean.valueOf(value));
+        });
+        return this;
+    }
+
+    /**
+     * Adds a date range criterion for property {@code prop}.
+     */
+    public ExportCriteria<T> dateRange(final String name, final String prop) {
+        return range(name, prop, ExportCriteria::parseDate);
+    }
+
+    /**
+     * Adds a decimal range criterion for property {@code prop}.
+     */
+    public ExportCriteria<T> decimalRange(final String name, final String prop) {
+        return range(name, prop, BigDecimal::new);
+    }
+
+    private ExportCriteria<T> range(final String name, final String prop, final Function<String, Object> parser) {
+        criteria.add((condition, params) -> {
+            final Object from = parse(params, name + ".from", parser);
+            final Object to = parse(params, name + ".to", parser);
+            final ICompoundCondition0<T> fromCondition = from == null ? condition : condition.and().prop(prop).ge().val(from);
+            return to == null ? fromCondition : fromCondition.and().prop(prop).le().val(to);
+        });
+        return this;
+    }
+
+    /**
+     * Creates a query for entities matching the criteria present in {@code params}.
+     *
+     * @param params
+     * @return
+     * @throws IllegalArgumentException if some criterion has a malformed value
+     */
+    public EntityResultQueryModel<T> toQuery(final Form params) {
+        ICompoundCondition0<T> condition = select(entityType).where().prop("id").isNotNull();
+        for (final BiFunction<ICompoundCondition0<T>, Form, ICompoundCondition0<T>> criterion : criteria) {
+            condition = criterion.apply(condition, params);
+        }
+        return condition.model();
+    }
+
+    private static String[] values(final Form params, final String name) {
+        final String value = params.getFirstValue(name);
+        return value == null ? new String[0] : Arrays.stream(value.split(",")).map(String::trim).filter(v -> !v.isEmpty()).toArray(String[]::new);
+    }
+
+    private static Object parse(final Form params, final String param, final Function<String, Object> parser) {
+        final String value = params.getFirstValue(param);
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            return parser.apply(value.trim());
+        } catch (final IllegalArgumentException ex) {
+            throw new IllegalArgumentException(String.format("Parameter [%s] has an invalid value [%s].", param, value), ex);
+        }
+    }
+
+    private static Date parseDate(final String value) {
+        final SimpleDateFormat format = new SimpleDateFormat(DATE_FORMAT);
+        format.setLenient(false);
+        try {
+            return format.parse(value);
+        } catch (final ParseException ex) {
+            throw new IllegalArgumentException(String.format("[%s] is not a date in format %s.", value, DATE_FORMAT), ex);
+        }
+    }
+
+}
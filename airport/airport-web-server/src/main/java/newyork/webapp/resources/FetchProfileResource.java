@@ -0,0 +1,46 @@
+package newyork.webapp.resources;
+
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.data.MediaType;
+import org.restlet.representation.Representation;
+import org.restlet.representation.StringRepresentation;
+import org.restlet.resource.Delete;
+import org.restlet.resource.Get;
+import org.restlet.resource.ServerResource;
+
+import newyork.common.metrics.FetchModelProfiler;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+
+/**
+ * A web resource for administrators (see {@link FetchProfileResourceFactory} for the required security tokens), which reports the observations of {@link FetchModelProfiler} as plain text:
+ * the property paths used by every centre and master, and the recommended fetch model per entity type compared with the fetch provider of its companion.
+ * {@code DELETE} clears the observations.
+ *
+ * @author Developers
+ *
+ */
+public class FetchProfileResource extends ServerResource {
+
+    private final FetchModelProfiler profiler;
+    private final ICompanionObjectFinder coFinder;
+
+    public FetchProfileResource(final FetchModelProfiler profiler, final ICompanionObjectFinder coFinder, final Context context, final Request request, final Response response) {
+        init(context, request, response);
+        this.profiler = profiler;
+        this.coFinder = coFinder;
+    }
+
+    @Get
+    public Representation report() {
+        return new StringRepresentation(profiler.report(type -> coFinder.find(type, true).getFetchProvider().allProperties()), MediaType.TEXT_PLAIN);
+    }
+
+    @Delete
+    public Representation clear() {
+        profiler.clear();
+        return new StringRepresentation("Fetch model profile cleared.", MediaType.TEXT_PLAIN);
+    }
+
+}
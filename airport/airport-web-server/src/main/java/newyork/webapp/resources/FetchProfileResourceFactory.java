@@ -0,0 +1,57 @@
+package newyork.webapp.resources;
+
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.Restlet;
+import org.restlet.data.Method;
+import org.restlet.data.Status;
+
+import com.google.inject.Injector;
+
+import newyork.common.metrics.FetchModelProfiler;
+import newyork.security.tokens.admin.FetchProfileClearToken;
+import newyork.security.tokens.admin.FetchProfileReviewToken;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+import ua.com.fielden.platform.security.ISecurityToken;
+import ua.com.fielden.platform.security.provider.ISecurityTokenController;
+import ua.com.fielden.platform.security.user.IUserProvider;
+
+/**
+ * A factory for {@link FetchProfileResource}.
+ * <p>
+ * Reviewing the profile requires {@link FetchProfileReviewToken}, while clearing it requires {@link FetchProfileClearToken}, as it changes the fetch models used by companions if the profile is applied.
+ * Requests of users without the required token are rejected with {@code 403 Forbidden}.
+ *
+ * @author Developers
+ *
+ */
+public class FetchProfileResourceFactory extends Restlet {
+
+    public static final String ERR_FORBIDDEN = "Permission denied due to token [%s] restriction.";
+
+    private final Injector injector;
+
+    public FetchProfileResourceFactory(final Injector injector) {
+        this.injector = injector;
+    }
+
+    @Override
+    public void handle(final Request request, final Response response) {
+        super.handle(request, response);
+
+        if (Method.GET == request.getMethod() || Method.DELETE == request.getMethod()) {
+            final Class<? extends ISecurityToken> token = requiredToken(request.getMethod());
+            final ISecurityTokenController tokenController = injector.getInstance(ISecurityTokenController.class);
+            if (!tokenController.canAccess(injector.getInstance(IUserProvider.class).getUser(), token)) {
+                response.setStatus(Status.CLIENT_ERROR_FORBIDDEN, String.format(ERR_FORBIDDEN, token.getSimpleName()));
+                return;
+            }
+            new FetchProfileResource(injector.getInstance(FetchModelProfiler.class), injector.getInstance(ICompanionObjectFinder.class), getContext(), request, response).handle();
+        }
+    }
+
+    static Class<? extends ISecurityToken> requiredToken(final Method method) {
+        return Method.DELETE == method ? FetchProfileClearToken.class : FetchProfileReviewToken.class;
+    }
+
+}
@@ -0,0 +1,37 @@
+package newyork.webapp.resources;
+
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.data.MediaType;
+import org.restlet.representation.Representation;
+import org.restlet.representation.StringRepresentation;
+import org.restlet.resource.Get;
+import org.restlet.resource.ServerResource;
+
+import newyork.common.metrics.Metrics;
+
+/**
+ * A web resource that exposes {@link Metrics} in the Prometheus text format, which is suitable for scraping as well as for reading in a browser.
+ *
+ * @author Developers
+ *
+ */
+public class MetricsResource extends ServerResource {
+
+    public static final String BINDING_PATH = "/metrics";
+    private static final MediaType PROMETHEUS_TEXT = MediaType.valueOf("text/plain; version=0.0.4");
+
+    private final Metrics metrics;
+
+    public MetricsResource(final Metrics metrics, final Context context, final Request request, final Response response) {
+        init(context, request, response);
+        this.metrics = metrics;
+    }
+
+    @Get
+    public Representation metrics() {
+        return new StringRepresentation(metrics.toPrometheusText(), PROMETHEUS_TEXT);
+    }
+
+}
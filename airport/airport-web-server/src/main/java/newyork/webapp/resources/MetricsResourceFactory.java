@@ -0,0 +1,63 @@
+package newyork.webapp.resources;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import java.security.MessageDigest;
+
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.Restlet;
+import org.restlet.data.Method;
+import org.restlet.data.Status;
+
+import com.google.inject.Injector;
+
+import newyork.common.metrics.Metrics;
+
+/**
+ * A factory for {@link MetricsResource}, which guards it with a bearer token.
+ * <p>
+ * Monitoring systems cannot log in, therefore scrapers need to present the token configured as {@code metrics.token} in {@code application.properties}
+ * in header {@code Authorization: Bearer <token>}. Requests without a matching token are rejected with {@code 401 Unauthorized}.
+ *
+ * @author Developers
+ *
+ */
+public class MetricsResourceFactory extends Restlet {
+
+    public static final String ERR_UNAUTHORISED = "A valid metrics token is required.";
+    private static final String BEARER = "Bearer ";
+
+    private final Injector injector;
+    private final String token;
+
+    public MetricsResourceFactory(final Injector injector, final String token) {
+        if (token == null || token.trim().isEmpty()) {
+            throw new IllegalArgumentException("A non-empty metrics token is required.");
+        }
+        this.injector = injector;
+        this.token = token.trim();
+    }
+
+    @Override
+    public void handle(final Request request, final Response response) {
+        super.handle(request, response);
+
+        if (!isAuthorised(request.getHeaders().getFirstValue("Authorization", true), token)) {
+            response.setStatus(Status.CLIENT_ERROR_UNAUTHORIZED, ERR_UNAUTHORISED);
+        } else if (Method.GET == request.getMethod()) {
+            new MetricsResource(injector.getInstance(Metrics.class), getContext(), request, response).handle();
+        }
+    }
+
+    /**
+     * Determines whether the value of header {@code Authorization} carries {@code token}, comparing tokens in constant time.
+     */
+    static boolean isAuthorised(final String authorization, final String token) {
+        if (authorization == null || !authorization.startsWith(BEARER)) {
+            return false;
+        }
+        return MessageDigest.isEqual(authorization.substring(BEARER.length()).trim().getBytes(UTF_8), token.getBytes(UTF_8));
+    }
+
+}
@@ -0,0 +1,75 @@
+package newyork.webapp.resources;
+
+import java.text.SimpleDateFormat;
+import java.util.List;
+import java.util.Optional;
+
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.data.MediaType;
+import org.restlet.data.Status;
+import org.restlet.representation.Representation;
+import org.restlet.representation.StringRepresentation;
+import org.restlet.resource.Delete;
+import org.restlet.resource.Get;
+import org.restlet.resource.ResourceException;
+import org.restlet.resource.ServerResource;
+
+import newyork.common.metrics.SlowQuery;
+import newyork.common.metrics.SlowQueryLog;
+
+/**
+ * A web resource for administrators (see {@link SlowQueryResourceFactory} for the required security tokens), which reports the top offenders of {@link SlowQueryLog} as plain text: the slowest execution of every EQL model, slowest first.
+ * <p>
+ * Query parameter {@code top} limits the number of reported offenders (20 by default), while {@code recent} reports all recorded executions, most recent first.
+ * {@code DELETE} clears the log, which is handy for measuring the effect of a fix.
+ *
+ * @author Developers
+ *
+ */
+public class SlowQueryResource extends ServerResource {
+
+    public static final int DEFAULT_TOP = 20;
+
+    private final SlowQueryLog log;
+
+    public SlowQueryResource(final SlowQueryLog log, final Context context, final Request request, final Response response) {
+        init(context, request, response);
+        this.log = log;
+    }
+
+    @Get
+    public Representation report() {
+        final List<SlowQuery> queries;
+        if (getQueryValue("recent") != null) {
+            queries = log.recent();
+        } else {
+            try {
+                queries = log.topOffenders(Integer.parseInt(Optional.ofNullable(getQueryValue("top")).orElse(String.valueOf(DEFAULT_TOP))));
+            } catch (final NumberFormatException ex) {
+                throw new ResourceException(Status.CLIENT_ERROR_BAD_REQUEST, "Parameter [top] should be a number.");
+            }
+        }
+
+        final SimpleDateFormat dateFormat = new SimpleDateFormat("dd/MM/yyyy HH:mm:ss");
+        final StringBuilder report = new StringBuilder()
+                .append(String.format("Slow queries above %s ms (%s recorded, capacity %s)%n", log.thresholdMillis, log.recent().size(), log.capacity));
+        for (final SlowQuery query : queries) {
+            report.append(String.format("%n[%s] %s: %.1f ms, %s row(s), %s execution(s) recorded, last at %s%n", query.fingerprint, query.entityType, query.millis,
+                                        query.rows < 0 ? "n/a" : query.rows, log.executionsOf(query.fingerprint), dateFormat.format(query.executedAt)))
+                  .append("  method:    ").append(query.method).append('\n')
+                  .append("  call site: ").append(query.callSite).append('\n')
+                  .append("  model:     ").append(query.model).append('\n')
+                  .append("  sql:       ").append(query.sql.replace("\n", "\n             ")).append('\n');
+        }
+        return new StringRepresentation(report, MediaType.TEXT_PLAIN);
+    }
+
+    @Delete
+    public Representation clear() {
+        log.clear();
+        return new StringRepresentation("Slow query log cleared.", MediaType.TEXT_PLAIN);
+    }
+
+}
@@ -0,0 +1,56 @@
+package newyork.webapp.resources;
+
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.Restlet;
+import org.restlet.data.Method;
+import org.restlet.data.Status;
+
+import com.google.inject.Injector;
+
+import newyork.common.metrics.SlowQueryLog;
+import newyork.security.tokens.admin.SlowQueryLogClearToken;
+import newyork.security.tokens.admin.SlowQueryLogReviewToken;
+import ua.com.fielden.platform.security.ISecurityToken;
+import ua.com.fielden.platform.security.provider.ISecurityTokenController;
+import ua.com.fielden.platform.security.user.IUserProvider;
+
+/**
+ * A factory for {@link SlowQueryResource}.
+ * <p>
+ * Reviewing the log requires {@link SlowQueryLogReviewToken}, as it contains EQL models with parameter values, while clearing it requires {@link SlowQueryLogClearToken}.
+ * Requests of users without the required token are rejected with {@code 403 Forbidden}.
+ *
+ * @author Developers
+ *
+ */
+public class SlowQueryResourceFactory extends Restlet {
+
+    public static final String ERR_FORBIDDEN = "Permission denied due to token [%s] restriction.";
+
+    private final Injector injector;
+
+    public SlowQueryResourceFactory(final Injector injector) {
+        this.injector = injector;
+    }
+
+    @Override
+    public void handle(final Request request, final Response response) {
+        super.handle(request, response);
+
+        if (Method.GET == request.getMethod() || Method.DELETE == request.getMethod()) {
+            final Class<? extends ISecurityToken> token = requiredToken(request.getMethod());
+            final ISecurityTokenController tokenController = injector.getInstance(ISecurityTokenController.class);
+            if (!tokenController.canAccess(injector.getInstance(IUserProvider.class).getUser(), token)) {
+                response.setStatus(Status.CLIENT_ERROR_FORBIDDEN, String.format(ERR_FORBIDDEN, token.getSimpleName()));
+                return;
+            }
+            new SlowQueryResource(injector.getInstance(SlowQueryLog.class), getContext(), request, response).handle();
+        }
+    }
+
+    static Class<? extends ISecurityToken> requiredToken(final Method method) {
+        return Method.DELETE == method ? SlowQueryLogClearToken.class : SlowQueryLogReviewToken.class;
+    }
+
+}
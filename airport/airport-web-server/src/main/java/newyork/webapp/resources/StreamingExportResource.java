@@ -0,0 +1,91 @@
+package newyork.webapp.resources;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Optional;
+
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.data.Disposition;
+import org.restlet.data.MediaType;
+import org.restlet.data.Status;
+import org.restlet.representation.FileRepresentation;
+import org.restlet.representation.Representation;
+import org.restlet.resource.Get;
+import org.restlet.resource.ResourceException;
+import org.restlet.resource.ServerResource;
+
+import newyork.common.export.ExportFormat;
+import newyork.common.export.IStreamingExport;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.query.model.EntityResultQueryModel;
+
+/**
+ * A web resource that exports entities of some type to the client as a CSV or XLSX file, as specified with query parameter {@code format} (CSV by default).
+ * Entities can be restricted with the criteria of the centre for the same entity type, passed as query parameters (see {@link ExportCriteria} for the supported criteria and their limitations).
+ * <p>
+ * Unlike the standard export action of entity centres, entities are written as they are read from the database (see {@link IStreamingExport}),
+ * which makes it suitable for exporting complete registers regardless of their size.
+ * Entities are written to a temporary file, which is then sent to the client and deleted.
+ * This way a failure in the middle of the export is reported to the client as an error rather than as a truncated file.
+ *
+ * @author Developers
+ *
+ */
+public class StreamingExportResource<T extends AbstractEntity<?>> extends ServerResource {
+
+    private final IStreamingExport<T> co;
+    private final ExportCriteria<T> criteria;
+    private final String fileName;
+
+    public StreamingExportResource(final IStreamingExport<T> co, final ExportCriteria<T> criteria, final String fileName, final Context context, final Request request, final Response response) {
+        init(context, request, response);
+        this.co = co;
+        this.criteria = criteria;
+        this.fileName = fileName;
+    }
+
+    @Get
+    public Representation export() {
+        final ExportFormat format;
+        final EntityResultQueryModel<T> query;
+        try {
+            format = ExportFormat.ofExtension(Optional.ofNullable(getQueryValue("format")).orElse(ExportFormat.CSV.extension));
+            query = criteria.toQuery(getQuery());
+        } catch (final IllegalArgumentException ex) {
+            throw new ResourceException(Status.CLIENT_ERROR_BAD_REQUEST, ex.getMessage());
+        }
+
+        final File file = exportToFile(format, query);
+        final FileRepresentation representation = new FileRepresentation(file, MediaType.valueOf(format.mimeType));
+        representation.setAutoDeleting(true);
+        final Disposition disposition = new Disposition(Disposition.TYPE_ATTACHMENT);
+        disposition.setFilename(fileName + "." + format.extension);
+        representation.setDisposition(disposition);
+        return representation;
+    }
+
+    private File exportToFile(final ExportFormat format, final EntityResultQueryModel<T> query) {
+        final File file;
+        try {
+            file = File.createTempFile(fileName + "-", "." + format.extension);
+        } catch (final IOException ex) {
+            throw new ResourceException(Status.SERVER_ERROR_INTERNAL, ex);
+        }
+        try (final OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+            co.export(format, query, out);
+            return file;
+        } catch (final IOException ex) {
+            file.delete();
+            throw new ResourceException(Status.SERVER_ERROR_INTERNAL, ex);
+        } catch (final RuntimeException ex) {
+            file.delete();
+            throw ex;
+        }
+    }
+
+}
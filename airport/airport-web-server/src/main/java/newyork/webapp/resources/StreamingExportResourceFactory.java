@@ -0,0 +1,44 @@
+package newyork.webapp.resources;
+
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.Restlet;
+import org.restlet.data.Method;
+
+import com.google.inject.Injector;
+
+import newyork.common.export.IStreamingExport;
+import ua.com.fielden.platform.entity.AbstractEntity;
+import ua.com.fielden.platform.entity.factory.ICompanionObjectFinder;
+
+/**
+ * A factory for {@link StreamingExportResource}, instantiating a resource per request for entities of the type of the specified criteria.
+ * The companion of the entity type should implement {@link IStreamingExport}.
+ *
+ * @author Developers
+ *
+ */
+public class StreamingExportResourceFactory<T extends AbstractEntity<?>> extends Restlet {
+
+    private final Injector injector;
+    private final ExportCriteria<T> criteria;
+    private final String fileName;
+
+    public StreamingExportResourceFactory(final Injector injector, final ExportCriteria<T> criteria, final String fileName) {
+        this.injector = injector;
+        this.criteria = criteria;
+        this.fileName = fileName;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void handle(final Request request, final Response response) {
+        super.handle(request, response);
+
+        if (Method.GET == request.getMethod()) {
+            final IStreamingExport<T> co = (IStreamingExport<T>) injector.getInstance(ICompanionObjectFinder.class).find(criteria.entityType, true);
+            new StreamingExportResource<>(co, criteria, fileName, getContext(), request, response).handle();
+        }
+    }
+
+}
@@ -0,0 +1,89 @@
+package newyork.webapp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.Restlet;
+import org.restlet.data.Method;
+import org.restlet.data.Status;
+
+import newyork.common.concurrency.ConcurrencyLimit;
+
+/**
+ * A test case for {@link ConcurrencyLimitFilter}.
+ *
+ * @author Developers
+ *
+ */
+public class ConcurrencyLimitFilterTest {
+
+    private static ConcurrencyLimitFilter filter(final ConcurrencyLimit limit, final Restlet next) throws Exception {
+        final ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(new Context(), limit);
+        filter.setNext(next);
+        filter.start();
+        return filter;
+    }
+
+    private static Response handle(final ConcurrencyLimitFilter filter, final String path) {
+        final Request request = new Request(Method.GET, "http://localhost" + path);
+        final Response response = new Response(request);
+        filter.handle(request, response);
+        return response;
+    }
+
+    @Test
+    public void permits_are_released_when_downstream_resources_throw_exceptions() throws Exception {
+        final ConcurrencyLimit limit = new ConcurrencyLimit(1, 10);
+        final ConcurrencyLimitFilter filter = filter(limit, new Restlet() {
+            @Override
+            public void handle(final Request request, final Response response) {
+                throw new IllegalStateException("Resource failure.");
+            }
+        });
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            try {
+                handle(filter, "/users/UNIT_TEST_USER/MiAsset");
+                fail("The exception should have propagated.");
+            } catch (final IllegalStateException ex) {
+                assertEquals("Resource failure.", ex.getMessage());
+            }
+            assertEquals(0, limit.inFlight());
+        }
+    }
+
+    @Test
+    public void requests_in_excess_of_the_limit_are_rejected_but_static_resources_are_not() throws Exception {
+        final ConcurrencyLimit limit = new ConcurrencyLimit(1, 10);
+        final ConcurrencyLimitFilter filter = filter(limit, new Restlet() {
+            @Override
+            public void handle(final Request request, final Response response) {
+                response.setStatus(Status.SUCCESS_OK);
+            }
+        });
+        assertTrue(limit.tryAcquire());
+
+        assertEquals(Status.SERVER_ERROR_SERVICE_UNAVAILABLE, handle(filter, "/users/UNIT_TEST_USER/MiAsset").getStatus());
+        assertEquals(Status.SUCCESS_OK, handle(filter, "/resources/polymer/polymer.html").getStatus());
+        assertEquals(1, limit.inFlight());
+
+        limit.release();
+        assertEquals(Status.SUCCESS_OK, handle(filter, "/users/UNIT_TEST_USER/MiAsset").getStatus());
+        assertEquals(0, limit.inFlight());
+    }
+
+    @Test
+    public void static_resources_are_recognised_by_path_prefix() {
+        assertTrue(ConcurrencyLimitFilter.isStaticResource("/resources/images/logo.png"));
+        assertTrue(ConcurrencyLimitFilter.isStaticResource("/app/tg-app-config.js"));
+        assertFalse(ConcurrencyLimitFilter.isStaticResource("/export/assets"));
+        assertFalse(ConcurrencyLimitFilter.isStaticResource(null));
+    }
+
+}
@@ -0,0 +1,77 @@
+package newyork.webapp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.Restlet;
+import org.restlet.data.Method;
+
+import com.google.common.base.Ticker;
+import com.google.inject.Guice;
+
+import newyork.common.metrics.Metrics;
+import newyork.common.metrics.SqlStatementCounter;
+import newyork.common.session.SessionStore;
+
+/**
+ * A test case for {@link MetricsFilter}.
+ *
+ * @author Developers
+ *
+ */
+public class MetricsFilterTest {
+
+    private static class RecordingMetrics extends Metrics {
+        private final List<String> resources = new ArrayList<>();
+
+        RecordingMetrics() {
+            super(null, null, null, new SessionStore(10, 1, 2, 2, Ticker.systemTicker()));
+        }
+
+        @Override
+        public void recordRequest(final String resource, final double millis, final int sqlStatements) {
+            resources.add(resource);
+        }
+    }
+
+    @Test
+    public void requests_that_fail_with_exceptions_are_recorded_and_stop_counting_statements() throws Exception {
+        final RecordingMetrics metrics = new RecordingMetrics();
+        final MetricsFilter filter = new MetricsFilter(new Context(), Guice.createInjector(binder -> binder.bind(Metrics.class).toInstance(metrics)));
+        filter.setNext(new Restlet() {
+            @Override
+            public void handle(final Request request, final Response response) {
+                throw new IllegalStateException("Resource failure.");
+            }
+        });
+        filter.start();
+
+        final Request request = new Request(Method.GET, "http://localhost/master/newyork.assets.Asset/42");
+        try {
+            filter.handle(request, new Response(request));
+            fail("The exception should have propagated.");
+        } catch (final IllegalStateException ex) {
+            assertEquals("Resource failure.", ex.getMessage());
+        }
+
+        assertEquals(1, metrics.resources.size());
+        assertEquals("/master/newyork.assets.Asset", metrics.resources.get(0));
+        // nothing is left counting on the thread
+        new SqlStatementCounter().inspect("select 1");
+        assertEquals(0, SqlStatementCounter.stop());
+    }
+
+    @Test
+    public void resources_are_the_first_two_path_segments_with_ids_replaced() {
+        assertEquals("/users/{id}", MetricsFilter.resourceOf("/users/42/MiAsset"));
+        assertEquals("/", MetricsFilter.resourceOf("/"));
+    }
+
+}
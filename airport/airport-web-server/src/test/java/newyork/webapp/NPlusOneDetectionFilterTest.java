@@ -0,0 +1,53 @@
+package newyork.webapp;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.fail;
+
+import java.util.List;
+
+import org.junit.Test;
+import org.restlet.Context;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.Restlet;
+import org.restlet.data.Method;
+
+import newyork.common.metrics.SqlStatementCounter;
+
+/**
+ * A test case for {@link NPlusOneDetectionFilter}.
+ *
+ * @author Developers
+ *
+ */
+public class NPlusOneDetectionFilterTest {
+
+    @Test
+    public void statement_capture_is_stopped_when_downstream_resources_throw_exceptions() throws Exception {
+        final NPlusOneDetectionFilter filter = new NPlusOneDetectionFilter(new Context());
+        filter.setNext(new Restlet() {
+            @Override
+            public void handle(final Request request, final Response response) {
+                new SqlStatementCounter().inspect("select * from ASSET_ where _ID = 1");
+                throw new IllegalStateException("Resource failure.");
+            }
+        });
+        filter.start();
+
+        for (int attempt = 0; attempt < 3; attempt++) {
+            final Request request = new Request(Method.GET, "http://localhost/master/newyork.assets.Asset");
+            try {
+                filter.handle(request, new Response(request));
+                fail("The exception should have propagated.");
+            } catch (final IllegalStateException ex) {
+                assertEquals("Resource failure.", ex.getMessage());
+            }
+            // no capture is left on the thread, which would otherwise accumulate statements of all subsequent requests
+            final List<String> enclosing = SqlStatementCounter.startCapture();
+            assertNull(enclosing);
+            SqlStatementCounter.stopCapture(enclosing);
+        }
+    }
+
+}
@@ -0,0 +1,56 @@
+package newyork.webapp.resources;
+
+import static newyork.webapp.resources.ExportCriteria.criteriaFor;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static ua.com.fielden.platform.entity.query.fluent.EntityQueryUtils.select;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+import org.restlet.data.Form;
+
+import newyork.assets.Asset;
+
+/**
+ * A test case for conversion of query parameters to export queries by {@link ExportCriteria}.
+ *
+ * @author Developers
+ *
+ */
+public class ExportCriteriaTest {
+
+    private final ExportCriteria<Asset> criteria = criteriaFor(Asset.class)
+            .multi("assetType", "assetType.name")
+            .text("desc", "desc")
+            .decimalRange("finDet.initCost", "finDet.initCost")
+            .bool("active", "active");
+
+    @Test
+    public void absent_criteria_do_not_restrict_the_export() {
+        assertEquals(select(Asset.class).where().prop("id").isNotNull().model(), criteria.toQuery(new Form("format=xlsx")));
+    }
+
+    @Test
+    public void present_criteria_are_combined_with_and() {
+        assertEquals(select(Asset.class).where().prop("id").isNotNull()
+                .and().prop("assetType.name").in().values("AT1", "AT2")
+                .and().prop("desc").iLike().anyOfValues("pump%")
+                .and().prop("finDet.initCost").ge().val(new BigDecimal("100.00"))
+                .and().prop("active").eq().val(true).model(),
+                criteria.toQuery(new Form("assetType=AT1,AT2&desc=pump*&finDet.initCost.from=100.00&active=true")));
+    }
+
+    @Test
+    public void malformed_criteria_values_are_rejected() {
+        for (final String query : new String[] {"active=yes", "finDet.initCost.to=ten"}) {
+            try {
+                criteria.toQuery(new Form(query));
+                fail("Malformed value should have been rejected: " + query);
+            } catch (final IllegalArgumentException ex) {
+                // expected
+            }
+        }
+    }
+
+}
@@ -0,0 +1,25 @@
+package newyork.webapp.resources;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.restlet.data.Method;
+
+import newyork.security.tokens.admin.FetchProfileClearToken;
+import newyork.security.tokens.admin.FetchProfileReviewToken;
+
+/**
+ * A test case for guarding of {@link FetchProfileResource} by {@link FetchProfileResourceFactory}.
+ *
+ * @author Developers
+ *
+ */
+public class FetchProfileResourceFactoryTest {
+
+    @Test
+    public void reviewing_and_clearing_of_the_profile_require_different_tokens() {
+        assertEquals(FetchProfileReviewToken.class, FetchProfileResourceFactory.requiredToken(Method.GET));
+        assertEquals(FetchProfileClearToken.class, FetchProfileResourceFactory.requiredToken(Method.DELETE));
+    }
+
+}
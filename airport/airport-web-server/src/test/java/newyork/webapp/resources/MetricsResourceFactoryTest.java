@@ -0,0 +1,47 @@
+package newyork.webapp.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+import org.restlet.Request;
+import org.restlet.Response;
+import org.restlet.data.Method;
+import org.restlet.data.Status;
+
+/**
+ * A test case for guarding of {@link MetricsResource} by {@link MetricsResourceFactory}.
+ *
+ * @author Developers
+ *
+ */
+public class MetricsResourceFactoryTest {
+
+    @Test
+    public void only_bearer_tokens_matching_the_configured_one_are_authorised() {
+        assertTrue(MetricsResourceFactory.isAuthorised("Bearer secret", "secret"));
+        assertFalse(MetricsResourceFactory.isAuthorised("Bearer wrong", "secret"));
+        assertFalse(MetricsResourceFactory.isAuthorised("Bearer secre", "secret"));
+        assertFalse(MetricsResourceFactory.isAuthorised("Basic secret", "secret"));
+        assertFalse(MetricsResourceFactory.isAuthorised(null, "secret"));
+    }
+
+    @Test
+    public void requests_without_a_token_are_rejected_without_reading_metrics() {
+        // no injector is needed, as unauthorised requests never reach the resource
+        final MetricsResourceFactory factory = new MetricsResourceFactory(null, "secret");
+        final Request request = new Request(Method.GET, "http://localhost" + MetricsResource.BINDING_PATH);
+        final Response response = new Response(request);
+
+        factory.handle(request, response);
+
+        assertEquals(Status.CLIENT_ERROR_UNAUTHORIZED, response.getStatus());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void an_empty_token_is_not_permitted() {
+        new MetricsResourceFactory(null, " ");
+    }
+
+}
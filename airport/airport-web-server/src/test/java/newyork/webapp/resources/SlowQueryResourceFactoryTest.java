@@ -0,0 +1,25 @@
+package newyork.webapp.resources;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+import org.restlet.data.Method;
+
+import newyork.security.tokens.admin.SlowQueryLogClearToken;
+import newyork.security.tokens.admin.SlowQueryLogReviewToken;
+
+/**
+ * A test case for guarding of {@link SlowQueryResource} by {@link SlowQueryResourceFactory}.
+ *
+ * @author Developers
+ *
+ */
+public class SlowQueryResourceFactoryTest {
+
+    @Test
+    public void reviewing_and_clearing_of_the_log_require_different_tokens() {
+        assertEquals(SlowQueryLogReviewToken.class, SlowQueryResourceFactory.requiredToken(Method.GET));
+        assertEquals(SlowQueryLogClearToken.class, SlowQueryResourceFactory.requiredToken(Method.DELETE));
+    }
+
+}
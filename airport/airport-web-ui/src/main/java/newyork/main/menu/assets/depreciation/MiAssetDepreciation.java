@@ -0,0 +1,15 @@
+package newyork.main.menu.assets.depreciation;
+
+import ua.com.fielden.platform.entity.annotation.EntityType;
+import ua.com.fielden.platform.ui.menu.MiWithConfigurationSupport;
+import newyork.assets.depreciation.AssetDepreciation;
+/**
+ * Main menu item representing an entity centre for {@link AssetDepreciation}.
+ *
+ * @author Developers
+ *
+ */
+@EntityType(AssetDepreciation.class)
+public class MiAssetDepreciation extends MiWithConfigurationSupport<AssetDepreciation> {
+
+}
@@ -0,0 +1,15 @@
+package newyork.main.menu.tablescodes.assets;
+
+import ua.com.fielden.platform.entity.annotation.EntityType;
+import ua.com.fielden.platform.ui.menu.MiWithConfigurationSupport;
+import newyork.tablescodes.assets.DatedRecordOverlap;
+/**
+ * Main menu item representing an entity centre for {@link DatedRecordOverlap}.
+ *
+ * @author Developers
+ *
+ */
+@EntityType(DatedRecordOverlap.class)
+public class MiDatedRecordOverlap extends MiWithConfigurationSupport<DatedRecordOverlap> {
+
+}